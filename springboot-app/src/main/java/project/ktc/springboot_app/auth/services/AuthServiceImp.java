@@ -28,6 +28,7 @@ import project.ktc.springboot_app.auth.entitiy.User;
 import project.ktc.springboot_app.auth.enums.UserRoleEnum;
 import project.ktc.springboot_app.entity.RefreshToken;
 import project.ktc.springboot_app.entity.UserRole;
+import project.ktc.springboot_app.common.jpa.NaturalIdLookup;
 import project.ktc.springboot_app.instructor_application.entity.InstructorApplication;
 import project.ktc.springboot_app.instructor_application.repositories.InstructorApplicationRepository;
 import project.ktc.springboot_app.notification.utils.NotificationHelper;
@@ -58,6 +59,7 @@ public class AuthServiceImp implements AuthService {
 
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
+    private final NaturalIdLookup naturalIdLookup;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
@@ -94,7 +96,7 @@ public class AuthServiceImp implements AuthService {
         try {
             // First, find or create the role
             String roleType = registerUserDto.getRole().name().toUpperCase().trim();
-            Optional<UserRole> existingRoleOpt = userRoleRepository.findByRole(roleType);
+            Optional<UserRole> existingRoleOpt = naturalIdLookup.find(UserRole.class, roleType);
             UserRole userRole;
 
             if (existingRoleOpt.isPresent()) {
@@ -183,7 +185,7 @@ public class AuthServiceImp implements AuthService {
         try {
             // First, find or create the role
             String roleType = registerApplicationDto.getRole().name().toUpperCase().trim();
-            Optional<UserRole> existingRoleOpt = userRoleRepository.findByRole(roleType);
+            Optional<UserRole> existingRoleOpt = naturalIdLookup.find(UserRole.class, roleType);
             UserRole userRole;
 
             if (existingRoleOpt.isPresent()) {
@@ -437,7 +439,7 @@ public class AuthServiceImp implements AuthService {
 
                 // Tìm hoặc tạo role STUDENT
                 String roleType = UserRoleEnum.STUDENT.name().toUpperCase().trim();
-                Optional<UserRole> existingRoleOpt = userRoleRepository.findByRole(roleType);
+                Optional<UserRole> existingRoleOpt = naturalIdLookup.find(UserRole.class, roleType);
                 UserRole userRole;
 
                 if (existingRoleOpt.isPresent()) {
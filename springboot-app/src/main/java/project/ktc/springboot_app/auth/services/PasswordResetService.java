@@ -299,13 +299,14 @@ public class PasswordResetService {
             templateVariables.put("expiryTime", expiresAt.toString());
             templateVariables.put("expiryMinutes", otpExpiryMinutes);
 
-            emailService.sendTemplateEmail(
+            // Queued in the same transaction as the reset token
+            emailService.queueTemplateEmail(
                     user.getEmail(),
                     "Password Reset - Your OTP Code",
                     "password-reset-template",
                     templateVariables);
 
-            log.info("Password reset email sent to: {}", maskEmailForLog(user.getEmail()));
+            log.info("Password reset email queued for: {}", maskEmailForLog(user.getEmail()));
         } catch (Exception e) {
             log.error("Failed to send password reset email to: {}", maskEmailForLog(user.getEmail()), e);
             throw new BusinessLogicException("Failed to send password reset email. Please try again.");
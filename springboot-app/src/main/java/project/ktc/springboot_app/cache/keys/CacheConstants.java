@@ -53,6 +53,21 @@ public final class CacheConstants {
          */
         public static final String INSTRUCTOR_COURSES_CACHE_PREFIX = "instructor_courses";
 
+        /**
+         * Cache prefix for video metadata
+         */
+        public static final String VIDEO_METADATA_CACHE_PREFIX = "video_metadata";
+
+        /**
+         * Cache prefix for instructor student rosters
+         */
+        public static final String INSTRUCTOR_STUDENTS_CACHE_PREFIX = "instructor_students";
+
+        /**
+         * Cache prefix for MCQ generation jobs and results
+         */
+        public static final String MCQ_CACHE_PREFIX = "mcq";
+
         // ==================== Cache TTL Values ====================
 
         /**
@@ -128,6 +143,35 @@ public final class CacheConstants {
          */
         public static final Duration INSTRUCTOR_COURSES_DYNAMIC_TTL = Duration.ofSeconds(45);
 
+        /**
+         * TTL for video metadata cache (12 hours)
+         * Metadata of a public id never changes once the video is stored
+         */
+        public static final Duration VIDEO_METADATA_TTL = Duration.ofHours(12);
+
+        /**
+         * TTL for instructor student roster pages (5 minutes)
+         * Pages are dropped early by bumping the instructor's roster generation
+         */
+        public static final Duration INSTRUCTOR_STUDENTS_TTL = Duration.ofMinutes(5);
+
+        /**
+         * TTL for the roster generation marker, longer than any page it guards
+         */
+        public static final Duration INSTRUCTOR_STUDENTS_GENERATION_TTL = Duration.ofHours(1);
+
+        /**
+         * TTL for MCQ generation job state (1 hour)
+         * Long enough for the slowest generation plus time to fetch the result
+         */
+        public static final Duration MCQ_JOB_TTL = Duration.ofHours(1);
+
+        /**
+         * TTL for generated MCQs (7 days)
+         * Keyed by document content, so a result never goes stale
+         */
+        public static final Duration MCQ_RESULT_TTL = Duration.ofDays(7);
+
         // ==================== Cache Key Patterns ====================
 
         /**
@@ -260,6 +304,39 @@ public final class CacheConstants {
          */
         public static final String COURSE_DYNAMIC_PATTERN = INSTRUCTOR_COURSES_CACHE_PREFIX + ":course:%s:dynamic";
 
+        /**
+         * Pattern for video metadata cache
+         * Format: video_metadata:public-id
+         */
+        public static final String VIDEO_METADATA_PATTERN = VIDEO_METADATA_CACHE_PREFIX + ":%s";
+
+        /**
+         * Pattern for an instructor's roster generation marker
+         * Format: instructor_students:instructor:id:generation
+         */
+        public static final String INSTRUCTOR_STUDENTS_GENERATION_PATTERN = INSTRUCTOR_STUDENTS_CACHE_PREFIX
+                        + ":instructor:%s:generation";
+
+        /**
+         * Pattern for instructor student roster pages
+         * Format:
+         * instructor_students:instructor:id:gen:generation:page:0:size:10:filters:search_sort
+         */
+        public static final String INSTRUCTOR_STUDENTS_PAGE_PATTERN = INSTRUCTOR_STUDENTS_CACHE_PREFIX
+                        + ":instructor:%s:gen:%s:page:%d:size:%d:filters:%s";
+
+        /**
+         * Pattern for MCQ generation job state
+         * Format: mcq:job:job-id
+         */
+        public static final String MCQ_JOB_PATTERN = MCQ_CACHE_PREFIX + ":job:%s";
+
+        /**
+         * Pattern for generated MCQs
+         * Format: mcq:result:sha256-of-document:questions:10
+         */
+        public static final String MCQ_RESULT_PATTERN = MCQ_CACHE_PREFIX + ":result:%s:questions:%d";
+
         // ==================== Cache Invalidation Patterns ====================
 
         /**
@@ -369,6 +369,69 @@ public class CacheKeyBuilder {
         return key;
     }
 
+    /**
+     * Builds cache key for video metadata
+     * 
+     * @param publicId video public identifier
+     * @return formatted cache key
+     */
+    public String buildVideoMetadataKey(String publicId) {
+        String key = String.format(CacheConstants.VIDEO_METADATA_PATTERN,
+                sanitizeValue(publicId));
+        log.debug("Built video metadata cache key: {}", key);
+        return key;
+    }
+
+    /**
+     * Builds cache key for MCQ generation job state
+     *
+     * @param jobId job identifier
+     * @return formatted cache key
+     */
+    public String buildMcqJobKey(String jobId) {
+        return String.format(CacheConstants.MCQ_JOB_PATTERN, sanitizeValue(jobId));
+    }
+
+    /**
+     * Builds cache key for MCQs generated from a document
+     *
+     * @param contentHash  SHA-256 of the document, hex encoded
+     * @param numQuestions number of questions requested
+     * @return formatted cache key
+     */
+    public String buildMcqResultKey(String contentHash, int numQuestions) {
+        return String.format(CacheConstants.MCQ_RESULT_PATTERN, sanitizeValue(contentHash), numQuestions);
+    }
+
+    /**
+     * Builds cache key for an instructor's roster generation marker
+     * 
+     * @param instructorId instructor identifier
+     * @return formatted cache key
+     */
+    public String buildInstructorStudentsGenerationKey(String instructorId) {
+        return String.format(CacheConstants.INSTRUCTOR_STUDENTS_GENERATION_PATTERN, sanitizeValue(instructorId));
+    }
+
+    /**
+     * Builds cache key for one page of an instructor's student roster
+     * 
+     * @param instructorId instructor identifier
+     * @param generation   current roster generation of the instructor
+     * @return formatted cache key
+     */
+    public String buildInstructorStudentsPageKey(String instructorId, String generation, int page, int size,
+            String search, String sort) {
+        String key = String.format(CacheConstants.INSTRUCTOR_STUDENTS_PAGE_PATTERN,
+                sanitizeValue(instructorId),
+                sanitizeValue(generation),
+                page,
+                size,
+                buildParameterString(search, sort));
+        log.debug("Built instructor students cache key: {}", key);
+        return key;
+    }
+
     // ==================== Pattern Builder Methods ====================
 
     /**
@@ -0,0 +1,100 @@
+package project.ktc.springboot_app.cache.services.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.cache.interfaces.CacheService;
+import project.ktc.springboot_app.cache.keys.CacheConstants;
+import project.ktc.springboot_app.cache.keys.CacheKeyBuilder;
+import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.instructor_student.dto.InstructorStudentDto;
+
+import java.util.UUID;
+
+/**
+ * Instructor student roster cache. Pages are keyed by a per-instructor
+ * generation marker, so enrollments and lesson completions invalidate every
+ * cached page of the instructor with a single write instead of a key scan.
+ * Orphaned pages expire on their own.
+ *
+ * @author KTC Team
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class InstructorStudentsCacheService {
+
+    private final CacheService cacheService;
+    private final CacheKeyBuilder cacheKeyBuilder;
+
+    /**
+     * Gets a cached roster page
+     *
+     * @return cached page or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public PaginatedResponse<InstructorStudentDto> getRoster(String instructorId, Pageable pageable,
+            String search) {
+        try {
+            String generation = cacheService.get(
+                    cacheKeyBuilder.buildInstructorStudentsGenerationKey(instructorId), String.class);
+            if (generation == null) {
+                return null;
+            }
+
+            PaginatedResponse<InstructorStudentDto> cached = (PaginatedResponse<InstructorStudentDto>) cacheService
+                    .get(buildPageKey(instructorId, generation, pageable, search));
+            log.debug("Cache {} for instructor students: {}", cached != null ? "hit" : "miss", instructorId);
+            return cached;
+
+        } catch (Exception e) {
+            log.error("Failed to retrieve instructor students from cache: {}", instructorId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a roster page under the instructor's current generation
+     */
+    public void storeRoster(String instructorId, Pageable pageable, String search,
+            PaginatedResponse<InstructorStudentDto> roster) {
+        try {
+            String generationKey = cacheKeyBuilder.buildInstructorStudentsGenerationKey(instructorId);
+            String generation = cacheService.get(generationKey, String.class);
+            if (generation == null) {
+                generation = newGeneration();
+                cacheService.store(generationKey, generation, CacheConstants.INSTRUCTOR_STUDENTS_GENERATION_TTL);
+            }
+
+            cacheService.store(buildPageKey(instructorId, generation, pageable, search), roster,
+                    CacheConstants.INSTRUCTOR_STUDENTS_TTL);
+        } catch (Exception e) {
+            log.error("Failed to cache instructor students: {}", instructorId, e);
+        }
+    }
+
+    /**
+     * Invalidates every cached roster page of the instructor
+     *
+     * @param instructorId instructor identifier
+     */
+    public void invalidateRoster(String instructorId) {
+        try {
+            cacheService.store(cacheKeyBuilder.buildInstructorStudentsGenerationKey(instructorId), newGeneration(),
+                    CacheConstants.INSTRUCTOR_STUDENTS_GENERATION_TTL);
+            log.debug("Invalidated instructor students cache: {}", instructorId);
+        } catch (Exception e) {
+            log.error("Failed to invalidate instructor students cache: {}", instructorId, e);
+        }
+    }
+
+    private String buildPageKey(String instructorId, String generation, Pageable pageable, String search) {
+        return cacheKeyBuilder.buildInstructorStudentsPageKey(instructorId, generation,
+                pageable.getPageNumber(), pageable.getPageSize(), search, pageable.getSort().toString());
+    }
+
+    private String newGeneration() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,94 @@
+package project.ktc.springboot_app.cache.services.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.cache.interfaces.CacheService;
+import project.ktc.springboot_app.cache.keys.CacheConstants;
+import project.ktc.springboot_app.cache.keys.CacheKeyBuilder;
+import project.ktc.springboot_app.mcq.dto.MCQJob;
+import project.ktc.springboot_app.mcq.dto.MCQResponse;
+
+/**
+ * Cache service for MCQ generation. Holds job state, so any node can answer
+ * a status poll, and generated MCQs keyed by document hash and question
+ * count, so regenerating from the same document is served at once.
+ *
+ * @author KTC Team
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MCQCacheService {
+
+    private final CacheService cacheService;
+    private final CacheKeyBuilder cacheKeyBuilder;
+
+    /**
+     * Stores or replaces job state
+     *
+     * @param job the job to store
+     */
+    public void storeJob(MCQJob job) {
+        try {
+            cacheService.store(cacheKeyBuilder.buildMcqJobKey(job.getId()), job, CacheConstants.MCQ_JOB_TTL);
+        } catch (Exception e) {
+            log.error("Failed to cache MCQ job: {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Retrieves job state
+     *
+     * @param jobId job identifier
+     * @return the job or null if not found or expired
+     */
+    public MCQJob getJob(String jobId) {
+        try {
+            return cacheService.get(cacheKeyBuilder.buildMcqJobKey(jobId), MCQJob.class);
+        } catch (Exception e) {
+            log.error("Failed to retrieve MCQ job from cache: {}", jobId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Key generated MCQs are stored under
+     *
+     * @param contentHash  SHA-256 of the document, hex encoded
+     * @param numQuestions number of questions requested
+     */
+    public String buildResultKey(String contentHash, int numQuestions) {
+        return cacheKeyBuilder.buildMcqResultKey(contentHash, numQuestions);
+    }
+
+    /**
+     * Stores generated MCQs under the given result key
+     *
+     * @param resultKey key built by {@link #buildResultKey}
+     * @param result    the generated MCQs
+     */
+    public void storeResult(String resultKey, MCQResponse result) {
+        try {
+            cacheService.store(resultKey, result, CacheConstants.MCQ_RESULT_TTL);
+            log.debug("Cached MCQ result: {}", resultKey);
+        } catch (Exception e) {
+            log.error("Failed to cache MCQ result: {}", resultKey, e);
+        }
+    }
+
+    /**
+     * Retrieves generated MCQs
+     *
+     * @param resultKey key built by {@link #buildResultKey}
+     * @return cached MCQs or null if not found
+     */
+    public MCQResponse getResult(String resultKey) {
+        try {
+            return cacheService.get(resultKey, MCQResponse.class);
+        } catch (Exception e) {
+            log.error("Failed to retrieve MCQ result from cache: {}", resultKey, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package project.ktc.springboot_app.cache.services.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.cache.interfaces.CacheService;
+import project.ktc.springboot_app.cache.keys.CacheConstants;
+import project.ktc.springboot_app.cache.keys.CacheKeyBuilder;
+import project.ktc.springboot_app.upload.dto.VideoMetadataResponseDto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Video metadata cache service with two levels:
+ * - L1: a small in-process LRU map, so lesson editors polling the same
+ * video do not even reach Redis
+ * - L2: Redis, shared by all nodes
+ *
+ * Metadata for a public id is immutable, so entries only leave on expiry or
+ * when the video is deleted.
+ *
+ * @author KTC Team
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class VideoMetadataCacheService {
+
+    private static final int LOCAL_MAX_ENTRIES = 2_000;
+    private static final Duration LOCAL_TTL = Duration.ofMinutes(10);
+
+    private final CacheService cacheService;
+    private final CacheKeyBuilder cacheKeyBuilder;
+
+    /**
+     * Access-ordered, so every read mutates it. Guarded by a lock rather than
+     * synchronized so that a virtual thread waiting for it does not pin its
+     * carrier.
+     */
+    private final ReentrantLock localCacheLock = new ReentrantLock();
+    private final Map<String, LocalEntry> localCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+            return size() > LOCAL_MAX_ENTRIES;
+        }
+    };
+
+    private record LocalEntry(VideoMetadataResponseDto metadata, long expiresAt) {
+    }
+
+    /**
+     * Stores video metadata in both cache levels
+     *
+     * @param metadata the metadata to cache
+     */
+    public void storeMetadata(VideoMetadataResponseDto metadata) {
+        storeLocal(metadata);
+        try {
+            String cacheKey = cacheKeyBuilder.buildVideoMetadataKey(metadata.getPublicId());
+            cacheService.store(cacheKey, metadata, CacheConstants.VIDEO_METADATA_TTL);
+        } catch (Exception e) {
+            log.error("Failed to cache video metadata: {}", metadata.getPublicId(), e);
+        }
+    }
+
+    /**
+     * Retrieves video metadata, trying the local map before Redis
+     *
+     * @param publicId video public identifier
+     * @return cached metadata or null if not found
+     */
+    public VideoMetadataResponseDto getMetadata(String publicId) {
+        VideoMetadataResponseDto local = getLocal(publicId);
+        if (local != null) {
+            log.debug("L1 cache hit for video metadata: {}", publicId);
+            return local;
+        }
+
+        try {
+            String cacheKey = cacheKeyBuilder.buildVideoMetadataKey(publicId);
+            VideoMetadataResponseDto cached = cacheService.get(cacheKey, VideoMetadataResponseDto.class);
+            if (cached != null) {
+                log.debug("Cache hit for video metadata: {}", publicId);
+                storeLocal(cached);
+                return cached;
+            }
+
+            log.debug("Cache miss for video metadata: {}", publicId);
+            return null;
+
+        } catch (Exception e) {
+            log.error("Failed to retrieve video metadata from cache: {}", publicId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Invalidates video metadata in both cache levels. Other nodes drop
+     * their local copy when it expires.
+     *
+     * @param publicId video public identifier
+     */
+    public void invalidateMetadata(String publicId) {
+        localCacheLock.lock();
+        try {
+            localCache.remove(publicId);
+        } finally {
+            localCacheLock.unlock();
+        }
+        try {
+            cacheService.remove(cacheKeyBuilder.buildVideoMetadataKey(publicId));
+            log.debug("Invalidated video metadata cache: {}", publicId);
+        } catch (Exception e) {
+            log.error("Failed to invalidate video metadata cache: {}", publicId, e);
+        }
+    }
+
+    private void storeLocal(VideoMetadataResponseDto metadata) {
+        localCacheLock.lock();
+        try {
+            localCache.put(metadata.getPublicId(),
+                    new LocalEntry(metadata, System.currentTimeMillis() + LOCAL_TTL.toMillis()));
+        } finally {
+            localCacheLock.unlock();
+        }
+    }
+
+    private VideoMetadataResponseDto getLocal(String publicId) {
+        localCacheLock.lock();
+        try {
+            LocalEntry entry = localCache.get(publicId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                localCache.remove(publicId);
+                return null;
+            }
+            return entry.metadata();
+        } finally {
+            localCacheLock.unlock();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
 
 import java.time.Duration;
 import java.util.Collections;
@@ -39,6 +40,7 @@ public class UpstashRedisRestService {
 
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
     /**
      * Test Redis connectivity via REST API
@@ -166,7 +168,8 @@ public class UpstashRedisRestService {
             HttpEntity<String> entity = new HttpEntity<>(headers);
 
             log.debug("Executing Redis command via REST: {}", String.join(" ", command));
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> response = concurrencyLimiter.call("upstash",
+                    () -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
 
             if (response.getStatusCode() == HttpStatus.OK) {
                 return response.getBody();
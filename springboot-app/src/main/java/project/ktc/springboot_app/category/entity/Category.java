@@ -1,6 +1,8 @@
 package project.ktc.springboot_app.category.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import project.ktc.springboot_app.course.entity.Course;
@@ -9,6 +11,8 @@ import project.ktc.springboot_app.entity.BaseEntity;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.category")
 @Table(name = "categories")
 @Getter
 @Setter
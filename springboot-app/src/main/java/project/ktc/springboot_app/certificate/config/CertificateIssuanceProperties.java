@@ -0,0 +1,35 @@
+package project.ktc.springboot_app.certificate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the certificate issuance queue
+ * Maps properties from application.properties with prefix
+ * "app.certificate.issuance"
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.certificate.issuance")
+public class CertificateIssuanceProperties {
+
+    private boolean enabled = true;
+
+    /** Queue entries claimed per batch */
+    private int batchSize = 50;
+
+    /** Batches drained per poll before yielding to the next poll */
+    private int maxBatchesPerPoll = 10;
+
+    /** Certificates rendered and uploaded concurrently */
+    private int workers = 4;
+
+    /** How long a claim is held before another node may take the entry over */
+    private int leaseSeconds = 300;
+
+    private int maxAttempts = 5;
+
+    /** First retry delay; doubles with each attempt */
+    private int retryDelaySeconds = 30;
+}
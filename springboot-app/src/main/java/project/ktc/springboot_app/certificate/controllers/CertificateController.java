@@ -20,12 +20,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import project.ktc.springboot_app.certificate.dto.CertificateIssuanceStatusDto;
 import project.ktc.springboot_app.certificate.dto.CertificateListDto;
 import project.ktc.springboot_app.certificate.dto.CertificateResponseDto;
 import project.ktc.springboot_app.certificate.dto.CreateCertificateDto;
+import project.ktc.springboot_app.certificate.interfaces.CertificateIssuanceService;
 import project.ktc.springboot_app.certificate.interfaces.CertificateService;
 import project.ktc.springboot_app.certificate.services.CertificatePdfService;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
@@ -40,6 +43,7 @@ public class CertificateController {
 
         private final CertificateService certificateService;
         private final CertificatePdfService certificatePdfService;
+        private final CertificateIssuanceService certificateIssuanceService;
 
         @PostMapping("/sync")
         @PreAuthorize("hasRole('ADMIN')")
@@ -271,6 +275,22 @@ public class CertificateController {
                 return certificateService.getMyCertificates(pageable);
         }
 
+        @GetMapping("/issuance/status")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Get certificate issuance queue status", description = """
+                        Reports how many course completions are waiting for their certificate,
+                        with entry counts per status and the age of the oldest open entry.
+                        """)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Queue status retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CertificateIssuanceStatusDto.class))),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT", content = @Content(mediaType = "application/json")),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - ADMIN role required", content = @Content(mediaType = "application/json"))
+        })
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<CertificateIssuanceStatusDto>> getIssuanceStatus() {
+                return ApiResponseUtil.success(certificateIssuanceService.getStatus(),
+                                "Certificate issuance status retrieved successfully");
+        }
+
         /**
          * Helper method to create Pageable with sorting
          */
@@ -289,9 +309,9 @@ public class CertificateController {
         // Test endpoints for PDF generation
         @GetMapping("/test-pdf")
         @PreAuthorize("hasRole('ADMIN')")
-        @Operation(summary = "Test PDF generation", description = "Test endpoint to verify html-to-image API integration")
+        @Operation(summary = "Test PDF generation", description = "Test endpoint that renders a sample certificate as PDF")
         public ResponseEntity<byte[]> testPdfGeneration() {
-                log.info("Testing PDF generation via html-to-image API");
+                log.info("Testing PDF generation");
 
                 try {
                         byte[] pdfBytes = certificatePdfService.testSimplePdf();
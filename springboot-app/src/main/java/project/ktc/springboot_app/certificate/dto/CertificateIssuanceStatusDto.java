@@ -0,0 +1,27 @@
+package project.ktc.springboot_app.certificate.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Certificate issuance queue status")
+public class CertificateIssuanceStatusDto {
+
+    @Schema(description = "Entries waiting to be issued or being issued", example = "12")
+    private long depth;
+
+    @Schema(description = "Entry count per status")
+    private Map<String, Long> byStatus;
+
+    @Schema(description = "Enqueue time of the oldest entry not yet issued")
+    private LocalDateTime oldestOpenEntryAt;
+}
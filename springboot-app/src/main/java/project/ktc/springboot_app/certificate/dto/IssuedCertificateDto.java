@@ -0,0 +1,40 @@
+package project.ktc.springboot_app.certificate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A claimed issuance with its certificate, carried through render, upload
+ * and the batched URL update
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuedCertificateDto {
+
+    private String issuanceId;
+
+    private String certificateId;
+
+    private String userId;
+
+    private String courseId;
+
+    /** Data rendered onto the certificate, loaded while the entity was attached */
+    private CertificateDataDto data;
+
+    /** Hash of the content to render */
+    private String contentHash;
+
+    /** Stored file URL; already set when the stored file matches contentHash */
+    private String fileUrl;
+
+    /** First attempt for a certificate without a file: the student is told it is coming */
+    private boolean newlyIssued;
+
+    /** Whether this drain rendered and uploaded the file (and should email it) */
+    private boolean rendered;
+}
@@ -42,6 +42,13 @@ public class Certificate {
     @Column(name = "file_url", length = 500)
     private String fileUrl;
 
+    /**
+     * Hash of the rendered content behind fileUrl; a regeneration with the
+     * same hash reuses the stored file
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @PrePersist
     protected void onCreate() {
         if (issuedAt == null) {
@@ -0,0 +1,62 @@
+package project.ktc.springboot_app.certificate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queued request to issue the certificate for a completed course.
+ * At most one row exists per (user, course), so completing the last lesson
+ * twice enqueues once.
+ */
+@Entity
+@Table(name = "certificate_issuance_queue", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_certificate_issuance_user_course", columnNames = { "user_id", "course_id" })
+}, indexes = {
+        @Index(name = "idx_certificate_issuance_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CertificateIssuance extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @Column(name = "course_id", nullable = false, length = 36)
+    private String courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private IssuanceStatus status = IssuanceStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * When the entry becomes eligible for processing. For PROCESSING entries
+     * this is the lease expiry, after which a crashed worker's claim is
+     * picked up again.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "certificate_id", length = 36)
+    private String certificateId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum IssuanceStatus {
+        PENDING, PROCESSING, DONE, FAILED
+    }
+}
@@ -0,0 +1,59 @@
+package project.ktc.springboot_app.certificate.interfaces;
+
+import project.ktc.springboot_app.certificate.dto.CertificateIssuanceStatusDto;
+import project.ktc.springboot_app.certificate.dto.IssuedCertificateDto;
+import project.ktc.springboot_app.certificate.entity.CertificateIssuance;
+
+import java.util.List;
+
+/**
+ * Durable queue of certificates to issue for completed courses
+ */
+public interface CertificateIssuanceService {
+
+    /**
+     * Enqueue the certificate for a completed course. Joins the caller's
+     * transaction, and is a no-op if the (user, course) entry already exists.
+     *
+     * @param userId   User ID
+     * @param courseId Course ID
+     */
+    void enqueue(String userId, String courseId);
+
+    /**
+     * Claim a batch of due entries for this worker
+     *
+     * @param limit maximum number of entries
+     * @return claimed entries
+     */
+    List<CertificateIssuance> claimBatch(int limit);
+
+    /**
+     * Issue (or look up) the certificate for a claimed entry and load what
+     * is needed to render it
+     *
+     * @param issuance claimed entry
+     * @return the certificate ready to render; fileUrl is set when the stored
+     *         file already matches
+     */
+    IssuedCertificateDto prepare(CertificateIssuance issuance);
+
+    /**
+     * Store the file URLs of a rendered batch with one batched update, mark
+     * the entries done and queue the emails for the files rendered
+     *
+     * @param issued certificates with their file URL set
+     */
+    void completeBatch(List<IssuedCertificateDto> issued);
+
+    /**
+     * Record a failed attempt; the entry is retried with backoff until it
+     * runs out of attempts
+     */
+    void recordFailure(CertificateIssuance issuance, Exception error);
+
+    /**
+     * Queue depth and entry counts by status
+     */
+    CertificateIssuanceStatusDto getStatus();
+}
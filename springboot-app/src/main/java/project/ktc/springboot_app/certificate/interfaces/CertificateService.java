@@ -7,6 +7,8 @@ import project.ktc.springboot_app.common.dto.PaginatedResponse;
 import project.ktc.springboot_app.certificate.dto.CreateCertificateDto;
 import project.ktc.springboot_app.certificate.dto.CertificateResponseDto;
 import project.ktc.springboot_app.certificate.dto.CertificateListDto;
+import project.ktc.springboot_app.certificate.entity.Certificate;
+import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
 
 public interface CertificateService {
 
@@ -124,4 +126,18 @@ public interface CertificateService {
          */
         ResponseEntity<ApiResponse<CertificateResponseDto>> createCertificateAsync(
                         CreateCertificateDto createCertificateDto);
+
+        /**
+         * Issue the certificate for a completed course, or return the one
+         * already issued. Used by the issuance queue; the file is rendered
+         * separately.
+         * 
+         * @param userId   User ID
+         * @param courseId Course ID
+         * @return The certificate, with user, course and instructor loaded
+         * @throws ResourceNotFoundException if the user or course does not exist
+         * @throws IllegalStateException if the user is not enrolled or has not
+         *                               completed all lessons
+         */
+        Certificate issueCertificate(String userId, String courseId);
 }
@@ -0,0 +1,56 @@
+package project.ktc.springboot_app.certificate.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.ktc.springboot_app.certificate.entity.CertificateIssuance;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the certificate issuance queue
+ */
+@Repository
+public interface CertificateIssuanceRepository extends JpaRepository<CertificateIssuance, String> {
+
+    /**
+     * Enqueue an issuance; a no-op when the (user, course) entry already exists
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "certificate_issuance_queue"))
+    @Query(value = "INSERT IGNORE INTO certificate_issuance_queue (id, user_id, course_id, status, attempts, " +
+            "next_attempt_at, created_at, updated_at) " +
+            "VALUES (UUID(), :userId, :courseId, 'PENDING', 0, NOW(), NOW(), NOW())", nativeQuery = true)
+    int enqueue(@Param("userId") String userId, @Param("courseId") String courseId);
+
+    /**
+     * Lock a batch of due entries. Rows locked by another worker are skipped
+     * so several nodes can drain the queue concurrently. PROCESSING rows whose
+     * lease has expired are picked up again.
+     */
+    @Query(value = "SELECT * FROM certificate_issuance_queue " +
+            "WHERE status IN ('PENDING', 'PROCESSING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at ASC " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<CertificateIssuance> lockDueEntries(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE CertificateIssuance i SET i.status = :status, i.attempts = :attempts, " +
+            "i.nextAttemptAt = :nextAttemptAt, i.lastError = :lastError WHERE i.id = :id")
+    int markAttemptFailed(@Param("id") String id,
+            @Param("status") CertificateIssuance.IssuanceStatus status,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError);
+
+    long countByStatus(CertificateIssuance.IssuanceStatus status);
+
+    @Query("SELECT MIN(i.createdAt) FROM CertificateIssuance i WHERE i.status IN ('PENDING', 'PROCESSING')")
+    LocalDateTime findOldestOpenEntryCreatedAt();
+}
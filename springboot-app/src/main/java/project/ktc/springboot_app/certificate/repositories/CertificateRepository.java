@@ -142,7 +142,8 @@ public interface CertificateRepository extends JpaRepository<Certificate, String
         * Used to prevent conflicts when updating the file URL after async processing
         */
        @Modifying
-       @Query("UPDATE Certificate c SET c.fileUrl = :fileUrl, c.updatedAt = CURRENT_TIMESTAMP " +
-                     "WHERE c.id = :certificateId")
-       int updateFileUrl(@Param("certificateId") String certificateId, @Param("fileUrl") String fileUrl);
+       @Query("UPDATE Certificate c SET c.fileUrl = :fileUrl, c.contentHash = :contentHash, " +
+                     "c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :certificateId")
+       int updateFileUrl(@Param("certificateId") String certificateId, @Param("fileUrl") String fileUrl,
+                     @Param("contentHash") String contentHash);
 }
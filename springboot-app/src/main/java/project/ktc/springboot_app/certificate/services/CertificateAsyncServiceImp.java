@@ -84,17 +84,15 @@ public class CertificateAsyncServiceImp implements CertificateAsyncService {
             log.info("Starting image generation for certificate: {}", certificate.getCertificateCode());
 
             // Prepare certificate data for image generation
-            CertificateDataDto certificateData = CertificateDataDto.builder()
-                    .studentName(certificate.getUser().getName())
-                    .studentEmail(certificate.getUser().getEmail())
-                    .courseTitle(certificate.getCourse().getTitle())
-                    .instructorName(certificate.getCourse().getInstructor().getName())
-                    .certificateCode(certificate.getCertificateCode())
-                    .issueDate(certificate.getIssuedAt())
-                    .courseLevel(
-                            certificate.getCourse().getLevel() != null ? certificate.getCourse().getLevel().toString()
-                                    : "General")
-                    .build();
+            CertificateDataDto certificateData = certificateImageService.toCertificateData(certificate);
+
+            // Skip rendering when the stored file already shows this content
+            String contentHash = certificateImageService.contentHash(certificateData);
+            if (contentHash.equals(certificate.getContentHash()) && certificate.getFileUrl() != null
+                    && !certificate.getFileUrl().isEmpty()) {
+                log.info("Certificate {} is unchanged, keeping the stored image", certificate.getCertificateCode());
+                return;
+            }
 
             // Generate Image
             byte[] imageData = certificateImageService.generateCertificateImageDirect(certificateData);
@@ -110,7 +108,8 @@ public class CertificateAsyncServiceImp implements CertificateAsyncService {
             log.info("Url Image: {}", uploadResponse);
 
             // Update certificate with file URL atomically to prevent conflicts
-            int updatedRows = certificateRepository.updateFileUrl(certificate.getId(), uploadResponse.getUrl());
+            int updatedRows = certificateRepository.updateFileUrl(certificate.getId(), uploadResponse.getUrl(),
+                    contentHash);
             if (updatedRows == 0) {
                 log.warn("Failed to update certificate file URL - certificate may have been modified concurrently: {}",
                         certificate.getCertificateCode());
@@ -121,7 +120,7 @@ public class CertificateAsyncServiceImp implements CertificateAsyncService {
             log.info("PDF generated and uploaded successfully for certificate: {}. URL: {}",
                     certificate.getCertificateCode(), uploadResponse.getUrl());
 
-            // Send email notification asynchronously
+            // Queue email notification in the outbox
             sendCertificateNotificationEmail(certificate, uploadResponse.getUrl());
 
         } catch (Exception e) {
@@ -137,26 +136,15 @@ public class CertificateAsyncServiceImp implements CertificateAsyncService {
         try {
             log.info("Sending certificate notification email for: {}", certificate.getCertificateCode());
 
-            emailService.sendCertificateNotificationEmailAsync(
+            // Queued in the same transaction as the file URL update
+            emailService.queueCertificateNotificationEmail(
                     certificate.getUser().getEmail(),
                     certificate.getUser().getName(),
                     certificate.getCourse().getTitle(),
                     certificate.getCourse().getInstructor().getName(),
                     certificate.getCertificateCode(),
                     certificateUrl,
-                    certificate.getIssuedAt()).thenAccept(result -> {
-                        if (result.isSuccess()) {
-                            log.info("Certificate notification email sent successfully for: {}",
-                                    certificate.getCertificateCode());
-                        } else {
-                            log.error("Failed to send certificate notification email for {}: {}",
-                                    certificate.getCertificateCode(), result.getErrorMessage());
-                        }
-                    }).exceptionally(throwable -> {
-                        log.error("Exception sending certificate notification email for {}: {}",
-                                certificate.getCertificateCode(), throwable.getMessage(), throwable);
-                        return null;
-                    });
+                    certificate.getIssuedAt());
 
         } catch (Exception e) {
             log.error("Error sending certificate notification email for {}: {}",
@@ -0,0 +1,178 @@
+package project.ktc.springboot_app.certificate.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.certificate.config.CertificateIssuanceProperties;
+import project.ktc.springboot_app.certificate.dto.CertificateDataDto;
+import project.ktc.springboot_app.certificate.dto.CertificateIssuanceStatusDto;
+import project.ktc.springboot_app.certificate.dto.IssuedCertificateDto;
+import project.ktc.springboot_app.certificate.entity.Certificate;
+import project.ktc.springboot_app.certificate.entity.CertificateIssuance;
+import project.ktc.springboot_app.certificate.entity.CertificateIssuance.IssuanceStatus;
+import project.ktc.springboot_app.certificate.interfaces.CertificateIssuanceService;
+import project.ktc.springboot_app.certificate.interfaces.CertificateService;
+import project.ktc.springboot_app.certificate.repositories.CertificateIssuanceRepository;
+import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
+import project.ktc.springboot_app.email.interfaces.EmailService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Certificate issuance queue implementation
+ * Entries are keyed by (user, course) and drained in batches by
+ * {@link CertificateIssuanceWorker}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CertificateIssuanceServiceImp implements CertificateIssuanceService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final CertificateIssuanceRepository issuanceRepository;
+    private final CertificateService certificateService;
+    private final CertificateImageService certificateImageService;
+    private final EmailService emailService;
+    private final CertificateIssuanceProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void enqueue(String userId, String courseId) {
+        if (issuanceRepository.enqueue(userId, courseId) > 0) {
+            log.info("Certificate issuance queued for user {} and course {}", userId, courseId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<CertificateIssuance> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CertificateIssuance> entries = issuanceRepository.lockDueEntries(now, limit);
+
+        LocalDateTime leaseExpiry = now.plusSeconds(properties.getLeaseSeconds());
+        for (CertificateIssuance entry : entries) {
+            entry.setStatus(IssuanceStatus.PROCESSING);
+            entry.setNextAttemptAt(leaseExpiry);
+        }
+        return issuanceRepository.saveAll(entries);
+    }
+
+    @Override
+    @Transactional
+    public IssuedCertificateDto prepare(CertificateIssuance issuance) {
+        boolean alreadyIssued = issuance.getCertificateId() != null;
+        Certificate certificate = certificateService.issueCertificate(issuance.getUserId(), issuance.getCourseId());
+        CertificateDataDto data = certificateImageService.toCertificateData(certificate);
+        String contentHash = certificateImageService.contentHash(data);
+
+        // Remember the certificate so a retry does not announce it again
+        if (!alreadyIssued) {
+            jdbcTemplate.update("UPDATE certificate_issuance_queue SET certificate_id = ?, updated_at = NOW() "
+                    + "WHERE id = ?", certificate.getId(), issuance.getId());
+        }
+
+        boolean unchanged = contentHash.equals(certificate.getContentHash()) && certificate.getFileUrl() != null
+                && !certificate.getFileUrl().isEmpty();
+        return IssuedCertificateDto.builder()
+                .issuanceId(issuance.getId())
+                .certificateId(certificate.getId())
+                .userId(issuance.getUserId())
+                .courseId(issuance.getCourseId())
+                .data(data)
+                .contentHash(contentHash)
+                .fileUrl(unchanged ? certificate.getFileUrl() : null)
+                .newlyIssued(!alreadyIssued && certificate.getFileUrl() == null)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void completeBatch(List<IssuedCertificateDto> issued) {
+        if (issued.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> fileUrls = new ArrayList<>(issued.size());
+        List<Object[]> entries = new ArrayList<>(issued.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (IssuedCertificateDto certificate : issued) {
+            fileUrls.add(new Object[] { certificate.getFileUrl(), certificate.getContentHash(),
+                    certificate.getCertificateId() });
+            entries.add(new Object[] { certificate.getCertificateId(), now, certificate.getIssuanceId() });
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE certificates SET file_url = ?, content_hash = ?, updated_at = NOW() "
+                + "WHERE certificate_id = ?", fileUrls);
+        jdbcTemplate.batchUpdate("UPDATE certificate_issuance_queue SET status = 'DONE', certificate_id = ?, "
+                + "completed_at = ?, last_error = NULL, updated_at = NOW() WHERE id = ?", entries);
+
+        // Queued in the same transaction as the file URLs
+        for (IssuedCertificateDto certificate : issued) {
+            if (!certificate.isRendered()) {
+                continue;
+            }
+            CertificateDataDto data = certificate.getData();
+            emailService.queueCertificateNotificationEmail(
+                    data.getStudentEmail(),
+                    data.getStudentName(),
+                    data.getCourseTitle(),
+                    data.getInstructorName(),
+                    data.getCertificateCode(),
+                    certificate.getFileUrl(),
+                    data.getIssueDate());
+        }
+        log.info("Stored {} certificate files", issued.size());
+    }
+
+    @Override
+    @Transactional
+    public void recordFailure(CertificateIssuance issuance, Exception error) {
+        int attempts = issuance.getAttempts() + 1;
+        // Missing data or an incomplete course will not fix itself on retry
+        boolean permanent = error instanceof ResourceNotFoundException || error instanceof IllegalStateException;
+
+        if (permanent || attempts >= properties.getMaxAttempts()) {
+            log.error("Certificate issuance {} for user {} and course {} failed permanently after {} attempts: {}",
+                    issuance.getId(), issuance.getUserId(), issuance.getCourseId(), attempts, error.getMessage());
+            issuanceRepository.markAttemptFailed(issuance.getId(), IssuanceStatus.FAILED, attempts,
+                    LocalDateTime.now(), truncate(error.getMessage()));
+        } else {
+            long delay = (long) properties.getRetryDelaySeconds() << Math.min(attempts - 1, 10);
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(delay);
+            log.warn("Certificate issuance {} failed (attempt {}/{}), retrying at {}: {}",
+                    issuance.getId(), attempts, properties.getMaxAttempts(), nextAttemptAt, error.getMessage());
+            issuanceRepository.markAttemptFailed(issuance.getId(), IssuanceStatus.PENDING, attempts,
+                    nextAttemptAt, truncate(error.getMessage()));
+        }
+    }
+
+    @Override
+    public CertificateIssuanceStatusDto getStatus() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (IssuanceStatus status : IssuanceStatus.values()) {
+            byStatus.put(status.name(), issuanceRepository.countByStatus(status));
+        }
+        return CertificateIssuanceStatusDto.builder()
+                .depth(byStatus.get(IssuanceStatus.PENDING.name()) + byStatus.get(IssuanceStatus.PROCESSING.name()))
+                .byStatus(byStatus)
+                .oldestOpenEntryAt(issuanceRepository.findOldestOpenEntryCreatedAt())
+                .build();
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,168 @@
+package project.ktc.springboot_app.certificate.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.certificate.config.CertificateIssuanceProperties;
+import project.ktc.springboot_app.certificate.dto.IssuedCertificateDto;
+import project.ktc.springboot_app.certificate.entity.CertificateIssuance;
+import project.ktc.springboot_app.certificate.interfaces.CertificateIssuanceService;
+import project.ktc.springboot_app.notification.utils.NotificationHelper;
+import project.ktc.springboot_app.upload.dto.ImageUploadResponseDto;
+import project.ktc.springboot_app.upload.interfaces.CloudinaryService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Drains the certificate issuance queue.
+ * Each poll claims batches with SKIP LOCKED (so several nodes can run it),
+ * issues the certificates, renders and uploads the files in parallel on the
+ * bounded certificate executor, and stores all URLs of a batch with one
+ * batched update.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.certificate.issuance", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CertificateIssuanceWorker {
+
+    private static final String CERTIFICATES_URL = "/dashboard/certificates";
+
+    private final CertificateIssuanceService issuanceService;
+    private final CertificateImageService certificateImageService;
+    private final CloudinaryService cloudinaryService;
+    private final NotificationHelper notificationHelper;
+    private final CertificateIssuanceProperties properties;
+    private final Executor certificateExecutor;
+
+    public CertificateIssuanceWorker(CertificateIssuanceService issuanceService,
+            CertificateImageService certificateImageService,
+            CloudinaryService cloudinaryService,
+            NotificationHelper notificationHelper,
+            CertificateIssuanceProperties properties,
+            @Qualifier("certificateExecutor") Executor certificateExecutor) {
+        this.issuanceService = issuanceService;
+        this.certificateImageService = certificateImageService;
+        this.cloudinaryService = cloudinaryService;
+        this.notificationHelper = notificationHelper;
+        this.properties = properties;
+        this.certificateExecutor = certificateExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.certificate.issuance.poll-interval-ms:5000}", initialDelay = 15000)
+    public void drain() {
+        try {
+            for (int batch = 0; batch < properties.getMaxBatchesPerPoll(); batch++) {
+                List<CertificateIssuance> entries = issuanceService.claimBatch(properties.getBatchSize());
+                if (entries.isEmpty()) {
+                    return;
+                }
+
+                log.debug("Issuing {} queued certificates", entries.size());
+                processBatch(entries);
+
+                if (entries.size() < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Certificate issuance drain failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void processBatch(List<CertificateIssuance> entries) {
+        Map<String, CertificateIssuance> entriesById = new HashMap<>();
+        List<IssuedCertificateDto> prepared = new ArrayList<>(entries.size());
+        for (CertificateIssuance entry : entries) {
+            entriesById.put(entry.getId(), entry);
+            try {
+                IssuedCertificateDto certificate = issuanceService.prepare(entry);
+                prepared.add(certificate);
+                if (certificate.isNewlyIssued()) {
+                    notifyIssued(certificate);
+                }
+            } catch (Exception e) {
+                recordFailure(entry, e);
+            }
+        }
+
+        // Render and upload everything that needs a new file
+        Map<String, CompletableFuture<Void>> uploads = new HashMap<>();
+        for (IssuedCertificateDto certificate : prepared) {
+            if (certificate.getFileUrl() == null) {
+                uploads.put(certificate.getIssuanceId(),
+                        CompletableFuture.runAsync(() -> renderAndUpload(certificate), certificateExecutor));
+            }
+        }
+
+        List<IssuedCertificateDto> completed = new ArrayList<>(prepared.size());
+        for (IssuedCertificateDto certificate : prepared) {
+            CompletableFuture<Void> upload = uploads.get(certificate.getIssuanceId());
+            if (upload == null) {
+                completed.add(certificate);
+                continue;
+            }
+            try {
+                upload.join();
+                completed.add(certificate);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+                recordFailure(entriesById.get(certificate.getIssuanceId()),
+                        cause instanceof Exception exception ? exception : e);
+            }
+        }
+
+        try {
+            issuanceService.completeBatch(completed);
+        } catch (Exception e) {
+            log.error("Failed to store {} certificate files: {}", completed.size(), e.getMessage(), e);
+            for (IssuedCertificateDto certificate : completed) {
+                recordFailure(entriesById.get(certificate.getIssuanceId()), e);
+            }
+        }
+    }
+
+    private void renderAndUpload(IssuedCertificateDto certificate) {
+        try {
+            byte[] image = certificateImageService.generateCertificateImage(certificate.getData());
+            String filename = certificateImageService.generateImageFilename(certificate.getUserId(),
+                    certificate.getCourseId(), certificate.getData().getCertificateCode());
+            ImageUploadResponseDto upload = cloudinaryService.uploadCertificateImage(image, filename);
+            certificate.setFileUrl(upload.getUrl());
+            certificate.setRendered(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void notifyIssued(IssuedCertificateDto certificate) {
+        notificationHelper.createCertificateNotification(
+                certificate.getUserId(),
+                certificate.getCertificateId(),
+                certificate.getData().getCourseTitle(),
+                CERTIFICATES_URL)
+                .exceptionally(ex -> {
+                    log.error("Failed to create certificate notification for user {} (course: {}): {}",
+                            certificate.getUserId(), certificate.getCourseId(), ex.getMessage());
+                    return null;
+                });
+    }
+
+    private void recordFailure(CertificateIssuance entry, Exception error) {
+        try {
+            issuanceService.recordFailure(entry, error);
+        } catch (Exception e) {
+            // Lease expiry will make the entry due again
+            log.error("Failed to record issuance failure for {}: {}", entry.getId(), e.getMessage(), e);
+        }
+    }
+}
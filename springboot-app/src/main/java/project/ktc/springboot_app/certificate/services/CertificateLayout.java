@@ -0,0 +1,65 @@
+package project.ktc.springboot_app.certificate.services;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * Certificate template resolved to absolute positions, in millimetres from
+ * the top-left corner of the page. Built once from the HTML template by
+ * {@link CertificateTemplateParser} and shared by every render.
+ *
+ * @param content     the container minus its padding
+ * @param mainTop     top of the centred main column, where the header
+ *                    flourish sits
+ * @param footerTop   top of the footer, where its rule sits
+ * @param fingerprint hash of the template source, part of every content hash
+ * @param textLayers  text drawn per certificate; may contain placeholders
+ * @param blocks      empty template elements (stamp, signature line) that
+ *                    are painted into the static background
+ */
+public record CertificateLayout(
+        double pageWidthMm,
+        double pageHeightMm,
+        Frame container,
+        Frame content,
+        double mainTop,
+        double footerTop,
+        List<TextLayer> textLayers,
+        List<BlockLayer> blocks,
+        String fingerprint) {
+
+    public enum Align {
+        LEFT, CENTER, RIGHT
+    }
+
+    public record Frame(double x, double y, double width, double height) {
+    }
+
+    /**
+     * Inline-block decoration around a text layer (padding, fill, border)
+     */
+    public record BoxStyle(double paddingX, double paddingY, Color background, Color border,
+            double borderWidthMm, double radiusMm, double minWidthMm) {
+    }
+
+    public record TextStyle(double fontSizeMm, Color color, boolean bold, boolean italic,
+            boolean monospace, boolean uppercase, double letterSpacingMm, double lineHeight,
+            BoxStyle box) {
+    }
+
+    /**
+     * Text slot sized for one line. The text is shrunk, or wrapped onto up
+     * to maxLines lines, to fit maxWidthMm, and is vertically centred in
+     * [y, y + height).
+     */
+    public record TextLayer(String cssClass, String text, TextStyle style, Align align,
+            double x, double y, double width, double height, double maxWidthMm, int maxLines) {
+
+        public boolean isStatic() {
+            return !text.contains("[");
+        }
+    }
+
+    public record BlockLayer(String cssClass, double x, double y, double width, double height, String content) {
+    }
+}
@@ -0,0 +1,640 @@
+package project.ktc.springboot_app.certificate.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.certificate.dto.CertificateDataDto;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.BlockLayer;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.BoxStyle;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.Frame;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.TextLayer;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.TextStyle;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.LinearGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.AttributedString;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Renders certificates in-process from the HTML template.
+ *
+ * The template is parsed once at startup into a {@link CertificateLayout}.
+ * Everything that does not change between certificates (page, borders,
+ * stamp, static text) is painted once into a background image; a render
+ * copies that background onto a pooled canvas and draws only the
+ * placeholder text on top. Renders are bounded by a semaphore so a batch of
+ * completions cannot exhaust the heap, and encoded results are kept in a
+ * small LRU keyed by a hash of the certificate's content, so regenerating an
+ * unchanged certificate costs nothing.
+ */
+@Service
+@Slf4j
+public class CertificateRenderingEngine {
+
+    private static final String CERTIFICATE_TEMPLATE_PATH = "templates/certificates/certificate-background.html";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+
+    private static final Color GOLD = new Color(0xd4af37);
+    private static final Color BLUE = new Color(0x2c5aa0);
+    private static final double MIN_SHRINK = 0.7;
+    private static final double WRAP_SHRINK = 0.75;
+
+    private final CertificateLayout layout;
+    private final double scale;
+    private final int width;
+    private final int height;
+    private final float jpegQuality;
+    private final BufferedImage background;
+    private final Semaphore renderPermits;
+    private final BlockingQueue<BufferedImage> canvases;
+    private final Map<String, byte[]> renderCache;
+    private final ReentrantLock renderCacheLock = new ReentrantLock();
+
+    public CertificateRenderingEngine(CertificateTemplateParser templateParser,
+            @Value("${certificate.render.scale:8}") double scale,
+            @Value("${certificate.render.parallelism:0}") int parallelism,
+            @Value("${certificate.render.cache-size:32}") int cacheSize,
+            @Value("${certificate.image.quality:95}") int imageQuality) throws IOException {
+        this.layout = templateParser.parse(loadTemplate());
+        this.scale = scale;
+        this.width = (int) Math.round(layout.pageWidthMm() * scale);
+        this.height = (int) Math.round(layout.pageHeightMm() * scale);
+        this.jpegQuality = Math.min(100, Math.max(1, imageQuality)) / 100f;
+
+        int permits = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.renderPermits = new Semaphore(permits, true);
+        this.canvases = new ArrayBlockingQueue<>(permits);
+        this.renderCache = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.background = paintBackground();
+        log.info("Certificate renderer ready: {}x{} px, {} concurrent renders, template {}",
+                width, height, permits, layout.fingerprint());
+    }
+
+    /**
+     * Render the certificate as an image
+     *
+     * @param format png or jpeg; webp is not supported by ImageIO and is
+     *               served as png
+     */
+    public byte[] renderImage(CertificateDataDto data, String format) throws IOException {
+        return render(data, imageFormat(format));
+    }
+
+    /**
+     * Render the certificate as a one-page A4 landscape PDF. The page is the
+     * rendered image, which keeps every glyph the system fonts can draw.
+     */
+    public byte[] renderPdf(CertificateDataDto data) throws IOException {
+        return render(data, "pdf");
+    }
+
+    /**
+     * Hash of everything that affects the output for this certificate. Equal
+     * hashes mean byte-identical renders.
+     */
+    public String contentHash(CertificateDataDto data, String format) {
+        String resolved = "pdf".equalsIgnoreCase(format) ? "pdf" : imageFormat(format);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder source = new StringBuilder()
+                    .append(layout.fingerprint()).append('|')
+                    .append(scale).append('|')
+                    .append(resolved).append('|')
+                    .append(jpegQuality);
+            new TreeMap<>(placeholders(data)).forEach((key, value) -> source.append('|').append(key).append('=')
+                    .append(value));
+            return HexFormat.of().formatHex(digest.digest(source.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private byte[] render(CertificateDataDto data, String format) throws IOException {
+        String hash = contentHash(data, format);
+        renderCacheLock.lock();
+        try {
+            byte[] cached = renderCache.get(hash);
+            if (cached != null) {
+                log.debug("Serving certificate {} from render cache", data.getCertificateCode());
+                return cached;
+            }
+        } finally {
+            renderCacheLock.unlock();
+        }
+
+        try {
+            renderPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a certificate canvas", e);
+        }
+        BufferedImage canvas = canvases.poll();
+        try {
+            if (canvas == null) {
+                canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+            long started = System.nanoTime();
+            Graphics2D g = canvas.createGraphics();
+            try {
+                g.drawImage(background, 0, 0, null);
+                configure(g);
+                Map<String, String> values = placeholders(data);
+                for (TextLayer layer : layout.textLayers()) {
+                    if (!layer.isStatic()) {
+                        drawText(g, layer, substitute(layer.text(), values));
+                    }
+                }
+            } finally {
+                g.dispose();
+            }
+
+            byte[] bytes = switch (format) {
+                case "pdf" -> wrapInPdf(encodeJpeg(canvas));
+                case "jpeg" -> encodeJpeg(canvas);
+                default -> encodePng(canvas);
+            };
+            log.debug("Rendered certificate {} as {} in {} ms ({} bytes)", data.getCertificateCode(), format,
+                    (System.nanoTime() - started) / 1_000_000, bytes.length);
+
+            renderCacheLock.lock();
+            try {
+                renderCache.put(hash, bytes);
+            } finally {
+                renderCacheLock.unlock();
+            }
+            return bytes;
+        } finally {
+            if (canvas != null) {
+                canvases.offer(canvas);
+            }
+            renderPermits.release();
+        }
+    }
+
+    private Map<String, String> placeholders(CertificateDataDto data) {
+        Map<String, String> values = new HashMap<>();
+        values.put("[STUDENT_NAME]", nullToEmpty(data.getStudentName()));
+        values.put("[COURSE_TITLE]", nullToEmpty(data.getCourseTitle()));
+        values.put("[ISSUE_DATE]", data.getIssueDate() != null ? DATE_FORMATTER.format(data.getIssueDate()) : "");
+        values.put("[CERTIFICATE_CODE]", nullToEmpty(data.getCertificateCode()));
+        values.put("[INSTRUCTOR_NAME]", data.getInstructorName() != null ? data.getInstructorName() : "KTC Faculty");
+        values.put("[COURSE_LEVEL]", data.getCourseLevel() != null ? data.getCourseLevel() : "General");
+        return values;
+    }
+
+    private String substitute(String text, Map<String, String> values) {
+        String result = text;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    // ---- background ----
+
+    private BufferedImage paintBackground() {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            configure(g);
+
+            // Page
+            g.setPaint(new LinearGradientPaint(0, 0, width, height, new float[] { 0f, 0.5f, 1f },
+                    new Color[] { new Color(0xf8f9fa), new Color(0xe3e6ea), new Color(0xf1f3f5) }));
+            g.fillRect(0, 0, width, height);
+
+            // Container: soft shadow, then the gold, white and blue inset rings
+            Frame container = layout.container();
+            for (int i = 6; i > 0; i--) {
+                g.setColor(new Color(0, 0, 0, 3));
+                g.fill(roundRect(container, -i * 0.5, 5 + i * 0.5));
+            }
+            g.setColor(GOLD);
+            g.fill(roundRect(container, 0, 5));
+            g.setColor(Color.WHITE);
+            g.fill(roundRect(container, 1, 4));
+            g.setColor(new Color(44, 90, 160, 178));
+            g.fill(roundRect(container, 3, 2));
+            g.setColor(Color.WHITE);
+            g.fill(roundRect(container, 4, 1));
+
+            // Inner border
+            g.setColor(new Color(212, 175, 55, 77));
+            g.setStroke(new BasicStroke((float) px(0.3)));
+            g.draw(roundRect(container, 6, 1.5));
+
+            paintWatermark(g, container);
+            paintCorners(g, container);
+
+            // Header flourish and footer rule
+            Frame content = layout.content();
+            double centre = content.x() + content.width() / 2;
+            paintRule(g, centre - 26.5, layout.mainTop() - 2.6, 53, 1.06);
+            paintDiamonds(g, centre, layout.mainTop() - 5.5);
+            paintRule(g, content.x() + content.width() * 0.08, layout.footerTop() - 5.3,
+                    content.width() * 0.84, 0.53);
+            paintDiamonds(g, centre, layout.footerTop() - 5.05);
+
+            for (BlockLayer block : layout.blocks()) {
+                paintBlock(g, block);
+            }
+            for (TextLayer layer : layout.textLayers()) {
+                if (layer.isStatic()) {
+                    drawText(g, layer, layer.text());
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private void paintWatermark(Graphics2D g, Frame container) {
+        AffineTransform saved = g.getTransform();
+        g.translate(px(container.x() + container.width() / 2), px(container.y() + container.height() / 2));
+        g.rotate(Math.toRadians(-25));
+        Font font = new Font(Font.SERIF, Font.PLAIN, 1).deriveFont((float) px(53));
+        TextLayout text = new TextLayout("KTC", font, g.getFontRenderContext());
+        g.setColor(new Color(44, 90, 160, 4));
+        text.draw(g, (float) -text.getAdvance() / 2, (float) (text.getAscent() - text.getDescent()) / 2);
+        g.setTransform(saved);
+    }
+
+    private void paintCorners(Graphics2D g, Frame container) {
+        double inset = 11.9;
+        double arm = 7.9;
+        g.setColor(GOLD);
+        g.setStroke(new BasicStroke((float) px(0.53), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        double left = container.x() + inset;
+        double right = container.x() + container.width() - inset;
+        double top = container.y() + inset;
+        double bottom = container.y() + container.height() - inset;
+        g.draw(corner(left, top, arm, arm));
+        g.draw(corner(right, top, -arm, arm));
+        g.draw(corner(left, bottom, arm, -arm));
+        g.draw(corner(right, bottom, -arm, -arm));
+    }
+
+    private Path2D corner(double x, double y, double dx, double dy) {
+        Path2D path = new Path2D.Double();
+        path.moveTo(px(x), px(y + dy));
+        path.lineTo(px(x), px(y));
+        path.lineTo(px(x + dx), px(y));
+        return path;
+    }
+
+    /**
+     * Horizontal rule fading out at both ends
+     */
+    private void paintRule(Graphics2D g, double x, double y, double widthMm, double heightMm) {
+        g.setPaint(new LinearGradientPaint(new Point2D.Double(px(x), 0), new Point2D.Double(px(x + widthMm), 0),
+                new float[] { 0f, 0.25f, 0.5f, 0.75f, 1f },
+                new Color[] { new Color(212, 175, 55, 0), new Color(212, 175, 55, 77), GOLD,
+                        new Color(212, 175, 55, 77), new Color(212, 175, 55, 0) }));
+        g.fill(new RoundRectangle2D.Double(px(x), px(y), px(widthMm), px(heightMm), px(heightMm), px(heightMm)));
+    }
+
+    private void paintDiamonds(Graphics2D g, double centre, double y) {
+        g.setColor(GOLD);
+        for (double offset : new double[] { -4, 0, 4 }) {
+            double size = offset == 0 ? 1.4 : 1;
+            Path2D diamond = new Path2D.Double();
+            diamond.moveTo(px(centre + offset), px(y - size));
+            diamond.lineTo(px(centre + offset + size), px(y));
+            diamond.lineTo(px(centre + offset), px(y + size));
+            diamond.lineTo(px(centre + offset - size), px(y));
+            diamond.closePath();
+            g.fill(diamond);
+        }
+    }
+
+    /**
+     * Empty template elements: a thin one is a rule (the signature line), a
+     * square one with content is the seal
+     */
+    private void paintBlock(Graphics2D g, BlockLayer block) {
+        if (block.height() < 1) {
+            paintRule(g, block.x(), block.y() - 0.5, block.width(), 1.3);
+            g.setPaint(new LinearGradientPaint(new Point2D.Double(px(block.x()), 0),
+                    new Point2D.Double(px(block.x() + block.width()), 0), new float[] { 0f, 0.5f, 1f },
+                    new Color[] { new Color(44, 90, 160, 0), BLUE, new Color(44, 90, 160, 0) }));
+            g.fill(new Rectangle2D.Double(px(block.x()), px(block.y()), px(block.width()),
+                    Math.max(1, px(block.height()))));
+            return;
+        }
+
+        double cx = block.x() + block.width() / 2;
+        double cy = block.y() + block.height() / 2;
+        double r = Math.min(block.width(), block.height()) / 2;
+        g.setColor(GOLD);
+        g.fill(circle(cx, cy, r));
+        g.setColor(Color.WHITE);
+        g.fill(circle(cx, cy, r - 0.8));
+        g.setColor(new Color(212, 175, 55, 77));
+        g.setStroke(new BasicStroke((float) px(0.5)));
+        g.draw(circle(cx, cy, r - 2.2));
+        g.setColor(new Color(212, 175, 55, 102));
+        g.setStroke(new BasicStroke((float) px(0.26)));
+        g.draw(circle(cx, cy, 6));
+
+        if (block.content() != null) {
+            String[] lines = block.content().split("\n");
+            Font font = font(new TextStyle(2, GOLD, true, false, false, false, 0.1, 1.1, null), 1);
+            double lineHeight = 2.2;
+            double top = cy - lines.length * lineHeight / 2;
+            g.setColor(GOLD);
+            for (int i = 0; i < lines.length; i++) {
+                TextLayout text = new TextLayout(lines[i], font, g.getFontRenderContext());
+                double baseline = px(top + i * lineHeight) + (px(lineHeight) + text.getAscent() - text.getDescent()) / 2;
+                text.draw(g, (float) (px(cx) - text.getAdvance() / 2), (float) baseline);
+            }
+        }
+    }
+
+    // ---- text ----
+
+    /**
+     * Draw one text layer. Text that is too wide is shrunk, down to 70%; if it
+     * still does not fit it is wrapped onto the allowed number of lines and
+     * the last line ellipsised.
+     */
+    private void drawText(Graphics2D g, TextLayer layer, String rawText) {
+        TextStyle style = layer.style();
+        String text = style.uppercase() ? rawText.toUpperCase(Locale.ROOT) : rawText;
+        if (text.isBlank()) {
+            return;
+        }
+        FontRenderContext frc = g.getFontRenderContext();
+        double maxWidth = px(layer.maxWidthMm());
+
+        double factor = 1;
+        Font font = font(style, 1);
+        List<TextLayout> lines = List.of(new TextLayout(text, font, frc));
+        double advance = lines.get(0).getAdvance();
+        if (advance > maxWidth) {
+            factor = Math.max(MIN_SHRINK, maxWidth / advance);
+            font = font(style, factor);
+            lines = List.of(new TextLayout(text, font, frc));
+            if (lines.get(0).getAdvance() > maxWidth) {
+                if (layer.maxLines() > 1) {
+                    factor = Math.min(factor, WRAP_SHRINK);
+                    font = font(style, factor);
+                }
+                lines = wrap(text, font, frc, maxWidth, layer.maxLines());
+            }
+        }
+
+        double lineHeight = px(style.fontSizeMm() * factor * style.lineHeight());
+        double textWidth = 0;
+        for (TextLayout line : lines) {
+            textWidth = Math.max(textWidth, line.getAdvance());
+        }
+        double textHeight = lineHeight * lines.size();
+
+        BoxStyle box = style.box();
+        double boxWidth = textWidth + (box != null ? 2 * px(box.paddingX()) : 0);
+        double boxHeight = textHeight + (box != null ? 2 * px(box.paddingY()) : 0);
+        if (box != null) {
+            boxWidth = Math.max(boxWidth, px(box.minWidthMm()));
+        }
+        double slotX = px(layer.x());
+        double slotWidth = px(layer.width());
+        double boxX = switch (layer.align()) {
+            case LEFT -> slotX;
+            case RIGHT -> slotX + slotWidth - boxWidth;
+            case CENTER -> slotX + (slotWidth - boxWidth) / 2;
+        };
+        double boxY = px(layer.y()) + (px(layer.height()) - boxHeight) / 2;
+
+        if (box != null) {
+            RoundRectangle2D shape = new RoundRectangle2D.Double(boxX, boxY, boxWidth, boxHeight,
+                    2 * px(box.radiusMm()), 2 * px(box.radiusMm()));
+            if (box.background() != null) {
+                g.setColor(box.background());
+                g.fill(shape);
+            }
+            if (box.border() != null && box.borderWidthMm() > 0) {
+                g.setColor(box.border());
+                g.setStroke(new BasicStroke((float) px(box.borderWidthMm())));
+                g.draw(shape);
+            }
+        }
+
+        g.setColor(style.color());
+        double top = boxY + (boxHeight - textHeight) / 2;
+        for (int i = 0; i < lines.size(); i++) {
+            TextLayout line = lines.get(i);
+            double x = boxX + (boxWidth - line.getAdvance()) / 2;
+            double baseline = top + i * lineHeight + (lineHeight + line.getAscent() - line.getDescent()) / 2;
+            line.draw(g, (float) x, (float) baseline);
+        }
+    }
+
+    private List<TextLayout> wrap(String text, Font font, FontRenderContext frc, double maxWidth, int maxLines) {
+        AttributedString attributed = new AttributedString(text, font.getAttributes());
+        LineBreakMeasurer measurer = new LineBreakMeasurer(attributed.getIterator(), frc);
+        List<TextLayout> lines = new ArrayList<>();
+        while (measurer.getPosition() < text.length()) {
+            if (lines.size() == maxLines - 1) {
+                lines.add(ellipsise(text.substring(measurer.getPosition()).trim(), font, frc, maxWidth));
+                break;
+            }
+            int start = measurer.getPosition();
+            measurer.nextLayout((float) maxWidth);
+            lines.add(new TextLayout(text.substring(start, measurer.getPosition()).trim(), font, frc));
+        }
+        return lines;
+    }
+
+    private TextLayout ellipsise(String text, Font font, FontRenderContext frc, double maxWidth) {
+        TextLayout layout = new TextLayout(text, font, frc);
+        if (layout.getAdvance() <= maxWidth) {
+            return layout;
+        }
+        int end = text.length();
+        while (end > 1) {
+            end--;
+            layout = new TextLayout(text.substring(0, end).stripTrailing() + "…", font, frc);
+            if (layout.getAdvance() <= maxWidth) {
+                break;
+            }
+        }
+        return layout;
+    }
+
+    private Font font(TextStyle style, double factor) {
+        Map<TextAttribute, Object> attributes = new HashMap<>();
+        attributes.put(TextAttribute.FAMILY, style.monospace() ? Font.MONOSPACED : Font.SERIF);
+        attributes.put(TextAttribute.WEIGHT, style.bold() ? TextAttribute.WEIGHT_BOLD : TextAttribute.WEIGHT_REGULAR);
+        attributes.put(TextAttribute.POSTURE,
+                style.italic() ? TextAttribute.POSTURE_OBLIQUE : TextAttribute.POSTURE_REGULAR);
+        attributes.put(TextAttribute.SIZE, (float) px(style.fontSizeMm() * factor));
+        if (style.letterSpacingMm() > 0) {
+            attributes.put(TextAttribute.TRACKING, (float) (style.letterSpacingMm() / style.fontSizeMm()));
+        }
+        return Font.getFont(attributes);
+    }
+
+    // ---- encoding ----
+
+    private byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512 * 1024);
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512 * 1024);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Minimal single-page PDF showing a JPEG over the whole page. PDF viewers
+     * decode DCT natively, so no PDF library is needed for this.
+     */
+    private byte[] wrapInPdf(byte[] jpeg) throws IOException {
+        double pageWidth = layout.pageWidthMm() * 72 / 25.4;
+        double pageHeight = layout.pageHeightMm() * 72 / 25.4;
+        String drawImage = String.format(Locale.ROOT, "q %.2f 0 0 %.2f 0 0 cm /Im0 Do Q", pageWidth, pageHeight);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(jpeg.length + 1024);
+        List<Integer> offsets = new ArrayList<>();
+        writeAscii(out, "%PDF-1.4\n%âãÏÓ\n");
+        offsets.add(out.size());
+        writeAscii(out, "1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+        offsets.add(out.size());
+        writeAscii(out, "2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
+        offsets.add(out.size());
+        writeAscii(out, String.format(Locale.ROOT, "3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 %.2f %.2f] "
+                + "/Resources << /XObject << /Im0 4 0 R >> >> /Contents 5 0 R >>\nendobj\n", pageWidth, pageHeight));
+        offsets.add(out.size());
+        writeAscii(out, "4 0 obj\n<< /Type /XObject /Subtype /Image /Width " + width + " /Height " + height
+                + " /ColorSpace /DeviceRGB /BitsPerComponent 8 /Filter /DCTDecode /Length " + jpeg.length
+                + " >>\nstream\n");
+        out.write(jpeg);
+        writeAscii(out, "\nendstream\nendobj\n");
+        offsets.add(out.size());
+        writeAscii(out, "5 0 obj\n<< /Length " + drawImage.length() + " >>\nstream\n" + drawImage
+                + "\nendstream\nendobj\n");
+
+        int xref = out.size();
+        StringBuilder table = new StringBuilder("xref\n0 ").append(offsets.size() + 1)
+                .append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        writeAscii(out, table.toString());
+        return out.toByteArray();
+    }
+
+    private void writeAscii(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    // ---- helpers ----
+
+    private void configure(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+    }
+
+    private String imageFormat(String format) {
+        String normalized = format == null ? "png" : format.toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "jpeg", "jpg" -> "jpeg";
+            case "png" -> "png";
+            default -> {
+                log.warn("Image format {} is not supported by the renderer, using png", format);
+                yield "png";
+            }
+        };
+    }
+
+    private RoundRectangle2D roundRect(Frame frame, double insetMm, double radiusMm) {
+        double radius = Math.max(0, radiusMm);
+        return new RoundRectangle2D.Double(px(frame.x() + insetMm), px(frame.y() + insetMm),
+                px(frame.width() - 2 * insetMm), px(frame.height() - 2 * insetMm), px(2 * radius), px(2 * radius));
+    }
+
+    private Ellipse2D circle(double cx, double cy, double r) {
+        return new Ellipse2D.Double(px(cx - r), px(cy - r), px(2 * r), px(2 * r));
+    }
+
+    private double px(double mm) {
+        return mm * scale;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String loadTemplate() throws IOException {
+        ClassPathResource resource = new ClassPathResource(CERTIFICATE_TEMPLATE_PATH);
+        if (!resource.exists()) {
+            throw new IOException("Certificate template not found at: " + CERTIFICATE_TEMPLATE_PATH);
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
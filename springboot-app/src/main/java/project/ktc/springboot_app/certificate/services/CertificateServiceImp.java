@@ -20,9 +20,11 @@ import project.ktc.springboot_app.certificate.repositories.CertificateRepository
 
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.course.entity.Course;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 import project.ktc.springboot_app.utils.SecurityUtil;
@@ -43,6 +45,7 @@ public class CertificateServiceImp implements CertificateService {
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final CourseProgressService courseProgressService;
     private final CertificateAsyncService certificateAsyncService;
 
     @Override
@@ -433,11 +436,8 @@ public class CertificateServiceImp implements CertificateService {
 
             Certificate certificate = certificateOpt.get();
 
-            // Clear existing file URL
-            certificate.setFileUrl(null);
-            certificateRepository.save(certificate);
-
-            // Regenerate image asynchronously
+            // Regenerate image asynchronously; an unchanged certificate keeps its
+            // stored file, so the URL is only replaced once a new one is uploaded
             certificateAsyncService.processCertificateAsync(certificate.getId());
 
             // Build response
@@ -470,33 +470,45 @@ public class CertificateServiceImp implements CertificateService {
         }
     }
 
+    @Override
+    @Transactional
+    public Certificate issueCertificate(String userId, String courseId) {
+        Optional<Certificate> existing = certificateRepository.findByUserIdAndCourseId(userId, courseId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        if (!enrollmentRepository.existsByUserIdAndCourseId(userId, courseId)) {
+            throw new IllegalStateException("User is not enrolled in the course");
+        }
+        if (!hasUserCompletedAllLessons(userId, courseId)) {
+            throw new IllegalStateException("User has not completed all lessons in the course");
+        }
+
+        Certificate certificate = new Certificate();
+        certificate.setUser(user);
+        certificate.setCourse(course);
+        certificate.setCertificateCode(generateUniqueCertificateCode(course));
+        certificate.setIssuedAt(LocalDateTime.now());
+        certificateRepository.saveAndFlush(certificate);
+
+        log.info("Certificate {} issued for user {} and course {}", certificate.getCertificateCode(), userId,
+                courseId);
+        // Reload with the instructor fetched for rendering
+        return certificateRepository.findByUserIdAndCourseId(userId, courseId).orElseThrow();
+    }
+
     // Private helper methods
 
     /**
      * Check if user has completed all lessons in the course
      */
     private boolean hasUserCompletedAllLessons(String userId, String courseId) {
-        try {
-            log.debug("Checking if user {} has completed all lessons in course {}", userId, courseId);
-
-            // Count total lessons in the course
-            Long totalLessons = enrollmentRepository.countTotalLessonsByCourse(courseId);
-
-            // Count completed lessons by the user in this course
-            Long completedLessons = enrollmentRepository.countCompletedLessonsByUserAndCourse(userId, courseId);
-
-            log.debug("Course {} - Total lessons: {}, Completed by user {}: {}",
-                    courseId, totalLessons, userId, completedLessons);
-
-            // Return true if user has completed all lessons (and there are lessons to
-            // complete)
-            return totalLessons > 0 && completedLessons.equals(totalLessons);
-
-        } catch (Exception e) {
-            log.error("Error checking lesson completion for user {} in course {}: {}",
-                    userId, courseId, e.getMessage(), e);
-            return false;
-        }
+        return courseProgressService.hasCompletedAllLessons(userId, courseId);
     }
 
     /**
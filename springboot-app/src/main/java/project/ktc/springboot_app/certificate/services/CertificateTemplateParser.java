@@ -0,0 +1,394 @@
+package project.ktc.springboot_app.certificate.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.Align;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.BlockLayer;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.BoxStyle;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.Frame;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.TextLayer;
+import project.ktc.springboot_app.certificate.services.CertificateLayout.TextStyle;
+
+import java.awt.Color;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the certificate HTML template into a {@link CertificateLayout}.
+ *
+ * Only what the template actually uses is understood: class selectors with
+ * simple declarations, and a body of nested divs. The page and container
+ * come from the body and .certificate-container rules, .main-content is
+ * stacked vertically and centred, and the .footer children become
+ * bottom-aligned columns of equal width, as the template's flexbox does.
+ */
+@Component
+@Slf4j
+public class CertificateTemplateParser {
+
+    private static final double PX_PER_MM = 96 / 25.4;
+    private static final double DEFAULT_LINE_HEIGHT = 1.2;
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern RULE = Pattern.compile("([^{}]+)\\{([^{}]*)}");
+    private static final Pattern SIMPLE_SELECTOR = Pattern.compile("\\.?[\\w-]+(::(before|after))?");
+    private static final Pattern BODY_TOKEN = Pattern.compile("<div(?:\\s+class=\"([^\"]*)\")?\\s*>|</div>|([^<]+)");
+    private static final Pattern LENGTH = Pattern.compile("(-?[\\d.]+)(mm|px)?");
+    private static final Pattern HEX_COLOR = Pattern.compile("#([0-9a-fA-F]{6}|[0-9a-fA-F]{3})\\b");
+    private static final Pattern RGBA_COLOR = Pattern.compile("rgba?\\(([^)]*)\\)");
+
+    public CertificateLayout parse(String html) {
+        Map<String, Map<String, String>> css = parseCss(html);
+        Node body = parseBody(html);
+
+        Map<String, String> page = css.getOrDefault("body", Map.of());
+        double pageWidth = length(page.get("width"), 297);
+        double pageHeight = length(page.get("height"), 210);
+
+        Map<String, String> containerCss = css.getOrDefault(".certificate-container", Map.of());
+        double left = length(containerCss.get("left"), 20);
+        double top = length(containerCss.get("top"), 20);
+        Frame container = new Frame(left, top,
+                pageWidth - left - length(containerCss.get("right"), 20),
+                pageHeight - top - length(containerCss.get("bottom"), 20));
+
+        double[] contentPadding = box(css.getOrDefault(".certificate-content", Map.of()), "padding");
+        double contentX = container.x() + contentPadding[3];
+        double contentWidth = container.width() - contentPadding[1] - contentPadding[3];
+        double contentTop = container.y() + contentPadding[0];
+        double contentBottom = container.y() + container.height() - contentPadding[2];
+
+        Layouter layouter = new Layouter(css);
+
+        // Footer: equal columns, each stacked from the bottom
+        Node footer = body.find("footer");
+        double footerTop = contentBottom;
+        if (footer != null) {
+            Map<String, String> footerCss = css.getOrDefault(".footer", Map.of());
+            double columnWidth = contentWidth / Math.max(1, footer.children.size());
+            double tallest = 0;
+            for (Node column : footer.children) {
+                tallest = Math.max(tallest, layouter.measure(column, columnWidth, Align.CENTER));
+            }
+            double footerHeight = Math.max(length(footerCss.get("min-height"), 0),
+                    box(footerCss, "padding")[0] + tallest);
+            footerTop = contentBottom - footerHeight;
+
+            for (int i = 0; i < footer.children.size(); i++) {
+                Node column = footer.children.get(i);
+                double height = layouter.measure(column, columnWidth, Align.CENTER);
+                layouter.place(column, contentX + i * columnWidth, columnWidth, contentBottom - height, Align.CENTER);
+            }
+        }
+
+        // Main content: one column, vertically centred above the footer
+        Node main = body.find("main-content");
+        double mainTop = contentTop;
+        if (main != null) {
+            double available = footerTop - contentTop;
+            double height = layouter.measure(main, contentWidth, Align.CENTER);
+            if (height > available) {
+                // Too tall for the space above the footer: close up the gaps
+                // between lines rather than overlap the footer
+                layouter.marginScale = 0;
+                double textHeight = layouter.measure(main, contentWidth, Align.CENTER);
+                layouter.marginScale = Math.max(0, (available - textHeight) / (height - textHeight));
+                height = layouter.measure(main, contentWidth, Align.CENTER);
+            }
+            mainTop = contentTop + (available - height) / 2;
+            layouter.place(main, contentX, contentWidth, mainTop, Align.CENTER);
+        }
+
+        String fingerprint = DigestUtils.md5DigestAsHex(html.getBytes(StandardCharsets.UTF_8));
+        log.info("Parsed certificate template: {} text layers, {} blocks",
+                layouter.textLayers.size(), layouter.blocks.size());
+        return new CertificateLayout(pageWidth, pageHeight, container,
+                new Frame(contentX, contentTop, contentWidth, contentBottom - contentTop), mainTop, footerTop,
+                List.copyOf(layouter.textLayers), List.copyOf(layouter.blocks), fingerprint);
+    }
+
+    // ---- layout ----
+
+    private final class Layouter {
+
+        private final Map<String, Map<String, String>> css;
+        private final List<TextLayer> textLayers = new ArrayList<>();
+        private final List<BlockLayer> blocks = new ArrayList<>();
+        private double marginScale = 1;
+
+        private Layouter(Map<String, Map<String, String>> css) {
+            this.css = css;
+        }
+
+        double measure(Node node, double width, Align inherited) {
+            return layout(node, 0, width, 0, inherited, false);
+        }
+
+        void place(Node node, double x, double width, double y, Align inherited) {
+            layout(node, x, width, y, inherited, true);
+        }
+
+        /**
+         * @return the height taken by the node, margins included
+         */
+        private double layout(Node node, double x, double width, double y, Align inherited, boolean emit) {
+            Map<String, String> rule = rule(node);
+            double[] margin = box(rule, "margin");
+            margin[0] *= marginScale;
+            margin[2] *= marginScale;
+            Align align = align(rule.get("text-align"), inherited);
+            double cursor = y + margin[0];
+
+            if (!node.children.isEmpty()) {
+                for (Node child : node.children) {
+                    cursor += layout(child, x, width, cursor, align, emit);
+                }
+            } else if (node.text != null) {
+                TextStyle style = style(rule);
+                double padding = style.box() != null ? style.box().paddingY() : 0;
+                double height = style.fontSizeMm() * style.lineHeight() + 2 * padding;
+                double maxWidth = Math.min(width, length(rule.get("max-width"), width));
+                if (style.box() != null) {
+                    maxWidth -= 2 * style.box().paddingX();
+                }
+                if (emit) {
+                    textLayers.add(new TextLayer(node.cssClass, node.text, style, align, x, cursor, width, height,
+                            maxWidth, rule.containsKey("max-width") ? 2 : 1));
+                }
+                cursor += height;
+            } else {
+                double blockWidth = length(rule.get("width"), width);
+                double height = length(rule.get("height"), 0);
+                if (emit) {
+                    double blockX = switch (align) {
+                        case LEFT -> x;
+                        case RIGHT -> x + width - blockWidth;
+                        case CENTER -> x + (width - blockWidth) / 2;
+                    };
+                    String content = css.getOrDefault("." + node.cssClass + "::before", Map.of()).get("content");
+                    blocks.add(new BlockLayer(node.cssClass, blockX, cursor, blockWidth, height, unquote(content)));
+                }
+                cursor += height;
+            }
+            return cursor + margin[2] - y;
+        }
+
+        private Map<String, String> rule(Node node) {
+            Map<String, String> merged = new HashMap<>();
+            for (String cssClass : node.classes) {
+                merged.putAll(css.getOrDefault("." + cssClass, Map.of()));
+            }
+            return merged;
+        }
+    }
+
+    private TextStyle style(Map<String, String> rule) {
+        String weight = rule.getOrDefault("font-weight", "400");
+        String family = rule.getOrDefault("font-family", "");
+        BoxStyle boxStyle = null;
+        if (rule.containsKey("padding") && (rule.containsKey("background") || rule.containsKey("border"))) {
+            double[] padding = box(rule, "padding");
+            String border = rule.get("border");
+            boxStyle = new BoxStyle(padding[1], padding[0],
+                    color(rule.get("background"), null),
+                    color(border, null),
+                    border != null ? length(border.split("\\s+")[0], 0) : 0,
+                    length(rule.get("border-radius"), 0),
+                    length(rule.get("min-width"), 0));
+        }
+        return new TextStyle(
+                length(rule.get("font-size"), 4),
+                color(rule.get("color"), Color.BLACK),
+                "bold".equals(weight) || (weight.matches("\\d+") && Integer.parseInt(weight) >= 600),
+                "italic".equals(rule.get("font-style")),
+                family.contains("monospace") || family.contains("Courier"),
+                "uppercase".equals(rule.get("text-transform")),
+                length(rule.get("letter-spacing"), 0),
+                rule.containsKey("line-height") ? Double.parseDouble(rule.get("line-height")) : DEFAULT_LINE_HEIGHT,
+                boxStyle);
+    }
+
+    private Align align(String textAlign, Align inherited) {
+        if (textAlign == null) {
+            return inherited;
+        }
+        return switch (textAlign) {
+            case "left" -> Align.LEFT;
+            case "right" -> Align.RIGHT;
+            default -> Align.CENTER;
+        };
+    }
+
+    // ---- parsing ----
+
+    /**
+     * Declarations per simple selector; later rules win, as in CSS
+     */
+    private Map<String, Map<String, String>> parseCss(String html) {
+        int start = html.indexOf("<style>");
+        int end = html.indexOf("</style>");
+        String style = start >= 0 && end > start ? html.substring(start + 7, end) : "";
+        style = COMMENT.matcher(style).replaceAll("");
+
+        Map<String, Map<String, String>> rules = new HashMap<>();
+        Matcher matcher = RULE.matcher(style);
+        while (matcher.find()) {
+            Map<String, String> declarations = new HashMap<>();
+            for (String declaration : matcher.group(2).split(";")) {
+                int colon = declaration.indexOf(':');
+                if (colon > 0) {
+                    String value = declaration.substring(colon + 1).replace("!important", "").trim();
+                    declarations.put(declaration.substring(0, colon).trim(), value.replaceAll("\\s+", " "));
+                }
+            }
+            for (String selector : matcher.group(1).split(",")) {
+                String name = selector.trim();
+                if (SIMPLE_SELECTOR.matcher(name).matches()) {
+                    rules.computeIfAbsent(name, key -> new HashMap<>()).putAll(declarations);
+                }
+            }
+        }
+        return rules;
+    }
+
+    private Node parseBody(String html) {
+        int start = html.indexOf("<body>");
+        int end = html.indexOf("</body>");
+        String body = start >= 0 && end > start ? html.substring(start + 6, end) : html;
+
+        Node root = new Node("");
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        Matcher matcher = BODY_TOKEN.matcher(body);
+        while (matcher.find()) {
+            Node current = stack.get(stack.size() - 1);
+            if (matcher.group(0).startsWith("<div")) {
+                Node child = new Node(matcher.group(1) != null ? matcher.group(1) : "");
+                current.children.add(child);
+                stack.add(child);
+            } else if (matcher.group(0).equals("</div>")) {
+                if (stack.size() > 1) {
+                    stack.remove(stack.size() - 1);
+                }
+            } else if (!matcher.group(2).isBlank()) {
+                current.text = matcher.group(2).trim().replaceAll("\\s+", " ");
+            }
+        }
+        return root;
+    }
+
+    private static final class Node {
+        final String cssClass;
+        final String[] classes;
+        final List<Node> children = new ArrayList<>();
+        String text;
+
+        Node(String classAttribute) {
+            this.classes = classAttribute.isBlank() ? new String[0] : classAttribute.trim().split("\\s+");
+            this.cssClass = classes.length > 0 ? classes[0] : "";
+        }
+
+        Node find(String cssClass) {
+            for (String candidate : classes) {
+                if (candidate.equals(cssClass)) {
+                    return this;
+                }
+            }
+            for (Node child : children) {
+                Node found = child.find(cssClass);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }
+    }
+
+    // ---- values ----
+
+    /**
+     * Top, right, bottom, left of a margin or padding shorthand, with the
+     * longhand properties applied on top. auto counts as zero.
+     */
+    private double[] box(Map<String, String> rule, String property) {
+        double[] sides = new double[4];
+        String shorthand = rule.get(property);
+        if (shorthand != null) {
+            String[] parts = shorthand.split("\\s+");
+            double[] values = new double[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = length(parts[i], 0);
+            }
+            switch (values.length) {
+                case 1 -> sides = new double[] { values[0], values[0], values[0], values[0] };
+                case 2 -> sides = new double[] { values[0], values[1], values[0], values[1] };
+                case 3 -> sides = new double[] { values[0], values[1], values[2], values[1] };
+                default -> sides = new double[] { values[0], values[1], values[2], values[3] };
+            }
+        }
+        String[] names = { "-top", "-right", "-bottom", "-left" };
+        for (int i = 0; i < 4; i++) {
+            String longhand = rule.get(property + names[i]);
+            if (longhand != null) {
+                sides[i] = length(longhand, 0);
+            }
+        }
+        return sides;
+    }
+
+    /**
+     * Length in millimetres; px are CSS pixels at 96 dpi
+     */
+    private double length(String value, double fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        Matcher matcher = LENGTH.matcher(value.trim());
+        if (!matcher.lookingAt()) {
+            return fallback;
+        }
+        double number = Double.parseDouble(matcher.group(1));
+        return "px".equals(matcher.group(2)) ? number / PX_PER_MM : number;
+    }
+
+    /**
+     * First colour in a value; gradients resolve to their first stop
+     */
+    private Color color(String value, Color fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        Matcher hex = HEX_COLOR.matcher(value);
+        Matcher rgba = RGBA_COLOR.matcher(value);
+        boolean hasHex = hex.find();
+        boolean hasRgba = rgba.find();
+        if (hasRgba && (!hasHex || rgba.start() < hex.start())) {
+            String[] parts = rgba.group(1).split(",");
+            int alpha = parts.length > 3 ? (int) Math.round(Double.parseDouble(parts[3].trim()) * 255) : 255;
+            return new Color(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), alpha);
+        }
+        if (hasHex) {
+            String digits = hex.group(1);
+            if (digits.length() == 3) {
+                digits = "" + digits.charAt(0) + digits.charAt(0) + digits.charAt(1) + digits.charAt(1)
+                        + digits.charAt(2) + digits.charAt(2);
+            }
+            return new Color(Integer.parseInt(digits, 16));
+        }
+        return fallback;
+    }
+
+    private String unquote(String content) {
+        if (content == null || content.length() < 2) {
+            return null;
+        }
+        return content.substring(1, content.length() - 1).replace("\\A", "\n");
+    }
+}
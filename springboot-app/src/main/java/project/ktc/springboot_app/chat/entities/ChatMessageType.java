@@ -1,10 +1,17 @@
 package project.ktc.springboot_app.chat.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.*;
 import project.ktc.springboot_app.entity.BaseEntity;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.chat-message-type")
+@NaturalIdCache(region = "reference.chat-message-type.natural-id")
 @Table(name = "chat_message_types")
 @Getter
 @Setter
@@ -13,6 +20,7 @@ import project.ktc.springboot_app.entity.BaseEntity;
 @Builder
 public class ChatMessageType extends BaseEntity {
 
+    @NaturalId
     @Column(nullable = false, unique = true, length = 50)
     private String name; // TEXT, FILE, AUDIO, VIDEO
 
@@ -26,15 +26,17 @@ import project.ktc.springboot_app.chat.enums.MessageType;
 import project.ktc.springboot_app.chat.entities.*;
 import project.ktc.springboot_app.chat.interfaces.ChatMessageService;
 import project.ktc.springboot_app.chat.repositories.ChatMessageRepository;
-import project.ktc.springboot_app.chat.repositories.ChatMessageTypeRepository;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.jpa.NaturalIdLookup;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
 import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,7 +45,7 @@ import java.util.stream.Collectors;
 public class ChatMessageServiceImp implements ChatMessageService {
 
     private final ChatMessageRepository chatMessageRepository;
-    private final ChatMessageTypeRepository chatMessageTypeRepository;
+    private final NaturalIdLookup naturalIdLookup;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
@@ -58,7 +60,7 @@ public class ChatMessageServiceImp implements ChatMessageService {
                     .orElseThrow(() -> new NoSuchElementException("Course not found"));
             var sender = userRepository.findByEmail(senderEmail)
                     .orElseThrow(() -> new NoSuchElementException("Sender not found"));
-            var type = chatMessageTypeRepository.findByNameIgnoreCase(request.getType())
+            var type = findMessageType(request.getType())
                     .orElseThrow(() -> new NoSuchElementException("Invalid message type"));
 
             // Validate access: user must be enrolled in the course OR be the course
@@ -675,7 +677,7 @@ public class ChatMessageServiceImp implements ChatMessageService {
                 .orElseThrow(() -> new NoSuchElementException("Course not found"));
         var sender = userRepository.findByEmail(senderEmail)
                 .orElseThrow(() -> new NoSuchElementException("Sender not found"));
-        var type = chatMessageTypeRepository.findByNameIgnoreCase(messageType.getValue())
+        var type = findMessageType(messageType.getValue())
                 .orElseThrow(() -> new NoSuchElementException("Invalid message type"));
 
         ChatMessage message = ChatMessage.builder()
@@ -860,4 +862,9 @@ public class ChatMessageServiceImp implements ChatMessageService {
             }
         }
     }
+
+    private Optional<ChatMessageType> findMessageType(String name) {
+        // Type names are stored upper-case and the natural-id cache matches exactly
+        return naturalIdLookup.find(ChatMessageType.class, name == null ? null : name.trim().toUpperCase(Locale.ROOT));
+    }
 }
@@ -17,7 +17,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import project.ktc.springboot_app.comment.dto.CommentCursorPage;
 import project.ktc.springboot_app.comment.dto.CommentResponse;
+import project.ktc.springboot_app.comment.dto.CommentThreadResponse;
 import project.ktc.springboot_app.comment.dto.CreateCommentRequest;
 import project.ktc.springboot_app.comment.dto.UpdateCommentRequest;
 import project.ktc.springboot_app.comment.services.CommentServiceImp;
@@ -32,7 +34,7 @@ import java.util.List;
 @RequestMapping("/api/lessons/{lessonId}/comments")
 @RequiredArgsConstructor
 @Slf4j
-@Tag(name = "Nested Set Comments", description = "Production-ready threaded comment system using Nested Set Model")
+@Tag(name = "Threaded Comments", description = "Production-ready threaded comment system using materialized paths")
 @SecurityRequirement(name = "bearerAuth")
 public class CommentController {
 
@@ -40,7 +42,7 @@ public class CommentController {
 
         // =================== CORE COMMENT OPERATIONS ===================
 
-        @Operation(summary = "Create a threaded comment", description = "Create a new comment or reply using the Nested Set Model. Supports unlimited nesting depth with optimized performance.")
+        @Operation(summary = "Create a threaded comment", description = "Create a new comment or reply. Replies only update their own ancestors, so inserts stay fast on busy lessons.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "201", description = "Comment created successfully", content = @Content(schema = @Schema(implementation = CommentResponse.class))),
                         @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
@@ -72,7 +74,30 @@ public class CommentController {
                 return commentService.getCommentsByLesson(lessonId, pageable);
         }
 
-        @Operation(summary = "Get comment replies", description = "Get all replies (subtree) for a specific comment using efficient nested set queries.")
+        @Operation(summary = "Get comment threads", description = "Get root comments by cursor, each with its first replies in display order. Work per request is bounded by the page size, not the size of the discussion.")
+        @GetMapping("/threads")
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<CommentCursorPage<CommentThreadResponse>>> getCommentThreads(
+                        @Parameter(description = "Lesson ID", required = true) @PathVariable String lessonId,
+                        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Threads per page (max 50)", example = "10") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Replies included per thread (max 20)", example = "3") @RequestParam(defaultValue = "3") int replies,
+                        @Parameter(description = "Sort direction", example = "desc") @RequestParam(defaultValue = "desc") String sort) {
+
+                return commentService.getThreadsByLesson(lessonId, cursor, size, replies, !"asc".equalsIgnoreCase(sort));
+        }
+
+        @Operation(summary = "Load more replies", description = "Get the next replies of a thread, starting after the thread's repliesCursor or a previous nextCursor.")
+        @GetMapping("/threads/{commentId}/replies")
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<CommentCursorPage<CommentResponse>>> getMoreReplies(
+                        @Parameter(description = "Lesson ID", required = true) @PathVariable String lessonId,
+                        @Parameter(description = "Comment ID", required = true) @PathVariable String commentId,
+                        @Parameter(description = "Cursor from the thread or the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Replies per page (max 100)", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+                return commentService.getMoreReplies(lessonId, commentId, cursor, size);
+        }
+
+        @Operation(summary = "Get comment replies", description = "Get all replies (subtree) for a specific comment using a single path range query.")
         @GetMapping("/{commentId}/replies")
         public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<List<CommentResponse>>> getCommentReplies(
                         @Parameter(description = "Lesson ID", required = true) @PathVariable String lessonId,
@@ -16,7 +16,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-@Schema(description = "Response DTO for comment with nested set model support")
+@Schema(description = "Response DTO for comment with threaded reply support")
 public class CommentResponse {
 
     @Schema(description = "Comment ID", example = "comment-uuid-123")
@@ -31,12 +31,6 @@ public class CommentResponse {
     @Schema(description = "Relative depth from a specific ancestor (used in subtree queries)", example = "0", minimum = "0")
     private Integer relativeDepth;
 
-    @Schema(description = "Left value in nested set model (for internal use)", example = "1")
-    private Integer lft;
-
-    @Schema(description = "Right value in nested set model (for internal use)", example = "8")
-    private Integer rgt;
-
     @Schema(description = "Whether comment has been edited", example = "false")
     private Boolean isEdited;
 
@@ -46,6 +40,9 @@ public class CommentResponse {
     @Schema(description = "Number of direct and indirect replies to this comment", example = "3")
     private Integer replyCount;
 
+    @Schema(description = "Number of direct replies to this comment", example = "2")
+    private Integer directReplyCount;
+
     @Schema(description = "Whether this comment has any replies", example = "true")
     private Boolean hasReplies;
 
@@ -85,7 +82,7 @@ public class CommentResponse {
         private String avatarUrl;
     }
 
-    // Helper methods for nested set operations
+    // Helper methods for threaded comments
     public boolean isRootComment() {
         return depth == 0;
     }
@@ -94,16 +91,6 @@ public class CommentResponse {
         return !isDeleted;
     }
 
-    /**
-     * Calculate actual reply count from nested set values
-     */
-    public int calculateReplyCount() {
-        if (lft == null || rgt == null) {
-            return 0;
-        }
-        return (rgt - lft - 1) / 2;
-    }
-
     /**
      * Set relative depth for subtree queries
      */
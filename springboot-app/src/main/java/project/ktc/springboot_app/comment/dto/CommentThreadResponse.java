@@ -0,0 +1,31 @@
+package project.ktc.springboot_app.comment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Root comment with the first replies of its thread")
+public class CommentThreadResponse {
+
+    @Schema(description = "Root comment of the thread")
+    private CommentResponse comment;
+
+    @Schema(description = "First replies of the thread in display order; relativeDepth is 0 for direct replies")
+    private List<CommentResponse> replies;
+
+    @Schema(description = "Replies in the thread not included yet", example = "12")
+    private Integer remainingReplies;
+
+    @Schema(description = "Cursor for loading more replies of this thread, null when all are included", example = "MDAwMDAzMDAwMDA1")
+    private String repliesCursor;
+}
@@ -15,11 +15,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "comments", indexes = {
-        @Index(name = "idx_nested_comment_lesson_lft", columnList = "lesson_id,lft"),
-        @Index(name = "idx_nested_comment_lft_rgt", columnList = "lft,rgt"),
-        @Index(name = "idx_nested_comment_parent_lft", columnList = "parent_id,lft"),
-        @Index(name = "idx_nested_comment_user_deleted", columnList = "user_id,is_deleted"),
-        @Index(name = "idx_nested_comment_lesson_deleted_lft", columnList = "lesson_id,is_deleted,lft")
+        @Index(name = "idx_comment_lesson_path", columnList = "lesson_id,path", unique = true),
+        @Index(name = "idx_comment_lesson_deleted_path", columnList = "lesson_id,is_deleted,path"),
+        @Index(name = "idx_comment_lesson_depth_deleted_path", columnList = "lesson_id,depth,is_deleted,path"),
+        @Index(name = "idx_comment_parent", columnList = "parent_id"),
+        @Index(name = "idx_nested_comment_user_deleted", columnList = "user_id,is_deleted")
 })
 @Getter
 @Setter
@@ -28,6 +28,16 @@ import java.util.List;
 @AllArgsConstructor
 public class Comment extends BaseEntity {
 
+    /**
+     * Characters per path level. Six base-36 digits allow about two billion
+     * children per comment and 42 levels in the path column.
+     */
+    public static final int PATH_SEGMENT_WIDTH = 6;
+    public static final int MAX_PATH_LENGTH = 255;
+
+    /** Sorts after every path digit, so [path, path + END) is the subtree */
+    private static final char PATH_END = '~';
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lesson_id", nullable = false)
     private Lesson lesson;
@@ -47,12 +57,19 @@ public class Comment extends BaseEntity {
     @Column(nullable = false, length = 2000)
     private String content;
 
-    // Nested Set Model fields
-    @Column(name = "lft", nullable = false)
-    private Integer lft;
+    // Materialized path: ancestors' segments followed by this comment's own
+    @Column(name = "path", nullable = false, updatable = false, length = MAX_PATH_LENGTH)
+    private String path;
 
-    @Column(name = "rgt", nullable = false)
-    private Integer rgt;
+    // Live (not deleted) reply counters, maintained by CommentRepository and
+    // never written back from the entity
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer replyCount = 0;
+
+    @Column(name = "descendant_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer descendantCount = 0;
 
     @Column(nullable = false)
     @Builder.Default
@@ -79,15 +96,15 @@ public class Comment extends BaseEntity {
     }
 
     public boolean isLeaf() {
-        return rgt - lft == 1;
+        return replyCount == 0;
     }
 
     public boolean hasChildren() {
-        return rgt - lft > 1;
+        return replyCount > 0;
     }
 
     public int getChildrenCount() {
-        return (rgt - lft - 1) / 2;
+        return replyCount;
     }
 
     public void markAsDeleted() {
@@ -106,9 +123,9 @@ public class Comment extends BaseEntity {
         return this.user.getId().equals(userId);
     }
 
-    // Nested Set Model helper methods
+    // Materialized path helper methods
     public boolean isAncestorOf(Comment other) {
-        return this.lft < other.lft && this.rgt > other.rgt;
+        return other.path.length() > this.path.length() && other.path.startsWith(this.path);
     }
 
     public boolean isDescendantOf(Comment other) {
@@ -136,17 +153,48 @@ public class Comment extends BaseEntity {
     }
 
     /**
-     * Validate nested set model invariants
+     * Paths of every ancestor, root first
+     */
+    public List<String> getAncestorPaths() {
+        List<String> paths = new ArrayList<>();
+        for (int end = PATH_SEGMENT_WIDTH; end < path.length(); end += PATH_SEGMENT_WIDTH) {
+            paths.add(path.substring(0, end));
+        }
+        return paths;
+    }
+
+    /**
+     * Exclusive upper bound of this comment's subtree in path order
+     */
+    public String getSubtreeEndPath() {
+        return path + PATH_END;
+    }
+
+    /**
+     * Path of the child numbered {@code sequence} under {@code parentPath}
+     * (null for a root comment)
+     */
+    public static String childPath(String parentPath, long sequence) {
+        String segment = Long.toString(sequence, Character.MAX_RADIX);
+        if (segment.length() > PATH_SEGMENT_WIDTH) {
+            throw new IllegalStateException("Comment sequence out of range: " + sequence);
+        }
+        String padded = "0".repeat(PATH_SEGMENT_WIDTH - segment.length()) + segment;
+        return parentPath == null ? padded : parentPath + padded;
+    }
+
+    /**
+     * Validate materialized path invariants
      */
-    public void validateNestedSetInvariants() {
-        if (lft == null || rgt == null) {
-            throw new IllegalStateException("Left and right values cannot be null");
+    public void validatePathInvariants() {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalStateException("Path cannot be empty");
         }
-        if (lft >= rgt) {
-            throw new IllegalStateException("Left value must be less than right value");
+        if (path.length() != (depth + 1) * PATH_SEGMENT_WIDTH) {
+            throw new IllegalStateException("Path length does not match depth");
         }
-        if (lft <= 0 || rgt <= 0) {
-            throw new IllegalStateException("Left and right values must be positive");
+        if (parent != null && !path.startsWith(parent.path)) {
+            throw new IllegalStateException("Path must extend the parent's path");
         }
         if (depth < 0) {
             throw new IllegalStateException("Depth cannot be negative");
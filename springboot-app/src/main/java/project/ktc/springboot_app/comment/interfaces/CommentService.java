@@ -2,7 +2,9 @@ package project.ktc.springboot_app.comment.interfaces;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import project.ktc.springboot_app.comment.dto.CommentCursorPage;
 import project.ktc.springboot_app.comment.dto.CommentResponse;
+import project.ktc.springboot_app.comment.dto.CommentThreadResponse;
 import project.ktc.springboot_app.comment.dto.CreateCommentRequest;
 import project.ktc.springboot_app.comment.dto.UpdateCommentRequest;
 import project.ktc.springboot_app.common.dto.ApiResponse;
@@ -31,6 +33,32 @@ public interface CommentService {
     ResponseEntity<ApiResponse<PaginatedResponse<CommentResponse>>> getCommentsByLesson(String lessonId,
             Pageable pageable);
 
+    /**
+     * Get a keyset page of threads, each root with its first replies
+     * 
+     * @param lessonId         The lesson ID
+     * @param cursor           Cursor from the previous page, null for the first
+     * @param size             Number of threads per page
+     * @param repliesPerThread Number of replies included per thread
+     * @param newestFirst      Whether newer threads come first
+     * @return Threads and the cursor of the next page
+     */
+    ResponseEntity<ApiResponse<CommentCursorPage<CommentThreadResponse>>> getThreadsByLesson(String lessonId,
+            String cursor, int size, int repliesPerThread, boolean newestFirst);
+
+    /**
+     * Get the next replies of a thread after a cursor
+     * 
+     * @param lessonId  The lesson ID
+     * @param commentId The comment whose replies are listed
+     * @param cursor    Cursor from the thread or the previous page, null to
+     *                  start from the first reply
+     * @param size      Number of replies per page
+     * @return Replies and the cursor of the next page
+     */
+    ResponseEntity<ApiResponse<CommentCursorPage<CommentResponse>>> getMoreReplies(String lessonId, String commentId,
+            String cursor, int size);
+
     /**
      * Update an existing comment
      * 
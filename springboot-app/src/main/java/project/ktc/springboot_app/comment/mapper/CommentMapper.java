@@ -32,7 +32,8 @@ public class CommentMapper {
                 .depth(comment.getDepth())
                 .isEdited(comment.getIsEdited())
                 .isDeleted(comment.getIsDeleted())
-                .replyCount(comment.getReplies() != null ? comment.getReplies().size() : 0)
+                .replyCount(comment.getDescendantCount())
+                .directReplyCount(comment.getReplyCount())
                 .user(toUserSummary(comment))
                 .children(new ArrayList<>()) // Will be populated separately
                 .createdAt(comment.getCreatedAt())
@@ -1,16 +1,17 @@
 package project.ktc.springboot_app.comment.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.ktc.springboot_app.comment.entity.Comment;
 
-import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,16 +21,16 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
         // =================== READ OPERATIONS ===================
 
         /**
-         * Find all comments for a lesson ordered by lft (flattened tree structure)
+         * Find all comments for a lesson in path order (flattened tree structure)
          */
         @Query("""
                         SELECT c FROM Comment c
                         JOIN FETCH c.user u
                         WHERE c.lesson.id = :lessonId
                         AND c.isDeleted = false
-                        ORDER BY c.lft ASC
+                        ORDER BY c.path ASC
                         """)
-        List<Comment> findAllByLessonIdOrderByLft(@Param("lessonId") String lessonId);
+        List<Comment> findAllByLessonIdOrderByPath(@Param("lessonId") String lessonId);
 
         /**
          * Find root comments with pagination
@@ -45,21 +46,21 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
         Page<Comment> findRootCommentsByLessonId(@Param("lessonId") String lessonId, Pageable pageable);
 
         /**
-         * Find subtree of a comment (all descendants)
+         * Find subtree of a comment (all descendants), a single path range
          */
         @Query("""
                         SELECT c FROM Comment c
                         JOIN FETCH c.user u
                         WHERE c.lesson.id = :lessonId
-                        AND c.lft > :parentLft
-                        AND c.rgt < :parentRgt
                         AND c.isDeleted = false
-                        ORDER BY c.lft ASC
+                        AND c.path > :parentPath
+                        AND c.path < :subtreeEndPath
+                        ORDER BY c.path ASC
                         """)
-        List<Comment> findSubtreeByParentLftRgt(
+        List<Comment> findSubtreeByParentPath(
                         @Param("lessonId") String lessonId,
-                        @Param("parentLft") Integer parentLft,
-                        @Param("parentRgt") Integer parentRgt);
+                        @Param("parentPath") String parentPath,
+                        @Param("subtreeEndPath") String subtreeEndPath);
 
         /**
          * Find comment by ID with user eagerly loaded
@@ -74,67 +75,212 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
         Optional<Comment> findByIdWithUserAndLesson(@Param("id") String id);
 
         /**
-         * Count total comments for a lesson
+         * Live comment count for a lesson, kept in lesson_comment_stats
          */
-        @Query("SELECT COUNT(c) FROM Comment c WHERE c.lesson.id = :lessonId AND c.isDeleted = false")
-        Long countByLessonId(@Param("lessonId") String lessonId);
+        @Query(value = "SELECT comment_count FROM lesson_comment_stats WHERE lesson_id = :lessonId", nativeQuery = true)
+        Optional<Integer> findCommentCountByLessonId(@Param("lessonId") String lessonId);
 
-        // =================== WRITE OPERATIONS ===================
+        // =================== THREAD READS (KEYSET) ===================
+
+        /**
+         * Next root comments, newest first, strictly before a root path.
+         * Pass "~" for the first page.
+         */
+        @Query("""
+                        SELECT c FROM Comment c
+                        JOIN FETCH c.user u
+                        WHERE c.lesson.id = :lessonId
+                        AND c.depth = 0
+                        AND c.isDeleted = false
+                        AND c.path < :beforePath
+                        ORDER BY c.path DESC
+                        """)
+        List<Comment> findRootsBeforePath(
+                        @Param("lessonId") String lessonId,
+                        @Param("beforePath") String beforePath,
+                        Pageable pageable);
+
+        /**
+         * Next root comments, oldest first, strictly after a root path.
+         * Pass "" for the first page.
+         */
+        @Query("""
+                        SELECT c FROM Comment c
+                        JOIN FETCH c.user u
+                        WHERE c.lesson.id = :lessonId
+                        AND c.depth = 0
+                        AND c.isDeleted = false
+                        AND c.path > :afterPath
+                        ORDER BY c.path ASC
+                        """)
+        List<Comment> findRootsAfterPath(
+                        @Param("lessonId") String lessonId,
+                        @Param("afterPath") String afterPath,
+                        Pageable pageable);
 
         /**
-         * Lock parent comment for insertion (prevents race conditions)
+         * IDs of the first {@code perRoot} live replies of each given root, in
+         * path order, ranked per thread in a single windowed query
          */
-        @Lock(LockModeType.PESSIMISTIC_WRITE)
-        @Query("SELECT c FROM Comment c WHERE c.id = :parentId")
-        Optional<Comment> findByIdForUpdate(@Param("parentId") String parentId);
+        @Query(value = """
+                        SELECT ranked.id FROM (
+                            SELECT d.id, d.path,
+                                   ROW_NUMBER() OVER (PARTITION BY r.id ORDER BY d.path) AS position
+                            FROM comments r
+                            JOIN comments d ON d.lesson_id = r.lesson_id
+                                AND d.is_deleted = false
+                                AND d.path > r.path
+                                AND d.path < CONCAT(r.path, '~')
+                            WHERE r.id IN (:rootIds)
+                        ) ranked
+                        WHERE ranked.position <= :perRoot
+                        ORDER BY ranked.path
+                        """, nativeQuery = true)
+        List<String> findFirstReplyIdsPerRoot(
+                        @Param("rootIds") List<String> rootIds,
+                        @Param("perRoot") int perRoot);
 
         /**
-         * Get maximum right value for a lesson
+         * Load comments with their authors, in path order
          */
-        @Query("SELECT COALESCE(MAX(c.rgt), 0) FROM Comment c WHERE c.lesson.id = :lessonId")
-        Integer findMaxRgtByLessonId(@Param("lessonId") String lessonId);
+        @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN :ids ORDER BY c.path ASC")
+        List<Comment> findAllWithUserByIdIn(@Param("ids") List<String> ids);
 
         /**
-         * Update left values for insertion
+         * Next live replies in a subtree after a path, in path order
          */
-        @Modifying
         @Query("""
-                        UPDATE Comment c
-                        SET c.lft = c.lft + 2
+                        SELECT c FROM Comment c
+                        JOIN FETCH c.user u
                         WHERE c.lesson.id = :lessonId
-                        AND c.lft > :insertPosition
+                        AND c.isDeleted = false
+                        AND c.path > :afterPath
+                        AND c.path < :subtreeEndPath
+                        ORDER BY c.path ASC
                         """)
-        int shiftLeftValuesForInsertion(
+        List<Comment> findRepliesAfterPath(
                         @Param("lessonId") String lessonId,
-                        @Param("insertPosition") Integer insertPosition);
+                        @Param("afterPath") String afterPath,
+                        @Param("subtreeEndPath") String subtreeEndPath,
+                        Pageable pageable);
+
+        // =================== WRITE OPERATIONS ===================
+        //
+        // Every write locks tree rows in path order (ancestors root first,
+        // then the comment, then its subtree) so that concurrent replies and
+        // deletes in one thread queue up instead of deadlocking.
 
         /**
-         * Update right values for insertion
+         * Lock the comments on the given paths, root first
+         */
+        @Query(value = """
+                        SELECT id FROM comments
+                        WHERE lesson_id = :lessonId
+                        AND path IN (:paths)
+                        ORDER BY path
+                        FOR UPDATE
+                        """, nativeQuery = true)
+        List<String> lockPaths(
+                        @Param("lessonId") String lessonId,
+                        @Param("paths") List<String> paths);
+
+        /**
+         * Add {@code delta} live descendants to every comment on the given paths
          */
         @Modifying
-        @Query("""
-                        UPDATE Comment c
-                        SET c.rgt = c.rgt + 2
-                        WHERE c.lesson.id = :lessonId
-                        AND c.rgt > :insertPosition
-                        """)
-        int shiftRightValuesForInsertion(
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "comments"))
+        @Query(value = """
+                        UPDATE comments
+                        SET descendant_count = descendant_count + :delta
+                        WHERE lesson_id = :lessonId
+                        AND path IN (:paths)
+                        """, nativeQuery = true)
+        int adjustDescendantCounts(
                         @Param("lessonId") String lessonId,
-                        @Param("insertPosition") Integer insertPosition);
+                        @Param("paths") List<String> paths,
+                        @Param("delta") int delta);
 
         /**
-         * Mark subtree as deleted
+         * Count a new reply on its parent and take the parent's next child
+         * number; read it back with {@link #lastInsertId()} on the same
+         * connection. Returns 0 when the parent has been deleted.
          */
         @Modifying
-        @Query("""
-                        UPDATE Comment c
-                        SET c.isDeleted = true, c.content = '[Deleted]'
-                        WHERE c.lesson.id = :lessonId
-                        AND c.lft >= :subtreeLft
-                        AND c.rgt <= :subtreeRgt
-                        """)
-        int markSubtreeAsDeleted(
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "comments"))
+        @Query(value = """
+                        UPDATE comments
+                        SET child_seq = LAST_INSERT_ID(child_seq + 1),
+                            reply_count = reply_count + 1
+                        WHERE id = :parentId
+                        AND is_deleted = false
+                        """, nativeQuery = true)
+        int allocateChildSequence(@Param("parentId") String parentId);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "comments"))
+        @Query(value = "UPDATE comments SET reply_count = reply_count - 1 WHERE id = :parentId", nativeQuery = true)
+        int decrementReplyCount(@Param("parentId") String parentId);
+
+        /**
+         * Count a new root comment on its lesson and take the lesson's next
+         * root number; read it back with {@link #lastInsertId()} on the same
+         * connection
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "lesson_comment_stats"))
+        @Query(value = """
+                        INSERT INTO lesson_comment_stats (lesson_id, root_seq, comment_count)
+                        VALUES (:lessonId, LAST_INSERT_ID(1), 1)
+                        ON DUPLICATE KEY UPDATE
+                            root_seq = LAST_INSERT_ID(root_seq + 1),
+                            comment_count = comment_count + 1
+                        """, nativeQuery = true)
+        int allocateRootSequence(@Param("lessonId") String lessonId);
+
+        @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+        Number lastInsertId();
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "lesson_comment_stats"))
+        @Query(value = """
+                        UPDATE lesson_comment_stats
+                        SET comment_count = comment_count + :delta
+                        WHERE lesson_id = :lessonId
+                        """, nativeQuery = true)
+        int adjustLessonCommentCount(
+                        @Param("lessonId") String lessonId,
+                        @Param("delta") int delta);
+
+        /**
+         * Soft delete a live comment and clear its counters; returns 0 when it
+         * was already deleted
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "comments"))
+        @Query(value = """
+                        UPDATE comments
+                        SET is_deleted = true, content = '[Deleted]', reply_count = 0, descendant_count = 0
+                        WHERE id = :commentId
+                        AND is_deleted = false
+                        """, nativeQuery = true)
+        int markAsDeleted(@Param("commentId") String commentId);
+
+        /**
+         * Soft delete the live descendants of a comment; returns how many
+         * were live
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "comments"))
+        @Query(value = """
+                        UPDATE comments
+                        SET is_deleted = true, content = '[Deleted]', reply_count = 0, descendant_count = 0
+                        WHERE lesson_id = :lessonId
+                        AND path > :parentPath
+                        AND path < :subtreeEndPath
+                        AND is_deleted = false
+                        """, nativeQuery = true)
+        int markDescendantsAsDeleted(
                         @Param("lessonId") String lessonId,
-                        @Param("subtreeLft") Integer subtreeLft,
-                        @Param("subtreeRgt") Integer subtreeRgt);
+                        @Param("parentPath") String parentPath,
+                        @Param("subtreeEndPath") String subtreeEndPath);
 }
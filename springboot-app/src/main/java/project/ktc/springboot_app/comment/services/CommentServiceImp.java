@@ -3,15 +3,18 @@ package project.ktc.springboot_app.comment.services;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.comment.dto.CommentCursorPage;
+import project.ktc.springboot_app.comment.dto.CommentThreadResponse;
 import project.ktc.springboot_app.comment.dto.CreateCommentRequest;
 import project.ktc.springboot_app.comment.dto.UpdateCommentRequest;
 import project.ktc.springboot_app.comment.dto.CommentResponse;
 import project.ktc.springboot_app.comment.entity.Comment;
+import project.ktc.springboot_app.comment.exception.CommentDepthExceededException;
 import project.ktc.springboot_app.comment.interfaces.CommentService;
 import project.ktc.springboot_app.comment.repositories.CommentRepository;
 import project.ktc.springboot_app.lesson.entity.Lesson;
@@ -24,12 +27,18 @@ import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
 import project.ktc.springboot_app.common.exception.ValidationException;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
- * Production-ready Nested Set Model Comment Service
+ * Comment service storing each lesson's thread as a materialized path tree
  */
 @Service
 @RequiredArgsConstructor
@@ -37,6 +46,12 @@ import java.util.stream.Collectors;
 @Transactional
 public class CommentServiceImp implements CommentService {
 
+    private static final int MAX_THREAD_PAGE_SIZE = 50;
+    private static final int MAX_REPLIES_PER_THREAD = 20;
+    private static final int MAX_REPLY_PAGE_SIZE = 100;
+    private static final Pattern CURSOR_PATH = Pattern
+            .compile("([0-9a-z]{" + Comment.PATH_SEGMENT_WIDTH + "})+");
+
     private final CommentRepository commentRepository;
     private final LessonRepository lessonRepository;
     private final UserRepository userRepository;
@@ -48,7 +63,7 @@ public class CommentServiceImp implements CommentService {
      */
     @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsForLesson(String lessonId) {
-        List<Comment> comments = commentRepository.findAllByLessonIdOrderByLft(lessonId);
+        List<Comment> comments = commentRepository.findAllByLessonIdOrderByPath(lessonId);
         return comments.stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
@@ -87,15 +102,11 @@ public class CommentServiceImp implements CommentService {
         Comment parent = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found: " + commentId));
 
-        List<Comment> replies = commentRepository.findSubtreeByParentLftRgt(
-                parent.getLesson().getId(), parent.getLft(), parent.getRgt());
+        List<Comment> replies = commentRepository.findSubtreeByParentPath(
+                parent.getLesson().getId(), parent.getPath(), parent.getSubtreeEndPath());
 
         return replies.stream()
-                .map(comment -> {
-                    CommentResponse response = convertToResponseDto(comment);
-                    response.setRelativeDepth(comment.getDepth() - parent.getDepth() - 1);
-                    return response;
-                })
+                .map(comment -> toReplyResponse(comment, parent))
                 .collect(Collectors.toList());
     }
 
@@ -104,13 +115,97 @@ public class CommentServiceImp implements CommentService {
      */
     @Transactional(readOnly = true)
     public Long getCommentCount(String lessonId) {
-        return commentRepository.countByLessonId(lessonId);
+        return commentRepository.findCommentCountByLessonId(lessonId).map(Integer::longValue).orElse(0L);
+    }
+
+    /**
+     * Get a page of threads: root comments by keyset, each with its first
+     * replies. Three queries per page whatever the size of the discussion.
+     */
+    @Transactional(readOnly = true)
+    public CommentCursorPage<CommentThreadResponse> getThreads(String lessonId, String cursor, int size,
+            int repliesPerThread, boolean newestFirst) {
+        int pageSize = clamp(size, 1, MAX_THREAD_PAGE_SIZE);
+        int replyLimit = clamp(repliesPerThread, 0, MAX_REPLIES_PER_THREAD);
+        String afterPath = decodeCursor(cursor);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+
+        List<Comment> roots = newestFirst
+                ? commentRepository.findRootsBeforePath(lessonId, afterPath != null ? afterPath : "~", probe)
+                : commentRepository.findRootsAfterPath(lessonId, afterPath != null ? afterPath : "", probe);
+        boolean hasMore = roots.size() > pageSize;
+        if (hasMore) {
+            roots = roots.subList(0, pageSize);
+        }
+
+        Map<String, List<Comment>> repliesByRoot = new HashMap<>();
+        if (replyLimit > 0 && roots.stream().anyMatch(Comment::hasChildren)) {
+            List<String> rootIds = roots.stream()
+                    .filter(Comment::hasChildren)
+                    .map(Comment::getId)
+                    .collect(Collectors.toList());
+            List<String> replyIds = commentRepository.findFirstReplyIdsPerRoot(rootIds, replyLimit);
+            if (!replyIds.isEmpty()) {
+                for (Comment reply : commentRepository.findAllWithUserByIdIn(replyIds)) {
+                    String rootPath = reply.getPath().substring(0, Comment.PATH_SEGMENT_WIDTH);
+                    repliesByRoot.computeIfAbsent(rootPath, key -> new ArrayList<>()).add(reply);
+                }
+            }
+        }
+
+        List<CommentThreadResponse> threads = roots.stream()
+                .map(root -> toThreadResponse(root, repliesByRoot.getOrDefault(root.getPath(), List.of())))
+                .collect(Collectors.toList());
+
+        return CommentCursorPage.<CommentThreadResponse>builder()
+                .content(threads)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(roots.get(roots.size() - 1).getPath()) : null)
+                .build();
+    }
+
+    /**
+     * Load more replies of a comment's thread, continuing after the cursor
+     * in display order
+     */
+    @Transactional(readOnly = true)
+    public CommentCursorPage<CommentResponse> getThreadReplies(String lessonId, String commentId, String cursor,
+            int size) {
+        Comment parent = commentRepository.findById(commentId)
+                .filter(comment -> comment.getLesson().getId().equals(lessonId))
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found: " + commentId));
+        int pageSize = clamp(size, 1, MAX_REPLY_PAGE_SIZE);
+
+        String afterPath = decodeCursor(cursor);
+        if (afterPath == null) {
+            afterPath = parent.getPath();
+        } else if (!afterPath.startsWith(parent.getPath())) {
+            throw new ValidationException("Cursor does not belong to this thread");
+        }
+
+        List<Comment> replies = commentRepository.findRepliesAfterPath(
+                lessonId, afterPath, parent.getSubtreeEndPath(), PageRequest.of(0, pageSize + 1));
+        boolean hasMore = replies.size() > pageSize;
+        if (hasMore) {
+            replies = replies.subList(0, pageSize);
+        }
+
+        List<CommentResponse> content = replies.stream()
+                .map(reply -> toReplyResponse(reply, parent))
+                .collect(Collectors.toList());
+
+        return CommentCursorPage.<CommentResponse>builder()
+                .content(content)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(replies.get(replies.size() - 1).getPath()) : null)
+                .build();
     }
 
     // =================== WRITE OPERATIONS ===================
 
     /**
-     * Create a new comment with atomic nested set insertion
+     * Create a new comment. Only the new comment's ancestors are touched, so
+     * the cost is O(depth) whatever the size of the lesson's discussion.
      */
     private Comment addComment(String lessonId, String content, String parentId, String userId) {
         // Validate inputs
@@ -143,16 +238,31 @@ public class CommentServiceImp implements CommentService {
      * Insert a reply to an existing comment
      */
     private void insertReply(Comment newComment, String parentId) {
-        Comment parent = commentRepository.findByIdForUpdate(parentId)
+        Comment parent = commentRepository.findById(parentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Parent comment not found: " + parentId));
 
-        int insertPosition = parent.getRgt() - 1;
+        String lessonId = newComment.getLesson().getId();
+        String parentPath = parent.getPath();
+        if (!parent.getLesson().getId().equals(lessonId)) {
+            throw new ValidationException("Parent comment belongs to a different lesson");
+        }
+        if (parentPath.length() + Comment.PATH_SEGMENT_WIDTH > Comment.MAX_PATH_LENGTH) {
+            throw new CommentDepthExceededException("Comment depth limit exceeded. Maximum "
+                    + Comment.MAX_PATH_LENGTH / Comment.PATH_SEGMENT_WIDTH + " levels allowed.");
+        }
 
-        commentRepository.shiftRightValuesForInsertion(parent.getLesson().getId(), insertPosition);
-        commentRepository.shiftLeftValuesForInsertion(parent.getLesson().getId(), insertPosition);
+        // Ancestors first, in path order, then the child number from the
+        // parent row this transaction already holds, then the lesson total
+        List<String> ancestorPaths = new ArrayList<>(parent.getAncestorPaths());
+        ancestorPaths.add(parentPath);
+        commentRepository.adjustDescendantCounts(lessonId, ancestorPaths, 1);
+        if (commentRepository.allocateChildSequence(parentId) == 0) {
+            throw new ValidationException("Cannot reply to a deleted comment");
+        }
+        long sequence = commentRepository.lastInsertId().longValue();
+        commentRepository.adjustLessonCommentCount(lessonId, 1);
 
-        newComment.setLft(insertPosition + 1);
-        newComment.setRgt(insertPosition + 2);
+        newComment.setPath(Comment.childPath(parentPath, sequence));
         newComment.setParent(parent);
         newComment.setDepth(parent.getDepth() + 1);
     }
@@ -161,10 +271,10 @@ public class CommentServiceImp implements CommentService {
      * Insert a root comment
      */
     private void insertRootComment(Comment newComment) {
-        Integer maxRgt = commentRepository.findMaxRgtByLessonId(newComment.getLesson().getId());
+        commentRepository.allocateRootSequence(newComment.getLesson().getId());
+        long sequence = commentRepository.lastInsertId().longValue();
 
-        newComment.setLft(maxRgt + 1);
-        newComment.setRgt(maxRgt + 2);
+        newComment.setPath(Comment.childPath(null, sequence));
         newComment.setParent(null);
         newComment.setDepth(0);
     }
@@ -190,9 +300,9 @@ public class CommentServiceImp implements CommentService {
     }
 
     /**
-     * Soft delete a comment and its subtree (internal method)
+     * Soft delete a comment and its subtree (internal method). The live
+     * comments removed are taken off every ancestor's counters.
      */
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     private void deleteCommentInternal(String commentId, String userId, boolean isAdmin) {
         Comment comment = commentRepository.findByIdWithUser(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found: " + commentId));
@@ -201,8 +311,24 @@ public class CommentServiceImp implements CommentService {
             throw new ValidationException("User can only delete their own comments");
         }
 
-        commentRepository.markSubtreeAsDeleted(
-                comment.getLesson().getId(), comment.getLft(), comment.getRgt());
+        String lessonId = comment.getLesson().getId();
+        List<String> ancestorPaths = comment.getAncestorPaths();
+        if (!ancestorPaths.isEmpty()) {
+            commentRepository.lockPaths(lessonId, ancestorPaths);
+        }
+
+        int removed = commentRepository.markAsDeleted(commentId);
+        if (removed == 0) {
+            return; // Already deleted together with its subtree
+        }
+        removed += commentRepository.markDescendantsAsDeleted(
+                lessonId, comment.getPath(), comment.getSubtreeEndPath());
+
+        if (!ancestorPaths.isEmpty()) {
+            commentRepository.adjustDescendantCounts(lessonId, ancestorPaths, -removed);
+            commentRepository.decrementReplyCount(comment.getParent().getId());
+        }
+        commentRepository.adjustLessonCommentCount(lessonId, -removed);
     }
 
     // =================== INTERFACE IMPLEMENTATION METHODS ===================
@@ -223,6 +349,23 @@ public class CommentServiceImp implements CommentService {
         return ApiResponseUtil.success(response, "Comments retrieved successfully");
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse<CommentCursorPage<CommentThreadResponse>>> getThreadsByLesson(String lessonId,
+            String cursor, int size, int repliesPerThread, boolean newestFirst) {
+        CommentCursorPage<CommentThreadResponse> response = getThreads(lessonId, cursor, size, repliesPerThread,
+                newestFirst);
+        return ApiResponseUtil.success(response, "Comment threads retrieved successfully");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse<CommentCursorPage<CommentResponse>>> getMoreReplies(String lessonId,
+            String commentId, String cursor, int size) {
+        CommentCursorPage<CommentResponse> response = getThreadReplies(lessonId, commentId, cursor, size);
+        return ApiResponseUtil.success(response, "Replies retrieved successfully");
+    }
+
     @Override
     @Transactional
     public ResponseEntity<ApiResponse<CommentResponse>> updateComment(String commentId, UpdateCommentRequest request,
@@ -269,15 +412,14 @@ public class CommentServiceImp implements CommentService {
                 .user(user)
                 .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
                 .depth(comment.getDepth())
-                .lft(comment.getLft())
-                .rgt(comment.getRgt())
                 .isDeleted(comment.getIsDeleted())
                 .isEdited(comment.getIsEdited())
                 .createdAt(comment.getCreatedAt())
                 .updatedAt(comment.getUpdatedAt())
                 .replyCount(calculateReplyCount(comment))
-                .hasReplies(calculateReplyCount(comment) > 0)
-                .isLeaf(calculateReplyCount(comment) == 0)
+                .directReplyCount(comment.getReplyCount())
+                .hasReplies(comment.hasChildren())
+                .isLeaf(comment.isLeaf())
                 .build();
     }
 
@@ -290,12 +432,58 @@ public class CommentServiceImp implements CommentService {
     }
 
     /**
-     * Calculate reply count from nested set values
+     * Reply count from the stored live descendant counter
      */
     private Integer calculateReplyCount(Comment comment) {
-        if (comment.getLft() == null || comment.getRgt() == null) {
-            return 0;
+        return comment.getDescendantCount() != null ? comment.getDescendantCount() : 0;
+    }
+
+    /**
+     * Reply DTO with its depth relative to the direct replies of {@code ancestor}
+     */
+    private CommentResponse toReplyResponse(Comment reply, Comment ancestor) {
+        CommentResponse response = convertToResponseDto(reply);
+        response.setRelativeDepth(reply.getDepth() - ancestor.getDepth() - 1);
+        return response;
+    }
+
+    private CommentThreadResponse toThreadResponse(Comment root, List<Comment> replies) {
+        int remaining = Math.max(0, root.getDescendantCount() - replies.size());
+        return CommentThreadResponse.builder()
+                .comment(convertToResponseDto(root))
+                .replies(replies.stream()
+                        .map(reply -> toReplyResponse(reply, root))
+                        .collect(Collectors.toList()))
+                .remainingReplies(remaining)
+                .repliesCursor(remaining > 0 && !replies.isEmpty()
+                        ? encodeCursor(replies.get(replies.size() - 1).getPath())
+                        : null)
+                .build();
+    }
+
+    /**
+     * Cursors are the last path returned, opaque to clients
+     */
+    private static String encodeCursor(String path) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
         }
-        return (comment.getRgt() - comment.getLft() - 1) / 2;
+        try {
+            String path = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!CURSOR_PATH.matcher(path).matches()) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return path;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
     }
 }
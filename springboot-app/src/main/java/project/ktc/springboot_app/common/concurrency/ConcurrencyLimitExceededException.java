@@ -0,0 +1,18 @@
+package project.ktc.springboot_app.common.concurrency;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a call could not get a permit from its concurrency limit
+ * within app.concurrency.acquire-timeout
+ */
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final String limitName;
+
+    public ConcurrencyLimitExceededException(String limitName) {
+        super("Too many concurrent " + limitName + " calls, please try again shortly");
+        this.limitName = limitName;
+    }
+}
@@ -0,0 +1,25 @@
+package project.ktc.springboot_app.common.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for outbound concurrency limits
+ * Maps properties from application.properties with prefix "app.concurrency"
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /** How long a call waits for a permit before it is rejected */
+    private Duration acquireTimeout = Duration.ofSeconds(10);
+
+    /** Concurrent calls allowed per limit name; names not listed are unlimited */
+    private Map<String, Integer> limits = new HashMap<>();
+}
@@ -0,0 +1,122 @@
+package project.ktc.springboot_app.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent calls to remote providers (Cloudinary, Stripe, SendGrid,
+ * the MCQ service, Upstash). Request threads are no longer a scarce
+ * resource once they are virtual, so without these limits a burst of
+ * requests becomes an equally large burst of outbound calls.
+ *
+ * Each limit is a fair semaphore sized by app.concurrency.limits.&lt;name&gt;.
+ * A caller waits up to app.concurrency.acquire-timeout for a permit and is
+ * then rejected with {@link ConcurrencyLimitExceededException}. Workers of
+ * a bounded background pool use {@link #callWhenFree} instead: their pool
+ * already caps how many wait, so they queue for a permit rather than fail.
+ * Names without a configured limit run unthrottled.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimiter {
+
+    private static final String IN_USE_METRIC = "app.concurrency.in.use";
+    private static final String REJECTED_METRIC = "app.concurrency.rejected";
+
+    /**
+     * A call that may throw a checked exception, which is passed through
+     */
+    @FunctionalInterface
+    public interface LimitedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final ConcurrencyLimitProperties properties;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    private record Limit(Semaphore permits, Counter rejected) {
+    }
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        properties.getLimits().forEach((name, permits) -> {
+            Semaphore semaphore = new Semaphore(Math.max(1, permits), true);
+            Gauge.builder(IN_USE_METRIC, semaphore, s -> Math.max(1, permits) - s.availablePermits())
+                    .description("Calls currently holding a permit")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+            Counter rejected = Counter.builder(REJECTED_METRIC)
+                    .description("Calls rejected after waiting for a permit")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+            limits.put(name, new Limit(semaphore, rejected));
+            log.info("Concurrency limit {}: {} concurrent calls", name, Math.max(1, permits));
+        });
+    }
+
+    /**
+     * Run the call while holding a permit of the named limit
+     *
+     * @throws ConcurrencyLimitExceededException if no permit is free within
+     *                                           the acquire timeout
+     */
+    public <T, E extends Exception> T call(String name, LimitedCall<T, E> call) throws E {
+        Limit limit = limits.get(name);
+        if (limit == null) {
+            return call.call();
+        }
+
+        boolean acquired;
+        try {
+            acquired = limit.permits().tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException(name);
+        }
+        if (!acquired) {
+            limit.rejected().increment();
+            log.warn("Rejected {} call: no permit within {}", name, properties.getAcquireTimeout());
+            throw new ConcurrencyLimitExceededException(name);
+        }
+
+        return callHolding(limit, call);
+    }
+
+    /**
+     * Run the call while holding a permit of the named limit, waiting as long
+     * as it takes for one. Only for workers of a bounded pool.
+     *
+     * @throws ConcurrencyLimitExceededException if interrupted while waiting
+     */
+    public <T, E extends Exception> T callWhenFree(String name, LimitedCall<T, E> call) throws E {
+        Limit limit = limits.get(name);
+        if (limit == null) {
+            return call.call();
+        }
+
+        try {
+            limit.permits().acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException(name);
+        }
+
+        return callHolding(limit, call);
+    }
+
+    private <T, E extends Exception> T callHolding(Limit limit, LimitedCall<T, E> call) throws E {
+        try {
+            return call.call();
+        } finally {
+            limit.permits().release();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package project.ktc.springboot_app.common.datasource;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or every method of the annotated class, in a
+ * read-only transaction so that it is served by the read replica when
+ * app.datasource.replica is enabled. It overrides a class-level read-write
+ * {@link Transactional}; when called inside a running read-write transaction
+ * it joins it and stays on the primary.
+ *
+ * Reads still fall back to the primary while the replica is lagging and
+ * right after the current user's own writes (see {@link ReplicaRouter}).
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadReplica {
+}
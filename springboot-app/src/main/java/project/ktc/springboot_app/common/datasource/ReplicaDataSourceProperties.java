@@ -0,0 +1,40 @@
+package project.ktc.springboot_app.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the MySQL read replica
+ * Maps properties from application.properties with prefix
+ * "app.datasource.replica". Pool settings for the replica are bound
+ * separately from app.datasource.replica.hikari, the same way
+ * spring.datasource.hikari configures the primary pool.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /** Route read-only transactions to the replica; when off everything uses spring.datasource */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName = "com.mysql.cj.jdbc.Driver";
+
+    /** Replication lag above which reads go back to the primary */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** How often the replica's lag is checked */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /** How long a user's reads stay on the primary after their own write */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
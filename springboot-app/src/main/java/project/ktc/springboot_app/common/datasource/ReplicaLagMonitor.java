@@ -0,0 +1,104 @@
+package project.ktc.springboot_app.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Polls the replica's replication lag and tells {@link ReplicaRouter}
+ * whether reads may go there. The replica is used only while replication
+ * is running and Seconds_Behind_Source is within app.datasource.replica.max-lag;
+ * a failed check counts as unavailable. Reading replica status needs the
+ * REPLICATION CLIENT privilege for the replica user.
+ *
+ * A server that reports no replica status is not replicating from anything
+ * (e.g. the replica pool points at the primary) and has no lag.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final String LAG_METRIC = "app.datasource.replica.lag";
+    private static final String AVAILABLE_METRIC = "app.datasource.replica.available";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaRouter router;
+    private final ReplicaDataSourceProperties properties;
+    private final TaskScheduler taskScheduler;
+
+    /** Last measured lag in seconds, NaN when unknown */
+    private volatile double lagSeconds = Double.NaN;
+    private ScheduledFuture<?> check;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReplicaRouter router,
+            ReplicaDataSourceProperties properties, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.router = router;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        Gauge.builder(LAG_METRIC, this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(AVAILABLE_METRIC, router, r -> r.isReplicaAvailable() ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        check = taskScheduler.scheduleWithFixedDelay(this::checkLag, properties.getLagCheckInterval());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (check != null) {
+            check.cancel(false);
+        }
+    }
+
+    void checkLag() {
+        Long lag;
+        try {
+            lag = replicaJdbcTemplate.query(LAG_QUERY, rs -> {
+                if (!rs.next()) {
+                    return 0L;
+                }
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? null : seconds;
+            });
+        } catch (DataAccessException e) {
+            update(Double.NaN, false, "replica status check failed: " + e.getMostSpecificCause().getMessage());
+            return;
+        } finally {
+            router.purgeExpiredWrites();
+        }
+
+        if (lag == null) {
+            update(Double.NaN, false, "replication is not running");
+        } else if (lag > properties.getMaxLag().toSeconds()) {
+            update(lag, false, "replica is " + lag + "s behind the primary");
+        } else {
+            update(lag, true, null);
+        }
+    }
+
+    private void update(double lag, boolean available, String reason) {
+        lagSeconds = lag;
+        boolean wasAvailable = router.isReplicaAvailable();
+        router.setReplicaAvailable(available);
+        if (wasAvailable && !available) {
+            log.warn("Routing reads to the primary: {}", reason);
+        } else if (!wasAvailable && available) {
+            log.info("Routing read-only transactions to the replica (lag {}s)", (long) lag);
+        }
+    }
+}
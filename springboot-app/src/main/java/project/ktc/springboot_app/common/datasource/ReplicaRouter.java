@@ -0,0 +1,177 @@
+package project.ktc.springboot_app.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which pool serves a physical connection. It is asked when the
+ * connection is first used, after the transaction has started, so the
+ * read-only flag of the current transaction is known.
+ *
+ * Read-only transactions go to the replica unless it is unavailable or
+ * lagging, or the caller wrote recently. A caller has written recently when
+ * a read-write transaction committed within the read-your-writes window on
+ * the same thread, or for the same authenticated user on this node.
+ * Everything else, including work outside a transaction, uses the primary.
+ */
+@Slf4j
+public class ReplicaRouter {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private enum Reason {
+        READ_WRITE(Target.PRIMARY, "read-write"),
+        READ_ONLY(Target.REPLICA, "read-only"),
+        READ_YOUR_WRITES(Target.PRIMARY, "read-your-writes"),
+        REPLICA_UNAVAILABLE(Target.PRIMARY, "replica-unavailable");
+
+        private final Target target;
+        private final String tag;
+
+        Reason(Target target, String tag) {
+            this.target = target;
+            this.tag = tag;
+        }
+    }
+
+    private static final String ROUTING_METRIC = "app.datasource.routing";
+    private static final String REPLICA_FAILED_METRIC = "app.datasource.replica.failed";
+
+    private final long readYourWritesNanos;
+    private final Map<Reason, Counter> routedCounters = new EnumMap<>(Reason.class);
+    private final Counter replicaFailedCounter;
+
+    /** Deadline (System.nanoTime) until which this thread's reads stay on the primary */
+    private final ThreadLocal<Long> threadStickyUntil = new ThreadLocal<>();
+    private final Map<String, Long> userStickyUntil = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaAvailable = false;
+
+    public ReplicaRouter(ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        this.readYourWritesNanos = properties.getReadYourWritesWindow().toNanos();
+        for (Reason reason : Reason.values()) {
+            routedCounters.put(reason, Counter.builder(ROUTING_METRIC)
+                    .description("Connections handed out per pool and routing reason")
+                    .tag("target", reason.target.name().toLowerCase())
+                    .tag("reason", reason.tag)
+                    .register(meterRegistry));
+        }
+        this.replicaFailedCounter = Counter.builder(REPLICA_FAILED_METRIC)
+                .description("Replica connections that could not be opened and were served by the primary")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pick the pool for a connection about to be opened on this thread
+     */
+    public Target route() {
+        Reason reason = decide();
+        routedCounters.get(reason).increment();
+        return reason.target;
+    }
+
+    private Reason decide() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return Reason.READ_WRITE;
+        }
+        if (!replicaAvailable) {
+            return Reason.REPLICA_UNAVAILABLE;
+        }
+        if (wroteRecently()) {
+            return Reason.READ_YOUR_WRITES;
+        }
+        return Reason.READ_ONLY;
+    }
+
+    /**
+     * Start the read-your-writes window once the current read-write
+     * transaction commits
+     */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long until = System.nanoTime() + readYourWritesNanos;
+                threadStickyUntil.set(until);
+                if (user != null) {
+                    userStickyUntil.put(user, until);
+                }
+            }
+        });
+    }
+
+    private boolean wroteRecently() {
+        long now = System.nanoTime();
+        Long threadUntil = threadStickyUntil.get();
+        if (threadUntil != null) {
+            if (threadUntil - now > 0) {
+                return true;
+            }
+            threadStickyUntil.remove();
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long userUntil = userStickyUntil.get(user);
+        return userUntil != null && userUntil - now > 0;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Drop read-your-writes entries whose window has passed
+     */
+    void purgeExpiredWrites() {
+        long now = System.nanoTime();
+        userStickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    /**
+     * Called by the lag monitor after every check
+     */
+    void setReplicaAvailable(boolean available) {
+        this.replicaAvailable = available;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * A replica connection could not be opened. Reads go to the primary
+     * until the next successful lag check.
+     */
+    void replicaFailed(Exception e) {
+        replicaFailedCounter.increment();
+        if (replicaAvailable) {
+            log.warn("Replica connection failed, routing reads to the primary: {}", e.getMessage());
+        }
+        replicaAvailable = false;
+    }
+}
@@ -0,0 +1,65 @@
+package project.ktc.springboot_app.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Hands out primary or replica connections as decided by
+ * {@link ReplicaRouter}. A replica connection that cannot be opened is
+ * replaced by a primary one rather than failing the read.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction
+ * managers open the connection before the transaction's read-only flag is
+ * published, so routing is only correct once the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouter router;
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaRouter router) {
+        this.router = router;
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(
+                ReplicaRouter.Target.PRIMARY, primary,
+                ReplicaRouter.Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.route();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (router.route() == ReplicaRouter.Target.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                router.replicaFailed(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (router.route() == ReplicaRouter.Target.REPLICA) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                router.replicaFailed(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+}
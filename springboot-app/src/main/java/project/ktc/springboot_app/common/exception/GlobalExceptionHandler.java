@@ -3,6 +3,7 @@ package project.ktc.springboot_app.common.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimitExceededException;
 import project.ktc.springboot_app.common.dto.ApiErrorResponse;
 import project.ktc.springboot_app.security.exception.ExpiredJwtTokenException;
 import project.ktc.springboot_app.security.exception.InvalidJwtTokenException;
@@ -194,6 +196,26 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.badRequest().body(errorResponse);
         }
 
+        /**
+         * Handle calls rejected by an outbound concurrency limit
+         */
+        @ExceptionHandler(ConcurrencyLimitExceededException.class)
+        public ResponseEntity<ApiErrorResponse> handleConcurrencyLimitExceeded(
+                        ConcurrencyLimitExceededException ex, HttpServletRequest request) {
+
+                log.warn("Concurrency limit exceeded: {}", ex.getLimitName());
+
+                ApiErrorResponse errorResponse = ApiErrorResponse.of(
+                                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                "Service Unavailable",
+                                ex.getMessage(),
+                                request.getRequestURI());
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "5")
+                                .body(errorResponse);
+        }
+
         /**
          * Handle method argument type mismatch
          */
@@ -0,0 +1,14 @@
+package project.ktc.springboot_app.common.export;
+
+import java.util.function.Function;
+
+/**
+ * One column of an export: its header (or JSON field name) and how to read
+ * it from a row
+ */
+public record ExportColumn<T>(String name, Function<T, ?> value) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, ?> value) {
+        return new ExportColumn<>(name, value);
+    }
+}
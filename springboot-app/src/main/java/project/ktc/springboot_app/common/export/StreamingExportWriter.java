@@ -0,0 +1,232 @@
+package project.ktc.springboot_app.common.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.ktc.springboot_app.config.ExportProperties;
+import project.ktc.springboot_app.config.JacksonConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes admin exports straight from a database cursor to the response.
+ * Rows are read inside a read-only transaction on the export worker, written
+ * one at a time as CSV or NDJSON and gzipped on the fly when the client
+ * accepts it, so memory stays flat however many rows there are.
+ */
+@Component
+@Slf4j
+public class StreamingExportWriter {
+
+    /**
+     * Fetch size that makes MySQL Connector/J stream rows instead of buffering
+     * the whole result set. Queries using it must not load anything else on
+     * the same connection while the stream is open.
+     */
+    public static final String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter
+            .ofPattern(JacksonConfig.DATETIME_FORMAT);
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StreamingExportWriter(PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            ExportProperties exportProperties) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.exportProperties = exportProperties;
+    }
+
+    /**
+     * Build a response whose body streams the rows when the container writes
+     * it. The query only runs then, on the export executor.
+     *
+     * @param baseName       file name without date or extension
+     * @param acceptEncoding the request's Accept-Encoding header, may be null
+     * @param rows           opens the row stream; called inside the transaction
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(String baseName, ExportFormat format,
+            String acceptEncoding, List<ExportColumn<T>> columns, Supplier<Stream<T>> rows) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String fileName = baseName + "_" + LocalDate.now() + "." + format.getExtension();
+
+        StreamingResponseBody body = out -> write(out, fileName, format, gzip, columns, rows);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private <T> void write(OutputStream out, String fileName, ExportFormat format, boolean gzip,
+            List<ExportColumn<T>> columns, Supplier<Stream<T>> rows) throws IOException {
+        long started = System.currentTimeMillis();
+        // The container owns the response stream, so finish rather than close
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long written;
+        try {
+            written = readOnlyTransaction.execute(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    return writeRows(writer, format, columns, stream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor is already closed
+            log.warn("Export {} aborted after {} ms: {}", fileName, System.currentTimeMillis() - started,
+                    e.getCause().getMessage());
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            log.error("Export {} failed after {} ms", fileName, System.currentTimeMillis() - started, e);
+            throw e;
+        }
+
+        log.info("Export {} streamed {} rows in {} ms (gzip={})", fileName, written,
+                System.currentTimeMillis() - started, gzip);
+    }
+
+    private <T> long writeRows(Writer writer, ExportFormat format, List<ExportColumn<T>> columns, Stream<T> rows)
+            throws IOException {
+        int flushEvery = Math.max(1, exportProperties.getFlushEveryRows());
+        int clearEvery = Math.max(1, exportProperties.getClearEveryRows());
+
+        if (format == ExportFormat.CSV) {
+            writeCsvHeader(writer, columns);
+        }
+
+        long count = 0;
+        for (T row : (Iterable<T>) rows::iterator) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, columns, row);
+            } else {
+                writeJsonRow(writer, columns, row);
+            }
+
+            count++;
+            if (count % flushEvery == 0) {
+                writer.flush();
+            }
+            if (count % clearEvery == 0) {
+                // Nothing read for the export needs to stay managed
+                entityManager.clear();
+            }
+        }
+        return count;
+    }
+
+    private <T> void writeCsvHeader(Writer writer, List<ExportColumn<T>> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(columns.get(i).name()));
+        }
+        writer.write('\n');
+    }
+
+    private <T> void writeCsvRow(Writer writer, List<ExportColumn<T>> columns, T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).value().apply(row);
+            String text = csvText(value);
+            // Keep spreadsheet apps from evaluating user-supplied text as a formula
+            if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            writer.write(csvField(text));
+        }
+        writer.write('\n');
+    }
+
+    private <T> void writeJsonRow(Writer writer, List<ExportColumn<T>> columns, T row) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (ExportColumn<T> column : columns) {
+            fields.put(column.name(), column.value().apply(row));
+        }
+        writer.write(objectMapper.writeValueAsString(fields));
+        writer.write('\n');
+    }
+
+    private static String csvText(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATETIME_FORMATTER);
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    private static String csvField(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package project.ktc.springboot_app.common.jpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Inserts large numbers of new entities without holding them all in the
+ * persistence context. Entities are persisted one at a time and the context is
+ * flushed and cleared every JDBC batch, so the inserts go out as
+ * hibernate.jdbc.batch_size row batches and memory stays flat however many
+ * rows there are.
+ *
+ * Clearing detaches everything the caller has loaded in the same transaction.
+ * Pending changes are flushed first, but the caller must not rely on its
+ * managed entities staying managed afterwards.
+ */
+@Component
+@Slf4j
+public class BulkWriter {
+
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkWriter(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Persist new entities in JDBC batches
+     *
+     * @return number of entities persisted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> int persistAll(Iterable<T> entities) {
+        long started = System.currentTimeMillis();
+        entityManager.flush();
+
+        int count = 0;
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        log.debug("Bulk persisted {} entities in {} ms", count, System.currentTimeMillis() - started);
+        return count;
+    }
+
+    /**
+     * Persist new entities from a stream, e.g. one mapped from a streaming
+     * query, without collecting them first
+     *
+     * @return number of entities persisted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> int persistAll(Stream<T> entities) {
+        try (entities) {
+            return persistAll((Iterable<T>) entities::iterator);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package project.ktc.springboot_app.common.jpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Loads entities by their {@code @NaturalId}. Unlike a derived
+ * {@code findByName} query, the lookup goes through Hibernate's natural-id
+ * cache, so once a name has been resolved it costs no round trip until the
+ * entity changes or its region expires.
+ *
+ * The match is exact: natural ids are cached as given, so callers normalise
+ * the value (e.g. upper-case) before looking it up.
+ */
+@Component
+public class NaturalIdLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public <T> Optional<T> find(Class<T> entityType, Object naturalId) {
+        if (naturalId == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(entityType)
+                .loadOptional(naturalId);
+    }
+}
@@ -0,0 +1,99 @@
+package project.ktc.springboot_app.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that caps how much each logger (category) can write.
+ *
+ * - DEBUG and TRACE events are sampled: one in debugSampleRate is kept
+ * - INFO and WARN events beyond maxEventsPerSecond in a second are dropped,
+ * and the number dropped is reported with the category's first event in a
+ * later second
+ * - ERROR events are never dropped
+ *
+ * Runs before the event is built, so dropped events cost one map lookup and
+ * an increment. Configured in logback-spring.xml.
+ */
+public class CategoryRateLimitFilter extends TurboFilter {
+
+    private static final String REPORT_LOGGER = CategoryRateLimitFilter.class.getName();
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> reporting = ThreadLocal.withInitial(() -> false);
+
+    private int maxEventsPerSecond = 200;
+    private int debugSampleRate = 1;
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private final AtomicLong sampled = new AtomicLong();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // isXxxEnabled() checks come through without a format; only count real events
+        if (format == null || level == null || level.isGreaterOrEqual(Level.ERROR)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || reporting.get()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+
+        if (!level.isGreaterOrEqual(Level.INFO)) {
+            return debugSampleRate <= 1 || window.sampled.getAndIncrement() % debugSampleRate == 0
+                    ? FilterReply.NEUTRAL
+                    : FilterReply.DENY;
+        }
+
+        if (maxEventsPerSecond <= 0) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        long current = window.second.get();
+        if (now != current && window.second.compareAndSet(current, now)) {
+            window.count.set(0);
+            int dropped = window.dropped.getAndSet(0);
+            if (dropped > 0) {
+                report(logger.getName(), dropped);
+            }
+        }
+
+        if (window.count.incrementAndGet() <= maxEventsPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        window.dropped.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private void report(String category, int dropped) {
+        reporting.set(true);
+        try {
+            ((LoggerContext) getContext()).getLogger(REPORT_LOGGER)
+                    .warn("Dropped {} log events from {} (over {} per second)", dropped, category,
+                            maxEventsPerSecond);
+        } finally {
+            reporting.set(false);
+        }
+    }
+
+    public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    public void setDebugSampleRate(int debugSampleRate) {
+        this.debugSampleRate = debugSampleRate;
+    }
+}
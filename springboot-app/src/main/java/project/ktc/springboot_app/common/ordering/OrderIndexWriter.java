@@ -0,0 +1,138 @@
+package project.ktc.springboot_app.common.ordering;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites order_index for the children of one parent with set-based
+ * statements instead of loading and saving every row. Only the window of
+ * positions that actually changed is written, so moving one item from i to
+ * j touches |i - j| + 1 rows and removing one shifts only the rows after it.
+ * Callers run inside their own transaction.
+ */
+@Component
+@Slf4j
+public class OrderIndexWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Current order of a parent's children, read with row locks so that
+     * concurrent reorders of the same parent run one after the other
+     */
+    public record OrderSnapshot(List<String> ids, boolean dense) {
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderSnapshot lockOrder(OrderedTable table, String parentId) {
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT id, order_index FROM " + table.getTableName()
+                + " WHERE " + table.getParentColumn() + " = :parentId ORDER BY order_index FOR UPDATE")
+                .setParameter("parentId", parentId)
+                .getResultList();
+
+        List<String> ids = new ArrayList<>(rows.size());
+        boolean dense = true;
+        for (Object[] row : rows) {
+            dense &= ((Number) row[1]).intValue() == ids.size();
+            ids.add((String) row[0]);
+        }
+        return new OrderSnapshot(ids, dense);
+    }
+
+    /**
+     * Give every id its position in {@code newOrder}. {@code newOrder} must be
+     * a permutation of the snapshot's ids.
+     *
+     * @return rows updated
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int applyOrder(OrderedTable table, String parentId, OrderSnapshot current, List<String> newOrder) {
+        List<String> currentIds = current.ids();
+        int first = 0;
+        int last = newOrder.size() - 1;
+        // Gaps left by older code are closed by rewriting the whole list once
+        if (current.dense()) {
+            while (first <= last && currentIds.get(first).equals(newOrder.get(first))) {
+                first++;
+            }
+            while (last >= first && currentIds.get(last).equals(newOrder.get(last))) {
+                last--;
+            }
+        }
+        if (first > last) {
+            return 0;
+        }
+
+        List<String> window = newOrder.subList(first, last + 1);
+        String parentFilter = " WHERE " + table.getParentColumn() + " = :parentId AND id IN (:ids)";
+
+        // MySQL checks unique keys row by row and cannot defer them, so the
+        // window is parked on negative values before taking its final ones
+        entityManager.createNativeQuery("UPDATE " + table.getTableName()
+                + " SET order_index = -1 - order_index" + parentFilter)
+                .setHint(AvailableHints.HINT_NATIVE_SPACES, table.getTableName())
+                .setParameter("parentId", parentId)
+                .setParameter("ids", window)
+                .executeUpdate();
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table.getTableName())
+                .append(" SET order_index = CASE id");
+        for (int i = 0; i < window.size(); i++) {
+            sql.append(" WHEN :id").append(i).append(" THEN ").append(first + i);
+        }
+        sql.append(" END").append(parentFilter);
+
+        Query update = entityManager.createNativeQuery(sql.toString())
+                .setHint(AvailableHints.HINT_NATIVE_SPACES, table.getTableName())
+                .setParameter("parentId", parentId)
+                .setParameter("ids", window);
+        for (int i = 0; i < window.size(); i++) {
+            update.setParameter("id" + i, window.get(i));
+        }
+        int updated = update.executeUpdate();
+
+        log.debug("Reordered {} of {} {} under {}", updated, newOrder.size(), table.getTableName(), parentId);
+        return updated;
+    }
+
+    /**
+     * Close the gap left by a removed row. Rows are shifted in ascending
+     * order so each one moves into a slot that is already free.
+     *
+     * @return rows shifted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int closeGap(OrderedTable table, String parentId, int removedIndex) {
+        entityManager.flush();
+        return entityManager.createNativeQuery("UPDATE " + table.getTableName()
+                + " SET order_index = order_index - 1 WHERE " + table.getParentColumn()
+                + " = :parentId AND order_index > :removedIndex ORDER BY order_index")
+                .setHint(AvailableHints.HINT_NATIVE_SPACES, table.getTableName())
+                .setParameter("parentId", parentId)
+                .setParameter("removedIndex", removedIndex)
+                .executeUpdate();
+    }
+
+    /**
+     * Order index for a row appended after the parent's current children
+     */
+    public int nextIndex(OrderedTable table, String parentId) {
+        Number next = (Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(order_index), -1) + 1 FROM "
+                + table.getTableName() + " WHERE " + table.getParentColumn() + " = :parentId")
+                .setParameter("parentId", parentId)
+                .getSingleResult();
+        return next.intValue();
+    }
+}
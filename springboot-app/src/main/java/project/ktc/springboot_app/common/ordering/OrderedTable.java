@@ -0,0 +1,18 @@
+package project.ktc.springboot_app.common.ordering;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tables whose rows keep a dense, 0-based order_index per parent, unique
+ * per parent
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderedTable {
+    SECTIONS("sections", "course_id"),
+    LESSONS("lessons", "section_id");
+
+    private final String tableName;
+    private final String parentColumn;
+}
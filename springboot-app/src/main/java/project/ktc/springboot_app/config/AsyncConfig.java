@@ -1,22 +1,48 @@
 package project.ktc.springboot_app.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import project.ktc.springboot_app.certificate.config.CertificateIssuanceProperties;
+import project.ktc.springboot_app.common.logging.MdcTaskDecorator;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.mcq.config.MCQGenerationProperties;
+import project.ktc.springboot_app.security.CustomPermissionEvaluator;
+import project.ktc.springboot_app.upload.config.MediaUploadProperties;
 
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for asynchronous processing
- * Optimized for payment background processing to prevent webhook timeouts
+ * Optimized for payment background processing to prevent webhook timeouts.
+ * Every pool copies the submitting thread's MDC, so background work logs
+ * with the request id that started it.
+ *
+ * With spring.threads.virtual.enabled the general task executor starts a
+ * virtual thread per task, and the bounded pools below keep their sizes and
+ * queues (they are bulkheads for MySQL and remote providers) but run their
+ * workers on virtual threads.
  */
 @Configuration
 @EnableAsync
 @Slf4j
 public class AsyncConfig {
 
+    /** Background payment tasks in flight before submitters are throttled */
+    private static final int VIRTUAL_TASK_CONCURRENCY = 60;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     /**
      * Task executor for payment background processing (emails, notifications,
      * affiliate payouts)
@@ -24,6 +50,19 @@ public class AsyncConfig {
      */
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("PaymentAsync-");
+            executor.setVirtualThreads(true);
+            // Blocks submitters at the limit, like the pool's run-on-caller fallback
+            executor.setConcurrencyLimit(VIRTUAL_TASK_CONCURRENCY);
+            executor.setTaskDecorator(taskDecorator());
+            executor.setTaskTerminationTimeout(30_000);
+
+            log.info("🚀 Payment async executor ready: virtual threads, concurrency={}", VIRTUAL_TASK_CONCURRENCY);
+
+            return executor;
+        }
+
         log.info("✅ Creating optimized async task executor for payment processing");
 
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -32,7 +71,8 @@ public class AsyncConfig {
         executor.setCorePoolSize(3);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("PaymentAsync-");
+        useWorkerThreads(executor, "PaymentAsync-");
+        executor.setTaskDecorator(taskDecorator());
         executor.setKeepAliveSeconds(60);
         executor.setAllowCoreThreadTimeOut(true);
 
@@ -52,4 +92,193 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    /**
+     * Bounded worker pool for automatic payout chunks.
+     * The queue only holds one wave of chunks; overflow runs on the scheduler
+     * thread, which throttles the keyset reader instead of dropping work.
+     */
+    @Bean(name = "payoutExecutor")
+    public Executor payoutExecutor(PayoutSchedulingProperties payoutProperties) {
+        int workers = Math.max(1, payoutProperties.getBatch().getWorkers());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        useWorkerThreads(executor, "PayoutWorker-");
+        executor.setTaskDecorator(taskDecorator());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(120);
+        executor.initialize();
+
+        log.info("🚀 Payout executor ready: workers={}", workers);
+
+        return executor;
+    }
+
+    /**
+     * Bounded pool for transferring completed uploads to the storage backend.
+     * Rejected transfers leave the session FAILED so the client can retry,
+     * rather than blocking a request thread.
+     */
+    @Bean(name = "mediaUploadExecutor")
+    public Executor mediaUploadExecutor(MediaUploadProperties mediaUploadProperties) {
+        MediaUploadProperties.Upload upload = mediaUploadProperties.getUpload();
+        int workers = Math.max(1, upload.getWorkers());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Math.max(0, upload.getQueueCapacity()));
+        useWorkerThreads(executor, "MediaUpload-");
+        executor.setTaskDecorator(taskDecorator());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(120);
+        executor.initialize();
+
+        log.info("🚀 Media upload executor ready: workers={}, queue={}", workers, upload.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * Bounded pool for rendering and uploading queued certificates.
+     * Overflow runs on the issuance worker thread, which slows the drain
+     * instead of dropping certificates.
+     */
+    @Bean(name = "certificateExecutor")
+    public Executor certificateExecutor(CertificateIssuanceProperties issuanceProperties) {
+        int workers = Math.max(1, issuanceProperties.getWorkers());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 4);
+        useWorkerThreads(executor, "CertificateWorker-");
+        executor.setTaskDecorator(taskDecorator());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(120);
+        executor.initialize();
+
+        log.info("🚀 Certificate executor ready: workers={}", workers);
+
+        return executor;
+    }
+
+    /**
+     * Bounded pool that sends the messages of one claimed outbox batch
+     * concurrently. The queue holds a full batch; overflow runs on the
+     * dispatcher thread.
+     */
+    @Bean(name = "emailOutboxExecutor")
+    public Executor emailOutboxExecutor(EmailConfig emailConfig) {
+        EmailConfig.Outbox outbox = emailConfig.getOutbox();
+        int senders = Math.max(1, outbox.getSenders());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senders);
+        executor.setMaxPoolSize(senders);
+        executor.setQueueCapacity(Math.max(1, outbox.getBatchSize()));
+        useWorkerThreads(executor, "EmailSender-");
+        executor.setTaskDecorator(taskDecorator());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("🚀 Email outbox executor ready: senders={}", senders);
+
+        return executor;
+    }
+
+    /**
+     * Pool that streams admin exports off the request threads. Each export
+     * holds a connection for as long as it streams, so the pool is small and
+     * requests beyond its queue are rejected instead of waiting indefinitely.
+     */
+    @Bean(name = "exportExecutor")
+    public AsyncTaskExecutor exportExecutor(ExportProperties exportProperties) {
+        int workers = Math.max(1, exportProperties.getWorkers());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Math.max(0, exportProperties.getQueueCapacity()));
+        useWorkerThreads(executor, "ExportWorker-");
+        executor.setTaskDecorator(taskDecorator());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("🚀 Export executor ready: workers={}", workers);
+
+        return executor;
+    }
+
+    /**
+     * Bounded pool for MCQ generation jobs. Each job waits on the model for
+     * up to the read timeout, so concurrency is capped; jobs beyond the queue
+     * fail straight away instead of piling up.
+     */
+    @Bean(name = "mcqExecutor")
+    public Executor mcqExecutor(MCQGenerationProperties mcqProperties) {
+        int workers = Math.max(1, mcqProperties.getWorkers());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Math.max(0, mcqProperties.getQueueCapacity()));
+        useWorkerThreads(executor, "McqWorker-");
+        executor.setTaskDecorator(taskDecorator());
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        log.info("🚀 MCQ executor ready: workers={}, queue={}", workers, mcqProperties.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * Name the pool's threads, and make them virtual in virtual-thread mode
+     */
+    private void useWorkerThreads(ThreadPoolTaskExecutor executor, String namePrefix) {
+        executor.setThreadNamePrefix(namePrefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(namePrefix, 0).factory());
+        }
+    }
+
+    /**
+     * Copy the submitter's MDC into the task, and clear the permission filter
+     * context afterwards so a pooled thread never carries one task's effective
+     * filter into the next
+     */
+    private TaskDecorator taskDecorator() {
+        TaskDecorator clearFilterContext = runnable -> () -> {
+            try {
+                runnable.run();
+            } finally {
+                CustomPermissionEvaluator.EffectiveFilterContext.clear();
+            }
+        };
+        return new CompositeTaskDecorator(List.of(new MdcTaskDecorator(), clearFilterContext));
+    }
 }
@@ -0,0 +1,105 @@
+package project.ktc.springboot_app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+import project.ktc.springboot_app.common.datasource.ReplicaDataSourceProperties;
+import project.ktc.springboot_app.common.datasource.ReplicaLagMonitor;
+import project.ktc.springboot_app.common.datasource.ReplicaRouter;
+import project.ktc.springboot_app.common.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting between the MySQL primary and a read replica
+ * Active only with app.datasource.replica.enabled=true; otherwise Spring
+ * Boot's single spring.datasource pool is used unchanged.
+ *
+ * Each pool has its own Hikari settings (spring.datasource.hikari for the
+ * primary, app.datasource.replica.hikari for the replica) and publishes
+ * hikaricp.* metrics tagged with its pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.getDriverClassName())
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaRouter(properties, meterRegistry);
+    }
+
+    /**
+     * The DataSource used by JPA, Liquibase and JdbcTemplate
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaRouter replicaRouter) {
+        log.info("✅ Routing read-only transactions to the read replica");
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaRouter));
+    }
+
+    /**
+     * Release the connection after every transaction, so each transaction in
+     * an open-in-view request is routed on its own instead of reusing the
+     * first one's pool. The lazy proxy defers the choice to the first statement.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaRouter replicaRouter,
+            ReplicaDataSourceProperties properties,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, replicaRouter, properties, taskScheduler, meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package project.ktc.springboot_app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for streamed admin exports
+ * Maps properties from application.properties with prefix "app.export"
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    /** Exports streamed concurrently; further requests are rejected */
+    private int workers = 4;
+
+    /** Exports waiting for a worker before new ones are rejected */
+    private int queueCapacity = 8;
+
+    /** Rows written between flushes to the client */
+    private int flushEveryRows = 500;
+
+    /** Rows written between persistence context clears */
+    private int clearEveryRows = 1000;
+
+    /** How long a single export may stream before the request is timed out */
+    private Duration requestTimeout = Duration.ofMinutes(30);
+}
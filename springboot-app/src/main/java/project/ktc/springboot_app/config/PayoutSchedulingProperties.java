@@ -34,7 +34,7 @@ public class PayoutSchedulingProperties {
     /**
      * Batch processing configuration
      */
-    private int batchSize = 50;
+    private Batch batch = new Batch();
 
     /**
      * Retry configuration
@@ -71,6 +71,14 @@ public class PayoutSchedulingProperties {
         }
     }
 
+    @Data
+    public static class Batch {
+        /** Payments per keyset chunk, each chunk commits in its own transaction */
+        private int size = 50;
+        /** Chunks processed in parallel */
+        private int workers = 4;
+    }
+
     @Data
     public static class Retry {
         private Max max = new Max();
@@ -106,8 +106,10 @@ public class SecurityConfig {
                 config.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:5173",
                                 "https://sybau-education.vercel.app", "https://sybau-education-admin.vercel.app",
                                 "https://nextjs-course-project-cyan.vercel.app"));
-                config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
+                config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH", "HEAD"));
                 config.setAllowedHeaders(List.of("*"));
+                // Resumable upload offsets are read by the browser client
+                config.setExposedHeaders(List.of("Upload-Offset", "Upload-Length", "Location"));
                 config.setAllowCredentials(true);
                 config.setMaxAge(3600L);
 
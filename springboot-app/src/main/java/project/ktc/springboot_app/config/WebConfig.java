@@ -1,20 +1,31 @@
 package project.ktc.springboot_app.config;
 
-import lombok.RequiredArgsConstructor;
 import project.ktc.springboot_app.permission.interceptors.FilterContextCleanupInterceptor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Web configuration for registering interceptors
+ * Web configuration for registering interceptors and async request handling
  */
 @Configuration
-@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
     private final FilterContextCleanupInterceptor filterContextCleanupInterceptor;
+    private final AsyncTaskExecutor exportExecutor;
+    private final ExportProperties exportProperties;
+
+    public WebConfig(FilterContextCleanupInterceptor filterContextCleanupInterceptor,
+            @Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor,
+            ExportProperties exportProperties) {
+        this.filterContextCleanupInterceptor = filterContextCleanupInterceptor;
+        this.exportExecutor = exportExecutor;
+        this.exportProperties = exportProperties;
+    }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -22,4 +33,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/**")
                 .excludePathPatterns("/actuator/**", "/health", "/info", "/metrics");
     }
+
+    /**
+     * Streamed exports are the only async responses; they run on their own
+     * pool and may outlive the container's default async timeout
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor);
+        configurer.setDefaultTimeout(exportProperties.getRequestTimeout().toMillis());
+    }
 }
@@ -56,6 +56,13 @@ public class Course extends BaseEntity {
     @Column(name = "level")
     private CourseLevel level = CourseLevel.BEGINNER;
 
+    /**
+     * Number of lessons across all sections, maintained by
+     * CourseProgressService with atomic updates
+     */
+    @Column(name = "lesson_count", insertable = false, updatable = false)
+    private Integer lessonCount = 0;
+
     @ManyToMany
     @JoinTable(name = "course_categories", joinColumns = @JoinColumn(name = "course_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
     private List<Category> categories;
@@ -1,10 +1,14 @@
 package project.ktc.springboot_app.course.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -209,4 +213,11 @@ public interface CourseRepository extends JpaRepository<Course, String>, JpaSpec
                         "WHERE c.isDeleted = false AND c.isApproved = true")
         PriceRange findMinAndMaxPrice();
 
+        @Query("SELECT c.instructor.id FROM Course c WHERE c.id = :courseId")
+        Optional<String> findInstructorIdById(@Param("courseId") String courseId);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "courses"))
+        @Query(value = "UPDATE courses SET lesson_count = GREATEST(lesson_count + :delta, 0) WHERE id = :courseId", nativeQuery = true)
+        int adjustLessonCount(@Param("courseId") String courseId, @Param("delta") int delta);
 }
@@ -44,6 +44,7 @@ import project.ktc.springboot_app.section.repositories.InstructorSectionReposito
 import project.ktc.springboot_app.utils.SecurityUtil;
 import project.ktc.springboot_app.utils.StringUtil;
 import project.ktc.springboot_app.utils.MathUtil;
+import project.ktc.springboot_app.common.datasource.ReadReplica;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -76,6 +77,7 @@ public class CourseServiceImp implements CourseService {
         }
 
         @Override
+        @ReadReplica
         public ResponseEntity<ApiResponse<PaginatedResponse<CoursePublicResponseDto>>> findAllPublic(
                         String search,
                         List<String> categoryIds,
@@ -88,13 +90,13 @@ public class CourseServiceImp implements CourseService {
                 // Convert empty list to null for JPQL compatibility
                 List<String> processedCategoryIds = (categoryIds != null && categoryIds.isEmpty()) ? null : categoryIds;
 
-                log.info(
+                log.debug(
                                 "Finding public courses with filters: search={}, categoryIds={}, minPrice={}, maxPrice={}, level={}, averageRating={}, page={}",
                                 search, processedCategoryIds, minPrice, maxPrice, level, averageRating,
                                 pageable.getPageNumber());
 
                 if (averageRating != null) {
-                        log.info("RATING FILTER APPLIED: averageRating >= {}", averageRating);
+                        log.debug("RATING FILTER APPLIED: averageRating >= {}", averageRating);
                 }
 
                 // Validate price range
@@ -138,7 +140,7 @@ public class CourseServiceImp implements CourseService {
                                                 .build())
                                 .build();
 
-                log.info("✅ Successfully built response with {} courses", courseResponses.size());
+                log.debug("Successfully built response with {} courses", courseResponses.size());
 
                 return ApiResponseUtil.success(paginatedResponse, "Public courses retrieved successfully");
         }
@@ -150,7 +152,7 @@ public class CourseServiceImp implements CourseService {
                         List<String> categoryIds, BigDecimal minPrice, BigDecimal maxPrice, CourseLevel level,
                         Double averageRating, String sortString, Pageable pageable) {
 
-                log.info("🔍 getSharedCourseData called with categoryIds: {}, size: {}", categoryIds,
+                log.debug("getSharedCourseData called with categoryIds: {}, size: {}", categoryIds,
                                 categoryIds != null ? categoryIds.size() : 0);
 
                 // Try cache first (skip cache when averageRating filter or multi-category
@@ -166,7 +168,7 @@ public class CourseServiceImp implements CourseService {
                                                 minPrice, maxPrice, level, sortString);
 
                                 if (cachedData != null) {
-                                        log.info("✅ Shared cache HIT - Found cached course data (courses + categories + enrollmentCounts)");
+                                        log.debug("Shared cache HIT - Found cached course data (courses + categories + enrollmentCounts)");
                                         // Convert cache DTO back to service DTO
                                         return CourseCacheMapper.fromSharedCacheDto(cachedData);
                                 }
@@ -176,12 +178,12 @@ public class CourseServiceImp implements CourseService {
                 }
 
                 // Cache miss - query database
-                log.info("❌ Shared cache MISS - Querying database for course data");
+                log.debug("Shared cache MISS - Querying database for course data");
 
                 // Query courses with pagination
                 Page<Course> coursePage = courseRepository.findPublishedCoursesWithFilters(
                                 search, categoryIds, minPrice, maxPrice, level, averageRating, pageable);
-                log.info("Found {} courses from database", coursePage.getTotalElements());
+                log.debug("Found {} courses from database", coursePage.getTotalElements());
 
                 // Batch load categories to avoid N+1 problem
                 List<Course> coursesWithCategories = coursePage.getContent().stream()
@@ -239,7 +241,7 @@ public class CourseServiceImp implements CourseService {
                                 coursesCacheService.storeSharedCourseData(
                                                 pageNumber, pageSize, search, singleCategoryId,
                                                 minPrice, maxPrice, level, sortString, cacheDto);
-                                log.info("✅ Stored shared course data in cache (30 min TTL)");
+                                log.debug("Stored shared course data in cache (30 min TTL)");
                         } catch (Exception e) {
                                 log.warn("⚠️ Failed to cache shared course data", e);
                         }
@@ -271,7 +273,7 @@ public class CourseServiceImp implements CourseService {
                                         courseIdsKey);
 
                         if (cachedEnrollmentStatus != null) {
-                                log.info("✅ User enrollment cache HIT for user: {}", currentUserId);
+                                log.debug("User enrollment cache HIT for user: {}", currentUserId);
                                 return cachedEnrollmentStatus;
                         }
                 } catch (Exception e) {
@@ -279,7 +281,7 @@ public class CourseServiceImp implements CourseService {
                 }
 
                 // Cache miss - query database
-                log.info("❌ User enrollment cache MISS - Querying database for user: {}", currentUserId);
+                log.debug("User enrollment cache MISS - Querying database for user: {}", currentUserId);
 
                 Map<String, Boolean> enrollmentStatus = courseIds.stream()
                                 .collect(Collectors.toMap(
@@ -291,7 +293,7 @@ public class CourseServiceImp implements CourseService {
                 // Store in user-specific cache (5 minutes TTL)
                 try {
                         coursesCacheService.storeUserEnrollmentStatus(currentUserId, courseIdsKey, enrollmentStatus);
-                        log.info("✅ Stored user enrollment status in cache (5 min TTL) for user: {}", currentUserId);
+                        log.debug("Stored user enrollment status in cache (5 min TTL) for user: {}", currentUserId);
                 } catch (Exception e) {
                         log.warn("⚠️ Failed to cache user enrollment status for user: {}", currentUserId, e);
                 }
@@ -301,7 +303,7 @@ public class CourseServiceImp implements CourseService {
 
         @Override
         public ResponseEntity<ApiResponse<CourseDetailResponseDto>> findOnePublic(String courseId) {
-                log.info("Finding course details for course ID: {}", courseId);
+                log.debug("Finding course details for course ID: {}", courseId);
 
                 // Step 1: Find the course with instructor only (avoid multiple bags)
                 Course course = courseRepository.findPublishedCourseByIdWithDetails(courseId)
@@ -348,7 +350,7 @@ public class CourseServiceImp implements CourseService {
 
         @Override
         public ResponseEntity<ApiResponse<CourseDetailResponseDto>> findOneBySlug(String slug) {
-                log.info("🎯 Finding course details for slug: {}", slug);
+                log.debug("Finding course details for slug: {}", slug);
 
                 // ============ STEP 1: Get shared course data (check cache first) ============
                 CourseDetailResponseDto cachedCourse = coursesCacheService.getCourseDetailsBySlug(slug,
@@ -356,10 +358,10 @@ public class CourseServiceImp implements CourseService {
 
                 CourseDetailResponseDto baseResponseDto;
                 if (cachedCourse != null) {
-                        log.info("📋 Cache hit for course slug: {}", slug);
+                        log.debug("Cache hit for course slug: {}", slug);
                         baseResponseDto = cachedCourse;
                 } else {
-                        log.info("🔍 Cache miss for course slug: {}, fetching from database", slug);
+                        log.debug("Cache miss for course slug: {}, fetching from database", slug);
 
                         // Step 1: Find the course with instructor by slug
                         Course course = courseRepository.findPublishedCourseBySlugWithDetails(slug)
@@ -400,12 +402,12 @@ public class CourseServiceImp implements CourseService {
 
                         // Store in cache (without user-specific enrollment status)
                         coursesCacheService.storeCourseDetailsBySlug(slug, baseResponseDto);
-                        log.info("💾 Stored course details in cache for slug: {}", slug);
+                        log.debug("Stored course details in cache for slug: {}", slug);
                 }
 
                 // ============ STEP 2: Get user-specific enrollment status ============
                 Boolean isEnrolled = getCurrentUserEnrollmentStatus(baseResponseDto.getId());
-                log.info("Is current user enrolled in course {}: {}", baseResponseDto.getId(), isEnrolled);
+                log.debug("Is current user enrolled in course {}: {}", baseResponseDto.getId(), isEnrolled);
 
                 // ============ STEP 3: Merge shared + user-specific data ============
                 // ALWAYS build new DTO with correct user-specific enrollment status
@@ -448,7 +450,7 @@ public class CourseServiceImp implements CourseService {
                 // Convert empty list to null for JPQL compatibility
                 List<String> processedCategoryIds = (categoryIds != null && categoryIds.isEmpty()) ? null : categoryIds;
 
-                log.info(
+                log.debug(
                                 "Finding courses for admin with filters: isApproved={}, categoryIds={}, search={}, minPrice={}, maxPrice={}, level={}, averageRating={}, page={}",
                                 isApproved, processedCategoryIds, search, minPrice, maxPrice, level, averageRating,
                                 pageable.getPageNumber());
@@ -881,14 +883,14 @@ public class CourseServiceImp implements CourseService {
 
         @Override
         public ResponseEntity<ApiResponse<List<SectionWithLessonsDto>>> getCourseDetailsForAdmin(String courseId) {
-                log.info("Admin retrieving course details for course ID: {}", courseId);
+                log.debug("Admin retrieving course details for course ID: {}", courseId);
 
                 // Verify course exists
                 Course course = courseRepository.findById(courseId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Course not found with ID: " + courseId));
 
-                log.info("Found course: {} for admin review", course.getTitle());
+                log.debug("Found course: {} for admin review", course.getTitle());
 
                 // Get sections with lessons for the course
                 List<Section> sectionsWithLessons = courseRepository.findSectionsWithLessonsByCourseId(courseId);
@@ -898,7 +900,7 @@ public class CourseServiceImp implements CourseService {
                                 .map(this::mapToSectionWithLessonsDto)
                                 .collect(Collectors.toList());
 
-                log.info("Retrieved {} sections for course {}", sectionDtos.size(), courseId);
+                log.debug("Retrieved {} sections for course {}", sectionDtos.size(), courseId);
 
                 return ApiResponseUtil.success(sectionDtos, "Course sections retrieved successfully");
         }
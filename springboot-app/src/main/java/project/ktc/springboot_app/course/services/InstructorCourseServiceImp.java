@@ -51,7 +51,7 @@ import project.ktc.springboot_app.course.interfaces.InstructorCourseService;
 import project.ktc.springboot_app.course.dto.common.BaseCourseResponseDto;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
 import project.ktc.springboot_app.course.repositories.InstructorCourseRepository;
-import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.instructor_application.entity.InstructorApplication;
 import project.ktc.springboot_app.instructor_application.entity.InstructorApplication.ApplicationStatus;
 import project.ktc.springboot_app.instructor_application.repositories.InstructorApplicationRepository;
@@ -92,7 +92,7 @@ public class InstructorCourseServiceImp implements InstructorCourseService {
     private final SystemLogHelper systemLogHelper;
     private final NotificationHelper notificationHelper;
     private final InstructorStudentRepository instructorStudentRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final CourseProgressService courseProgressService;
     private final CacheInvalidationService cacheInvalidationService;
     private final InstructorCacheService instructorCacheService;
 
@@ -1147,14 +1147,7 @@ public class InstructorCourseServiceImp implements InstructorCourseService {
 
     private Double calculateProgress(String userId, String courseId) {
         try {
-            Long completedLessons = enrollmentRepository.countCompletedLessonsByUserAndCourse(userId, courseId);
-            Long totalLessons = enrollmentRepository.countTotalLessonsByCourse(courseId);
-
-            if (totalLessons == null || totalLessons == 0) {
-                return 0.0;
-            }
-
-            double progress = (double) completedLessons / totalLessons;
+            double progress = courseProgressService.getProgress(userId, courseId);
             return BigDecimal.valueOf(progress)
                     .setScale(2, RoundingMode.HALF_UP)
                     .doubleValue();
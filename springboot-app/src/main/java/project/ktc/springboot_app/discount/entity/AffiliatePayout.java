@@ -21,7 +21,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "affiliate_payouts", indexes = {
         @Index(name = "idx_affiliate_payout_user_status", columnList = "referred_by_user_id, payout_status"),
-        @Index(name = "idx_affiliate_payout_course", columnList = "course_id")
+        @Index(name = "idx_affiliate_payout_course", columnList = "course_id"),
+        @Index(name = "idx_affiliate_payout_status_created", columnList = "payout_status, created_at"),
+        @Index(name = "idx_affiliate_payout_user_created", columnList = "referred_by_user_id, created_at"),
+        @Index(name = "idx_affiliate_payout_created", columnList = "created_at")
 })
 @Getter
 @Setter
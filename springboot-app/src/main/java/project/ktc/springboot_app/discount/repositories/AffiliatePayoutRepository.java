@@ -2,7 +2,11 @@ package project.ktc.springboot_app.discount.repositories;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +20,23 @@ import java.util.List;
  * Repository interface for AffiliatePayout entity operations
  */
 @Repository
-public interface AffiliatePayoutRepository extends JpaRepository<AffiliatePayout, String> {
+public interface AffiliatePayoutRepository extends JpaRepository<AffiliatePayout, String>,
+        JpaSpecificationExecutor<AffiliatePayout> {
+
+    /**
+     * Filtered page of payouts with everything the list view renders fetched
+     * in the same query
+     */
+    @Override
+    @EntityGraph(attributePaths = { "referredByUser", "course", "discountUsage", "discountUsage.discount" })
+    Page<AffiliatePayout> findAll(Specification<AffiliatePayout> spec, Pageable pageable);
+
+    /**
+     * Filtered payouts for export, with the columns the CSV needs fetched
+     */
+    @Override
+    @EntityGraph(attributePaths = { "referredByUser", "course" })
+    List<AffiliatePayout> findAll(Specification<AffiliatePayout> spec, Sort sort);
 
     /**
      * Find payouts by user ID with pagination
@@ -102,4 +122,12 @@ public interface AffiliatePayoutRepository extends JpaRepository<AffiliatePayout
             "GROUP BY ap.payoutStatus")
     List<Object[]> getPayoutStats(@Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Count and commission total per status over all payouts
+     */
+    @Query("SELECT ap.payoutStatus, COUNT(ap), COALESCE(SUM(ap.commissionAmount), 0) " +
+            "FROM AffiliatePayout ap " +
+            "GROUP BY ap.payoutStatus")
+    List<Object[]> getPayoutStatsByStatus();
 }
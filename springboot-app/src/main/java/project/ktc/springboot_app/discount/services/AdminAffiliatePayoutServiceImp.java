@@ -3,8 +3,9 @@ package project.ktc.springboot_app.discount.services;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.ktc.springboot_app.course.entity.Course;
@@ -13,6 +14,7 @@ import project.ktc.springboot_app.discount.entity.AffiliatePayout;
 import project.ktc.springboot_app.discount.enums.PayoutStatus;
 import project.ktc.springboot_app.discount.interfaces.AdminAffiliatePayoutService;
 import project.ktc.springboot_app.discount.repositories.AffiliatePayoutRepository;
+import project.ktc.springboot_app.discount.specifications.AffiliatePayoutSpecifications;
 import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
 
 import java.io.ByteArrayOutputStream;
@@ -22,8 +24,9 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -43,39 +46,9 @@ public class AdminAffiliatePayoutServiceImp implements AdminAffiliatePayoutServi
             BigDecimal maxAmount) {
 
         try {
-            // Get all payouts first (since repository doesn't support specifications)
-            List<AffiliatePayout> allPayouts = affiliatePayoutRepository.findAll();
-
-            // Apply filters
-            List<AffiliatePayout> filteredPayouts = allPayouts.stream()
-                    .filter(payout -> userId == null ||
-                            (payout.getReferredByUser() != null &&
-                                    payout.getReferredByUser().getId().equals(userId.toString())))
-                    .filter(payout -> status == null || payout.getPayoutStatus() == status)
-                    .filter(payout -> startDate == null ||
-                            (payout.getCreatedAt() != null &&
-                                    !payout.getCreatedAt().isBefore(startDate)))
-                    .filter(payout -> endDate == null ||
-                            (payout.getCreatedAt() != null &&
-                                    !payout.getCreatedAt().isAfter(endDate)))
-                    .filter(payout -> minAmount == null ||
-                            payout.getCommissionAmount().compareTo(minAmount) >= 0)
-                    .filter(payout -> maxAmount == null ||
-                            payout.getCommissionAmount().compareTo(maxAmount) <= 0)
-                    .collect(Collectors.toList());
-
-            // Convert to DTOs
-            List<AffiliatePayoutResponseDto> payoutDtos = filteredPayouts.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
-
-            // Apply pagination manually
-            int start = (int) pageable.getOffset();
-            int end = Math.min((start + pageable.getPageSize()), payoutDtos.size());
-
-            List<AffiliatePayoutResponseDto> pageContent = payoutDtos.subList(start, end);
-
-            return new PageImpl<>(pageContent, pageable, payoutDtos.size());
+            return affiliatePayoutRepository
+                    .findAll(filters(userId, status, startDate, endDate, minAmount, maxAmount), pageable)
+                    .map(this::convertToResponseDto);
 
         } catch (Exception e) {
             log.error("Error fetching affiliate payouts", e);
@@ -86,46 +59,22 @@ public class AdminAffiliatePayoutServiceImp implements AdminAffiliatePayoutServi
     @Override
     public AffiliateStatisticsResponseDto getAffiliateStatistics() {
         try {
-            List<AffiliatePayout> allPayouts = affiliatePayoutRepository.findAll();
-
-            BigDecimal totalCommissionAmount = BigDecimal.ZERO;
-            BigDecimal paidCommissionAmount = BigDecimal.ZERO;
-            BigDecimal pendingCommissionAmount = BigDecimal.ZERO;
-            BigDecimal cancelledCommissionAmount = BigDecimal.ZERO;
-
-            long totalPayouts = allPayouts.size();
-            long paidPayouts = 0;
-            long pendingPayouts = 0;
-            long cancelledPayouts = 0;
-
-            for (AffiliatePayout payout : allPayouts) {
-                totalCommissionAmount = totalCommissionAmount.add(payout.getCommissionAmount());
-
-                switch (payout.getPayoutStatus()) {
-                    case PAID:
-                        paidCommissionAmount = paidCommissionAmount.add(payout.getCommissionAmount());
-                        paidPayouts++;
-                        break;
-                    case PENDING:
-                        pendingCommissionAmount = pendingCommissionAmount.add(payout.getCommissionAmount());
-                        pendingPayouts++;
-                        break;
-                    case CANCELLED:
-                        cancelledCommissionAmount = cancelledCommissionAmount.add(payout.getCommissionAmount());
-                        cancelledPayouts++;
-                        break;
-                }
+            Map<PayoutStatus, Long> counts = new EnumMap<>(PayoutStatus.class);
+            Map<PayoutStatus, BigDecimal> amounts = new EnumMap<>(PayoutStatus.class);
+            for (Object[] row : affiliatePayoutRepository.getPayoutStatsByStatus()) {
+                counts.put((PayoutStatus) row[0], (Long) row[1]);
+                amounts.put((PayoutStatus) row[0], (BigDecimal) row[2]);
             }
 
             return AffiliateStatisticsResponseDto.builder()
-                    .totalPayouts(totalPayouts)
-                    .paidPayouts(paidPayouts)
-                    .pendingPayouts(pendingPayouts)
-                    .cancelledPayouts(cancelledPayouts)
-                    .totalCommissionAmount(totalCommissionAmount)
-                    .paidCommissionAmount(paidCommissionAmount)
-                    .pendingCommissionAmount(pendingCommissionAmount)
-                    .cancelledCommissionAmount(cancelledCommissionAmount)
+                    .totalPayouts(counts.values().stream().mapToLong(Long::longValue).sum())
+                    .paidPayouts(counts.getOrDefault(PayoutStatus.PAID, 0L))
+                    .pendingPayouts(counts.getOrDefault(PayoutStatus.PENDING, 0L))
+                    .cancelledPayouts(counts.getOrDefault(PayoutStatus.CANCELLED, 0L))
+                    .totalCommissionAmount(amounts.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .paidCommissionAmount(amounts.getOrDefault(PayoutStatus.PAID, BigDecimal.ZERO))
+                    .pendingCommissionAmount(amounts.getOrDefault(PayoutStatus.PENDING, BigDecimal.ZERO))
+                    .cancelledCommissionAmount(amounts.getOrDefault(PayoutStatus.CANCELLED, BigDecimal.ZERO))
                     .build();
         } catch (Exception e) {
             log.error("Error calculating affiliate statistics", e);
@@ -195,25 +144,9 @@ public class AdminAffiliatePayoutServiceImp implements AdminAffiliatePayoutServi
             BigDecimal maxAmount) {
 
         try {
-            // Get filtered payouts using the same logic as getAffiliatePayouts
-            List<AffiliatePayout> allPayouts = affiliatePayoutRepository.findAll();
-
-            List<AffiliatePayout> filteredPayouts = allPayouts.stream()
-                    .filter(payout -> userId == null ||
-                            (payout.getReferredByUser() != null &&
-                                    payout.getReferredByUser().getId().equals(userId.toString())))
-                    .filter(payout -> status == null || payout.getPayoutStatus() == status)
-                    .filter(payout -> startDate == null ||
-                            (payout.getCreatedAt() != null &&
-                                    !payout.getCreatedAt().isBefore(startDate)))
-                    .filter(payout -> endDate == null ||
-                            (payout.getCreatedAt() != null &&
-                                    !payout.getCreatedAt().isAfter(endDate)))
-                    .filter(payout -> minAmount == null ||
-                            payout.getCommissionAmount().compareTo(minAmount) >= 0)
-                    .filter(payout -> maxAmount == null ||
-                            payout.getCommissionAmount().compareTo(maxAmount) <= 0)
-                    .collect(Collectors.toList());
+            List<AffiliatePayout> filteredPayouts = affiliatePayoutRepository.findAll(
+                    filters(userId, status, startDate, endDate, minAmount, maxAmount),
+                    Sort.by(Sort.Direction.DESC, "createdAt"));
 
             return generateCsvBytes(filteredPayouts);
 
@@ -223,6 +156,12 @@ public class AdminAffiliatePayoutServiceImp implements AdminAffiliatePayoutServi
         }
     }
 
+    private Specification<AffiliatePayout> filters(Long userId, PayoutStatus status, LocalDateTime startDate,
+            LocalDateTime endDate, BigDecimal minAmount, BigDecimal maxAmount) {
+        return AffiliatePayoutSpecifications.withFilters(userId != null ? userId.toString() : null, status,
+                startDate, endDate, minAmount, maxAmount);
+    }
+
     private AffiliatePayoutResponseDto convertToResponseDto(AffiliatePayout payout) {
         return AffiliatePayoutResponseDto.builder()
                 .id(payout.getId())
@@ -0,0 +1,66 @@
+package project.ktc.springboot_app.discount.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import project.ktc.springboot_app.discount.entity.AffiliatePayout;
+import project.ktc.springboot_app.discount.enums.PayoutStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA Specifications for the admin affiliate payout filters, so filtering and
+ * paging run in the database
+ */
+public class AffiliatePayoutSpecifications {
+
+    private AffiliatePayoutSpecifications() {
+    }
+
+    /**
+     * Combine the admin filters; null arguments are ignored
+     *
+     * @param userId    referrer (owner of the referral code)
+     * @param startDate inclusive lower bound on createdAt
+     * @param endDate   inclusive upper bound on createdAt
+     * @param minAmount inclusive lower bound on the commission amount
+     * @param maxAmount inclusive upper bound on the commission amount
+     */
+    public static Specification<AffiliatePayout> withFilters(
+            String userId,
+            PayoutStatus status,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount) {
+        return (Root<AffiliatePayout> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("referredByUser").get("id"), userId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("payoutStatus"), status));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+            if (minAmount != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("commissionAmount"), minAmount));
+            }
+            if (maxAmount != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("commissionAmount"), maxAmount));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
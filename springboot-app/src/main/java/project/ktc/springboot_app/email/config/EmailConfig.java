@@ -45,6 +45,16 @@ public class EmailConfig {
      */
     private Template template = new Template();
 
+    /**
+     * Outbox configuration
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * Provider health configuration
+     */
+    private Health health = new Health();
+
     @Data
     public static class Provider {
         /**
@@ -211,6 +221,86 @@ public class EmailConfig {
          * Template cache duration in seconds
          */
         private long cacheDuration = 3600;
+
+        /**
+         * Maximum number of parsed templates kept in cache (file and inline)
+         */
+        @Positive
+        private int cacheMaxSize = 200;
+    }
+
+    @Data
+    public static class Outbox {
+        /**
+         * Enable the outbox dispatcher
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of messages claimed per batch
+         */
+        @Positive
+        private int batchSize = 50;
+
+        /**
+         * Maximum batches drained per poll
+         */
+        @Positive
+        private int maxBatchesPerPoll = 10;
+
+        /**
+         * Delay between polls in milliseconds
+         */
+        @Positive
+        private long pollIntervalMs = 5000;
+
+        /**
+         * Minimum lease on claimed messages in seconds before another dispatcher may
+         * retake them; larger batches get a longer lease from their send budget
+         */
+        @Positive
+        private long leaseSeconds = 120;
+
+        /**
+         * Maximum sends per second across all providers
+         */
+        @Positive
+        private int maxSendsPerSecond = 10;
+
+        /**
+         * Messages of a claimed batch sent concurrently
+         */
+        @Positive
+        private int senders = 8;
+
+        /**
+         * Longest a single send may take across primary and fallback, in seconds.
+         * A claim's lease covers every round of sends plus one, and no send starts
+         * with less than this much of the lease left.
+         */
+        @Positive
+        private long sendTimeoutSeconds = 30;
+
+        /**
+         * Days to keep sent messages before purge
+         */
+        @Positive
+        private int retentionDays = 7;
+    }
+
+    @Data
+    public static class Health {
+        /**
+         * Consecutive failures before a provider is taken out of rotation
+         */
+        @Positive
+        private int failureThreshold = 5;
+
+        /**
+         * Seconds a failing provider stays out of rotation before it is probed again
+         */
+        @Positive
+        private long openDurationSeconds = 60;
     }
 
     /**
@@ -14,6 +14,7 @@ import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
@@ -32,6 +33,9 @@ import java.util.Properties;
 @Slf4j
 public class EmailServiceConfig {
 
+    public static final String EMAIL_TEMPLATE_PREFIX = "templates/email/";
+    public static final String EMAIL_TEMPLATE_SUFFIX = ".html";
+
     private final EmailConfig emailConfig;
 
     /**
@@ -101,6 +105,7 @@ public class EmailServiceConfig {
 
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
         templateEngine.setTemplateResolver(emailTemplateResolver());
+        templateEngine.setCacheManager(emailTemplateCacheManager(emailConfig.getTemplate()));
 
         return templateEngine;
     }
@@ -113,8 +118,8 @@ public class EmailServiceConfig {
         ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
         EmailConfig.Template template = emailConfig.getTemplate();
 
-        templateResolver.setPrefix("templates/email/");
-        templateResolver.setSuffix(".html");
+        templateResolver.setPrefix(EMAIL_TEMPLATE_PREFIX);
+        templateResolver.setSuffix(EMAIL_TEMPLATE_SUFFIX);
         templateResolver.setTemplateMode(TemplateMode.HTML);
         templateResolver.setCharacterEncoding(template.getEncoding());
         templateResolver.setCacheable(template.isCache());
@@ -127,6 +132,16 @@ public class EmailServiceConfig {
         return templateResolver;
     }
 
+    /**
+     * Bounded cache for parsed templates and expressions
+     */
+    public static StandardCacheManager emailTemplateCacheManager(EmailConfig.Template template) {
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(template.getCacheMaxSize());
+        cacheManager.setTemplateCacheInitialSize(Math.min(20, template.getCacheMaxSize()));
+        return cacheManager;
+    }
+
     /**
      * Configure task executor for async email processing
      */
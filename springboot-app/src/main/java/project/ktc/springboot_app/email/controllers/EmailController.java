@@ -18,7 +18,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.email.dto.*;
+import project.ktc.springboot_app.email.interfaces.EmailOutboxService;
 import project.ktc.springboot_app.email.interfaces.EmailService;
+import project.ktc.springboot_app.email.services.EmailProviderHealthTracker;
 
 import java.util.HashMap;
 import java.util.List;
@@ -38,6 +40,8 @@ import java.util.concurrent.CompletableFuture;
 public class EmailController {
 
     private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailProviderHealthTracker emailProviderHealthTracker;
 
     @PostMapping("/send")
     @Operation(summary = "Send email", description = "Send email with custom configuration including attachments, templates, and multiple recipients")
@@ -246,10 +250,8 @@ public class EmailController {
             health.put("service", "Email Service");
             health.put("timestamp", System.currentTimeMillis());
 
-            // Could add more health checks here like:
-            // - SMTP connection test
-            // - Template availability check
-            // - Queue status check
+            health.put("outbox", emailOutboxService.getQueueStats());
+            health.put("providers", emailProviderHealthTracker.getSnapshot());
 
             return ApiResponseUtil.success(health, "Email service is healthy");
 
@@ -0,0 +1,80 @@
+package project.ktc.springboot_app.email.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable outbox row for an outgoing email.
+ * Written in the same transaction as the business change and drained by
+ * the email outbox dispatcher.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutboxMessage extends BaseEntity {
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 500)
+    private String subject;
+
+    @Column(name = "template_name", length = 100)
+    private String templateName;
+
+    /**
+     * Serialized {@link project.ktc.springboot_app.email.dto.EmailRequest}
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    /**
+     * Set on every claim. Only the dispatcher holding the current claim may
+     * record the result, so a claim that outlived its lease cannot overwrite
+     * the outcome of the dispatcher that retook the row.
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private Integer priority = 1;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * When the row becomes eligible for dispatch. For SENDING rows this is the
+     * lease expiry, after which a crashed dispatcher's claim is picked up again.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "provider", length = 50)
+    private String provider;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum OutboxStatus {
+        PENDING, SENDING, SENT, FAILED
+    }
+}
@@ -0,0 +1,68 @@
+package project.ktc.springboot_app.email.interfaces;
+
+import project.ktc.springboot_app.email.dto.EmailRequest;
+import project.ktc.springboot_app.email.dto.EmailSendResult;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable outbox for outgoing email
+ */
+public interface EmailOutboxService {
+
+    /**
+     * Persist an email for delivery. Joins the caller's transaction so the
+     * email is only sent if the business change commits.
+     *
+     * @param emailRequest the email request
+     * @return saved outbox message
+     */
+    EmailOutboxMessage enqueue(EmailRequest emailRequest);
+
+    /**
+     * Persist an email whose immediate send failed so the dispatcher retries it
+     *
+     * @param emailRequest the email request
+     * @param error        error from the failed attempt
+     * @return saved outbox message
+     */
+    EmailOutboxMessage enqueueRetry(EmailRequest emailRequest, String error);
+
+    /**
+     * Claim a batch of due messages for this dispatcher
+     *
+     * @param limit        maximum number of messages
+     * @param leaseSeconds how long the claim holds before another dispatcher may retake it
+     * @return claimed messages
+     */
+    List<EmailOutboxMessage> claimBatch(int limit, long leaseSeconds);
+
+    /**
+     * Return a claimed message that was not sent, so the next poll picks it up
+     */
+    void releaseClaim(EmailOutboxMessage message);
+
+    /**
+     * Deserialize the request stored in an outbox message
+     */
+    EmailRequest toEmailRequest(EmailOutboxMessage message);
+
+    /**
+     * Record the outcome of a dispatch attempt
+     */
+    void recordResult(EmailOutboxMessage message, EmailSendResult result);
+
+    /**
+     * Remove sent messages older than the retention window
+     *
+     * @return number of purged messages
+     */
+    int purgeSent();
+
+    /**
+     * Count messages by outbox status
+     */
+    Map<String, Long> getQueueStats();
+}
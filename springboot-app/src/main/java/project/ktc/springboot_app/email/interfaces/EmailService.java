@@ -27,6 +27,26 @@ public interface EmailService {
          */
         CompletableFuture<EmailSendResult> sendEmailAsync(EmailRequest emailRequest);
 
+        /**
+         * Queue email in the durable outbox within the caller's transaction
+         * 
+         * @param emailRequest the email request
+         * @return result carrying the outbox message id
+         */
+        EmailSendResult queueEmail(EmailRequest emailRequest);
+
+        /**
+         * Queue template email in the durable outbox within the caller's transaction
+         * 
+         * @param to                recipient email
+         * @param subject           email subject
+         * @param templateName      template name (without .html extension)
+         * @param templateVariables template variables
+         * @return result carrying the outbox message id
+         */
+        EmailSendResult queueTemplateEmail(String to, String subject, String templateName,
+                        java.util.Map<String, Object> templateVariables);
+
         /**
          * Send email with template
          * 
@@ -124,6 +144,41 @@ public interface EmailService {
                         String certificateUrl,
                         java.time.LocalDateTime issueDate);
 
+        /**
+         * Queue payment confirmation email in the durable outbox
+         * Parameters match {@link #sendPaymentConfirmationEmailAsync}
+         * 
+         * @return result carrying the outbox message id
+         */
+        EmailSendResult queuePaymentConfirmationEmail(
+                        String customerEmail,
+                        String customerName,
+                        String courseTitle,
+                        String courseUrl,
+                        String instructorName,
+                        String courseLevel,
+                        String courseDuration,
+                        String lessonCount,
+                        String amount,
+                        String transactionId,
+                        String paymentMethod,
+                        java.time.LocalDateTime paymentDate);
+
+        /**
+         * Queue certificate notification email in the durable outbox
+         * Parameters match {@link #sendCertificateNotificationEmailAsync}
+         * 
+         * @return result carrying the outbox message id
+         */
+        EmailSendResult queueCertificateNotificationEmail(
+                        String studentEmail,
+                        String studentName,
+                        String courseTitle,
+                        String instructorName,
+                        String certificateCode,
+                        String certificateUrl,
+                        java.time.LocalDateTime issueDate);
+
         /**
          * Send discount code email to all students using discount ID
          *
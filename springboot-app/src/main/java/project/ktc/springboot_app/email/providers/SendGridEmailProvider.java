@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
 import project.ktc.springboot_app.email.config.EmailConfig;
 import project.ktc.springboot_app.email.dto.EmailAttachment;
 import project.ktc.springboot_app.email.dto.EmailInlineImage;
@@ -33,6 +34,7 @@ public class SendGridEmailProvider implements EmailProvider {
     private final SendGrid sendGridClient;
     private final EmailTemplateService templateService;
     private final EmailConfig emailConfig;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
     @Override
     public EmailSendResult sendEmail(EmailRequest emailRequest) {
@@ -46,7 +48,7 @@ public class SendGridEmailProvider implements EmailProvider {
             request.setEndpoint("mail/send");
             request.setBody(mail.build());
 
-            Response response = sendGridClient.api(request);
+            Response response = concurrencyLimiter.call("sendgrid", () -> sendGridClient.api(request));
 
             if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
                 String messageId = extractMessageId(response);
@@ -0,0 +1,68 @@
+package project.ktc.springboot_app.email.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the email outbox
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, String> {
+
+    /**
+     * Lock a batch of due messages. Rows locked by another dispatcher are
+     * skipped so several nodes can drain the outbox concurrently.
+     * SENDING rows whose lease has expired are picked up again.
+     */
+    @Query(value = "SELECT * FROM email_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY priority DESC, next_attempt_at ASC " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockDueMessages(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Record a successful send. Matches only while the row is still held by
+     * the given claim; returns 0 when the claim has since been retaken.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'SENT', m.provider = :provider, m.sentAt = :sentAt, " +
+            "m.lastError = NULL WHERE m.id = :id AND m.status = 'SENDING' AND m.claimToken = :claimToken")
+    int markSent(@Param("id") String id, @Param("claimToken") String claimToken,
+            @Param("provider") String provider, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Record a failed attempt, under the same claim check as {@link #markSent}
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.attempts = :attempts, " +
+            "m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError " +
+            "WHERE m.id = :id AND m.status = 'SENDING' AND m.claimToken = :claimToken")
+    int markAttemptFailed(@Param("id") String id,
+            @Param("claimToken") String claimToken,
+            @Param("status") EmailOutboxMessage.OutboxStatus status,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError);
+
+    /**
+     * Hand an unsent message of a claim back to the queue, due immediately
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'PENDING', m.nextAttemptAt = :now " +
+            "WHERE m.id = :id AND m.status = 'SENDING' AND m.claimToken = :claimToken")
+    int releaseClaim(@Param("id") String id, @Param("claimToken") String claimToken,
+            @Param("now") LocalDateTime now);
+
+    long countByStatus(EmailOutboxMessage.OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,68 @@
+package project.ktc.springboot_app.email.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.Year;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Static layout fragments (branding header and footer) rendered once and
+ * reused by every email. Re-rendered only when the year rolls over, since
+ * the footer carries the copyright year.
+ */
+@Slf4j
+public class EmailLayoutFragments {
+
+    private static final String LAYOUT_TEMPLATE = "fragments/email-layout";
+
+    private final TemplateEngine templateEngine;
+    private final Map<String, Object> staticVariables;
+
+    private volatile Rendered rendered;
+
+    public EmailLayoutFragments(TemplateEngine templateEngine, Map<String, Object> staticVariables) {
+        this.templateEngine = templateEngine;
+        this.staticVariables = staticVariables;
+    }
+
+    public String getHeader() {
+        return current().header;
+    }
+
+    public String getFooter() {
+        return current().footer;
+    }
+
+    private Rendered current() {
+        int year = Year.now().getValue();
+        Rendered snapshot = rendered;
+        if (snapshot == null || snapshot.year != year) {
+            snapshot = render(year);
+            rendered = snapshot;
+        }
+        return snapshot;
+    }
+
+    private Rendered render(int year) {
+        try {
+            Context context = new Context(Locale.getDefault());
+            context.setVariables(staticVariables);
+            context.setVariable("currentYear", String.valueOf(year));
+
+            String header = templateEngine.process(LAYOUT_TEMPLATE, Set.of("brandHeader"), context).trim();
+            String footer = templateEngine.process(LAYOUT_TEMPLATE, Set.of("brandFooter"), context).trim();
+            log.debug("Email layout fragments rendered for year {}", year);
+            return new Rendered(year, header, footer);
+        } catch (Exception e) {
+            log.error("Failed to render email layout fragments", e);
+            return new Rendered(year, null, null);
+        }
+    }
+
+    private record Rendered(int year, String header, String footer) {
+    }
+}
@@ -0,0 +1,158 @@
+package project.ktc.springboot_app.email.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.dto.EmailRequest;
+import project.ktc.springboot_app.email.dto.EmailSendResult;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+import project.ktc.springboot_app.email.interfaces.EmailOutboxService;
+import project.ktc.springboot_app.scheduling.DistributedJobCoordinator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Drains the email outbox.
+ * Each poll claims batches with SKIP LOCKED (so several nodes can run it),
+ * sends each batch concurrently on the bounded outbox executor through the
+ * provider router, and records the outcome with exponential backoff on
+ * failure. A poll sends at most maxSendsPerSecond times the poll interval;
+ * the rest waits for the next poll.
+ *
+ * A claim's lease is sized from the batch: one send timeout per round of
+ * concurrent sends, plus one. A send that would start with less than a send
+ * timeout of lease left is handed back instead, so a slow batch never sends
+ * a message another node may already have retaken.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.email.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailProviderRouter emailProviderRouter;
+    private final EmailConfig emailConfig;
+    private final DistributedJobCoordinator jobCoordinator;
+    private final Executor emailOutboxExecutor;
+
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+            EmailProviderRouter emailProviderRouter,
+            EmailConfig emailConfig,
+            DistributedJobCoordinator jobCoordinator,
+            @Qualifier("emailOutboxExecutor") Executor emailOutboxExecutor) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailProviderRouter = emailProviderRouter;
+        this.emailConfig = emailConfig;
+        this.jobCoordinator = jobCoordinator;
+        this.emailOutboxExecutor = emailOutboxExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.pollIntervalMs:5000}", initialDelay = 10000)
+    public void dispatch() {
+        EmailConfig.Outbox outbox = emailConfig.getOutbox();
+        int budget = sendBudgetPerPoll(outbox);
+        int dispatched = 0;
+
+        try {
+            for (int batch = 0; batch < outbox.getMaxBatchesPerPoll() && dispatched < budget; batch++) {
+                if (!emailProviderRouter.hasHealthyProvider()) {
+                    log.debug("No healthy email provider, leaving outbox for next poll");
+                    return;
+                }
+
+                int limit = Math.min(outbox.getBatchSize(), budget - dispatched);
+                long leaseSeconds = batchLeaseSeconds(outbox, limit);
+                Instant lastSendStart = Instant.now()
+                        .plusSeconds(leaseSeconds - outbox.getSendTimeoutSeconds());
+                List<EmailOutboxMessage> messages = emailOutboxService.claimBatch(limit, leaseSeconds);
+                if (messages.isEmpty()) {
+                    return;
+                }
+
+                log.debug("Dispatching {} outbox emails", messages.size());
+                CompletableFuture.allOf(messages.stream()
+                        .map(message -> CompletableFuture.runAsync(
+                                () -> dispatchOne(message, lastSendStart), emailOutboxExecutor))
+                        .toArray(CompletableFuture[]::new))
+                        .join();
+                dispatched += messages.size();
+
+                if (messages.size() < limit) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Email outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Purge sent messages daily at 3 AM
+     */
+    @Scheduled(cron = "0 0 3 * * *")
+    public void purgeSentMessages() {
+        try {
+            jobCoordinator.runExclusive("email-outbox-purge", Duration.ofMinutes(5), lease -> {
+                int purged = emailOutboxService.purgeSent();
+                log.info("Purged {} sent emails from outbox", purged);
+            });
+        } catch (Exception e) {
+            log.error("Email outbox purge failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void dispatchOne(EmailOutboxMessage message, Instant lastSendStart) {
+        if (Instant.now().isAfter(lastSendStart)) {
+            try {
+                emailOutboxService.releaseClaim(message);
+            } catch (Exception e) {
+                // Lease expiry will make the message due again
+                log.error("Failed to release outbox claim for {}: {}", message.getId(), e.getMessage(), e);
+            }
+            return;
+        }
+
+        EmailSendResult result;
+        try {
+            EmailRequest request = emailOutboxService.toEmailRequest(message);
+            result = emailProviderRouter.send(request);
+        } catch (Exception e) {
+            result = EmailSendResult.failure(e.getMessage(), "unknown");
+        }
+
+        try {
+            emailOutboxService.recordResult(message, result);
+        } catch (Exception e) {
+            // Lease expiry will make the message due again
+            log.error("Failed to record outbox result for {}: {}", message.getId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lease for a batch of the given size: enough for every round of
+     * concurrent sends to time out, plus one, and never below the configured
+     * lease
+     */
+    private long batchLeaseSeconds(EmailConfig.Outbox outbox, int batchSize) {
+        int senders = Math.max(1, outbox.getSenders());
+        long rounds = (batchSize + senders - 1) / senders;
+        return Math.max(outbox.getLeaseSeconds(), (rounds + 1) * outbox.getSendTimeoutSeconds());
+    }
+
+    /**
+     * Messages one poll may send: the configured rate over one poll interval.
+     * The fixed delay between polls does the pacing, so the shared scheduler
+     * thread is never put to sleep.
+     */
+    private int sendBudgetPerPoll(EmailConfig.Outbox outbox) {
+        long budget = outbox.getMaxSendsPerSecond() * outbox.getPollIntervalMs() / 1000;
+        return (int) Math.max(1, Math.min(budget, Integer.MAX_VALUE));
+    }
+}
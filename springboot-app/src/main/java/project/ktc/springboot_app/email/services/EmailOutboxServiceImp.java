@@ -0,0 +1,187 @@
+package project.ktc.springboot_app.email.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.dto.EmailRequest;
+import project.ktc.springboot_app.email.dto.EmailSendResult;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage.OutboxStatus;
+import project.ktc.springboot_app.email.interfaces.EmailOutboxService;
+import project.ktc.springboot_app.email.repositories.EmailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Email outbox implementation
+ * Messages are stored as serialized requests and rendered at dispatch time
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxServiceImp implements EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailConfig emailConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public EmailOutboxMessage enqueue(EmailRequest emailRequest) {
+        EmailOutboxMessage message = buildMessage(emailRequest);
+        message.setNextAttemptAt(LocalDateTime.now());
+
+        EmailOutboxMessage saved = emailOutboxRepository.save(message);
+        log.debug("Email queued in outbox: {} -> {}", saved.getId(), saved.getRecipient());
+        return saved;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public EmailOutboxMessage enqueueRetry(EmailRequest emailRequest, String error) {
+        EmailOutboxMessage message = buildMessage(emailRequest);
+        message.setAttempts(1);
+        message.setLastError(truncate(error));
+        message.setNextAttemptAt(LocalDateTime.now().plusSeconds(computeBackoffSeconds(1)));
+
+        EmailOutboxMessage saved = emailOutboxRepository.save(message);
+        log.info("Failed email saved to outbox for retry: {} -> {}", saved.getId(), saved.getRecipient());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<EmailOutboxMessage> claimBatch(int limit, long leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> messages = emailOutboxRepository.lockDueMessages(now, limit);
+
+        LocalDateTime leaseExpiry = now.plusSeconds(leaseSeconds);
+        String claimToken = UUID.randomUUID().toString();
+        for (EmailOutboxMessage message : messages) {
+            message.setStatus(OutboxStatus.SENDING);
+            message.setClaimToken(claimToken);
+            message.setNextAttemptAt(leaseExpiry);
+        }
+        return emailOutboxRepository.saveAll(messages);
+    }
+
+    @Override
+    @Transactional
+    public void releaseClaim(EmailOutboxMessage message) {
+        emailOutboxRepository.releaseClaim(message.getId(), message.getClaimToken(), LocalDateTime.now());
+    }
+
+    @Override
+    public EmailRequest toEmailRequest(EmailOutboxMessage message) {
+        try {
+            EmailRequest request = objectMapper.readValue(message.getPayload(), EmailRequest.class);
+            request.setSendAfterCommit(false);
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt email outbox payload for message " + message.getId(), e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordResult(EmailOutboxMessage message, EmailSendResult result) {
+        if (result.isSuccess()) {
+            int updated = emailOutboxRepository.markSent(message.getId(), message.getClaimToken(),
+                    result.getProvider(), LocalDateTime.now());
+            logIfClaimLost(message, updated);
+            return;
+        }
+
+        int attempts = message.getAttempts() + 1;
+        int maxAttempts = emailConfig.getRetry().getMaxAttempts();
+
+        if (attempts >= maxAttempts) {
+            log.error("Email {} to {} failed permanently after {} attempts: {}",
+                    message.getId(), message.getRecipient(), attempts, result.getErrorMessage());
+            int updated = emailOutboxRepository.markAttemptFailed(message.getId(), message.getClaimToken(),
+                    OutboxStatus.FAILED, attempts, LocalDateTime.now(), truncate(result.getErrorMessage()));
+            logIfClaimLost(message, updated);
+        } else {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(computeBackoffSeconds(attempts));
+            log.warn("Email {} to {} failed (attempt {}/{}), retrying at {}",
+                    message.getId(), message.getRecipient(), attempts, maxAttempts, nextAttemptAt);
+            int updated = emailOutboxRepository.markAttemptFailed(message.getId(), message.getClaimToken(),
+                    OutboxStatus.PENDING, attempts, nextAttemptAt, truncate(result.getErrorMessage()));
+            logIfClaimLost(message, updated);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minusDays(emailConfig.getOutbox().getRetentionDays());
+        return emailOutboxRepository.deleteSentBefore(before);
+    }
+
+    @Override
+    public Map<String, Long> getQueueStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (OutboxStatus status : OutboxStatus.values()) {
+            stats.put(status.name(), emailOutboxRepository.countByStatus(status));
+        }
+        return stats;
+    }
+
+    private EmailOutboxMessage buildMessage(EmailRequest emailRequest) {
+        if (emailRequest.getTo() == null || emailRequest.getTo().isEmpty()) {
+            throw new IllegalArgumentException("At least one recipient is required");
+        }
+
+        try {
+            return EmailOutboxMessage.builder()
+                    .recipient(emailRequest.getTo().get(0))
+                    .subject(emailRequest.getSubject())
+                    .templateName(emailRequest.getTemplateName())
+                    .payload(objectMapper.writeValueAsString(emailRequest))
+                    .priority(emailRequest.getPriority() != null ? emailRequest.getPriority().ordinal() : 1)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Email request could not be serialized: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A late result from an expired claim is dropped; the dispatcher that
+     * retook the message owns its outcome now
+     */
+    private void logIfClaimLost(EmailOutboxMessage message, int updated) {
+        if (updated == 0) {
+            log.warn("Ignoring result for email {}: its claim expired and was retaken", message.getId());
+        }
+    }
+
+    /**
+     * Exponential backoff from the retry configuration, capped at maxDelay
+     */
+    private long computeBackoffSeconds(int attempts) {
+        EmailConfig.Retry retry = emailConfig.getRetry();
+        if (!retry.isExponentialBackoff()) {
+            return retry.getInitialDelay();
+        }
+        double delay = retry.getInitialDelay() * Math.pow(retry.getBackoffMultiplier(), Math.max(0, attempts - 1));
+        return (long) Math.min(delay, retry.getMaxDelay());
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,119 @@
+package project.ktc.springboot_app.email.services;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.email.config.EmailConfig;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks per-provider send health.
+ * A provider that fails repeatedly is taken out of rotation for a cool-down
+ * period, after which a single probe send decides whether it comes back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailProviderHealthTracker {
+
+    private final EmailConfig emailConfig;
+    private final Map<String, ProviderState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Check if the provider should receive traffic
+     */
+    public boolean isHealthy(String providerName) {
+        ProviderState state = states.get(providerName);
+        if (state == null || state.unhealthyUntil == null) {
+            return true;
+        }
+        return LocalDateTime.now().isAfter(state.unhealthyUntil);
+    }
+
+    public void recordSuccess(String providerName, long latencyMs) {
+        ProviderState state = states.computeIfAbsent(providerName, k -> new ProviderState());
+        state.lock.lock();
+        try {
+            if (state.unhealthyUntil != null) {
+                log.info("Email provider {} recovered", providerName);
+            }
+            state.consecutiveFailures = 0;
+            state.unhealthyUntil = null;
+            state.totalSuccesses++;
+            state.lastLatencyMs = latencyMs;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    public void recordFailure(String providerName, String error) {
+        ProviderState state = states.computeIfAbsent(providerName, k -> new ProviderState());
+        EmailConfig.Health health = emailConfig.getHealth();
+        state.lock.lock();
+        try {
+            state.consecutiveFailures++;
+            state.totalFailures++;
+            state.lastError = error;
+            if (state.consecutiveFailures >= health.getFailureThreshold()) {
+                state.unhealthyUntil = LocalDateTime.now().plusSeconds(health.getOpenDurationSeconds());
+                log.warn("Email provider {} marked unhealthy until {} after {} consecutive failures",
+                        providerName, state.unhealthyUntil, state.consecutiveFailures);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Get a snapshot of every tracked provider
+     */
+    public Map<String, ProviderHealth> getSnapshot() {
+        return states.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+                    ProviderState state = entry.getValue();
+                    state.lock.lock();
+                    try {
+                        return ProviderHealth.builder()
+                                .healthy(isHealthy(entry.getKey()))
+                                .consecutiveFailures(state.consecutiveFailures)
+                                .totalSuccesses(state.totalSuccesses)
+                                .totalFailures(state.totalFailures)
+                                .lastLatencyMs(state.lastLatencyMs)
+                                .lastError(state.lastError)
+                                .unhealthyUntil(state.unhealthyUntil)
+                                .build();
+                    } finally {
+                        state.lock.unlock();
+                    }
+                }));
+    }
+
+    private static class ProviderState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int consecutiveFailures;
+        private long totalSuccesses;
+        private long totalFailures;
+        private long lastLatencyMs;
+        private String lastError;
+        private LocalDateTime unhealthyUntil;
+    }
+
+    @Data
+    @Builder
+    public static class ProviderHealth {
+        private boolean healthy;
+        private int consecutiveFailures;
+        private long totalSuccesses;
+        private long totalFailures;
+        private long lastLatencyMs;
+        private String lastError;
+        private LocalDateTime unhealthyUntil;
+    }
+}
@@ -0,0 +1,95 @@
+package project.ktc.springboot_app.email.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.dto.EmailRequest;
+import project.ktc.springboot_app.email.dto.EmailSendResult;
+import project.ktc.springboot_app.email.interfaces.EmailProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes a single send attempt across the configured providers.
+ * Healthy providers are tried first (primary, then fallback); each provider
+ * is tried at most once per call, retries are left to the outbox.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailProviderRouter {
+
+    private final List<EmailProvider> emailProviders;
+    private final EmailConfig emailConfig;
+    private final EmailProviderHealthTracker healthTracker;
+
+    public EmailSendResult send(EmailRequest emailRequest) {
+        List<EmailProvider> candidates = resolveCandidates();
+        if (candidates.isEmpty()) {
+            return EmailSendResult.failure("No email provider available", "unknown");
+        }
+
+        String lastError = null;
+        for (EmailProvider provider : candidates) {
+            long start = System.currentTimeMillis();
+            try {
+                EmailSendResult result = provider.sendEmail(emailRequest);
+                if (result.isSuccess()) {
+                    healthTracker.recordSuccess(provider.getProviderName(), System.currentTimeMillis() - start);
+                    return result;
+                }
+                lastError = result.getErrorMessage();
+                log.warn("Email provider {} failed: {}", provider.getProviderName(), lastError);
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                log.error("Email provider {} threw exception", provider.getProviderName(), e);
+            }
+            healthTracker.recordFailure(provider.getProviderName(), lastError);
+        }
+
+        return EmailSendResult.failure(
+                candidates.size() > 1 ? "Both primary and fallback providers failed: " + lastError
+                        : "All email providers failed: " + lastError,
+                "unknown");
+    }
+
+    /**
+     * Check if at least one configured provider is currently in rotation
+     */
+    public boolean hasHealthyProvider() {
+        List<EmailProvider> ordered = new ArrayList<>();
+        addIfAvailable(ordered, emailConfig.getActiveProvider());
+        addIfAvailable(ordered, emailConfig.getFallbackProvider());
+        return ordered.stream().anyMatch(p -> healthTracker.isHealthy(p.getProviderName()));
+    }
+
+    /**
+     * Primary then fallback, healthy providers ahead of unhealthy ones.
+     * Unhealthy providers are still kept as a last resort so mail is not
+     * dropped when every provider is cooling down.
+     */
+    private List<EmailProvider> resolveCandidates() {
+        List<EmailProvider> ordered = new ArrayList<>();
+        addIfAvailable(ordered, emailConfig.getActiveProvider());
+        addIfAvailable(ordered, emailConfig.getFallbackProvider());
+
+        List<EmailProvider> candidates = new ArrayList<>();
+        ordered.stream().filter(p -> healthTracker.isHealthy(p.getProviderName())).forEach(candidates::add);
+        ordered.stream().filter(p -> !candidates.contains(p)).forEach(candidates::add);
+        return candidates;
+    }
+
+    private void addIfAvailable(List<EmailProvider> ordered, String providerName) {
+        if (providerName == null) {
+            return;
+        }
+        emailProviders.stream()
+                .filter(provider -> provider.getProviderName().equalsIgnoreCase(providerName))
+                .filter(EmailProvider::isAvailable)
+                .filter(provider -> !ordered.contains(provider))
+                .findFirst()
+                .ifPresent(ordered::add);
+    }
+}
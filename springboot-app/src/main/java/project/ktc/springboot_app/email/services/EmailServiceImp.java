@@ -7,7 +7,8 @@ import org.springframework.stereotype.Service;
 import project.ktc.springboot_app.email.config.EmailConfig;
 import project.ktc.springboot_app.email.dto.EmailRequest;
 import project.ktc.springboot_app.email.dto.EmailSendResult;
-import project.ktc.springboot_app.email.interfaces.EmailProvider;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+import project.ktc.springboot_app.email.interfaces.EmailOutboxService;
 import project.ktc.springboot_app.email.interfaces.EmailService;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 import project.ktc.springboot_app.auth.entitiy.User;
@@ -25,14 +26,16 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main email service implementation
- * Handles email sending with retry logic and provider fallback
+ * Handles email sending with provider fallback; failed sends and
+ * after-commit sends go through the durable outbox
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImp implements EmailService {
 
-    private final List<EmailProvider> emailProviders;
+    private final EmailProviderRouter emailProviderRouter;
+    private final EmailOutboxService emailOutboxService;
     private final EmailConfig emailConfig;
     private final UserRepository userRepository;
     private final DiscountService discountService;
@@ -44,13 +47,31 @@ public class EmailServiceImp implements EmailService {
         // Check if should send after transaction commit
         if (emailRequest.isSendAfterCommit()) {
             log.debug("Email will be sent after transaction commit");
-            // This will be handled by transaction event listener
-            return EmailSendResult.success("Email scheduled for sending after transaction commit", "pending");
+            return queueEmail(emailRequest);
         }
 
         return doSendEmail(emailRequest);
     }
 
+    @Override
+    public EmailSendResult queueEmail(EmailRequest emailRequest) {
+        EmailOutboxMessage message = emailOutboxService.enqueue(emailRequest);
+        return EmailSendResult.success(message.getId(), "outbox");
+    }
+
+    @Override
+    public EmailSendResult queueTemplateEmail(String to, String subject, String templateName,
+            Map<String, Object> templateVariables) {
+        EmailRequest request = EmailRequest.builder()
+                .to(List.of(to))
+                .subject(subject)
+                .templateName(templateName)
+                .templateVariables(templateVariables != null ? templateVariables : new HashMap<>())
+                .build();
+
+        return queueEmail(request);
+    }
+
     @Override
     @Async("emailTaskExecutor")
     public CompletableFuture<EmailSendResult> sendEmailAsync(EmailRequest emailRequest) {
@@ -123,81 +144,25 @@ public class EmailServiceImp implements EmailService {
 
     /**
      * Actually send the email using available providers
+     * Failed sends are saved to the outbox for retry
      */
     private EmailSendResult doSendEmail(EmailRequest emailRequest) {
-        // Get primary provider
-        EmailProvider primaryProvider = getProviderByName(emailConfig.getActiveProvider());
-
-        if (primaryProvider != null && primaryProvider.isAvailable()) {
-            try {
-                EmailSendResult result = primaryProvider.sendEmail(emailRequest);
-
-                if (result.isSuccess()) {
-                    log.debug("Email sent successfully using provider: {}", primaryProvider.getProviderName());
-                    return result;
-                }
-
-                log.warn("Primary provider {} failed: {}", primaryProvider.getProviderName(), result.getErrorMessage());
-
-                // Try fallback if enabled
-                if (emailConfig.getProvider().isEnableFallback()) {
-                    return tryFallbackProvider(emailRequest, primaryProvider.getProviderName());
-                }
-
-            } catch (Exception e) {
-                log.error("Primary provider {} threw exception", primaryProvider.getProviderName(), e);
-
-                if (emailConfig.getProvider().isEnableFallback()) {
-                    return tryFallbackProvider(emailRequest, primaryProvider.getProviderName());
-                }
-            }
+        EmailSendResult result = emailProviderRouter.send(emailRequest);
+        if (result.isSuccess()) {
+            log.debug("Email sent successfully using provider: {}", result.getProvider());
+            return result;
         }
 
-        // If we reach here, all providers failed
-        EmailSendResult failureResult = EmailSendResult.failure(
-                "All email providers failed",
-                "unknown");
-
         // Save to failed emails for retry
-
-        return failureResult;
-    }
-
-    /**
-     * Try fallback provider
-     */
-    private EmailSendResult tryFallbackProvider(EmailRequest emailRequest, String excludeProvider) {
-        String fallbackProviderName = emailConfig.getFallbackProvider();
-
-        if (fallbackProviderName != null && !fallbackProviderName.equals(excludeProvider)) {
-            EmailProvider fallbackProvider = getProviderByName(fallbackProviderName);
-
-            if (fallbackProvider != null && fallbackProvider.isAvailable()) {
-                try {
-                    log.info("Trying fallback provider: {}", fallbackProvider.getProviderName());
-                    EmailSendResult result = fallbackProvider.sendEmail(emailRequest);
-
-                    if (result.isSuccess()) {
-                        log.info("Email sent successfully using fallback provider: {}",
-                                fallbackProvider.getProviderName());
-                        return result;
-                    }
-
-                    log.warn("Fallback provider {} also failed: {}",
-                            fallbackProvider.getProviderName(), result.getErrorMessage());
-
-                } catch (Exception e) {
-                    log.error("Fallback provider {} threw exception", fallbackProvider.getProviderName(), e);
-                }
+        if (emailConfig.getOutbox().isEnabled()) {
+            try {
+                emailOutboxService.enqueueRetry(emailRequest, result.getErrorMessage());
+            } catch (Exception e) {
+                log.error("Failed to save email to outbox for retry: {}", e.getMessage(), e);
             }
         }
 
-        // Save to failed emails for retry
-        EmailSendResult failureResult = EmailSendResult.failure(
-                "Both primary and fallback providers failed",
-                "unknown");
-
-        return failureResult;
+        return result;
     }
 
     /**
@@ -220,32 +185,10 @@ public class EmailServiceImp implements EmailService {
             java.time.LocalDateTime paymentDate) {
 
         try {
-            // Create template variables
-            Map<String, Object> templateVariables = new HashMap<>();
-            templateVariables.put("customerName", customerName);
-            templateVariables.put("courseTitle", courseTitle);
-            templateVariables.put("courseUrl", courseUrl);
-            templateVariables.put("instructorName", instructorName);
-            templateVariables.put("courseLevel", courseLevel);
-            templateVariables.put("courseDuration", courseDuration);
-            templateVariables.put("lessonCount", lessonCount);
-            templateVariables.put("amount", amount);
-            templateVariables.put("transactionId", transactionId);
-            templateVariables.put("paymentMethod", paymentMethod);
-            // templateVariables.put("paymentDate",
-            // paymentDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm")));
-            templateVariables.put("paymentDateFormatted",
-                    paymentDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
-            templateVariables.put("year", String.valueOf(Year.now().getValue()));
-
-            // Create email request
-            EmailRequest request = EmailRequest.builder()
-                    .to(List.of(customerEmail))
-                    .subject("Payment Confirmation - Welcome to " + courseTitle)
-                    .templateName("payment-confirmation-template")
-                    .templateVariables(templateVariables)
-                    .async(true)
-                    .build();
+            EmailRequest request = buildPaymentConfirmationRequest(customerEmail, customerName, courseTitle,
+                    courseUrl, instructorName, courseLevel, courseDuration, lessonCount, amount, transactionId,
+                    paymentMethod, paymentDate);
+            request.setAsync(true);
 
             EmailSendResult result = sendEmail(request);
             return CompletableFuture.completedFuture(result);
@@ -277,28 +220,9 @@ public class EmailServiceImp implements EmailService {
         try {
             log.info("Sending certificate notification email to: {}", studentEmail);
 
-            // Create template variables
-            Map<String, Object> templateVariables = new HashMap<>();
-            templateVariables.put("studentName", studentName);
-            templateVariables.put("courseTitle", courseTitle);
-            templateVariables.put("instructorName", instructorName);
-            templateVariables.put("certificateCode", certificateCode);
-            templateVariables.put("certificateUrl", certificateUrl);
-            templateVariables.put("issueDate", issueDate.format(DateTimeFormatter.ofPattern("MMMM d, yyyy")));
-            templateVariables.put("year", String.valueOf(Year.now().getValue()));
-
-            // Create verification URL
-            String verificationUrl = String.format("https://certificates.ktc.edu/verify/%s", certificateCode);
-            templateVariables.put("verificationUrl", verificationUrl);
-
-            // Create email request
-            EmailRequest request = EmailRequest.builder()
-                    .to(List.of(studentEmail))
-                    .subject("🎓 Your Certificate is Ready - " + courseTitle)
-                    .templateName("certificate-notification-template")
-                    .templateVariables(templateVariables)
-                    .async(true)
-                    .build();
+            EmailRequest request = buildCertificateNotificationRequest(studentEmail, studentName, courseTitle,
+                    instructorName, certificateCode, certificateUrl, issueDate);
+            request.setAsync(true);
 
             EmailSendResult result = sendEmail(request);
 
@@ -321,6 +245,106 @@ public class EmailServiceImp implements EmailService {
         }
     }
 
+    @Override
+    public EmailSendResult queuePaymentConfirmationEmail(
+            String customerEmail,
+            String customerName,
+            String courseTitle,
+            String courseUrl,
+            String instructorName,
+            String courseLevel,
+            String courseDuration,
+            String lessonCount,
+            String amount,
+            String transactionId,
+            String paymentMethod,
+            java.time.LocalDateTime paymentDate) {
+        return queueEmail(buildPaymentConfirmationRequest(customerEmail, customerName, courseTitle, courseUrl,
+                instructorName, courseLevel, courseDuration, lessonCount, amount, transactionId, paymentMethod,
+                paymentDate));
+    }
+
+    @Override
+    public EmailSendResult queueCertificateNotificationEmail(
+            String studentEmail,
+            String studentName,
+            String courseTitle,
+            String instructorName,
+            String certificateCode,
+            String certificateUrl,
+            java.time.LocalDateTime issueDate) {
+        return queueEmail(buildCertificateNotificationRequest(studentEmail, studentName, courseTitle,
+                instructorName, certificateCode, certificateUrl, issueDate));
+    }
+
+    private EmailRequest buildPaymentConfirmationRequest(
+            String customerEmail,
+            String customerName,
+            String courseTitle,
+            String courseUrl,
+            String instructorName,
+            String courseLevel,
+            String courseDuration,
+            String lessonCount,
+            String amount,
+            String transactionId,
+            String paymentMethod,
+            java.time.LocalDateTime paymentDate) {
+        // Create template variables
+        Map<String, Object> templateVariables = new HashMap<>();
+        templateVariables.put("customerName", customerName);
+        templateVariables.put("courseTitle", courseTitle);
+        templateVariables.put("courseUrl", courseUrl);
+        templateVariables.put("instructorName", instructorName);
+        templateVariables.put("courseLevel", courseLevel);
+        templateVariables.put("courseDuration", courseDuration);
+        templateVariables.put("lessonCount", lessonCount);
+        templateVariables.put("amount", amount);
+        templateVariables.put("transactionId", transactionId);
+        templateVariables.put("paymentMethod", paymentMethod);
+        templateVariables.put("paymentDateFormatted",
+                paymentDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+        templateVariables.put("year", String.valueOf(Year.now().getValue()));
+
+        return EmailRequest.builder()
+                .to(List.of(customerEmail))
+                .subject("Payment Confirmation - Welcome to " + courseTitle)
+                .templateName("payment-confirmation-template")
+                .templateVariables(templateVariables)
+                .priority(EmailRequest.EmailPriority.HIGH)
+                .build();
+    }
+
+    private EmailRequest buildCertificateNotificationRequest(
+            String studentEmail,
+            String studentName,
+            String courseTitle,
+            String instructorName,
+            String certificateCode,
+            String certificateUrl,
+            java.time.LocalDateTime issueDate) {
+        // Create template variables
+        Map<String, Object> templateVariables = new HashMap<>();
+        templateVariables.put("studentName", studentName);
+        templateVariables.put("courseTitle", courseTitle);
+        templateVariables.put("instructorName", instructorName);
+        templateVariables.put("certificateCode", certificateCode);
+        templateVariables.put("certificateUrl", certificateUrl);
+        templateVariables.put("issueDate", issueDate.format(DateTimeFormatter.ofPattern("MMMM d, yyyy")));
+        templateVariables.put("year", String.valueOf(Year.now().getValue()));
+
+        // Create verification URL
+        String verificationUrl = String.format("https://certificates.ktc.edu/verify/%s", certificateCode);
+        templateVariables.put("verificationUrl", verificationUrl);
+
+        return EmailRequest.builder()
+                .to(List.of(studentEmail))
+                .subject("🎓 Your Certificate is Ready - " + courseTitle)
+                .templateName("certificate-notification-template")
+                .templateVariables(templateVariables)
+                .build();
+    }
+
     @Override
     @Async("emailTaskExecutor")
     public CompletableFuture<Long> sendDiscountCodeToAllStudents(
@@ -584,14 +608,4 @@ public class EmailServiceImp implements EmailService {
         }
     }
 
-    /**
-     * Get provider by name
-     */
-    private EmailProvider getProviderByName(String providerName) {
-        return emailProviders.stream()
-                .filter(provider -> provider.getProviderName().equalsIgnoreCase(providerName))
-                .findFirst()
-                .orElse(null);
-    }
-
 }
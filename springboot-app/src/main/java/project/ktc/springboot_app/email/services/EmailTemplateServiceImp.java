@@ -1,11 +1,16 @@
 package project.ktc.springboot_app.email.services;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
 import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.config.EmailServiceConfig;
 import project.ktc.springboot_app.email.interfaces.EmailTemplateService;
 
 import java.time.LocalDateTime;
@@ -13,34 +18,51 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Email template service implementation using Thymeleaf
+ * Parsed templates (file and inline) are held in a bounded cache, the
+ * branding header/footer are pre-rendered once, and every render is timed
+ * per template under the "email.template.render" metric.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailTemplateServiceImp implements EmailTemplateService {
 
+    private static final String RENDER_METRIC = "email.template.render";
+    private static final String INLINE_TEMPLATE_TAG = "inline";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final TemplateEngine templateEngine;
+    private final TemplateEngine inlineTemplateEngine;
     private final EmailConfig emailConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Object> staticDefaultVariables;
+    private final EmailLayoutFragments layoutFragments;
+    private final Map<String, Boolean> templateExistence = new ConcurrentHashMap<>();
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
+
+    public EmailTemplateServiceImp(@Qualifier("emailTemplateEngine") TemplateEngine templateEngine,
+            EmailConfig emailConfig,
+            MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.emailConfig = emailConfig;
+        this.meterRegistry = meterRegistry;
+        this.inlineTemplateEngine = buildInlineTemplateEngine(emailConfig.getTemplate());
+        this.staticDefaultVariables = buildStaticDefaultVariables();
+        this.layoutFragments = new EmailLayoutFragments(templateEngine, staticDefaultVariables);
+    }
 
     @Override
     public String processTemplate(String templateName, Map<String, Object> variables) {
-        log.debug("Processing template: {} with {} variables", templateName, variables.size());
+        log.debug("Processing template: {} with {} variables", templateName,
+                variables != null ? variables.size() : 0);
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Context context = new Context(Locale.getDefault());
-
-            // Add default variables
-            Map<String, Object> allVariables = new HashMap<>(getDefaultVariables());
-            if (variables != null) {
-                allVariables.putAll(variables);
-            }
-
-            context.setVariables(allVariables);
-
-            String result = templateEngine.process(templateName, context);
+            String result = templateEngine.process(templateName, buildContext(variables));
 
             log.debug("Template {} processed successfully", templateName);
             return result;
@@ -48,31 +70,78 @@ public class EmailTemplateServiceImp implements EmailTemplateService {
         } catch (Exception e) {
             log.error("Error processing template: {}", templateName, e);
             throw new RuntimeException("Failed to process email template: " + templateName, e);
+        } finally {
+            sample.stop(renderTimer(templateName));
         }
     }
 
     @Override
     public boolean templateExists(String templateName) {
+        // Resolve the classpath resource only, no parsing or rendering
+        return templateExistence.computeIfAbsent(templateName, name -> {
+            String resource = EmailServiceConfig.EMAIL_TEMPLATE_PREFIX + name + EmailServiceConfig.EMAIL_TEMPLATE_SUFFIX;
+            boolean exists = getClass().getClassLoader().getResource(resource) != null;
+            if (!exists) {
+                log.debug("Template {} does not exist", name);
+            }
+            return exists;
+        });
+    }
+
+    @Override
+    public Map<String, Object> getDefaultVariables() {
+        Map<String, Object> defaultVars = new HashMap<>(staticDefaultVariables);
+        putDynamicDefaults(defaultVars);
+        return defaultVars;
+    }
+
+    @Override
+    public String processInlineTemplate(String templateContent, Map<String, Object> variables) {
+        log.debug("Processing inline template with {} variables", variables != null ? variables.size() : 0);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            // Try to process template with empty context to check if it exists
-            Context context = new Context();
-            templateEngine.process(templateName, context);
-            return true;
+            // Inline content is its own cache key, so repeated content is parsed once
+            String result = inlineTemplateEngine.process(templateContent, buildContext(variables));
+
+            log.debug("Inline template processed successfully");
+            return result;
+
         } catch (Exception e) {
-            log.debug("Template {} does not exist or is invalid", templateName);
-            return false;
+            log.error("Error processing inline template", e);
+            throw new RuntimeException("Failed to process inline email template", e);
+        } finally {
+            sample.stop(renderTimer(INLINE_TEMPLATE_TAG));
         }
     }
 
-    @Override
-    public Map<String, Object> getDefaultVariables() {
-        Map<String, Object> defaultVars = new HashMap<>();
+    private Context buildContext(Map<String, Object> variables) {
+        Context context = new Context(Locale.getDefault());
+
+        // Add default variables
+        context.setVariables(staticDefaultVariables);
+        context.setVariable("layoutHeader", layoutFragments.getHeader());
+        context.setVariable("layoutFooter", layoutFragments.getFooter());
+        Map<String, Object> dynamicDefaults = new HashMap<>(4);
+        putDynamicDefaults(dynamicDefaults);
+        context.setVariables(dynamicDefaults);
 
+        if (variables != null) {
+            context.setVariables(variables);
+        }
+        return context;
+    }
+
+    private void putDynamicDefaults(Map<String, Object> target) {
         // Current date and time
         LocalDateTime now = LocalDateTime.now();
-        defaultVars.put("currentDate", now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        defaultVars.put("currentDateTime", now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        defaultVars.put("currentYear", String.valueOf(now.getYear()));
+        target.put("currentDate", now.format(DATE_FORMAT));
+        target.put("currentDateTime", now.format(DATE_TIME_FORMAT));
+        target.put("currentYear", String.valueOf(now.getYear()));
+    }
+
+    private Map<String, Object> buildStaticDefaultVariables() {
+        Map<String, Object> defaultVars = new HashMap<>();
 
         // Application information
         defaultVars.put("appName", "KTC Learning Platform");
@@ -86,33 +155,25 @@ public class EmailTemplateServiceImp implements EmailTemplateService {
         defaultVars.put("warningColor", "#ffc107");
         defaultVars.put("dangerColor", "#dc3545");
 
-        return defaultVars;
+        return Map.copyOf(defaultVars);
     }
 
-    @Override
-    public String processInlineTemplate(String templateContent, Map<String, Object> variables) {
-        log.debug("Processing inline template with {} variables", variables != null ? variables.size() : 0);
-
-        try {
-            Context context = new Context(Locale.getDefault());
-
-            // Add default variables
-            Map<String, Object> allVariables = new HashMap<>(getDefaultVariables());
-            if (variables != null) {
-                allVariables.putAll(variables);
-            }
-
-            context.setVariables(allVariables);
-
-            // Create a simple template resolver for inline content
-            String result = templateEngine.process("inline:" + templateContent, context);
+    private Timer renderTimer(String templateName) {
+        return renderTimers.computeIfAbsent(templateName, name -> Timer.builder(RENDER_METRIC)
+                .description("Email template render time")
+                .tag("template", name)
+                .register(meterRegistry));
+    }
 
-            log.debug("Inline template processed successfully");
-            return result;
+    private static TemplateEngine buildInlineTemplateEngine(EmailConfig.Template template) {
+        StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCacheable(template.isCache());
+        resolver.setCacheTTLMs(template.getCacheDuration() * 1000);
 
-        } catch (Exception e) {
-            log.error("Error processing inline template", e);
-            throw new RuntimeException("Failed to process inline email template", e);
-        }
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setCacheManager(EmailServiceConfig.emailTemplateCacheManager(template));
+        return engine;
     }
 }
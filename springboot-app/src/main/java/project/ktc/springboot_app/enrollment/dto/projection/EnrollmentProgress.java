@@ -0,0 +1,7 @@
+package project.ktc.springboot_app.enrollment.dto.projection;
+
+public interface EnrollmentProgress {
+    Integer getCompletedLessons();
+
+    Integer getTotalLessons();
+}
@@ -33,6 +33,13 @@ public class Enrollment extends BaseEntity {
     @Column(name = "completion_status")
     private CompletionStatus completionStatus = CompletionStatus.IN_PROGRESS;
 
+    /**
+     * Distinct lessons of the course this student has completed, maintained by
+     * CourseProgressService with atomic updates
+     */
+    @Column(name = "completed_lessons", insertable = false, updatable = false)
+    private Integer completedLessons = 0;
+
     public enum CompletionStatus {
         IN_PROGRESS, COMPLETED
     }
@@ -0,0 +1,39 @@
+package project.ktc.springboot_app.enrollment.interfaces;
+
+import java.util.List;
+
+/**
+ * Course progress kept as two counters: lessons per course and completed
+ * lessons per enrollment. Reads and completion checks cost one row lookup
+ * regardless of course size. Every change also invalidates the instructor's
+ * cached student roster.
+ */
+public interface CourseProgressService {
+
+    /**
+     * Count a first-time lesson completion towards the enrollment
+     *
+     * @return true if the student has now completed every lesson of the course
+     */
+    boolean recordLessonCompleted(String userId, String courseId);
+
+    /**
+     * Share of the course completed, from 0.0 to 1.0
+     */
+    double getProgress(String userId, String courseId);
+
+    boolean hasCompletedAllLessons(String userId, String courseId);
+
+    void lessonAdded(String courseId);
+
+    /**
+     * Adjust the counters for lessons about to be deleted; call before the
+     * lessons and their completions are removed
+     */
+    void lessonsRemoved(String courseId, List<String> lessonIds);
+
+    /**
+     * Rebuild the enrollment's counter from the stored completions
+     */
+    void recountEnrollment(String userId, String courseId);
+}
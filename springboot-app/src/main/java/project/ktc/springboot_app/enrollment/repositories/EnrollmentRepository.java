@@ -1,12 +1,17 @@
 package project.ktc.springboot_app.enrollment.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import project.ktc.springboot_app.enrollment.dto.projection.EnrollmentProgress;
 import project.ktc.springboot_app.enrollment.entity.Enrollment;
 
 import java.util.List;
@@ -43,16 +48,50 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, String>
                         @Param("userId") String userId,
                         @Param("status") Enrollment.CompletionStatus status);
 
-        @Query("SELECT COUNT(lc) FROM LessonCompletion lc " +
-                        "JOIN lc.lesson l " +
-                        "WHERE lc.user.id = :userId AND l.section.course.id = :courseId")
-        Long countCompletedLessonsByUserAndCourse(@Param("userId") String userId, @Param("courseId") String courseId);
+        boolean existsByIdAndUserId(String enrollmentId, String userId);
 
-        @Query("SELECT COUNT(l) FROM Lesson l " +
-                        "WHERE l.section.course.id = :courseId")
-        Long countTotalLessonsByCourse(@Param("courseId") String courseId);
+        // Progress counters, see CourseProgressService
 
-        boolean existsByIdAndUserId(String enrollmentId, String userId);
+        @Query(value = "SELECT e.completed_lessons AS completedLessons, c.lesson_count AS totalLessons " +
+                        "FROM enrollments e JOIN courses c ON c.id = e.course_id " +
+                        "WHERE e.user_id = :userId AND e.course_id = :courseId", nativeQuery = true)
+        Optional<EnrollmentProgress> findProgress(@Param("userId") String userId,
+                        @Param("courseId") String courseId);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "enrollments"))
+        @Query(value = "UPDATE enrollments SET completed_lessons = completed_lessons + 1 " +
+                        "WHERE user_id = :userId AND course_id = :courseId", nativeQuery = true)
+        int incrementCompletedLessons(@Param("userId") String userId, @Param("courseId") String courseId);
+
+        /**
+         * Take back the completions of lessons about to be deleted. Must run
+         * before the lessons and their completions are removed.
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "enrollments"))
+        @Query(value = "UPDATE enrollments e " +
+                        "JOIN (SELECT lc.user_id, COUNT(*) AS completed FROM lesson_completions lc " +
+                        "      WHERE lc.lesson_id IN (:lessonIds) GROUP BY lc.user_id) d " +
+                        "ON d.user_id = e.user_id " +
+                        "SET e.completed_lessons = GREATEST(e.completed_lessons - d.completed, 0) " +
+                        "WHERE e.course_id = :courseId", nativeQuery = true)
+        int decrementCompletedLessons(@Param("courseId") String courseId,
+                        @Param("lessonIds") List<String> lessonIds);
+
+        /**
+         * Recount from lesson_completions, for enrollments created after the
+         * student already completed lessons (re-enrolling after a refund)
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "enrollments"))
+        @Query(value = "UPDATE enrollments e SET e.completed_lessons = (" +
+                        "SELECT COUNT(*) FROM lesson_completions lc " +
+                        "JOIN lessons l ON l.id = lc.lesson_id " +
+                        "JOIN sections s ON s.id = l.section_id " +
+                        "WHERE lc.user_id = e.user_id AND s.course_id = e.course_id) " +
+                        "WHERE e.user_id = :userId AND e.course_id = :courseId", nativeQuery = true)
+        int recountCompletedLessons(@Param("userId") String userId, @Param("courseId") String courseId);
 
         @Query("SELECT e FROM Enrollment e " +
                         "JOIN FETCH e.course c " +
@@ -69,19 +108,10 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, String>
         Long countEnrollmentsByUserIdAndStatus(@Param("userId") String userId,
                         @Param("status") Enrollment.CompletionStatus status);
 
-        @Query("SELECT COUNT(lc) FROM LessonCompletion lc " +
-                        "JOIN lc.lesson l " +
-                        "JOIN l.section s " +
-                        "JOIN s.course c " +
-                        "JOIN c.enrollments e " +
-                        "WHERE lc.user.id = :userId AND e.user.id = :userId")
+        @Query("SELECT COALESCE(SUM(e.completedLessons), 0) FROM Enrollment e WHERE e.user.id = :userId")
         Long countTotalCompletedLessonsByUserId(@Param("userId") String userId);
 
-        @Query("SELECT COUNT(l) FROM Lesson l " +
-                        "JOIN l.section s " +
-                        "JOIN s.course c " +
-                        "JOIN c.enrollments e " +
-                        "WHERE e.user.id = :userId")
+        @Query("SELECT COALESCE(SUM(c.lessonCount), 0) FROM Enrollment e JOIN e.course c WHERE e.user.id = :userId")
         Long countTotalLessonsInEnrolledCoursesByUserId(@Param("userId") String userId);
 
         // Recent Activities Methods
@@ -0,0 +1,104 @@
+package project.ktc.springboot_app.enrollment.services;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import project.ktc.springboot_app.cache.services.domain.InstructorStudentsCacheService;
+import project.ktc.springboot_app.course.repositories.CourseRepository;
+import project.ktc.springboot_app.enrollment.dto.projection.EnrollmentProgress;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
+import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseProgressServiceImp implements CourseProgressService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final InstructorStudentsCacheService instructorStudentsCacheService;
+
+    @Override
+    @Transactional
+    public boolean recordLessonCompleted(String userId, String courseId) {
+        if (enrollmentRepository.incrementCompletedLessons(userId, courseId) == 0) {
+            return false;
+        }
+        rosterChanged(courseId);
+        return hasCompletedAllLessons(userId, courseId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public double getProgress(String userId, String courseId) {
+        return enrollmentRepository.findProgress(userId, courseId)
+                .map(CourseProgressServiceImp::ratio)
+                .orElse(0.0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasCompletedAllLessons(String userId, String courseId) {
+        return enrollmentRepository.findProgress(userId, courseId)
+                .map(p -> p.getTotalLessons() > 0 && p.getCompletedLessons() >= p.getTotalLessons())
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional
+    public void lessonAdded(String courseId) {
+        courseRepository.adjustLessonCount(courseId, 1);
+        rosterChanged(courseId);
+    }
+
+    @Override
+    @Transactional
+    public void lessonsRemoved(String courseId, List<String> lessonIds) {
+        if (lessonIds.isEmpty()) {
+            return;
+        }
+        int enrollments = enrollmentRepository.decrementCompletedLessons(courseId, lessonIds);
+        courseRepository.adjustLessonCount(courseId, -lessonIds.size());
+        rosterChanged(courseId);
+        log.debug("Removed {} lessons from course {}, adjusted {} enrollments", lessonIds.size(), courseId,
+                enrollments);
+    }
+
+    @Override
+    @Transactional
+    public void recountEnrollment(String userId, String courseId) {
+        enrollmentRepository.recountCompletedLessons(userId, courseId);
+        rosterChanged(courseId);
+    }
+
+    /**
+     * Drop the instructor's cached student roster once the change is committed
+     */
+    private void rosterChanged(String courseId) {
+        courseRepository.findInstructorIdById(courseId).ifPresent(instructorId -> {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        instructorStudentsCacheService.invalidateRoster(instructorId);
+                    }
+                });
+            } else {
+                instructorStudentsCacheService.invalidateRoster(instructorId);
+            }
+        });
+    }
+
+    private static double ratio(EnrollmentProgress progress) {
+        if (progress.getTotalLessons() == 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) progress.getCompletedLessons() / progress.getTotalLessons());
+    }
+}
@@ -24,6 +24,7 @@ import project.ktc.springboot_app.enrollment.dto.MyEnrolledCourseDto;
 import project.ktc.springboot_app.enrollment.dto.StudentActivityDto;
 import project.ktc.springboot_app.enrollment.dto.StudentDashboardStatsDto;
 import project.ktc.springboot_app.enrollment.entity.Enrollment;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.enrollment.interfaces.EnrollmentService;
 import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
 
@@ -57,6 +58,7 @@ public class EnrollmentServiceImp implements EnrollmentService {
         private final LessonCompletionRepository lessonCompletionRepository;
         private final QuizResultRepository quizResultRepository;
         private final EnrollmentBackgroundProcessingService backgroundProcessingService;
+        private final CourseProgressService courseProgressService;
 
         @Override
         public ResponseEntity<ApiResponse<EnrollmentResponseDto>> enroll(String courseId) {
@@ -97,6 +99,8 @@ public class EnrollmentServiceImp implements EnrollmentService {
                 enrollment.setCompletionStatus(Enrollment.CompletionStatus.IN_PROGRESS);
 
                 Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+                // Lessons completed before a refund still count after re-enrolling
+                courseProgressService.recountEnrollment(currentUserId, courseId);
                 log.info("Successfully enrolled user {} in course {}", currentUserId, courseId);
 
                 // Invalidate cache after enrollment to ensure consistency
@@ -446,7 +450,7 @@ public class EnrollmentServiceImp implements EnrollmentService {
                 Course course = enrollment.getCourse();
 
                 // Calculate progress
-                Double progress = calculateProgress(enrollment.getUser().getId(), course.getId());
+                Double progress = calculateProgress(enrollment);
 
                 return MyEnrolledCourseDto.builder()
                                 .courseId(course.getId())
@@ -466,25 +470,16 @@ public class EnrollmentServiceImp implements EnrollmentService {
                                 .build();
         }
 
-        private Double calculateProgress(String userId, String courseId) {
-                try {
-                        Long completedLessons = enrollmentRepository.countCompletedLessonsByUserAndCourse(userId,
-                                        courseId);
-                        Long totalLessons = enrollmentRepository.countTotalLessonsByCourse(courseId);
-
-                        if (totalLessons == null || totalLessons == 0) {
-                                return 0.0;
-                        }
-
-                        double progress = (double) completedLessons / totalLessons;
-                        return BigDecimal.valueOf(progress)
-                                        .setScale(4, RoundingMode.HALF_UP)
-                                        .doubleValue();
-                } catch (Exception e) {
-                        log.warn("Failed to calculate progress for user {} and course {}: {}", userId, courseId,
-                                        e.getMessage());
+        private Double calculateProgress(Enrollment enrollment) {
+                Integer totalLessons = enrollment.getCourse().getLessonCount();
+                if (totalLessons == null || totalLessons == 0) {
                         return 0.0;
                 }
+
+                double progress = Math.min(1.0, (double) enrollment.getCompletedLessons() / totalLessons);
+                return BigDecimal.valueOf(progress)
+                                .setScale(4, RoundingMode.HALF_UP)
+                                .doubleValue();
         }
 
         private void validateCourse(Course course) {
@@ -543,6 +538,7 @@ public class EnrollmentServiceImp implements EnrollmentService {
 
                         // Save enrollment immediately
                         enrollmentRepository.save(enrollment);
+                        courseProgressService.recountEnrollment(userId, courseId);
 
                         // Invalidate caches after successful enrollment
                         try {
@@ -1,17 +1,28 @@
 package project.ktc.springboot_app.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Ids are assigned when the object is created, so Spring Data cannot tell a
+ * new entity from a detached one by its id. Without {@link Persistable} every
+ * save() of a new entity would be a merge, which selects the row before
+ * inserting it. Instead the entity counts as new until it has been persisted
+ * or loaded, so save() persists it directly and the insert can be batched.
+ */
 @MappedSuperclass
 @Getter
 @Setter
-public abstract class BaseEntity {
+public abstract class BaseEntity implements Persistable<String> {
     @Id
     @Column(length = 36, updatable = false, nullable = false)
     private String id = UUID.randomUUID().toString();
@@ -22,4 +33,21 @@ public abstract class BaseEntity {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -1,14 +1,22 @@
 package project.ktc.springboot_app.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.lesson-type")
+@NaturalIdCache(region = "reference.lesson-type.natural-id")
 @Table(name = "lesson_types")
 @Getter
 @Setter
 public class LessonType extends BaseEntity {
+    @NaturalId
     @Column(name = "name", length = 50, nullable = false, unique = true)
     private String name;
 }
@@ -1,6 +1,10 @@
 package project.ktc.springboot_app.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -8,6 +12,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.user-role")
+@NaturalIdCache(region = "reference.user-role.natural-id")
 @Table(name = "user_roles")
 @Builder
 @NoArgsConstructor
@@ -20,7 +27,8 @@ public class UserRole {
     @Builder.Default
     private String id = java.util.UUID.randomUUID().toString();
 
-    @Column(length = 36, nullable = false)
+    @NaturalId(mutable = true)
+    @Column(length = 36, nullable = false, unique = true)
     private String role;
 
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ import project.ktc.springboot_app.instructor_dashboard.dto.InsDashboardDto;
 import project.ktc.springboot_app.instructor_dashboard.dto.StatisticItemDto;
 import project.ktc.springboot_app.instructor_dashboard.interfaces.InsDashboardService;
 import project.ktc.springboot_app.instructor_student.repositories.InstructorStudentRepository;
+import project.ktc.springboot_app.common.datasource.ReadReplica;
 
 @Service
 @RequiredArgsConstructor
@@ -122,6 +123,7 @@ public class InsDashboardServiceImp implements InsDashboardService {
   }
 
   @Override
+  @ReadReplica
   public ResponseEntity<ApiResponse<InsDashboardDto>> getInsDashboardStatistics() {
     try {
       Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -1,12 +1,14 @@
 package project.ktc.springboot_app.instructor_student.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Getter
 @Setter
 @SuperBuilder
+@NoArgsConstructor
 public class EnrolledCourses {
   private String courseId;
   private String title;
@@ -0,0 +1,11 @@
+package project.ktc.springboot_app.instructor_student.dto.projection;
+
+public interface InstructorStudentProjection {
+  String getId();
+
+  String getName();
+
+  String getEmail();
+
+  String getThumbnailUrl();
+}
@@ -0,0 +1,13 @@
+package project.ktc.springboot_app.instructor_student.dto.projection;
+
+public interface StudentCourseProgressProjection {
+  String getStudentId();
+
+  String getCourseId();
+
+  String getTitle();
+
+  Integer getCompletedLessons();
+
+  Integer getTotalLessons();
+}
@@ -1,43 +1,51 @@
 package project.ktc.springboot_app.instructor_student.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import project.ktc.springboot_app.enrollment.entity.Enrollment;
+import project.ktc.springboot_app.instructor_student.dto.projection.InstructorStudentProjection;
+import project.ktc.springboot_app.instructor_student.dto.projection.StudentCourseProgressProjection;
 
 @Repository
 public interface InstructorStudentRepository extends JpaRepository<Enrollment, String> {
+        String STUDENTS_OF_INSTRUCTOR = "WHERE EXISTS (SELECT 1 FROM Enrollment e " +
+                        "WHERE e.user = u AND e.course.instructor.id = :instructorId) " +
+                        "AND (:search IS NULL OR u.name LIKE CONCAT('%', :search, '%') " +
+                        "OR u.email LIKE CONCAT('%', :search, '%'))";
+
         // Get total instructor's enrolled student
         @Query(value = "SELECT DISTINCT(e.user.id) FROM Enrollment e " +
                         "INNER JOIN e.course c " +
                         "WHERE c.instructor.id = :instructorId")
         List<String> countTotalEnrolledStudents(String instructorId);
 
-        // Get instructor's enrolled student Ids with filters
-        @Query(value = "SELECT DISTINCT(e.user.id) FROM Enrollment e " +
-                        "INNER JOIN e.course c " +
-                        "WHERE c.instructor.id = :instructorId AND (:search IS NULL OR (e.user.name LIKE %:search% OR e.user.email LIKE %:search%))")
-        List<String> countEnrolledStudentIdsWithFilters(String instructorId, String search);
-
-        // Get instructor's enrolled student
-        // @Query(value = "SELECT e.user FROM Enrollment e " +
-        // "INNER JOIN e.course c " +
-        // "WHERE c.instructor.id = :instructorId AND c.id = :courseId")
-        // List<String> getEnrolledStudentsByInstructorId(String instructorId, String
-        // courseId);
-
-        // Get student information
-        @Query(value = "SELECT u.id, u.name, u.email, u.thumbnail_url FROM users u" +
-                        " WHERE u.id = :studentId", nativeQuery = true)
-        List<Object[]> getStudentById(String studentId);
-
-        // Get enrolled student's courses
-        @Query(value = "SELECT c.id as courseId, c.title FROM Course c " +
-                        "INNER JOIN c.enrollments e ON c.id = e.course.id " +
-                        "WHERE c.instructor.id = :instructorId AND e.user.id = :studentId")
-        List<Object[]> getStudentCourses(String instructorId, String studentId);
+        @Query("SELECT COUNT(DISTINCT e.user.id) FROM Enrollment e WHERE e.course.instructor.id = :instructorId")
+        long countDistinctStudents(String instructorId);
+
+        @Query("SELECT COUNT(e) > 0 FROM Enrollment e " +
+                        "WHERE e.course.instructor.id = :instructorId AND e.user.id = :studentId")
+        boolean isStudentOfInstructor(String instructorId, String studentId);
+
+        // One page of the instructor's students, filtered and sorted in the database
+        @Query(value = "SELECT u.id AS id, u.name AS name, u.email AS email, u.thumbnailUrl AS thumbnailUrl " +
+                        "FROM User u " + STUDENTS_OF_INSTRUCTOR, countQuery = "SELECT COUNT(u) FROM User u "
+                                        + STUDENTS_OF_INSTRUCTOR)
+        Page<InstructorStudentProjection> findStudentsPage(String instructorId, String search, Pageable pageable);
+
+        // Courses and progress counters of a page of students, in one query
+        @Query("SELECT e.user.id AS studentId, c.id AS courseId, c.title AS title, " +
+                        "e.completedLessons AS completedLessons, c.lessonCount AS totalLessons " +
+                        "FROM Enrollment e JOIN e.course c " +
+                        "WHERE c.instructor.id = :instructorId AND e.user.id IN :studentIds " +
+                        "ORDER BY e.enrolledAt")
+        List<StudentCourseProgressProjection> findCourseProgressForStudents(String instructorId,
+                        Collection<String> studentIds);
 
         // Get student's courses details
         @Query("SELECT DISTINCT c, e.enrolledAt FROM Course c "
@@ -5,12 +5,18 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.support.PagedListHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +25,7 @@ import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import project.ktc.springboot_app.auth.entitiy.User;
+import project.ktc.springboot_app.cache.services.domain.InstructorStudentsCacheService;
 import project.ktc.springboot_app.category.entity.Category;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
@@ -27,11 +34,13 @@ import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.course.dto.common.BaseCourseResponseDto.CategoryInfo;
 import project.ktc.springboot_app.course.entity.Course;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
-import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.instructor_student.dto.EnrolledCourses;
 import project.ktc.springboot_app.instructor_student.dto.EnrolledCoursesDetails;
 import project.ktc.springboot_app.instructor_student.dto.InstructorStudentDetailsDto;
 import project.ktc.springboot_app.instructor_student.dto.InstructorStudentDto;
+import project.ktc.springboot_app.instructor_student.dto.projection.InstructorStudentProjection;
+import project.ktc.springboot_app.instructor_student.dto.projection.StudentCourseProgressProjection;
 import project.ktc.springboot_app.instructor_student.interfaces.InstructorStudentService;
 import project.ktc.springboot_app.instructor_student.repositories.InstructorStudentRepository;
 import project.ktc.springboot_app.user.repositories.UserRepository;
@@ -42,20 +51,16 @@ import project.ktc.springboot_app.utils.SecurityUtil;
 @Slf4j
 public class InstructorStudentServiceImp implements InstructorStudentService {
   private final InstructorStudentRepository instructorStudentRepository;
-  private final EnrollmentRepository enrollmentRepository;
   private final UserRepository userRepository;
   private final CourseRepository courseRepository;
+  private final CourseProgressService courseProgressService;
+  private final InstructorStudentsCacheService instructorStudentsCacheService;
+
+  private static final Set<String> ROSTER_SORT_PROPERTIES = Set.of("name", "email", "createdAt");
 
   private Double calculateProgress(String userId, String courseId) {
     try {
-      Long completedLessons = enrollmentRepository.countCompletedLessonsByUserAndCourse(userId, courseId);
-      Long totalLessons = enrollmentRepository.countTotalLessonsByCourse(courseId);
-
-      if (totalLessons == null || totalLessons == 0) {
-        return 0.0;
-      }
-
-      double progress = (double) completedLessons / totalLessons;
+      double progress = courseProgressService.getProgress(userId, courseId);
       return BigDecimal.valueOf(progress)
           .setScale(2, RoundingMode.HALF_UP)
           .doubleValue();
@@ -90,51 +95,76 @@ public class InstructorStudentServiceImp implements InstructorStudentService {
       Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
       User currentUser = (User) authentication.getPrincipal();
       String instructorId = currentUser.getId();
+      String searchTerm = search == null || search.isBlank() ? null : search.trim();
+      Pageable rosterPageable = toRosterPageable(pageable);
 
-      // Count total enrolled students
-      List<String> enrolledStudentIds = instructorStudentRepository.countEnrolledStudentIdsWithFilters(instructorId,
-          search);
-      // Get detailed information for each student
-      List<InstructorStudentDto> studentsList = new ArrayList<>();
-
-      for (String studentId : enrolledStudentIds) {
-        List<Object[]> studentInfo = instructorStudentRepository.getStudentById(studentId);
-        if (studentInfo != null && !studentInfo.isEmpty()) {
-          // Set information for each student
-          InstructorStudentDto student = InstructorStudentDto.builder()
-              .id((String) studentInfo.get(0)[0])
-              .name((String) studentInfo.get(0)[1])
-              .email((String) studentInfo.get(0)[2])
-              .thumbnailUrl((String) studentInfo.get(0)[3])
-              .build();
+      PaginatedResponse<InstructorStudentDto> cached = instructorStudentsCacheService.getRoster(instructorId,
+          rosterPageable, searchTerm);
+      if (cached != null) {
+        return ApiResponseUtil.success(cached, "Get enrolled students successfully");
+      }
 
-          // Get student's enrolled courses
-          List<Object[]> studentCourses = instructorStudentRepository.getStudentCourses(instructorId, studentId);
-          if (studentCourses != null && !studentCourses.isEmpty()) {
-            List<EnrolledCourses> enrolledCourses = new ArrayList<>();
-            for (Object[] course : studentCourses) {
-              String id = (String) course[0];
-              String title = (String) course[1];
-              Double progress = calculateProgress(studentId, id);
-              EnrolledCourses enrolledCourse = EnrolledCourses.builder()
-                  .courseId(id)
-                  .title(title)
-                  .progress(progress)
-                  .build();
-              enrolledCourses.add(enrolledCourse);
-            }
-            student.setEnrolledCourses(enrolledCourses);
+      // One page of students (plus its count), then the courses of the whole page at once
+      Page<InstructorStudentProjection> studentsPage = instructorStudentRepository.findStudentsPage(instructorId,
+          searchTerm, rosterPageable);
+      Map<String, InstructorStudentDto> students = new LinkedHashMap<>();
+      for (InstructorStudentProjection row : studentsPage.getContent()) {
+        students.put(row.getId(), InstructorStudentDto.builder()
+            .id(row.getId())
+            .name(row.getName())
+            .email(row.getEmail())
+            .thumbnailUrl(row.getThumbnailUrl())
+            .build());
+      }
+
+      if (!students.isEmpty()) {
+        for (StudentCourseProgressProjection row : instructorStudentRepository
+            .findCourseProgressForStudents(instructorId, students.keySet())) {
+          InstructorStudentDto student = students.get(row.getStudentId());
+          if (student.getEnrolledCourses() == null) {
+            student.setEnrolledCourses(new ArrayList<>());
           }
-          studentsList.add(student);
+          student.getEnrolledCourses().add(EnrolledCourses.builder()
+              .courseId(row.getCourseId())
+              .title(row.getTitle())
+              .progress(progressOf(row.getCompletedLessons(), row.getTotalLessons()))
+              .build());
         }
       }
-      PaginatedResponse<InstructorStudentDto> pagedStudentsList = getPaginatedList(studentsList, pageable);
+
+      PaginatedResponse<InstructorStudentDto> pagedStudentsList = PaginatedResponse.of(
+          new PageImpl<>(new ArrayList<>(students.values()), rosterPageable, studentsPage.getTotalElements()));
+      instructorStudentsCacheService.storeRoster(instructorId, rosterPageable, searchTerm, pagedStudentsList);
       return ApiResponseUtil.success(pagedStudentsList, "Get enrolled students successfully");
     } catch (Exception e) {
       return ApiResponseUtil.internalServerError(e.getMessage());
     }
   }
 
+  /**
+   * Keep only sorts on student columns, with the id as a tie-breaker so pages
+   * never overlap
+   */
+  private Pageable toRosterPageable(Pageable pageable) {
+    Sort sort = Sort.by(pageable.getSort().stream()
+        .filter(order -> ROSTER_SORT_PROPERTIES.contains(order.getProperty()))
+        .toList());
+    if (sort.isUnsorted()) {
+      sort = Sort.by(Sort.Direction.DESC, "createdAt");
+    }
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by("id")));
+  }
+
+  private double progressOf(Integer completedLessons, Integer totalLessons) {
+    if (totalLessons == null || totalLessons == 0) {
+      return 0.0;
+    }
+    double progress = Math.min(1.0, (double) completedLessons / totalLessons);
+    return BigDecimal.valueOf(progress)
+        .setScale(2, RoundingMode.HALF_UP)
+        .doubleValue();
+  }
+
   @Override
   public ResponseEntity<ApiResponse<InstructorStudentDetailsDto>> getEnrolledStudentDetails(String studentId,
       Pageable pageable) {
@@ -151,8 +181,7 @@ public class InstructorStudentServiceImp implements InstructorStudentService {
       } else {
         // Check if student has already enrolled in any courses
         String instructorId = SecurityUtil.getCurrentUserId();
-        List<String> enrolledStudentIds = instructorStudentRepository.countTotalEnrolledStudents(instructorId);
-        if (!enrolledStudentIds.contains(studentId)) {
+        if (!instructorStudentRepository.isStudentOfInstructor(instructorId, studentId)) {
           return ApiResponseUtil.notFound("The student has not enrolled in any of your courses");
         } else {
           // Get student details
@@ -242,8 +271,7 @@ public class InstructorStudentServiceImp implements InstructorStudentService {
       String instructorId = SecurityUtil.getCurrentUserId();
 
       // Get total enrolled students
-      List<String> enrolledStudentIds = instructorStudentRepository.countTotalEnrolledStudents(instructorId);
-      Long totalEnrolledStudents = (long) enrolledStudentIds.size();
+      Long totalEnrolledStudents = instructorStudentRepository.countDistinctStudents(instructorId);
       return ApiResponseUtil.success(totalEnrolledStudents, "Get number of enrolled students successfully");
     } catch (Exception e) {
       return ApiResponseUtil
@@ -36,6 +36,13 @@ public class Lesson extends BaseEntity {
     @Column(name = "order_index")
     private Integer orderIndex = 0;
 
+    /**
+     * Bumped by InstructorLessonRepository.bumpQuizVersion whenever the quiz
+     * questions change; cached answer keys are only used for the same version
+     */
+    @Column(name = "quiz_version", nullable = false, insertable = false, updatable = false)
+    private Integer quizVersion = 0;
+
     @OneToMany(mappedBy = "lesson", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<LessonCompletion> completions;
 
@@ -1,14 +1,20 @@
 package project.ktc.springboot_app.lesson.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import project.ktc.springboot_app.lesson.entity.Lesson;
+import project.ktc.springboot_app.quiz.dto.QuizLessonContext;
 import project.ktc.springboot_app.section.entity.Section;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InstructorLessonRepository extends JpaRepository<Lesson, String> {
@@ -18,13 +24,6 @@ public interface InstructorLessonRepository extends JpaRepository<Lesson, String
                         "ORDER BY l.orderIndex ASC")
         List<Lesson> findLessonsBySectionIdOrderByOrder(@Param("sectionId") String sectionId);
 
-        @Query("SELECT l FROM Lesson l " +
-                        "WHERE l.section.id = :sectionId " +
-                        "AND l.orderIndex > :orderIndex " +
-                        "ORDER BY l.orderIndex ASC")
-        List<Lesson> findLessonsBySectionIdAndOrderGreaterThan(@Param("sectionId") String sectionId,
-                        @Param("orderIndex") int orderIndex);
-
         @Query("SELECT COUNT(l) FROM Lesson l WHERE l.section.id = :sectionId")
         Long countLessonsBySectionId(@Param("sectionId") String sectionId);
 
@@ -66,4 +65,24 @@ public interface InstructorLessonRepository extends JpaRepository<Lesson, String
                         "JOIN l.lessonType lt " +
                         "WHERE l.id = :lessonId AND lt.name = 'QUIZ'")
         boolean isLessonOfQuizType(@Param("lessonId") String lessonId);
+
+        /**
+         * Everything a quiz submission needs to know about its lesson, in one
+         * row and without loading entities
+         */
+        @Query("SELECT new project.ktc.springboot_app.quiz.dto.QuizLessonContext(" +
+                        "l.id, s.id, s.course.id, l.lessonType.id, l.quizVersion) " +
+                        "FROM Lesson l " +
+                        "JOIN l.section s " +
+                        "WHERE l.id = :lessonId")
+        Optional<QuizLessonContext> findQuizLessonContext(@Param("lessonId") String lessonId);
+
+        /**
+         * Mark the lesson's quiz questions as changed. Must run in the same
+         * transaction as the question writes.
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "lessons"))
+        @Query(value = "UPDATE lessons SET quiz_version = quiz_version + 1 WHERE id = :lessonId", nativeQuery = true)
+        int bumpQuizVersion(@Param("lessonId") String lessonId);
 }
@@ -8,11 +8,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import project.ktc.springboot_app.cache.services.domain.CoursesCacheService;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.ordering.OrderIndexWriter;
+import project.ktc.springboot_app.common.ordering.OrderedTable;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.lesson.dto.CreateLessonDto;
 import project.ktc.springboot_app.lesson.dto.CreateLessonResponseDto;
 import project.ktc.springboot_app.lesson.dto.CreateLessonWithQuizDto;
@@ -30,9 +36,9 @@ import project.ktc.springboot_app.lesson.entity.Lesson;
 import project.ktc.springboot_app.lesson.interfaces.LessonService;
 import project.ktc.springboot_app.lesson.repositories.InstructorLessonRepository;
 import project.ktc.springboot_app.lesson.repositories.LessonCompletionRepository;
-import project.ktc.springboot_app.lesson.repositories.LessonTypeRepository;
 import project.ktc.springboot_app.entity.LessonCompletion;
 import project.ktc.springboot_app.entity.LessonType;
+import project.ktc.springboot_app.common.jpa.NaturalIdLookup;
 import project.ktc.springboot_app.auth.entitiy.User;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 import project.ktc.springboot_app.entity.QuizQuestion;
@@ -50,6 +56,7 @@ import project.ktc.springboot_app.section.entity.Section;
 import project.ktc.springboot_app.section.repositories.InstructorSectionRepository;
 import project.ktc.springboot_app.upload.dto.VideoUploadResponseDto;
 import project.ktc.springboot_app.upload.exception.InvalidVideoFormatException;
+import project.ktc.springboot_app.upload.interfaces.VideoMetadataService;
 import project.ktc.springboot_app.upload.services.CloudinaryServiceImp;
 import project.ktc.springboot_app.upload.services.FileValidationService;
 import project.ktc.springboot_app.utils.SecurityUtil;
@@ -65,7 +72,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -87,12 +93,16 @@ public class InstructorLessonServiceImp implements LessonService {
     private final QuizQuestionRepository quizQuestionRepository;
     private final QuizResultRepository quizResultRepository;
     private final LessonCompletionRepository lessonCompletionRepository;
-    private final LessonTypeRepository lessonTypeRepository;
+    private final NaturalIdLookup naturalIdLookup;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
     private final CloudinaryServiceImp cloudinaryService;
+    private final VideoMetadataService videoMetadataService;
     private final FileValidationService fileValidationService;
     private final SystemLogHelper systemLogHelper;
+    private final CourseProgressService courseProgressService;
+    private final OrderIndexWriter orderIndexWriter;
+    private final CoursesCacheService coursesCacheService;
 
     private final Cloudinary cloudinary;
 
@@ -265,6 +275,7 @@ public class InstructorLessonServiceImp implements LessonService {
                 // Upload video to Cloudinary
                 VideoUploadResponseDto uploadResult = cloudinaryService.uploadVideo(videoFile);
                 log.info("Video uploaded successfully: {}", uploadResult.getPublicId());
+                videoMetadataService.recordUpload(uploadResult);
 
                 // Get current user for uploadedBy field
                 String currentUserIdForVideo = SecurityUtil.getCurrentUserId();
@@ -310,7 +321,7 @@ public class InstructorLessonServiceImp implements LessonService {
             lesson.setTitle(lessonDto.getTitle().trim());
 
             // Set lesson type using LessonType entity
-            LessonType lessonType = lessonTypeRepository.findByName(lessonDto.getType())
+            LessonType lessonType = naturalIdLookup.find(LessonType.class, lessonDto.getType())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid lesson type: " + lessonDto.getType()));
             lesson.setLessonType(lessonType);
 
@@ -329,6 +340,7 @@ public class InstructorLessonServiceImp implements LessonService {
             Lesson savedLesson = lessonRepository.save(lesson);
             log.info("Lesson created successfully with ID: {} and order index: {}", savedLesson.getId(),
                     nextOrderIndex);
+            courseProgressService.lessonAdded(section.getCourse().getId());
 
             // Log the lesson creation
             try {
@@ -431,6 +443,7 @@ public class InstructorLessonServiceImp implements LessonService {
                 // Upload new video to Cloudinary
                 VideoUploadResponseDto uploadResult = cloudinaryService.uploadVideo(videoFile);
                 log.info("New video uploaded successfully: {}", uploadResult.getPublicId());
+                videoMetadataService.recordUpload(uploadResult);
 
                 // Delete old video if exists
                 if (lesson.getContent() != null) {
@@ -438,6 +451,7 @@ public class InstructorLessonServiceImp implements LessonService {
                     String publicId = extractPublicIdFromUrl(oldVideo.getUrl());
                     if (publicId != null) {
                         cloudinaryService.deleteVideo(publicId);
+                        videoMetadataService.evict(publicId);
                         log.info("Old video deleted: {}", publicId);
                     }
                     // Delete old video content record
@@ -629,6 +643,7 @@ public class InstructorLessonServiceImp implements LessonService {
                 String publicId = extractPublicIdFromUrl(video.getUrl());
                 if (publicId != null) {
                     cloudinaryService.deleteVideo(publicId);
+                    videoMetadataService.evict(publicId);
                     log.info("Video deleted from Cloudinary: {}", publicId);
                 }
                 // Delete video content record
@@ -636,7 +651,8 @@ public class InstructorLessonServiceImp implements LessonService {
                 log.info("VideoContent record deleted with ID: {}", video.getId());
             }
 
-            // 4. Delete the lesson
+            // 4. Delete the lesson, taking its completions out of the progress counters
+            courseProgressService.lessonsRemoved(section.getCourse().getId(), List.of(lessonId));
             lessonRepository.delete(lesson);
             log.info("Lesson deleted successfully with ID: {}", lessonId);
 
@@ -655,6 +671,7 @@ public class InstructorLessonServiceImp implements LessonService {
 
             // 5. Reorder remaining lessons in the section
             reorderLessonsAfterDeletion(sectionId, deletedOrderIndex);
+            courseStructureChanged(section.getCourse().getId());
 
             return ApiResponseUtil.success(null, "Lesson deleted successfully");
 
@@ -673,18 +690,9 @@ public class InstructorLessonServiceImp implements LessonService {
      */
     private void reorderLessonsAfterDeletion(String sectionId, Integer deletedOrderIndex) {
         try {
-            List<Lesson> lessonsToReorder = lessonRepository.findLessonsBySectionIdAndOrderGreaterThan(
-                    sectionId, deletedOrderIndex);
-
-            for (Lesson lesson : lessonsToReorder) {
-                // Decrement order index by 1 for each lesson after the deleted one
-                lesson.setOrderIndex(lesson.getOrderIndex() - 1);
-            }
-
-            // Save all reordered lessons in a single batch
-            if (!lessonsToReorder.isEmpty()) {
-                lessonRepository.saveAll(lessonsToReorder);
-            }
+            // Shift every lesson after the deleted one down by 1 in a single statement
+            int shifted = orderIndexWriter.closeGap(OrderedTable.LESSONS, sectionId, deletedOrderIndex);
+            log.debug("Shifted {} lessons in section {} after deletion", shifted, sectionId);
 
         } catch (Exception e) {
             log.error("Error reordering lessons after deletion: {}", e.getMessage(), e);
@@ -693,11 +701,7 @@ public class InstructorLessonServiceImp implements LessonService {
     }
 
     private Integer calculateNextOrderIndex(String sectionId) {
-        List<Lesson> existingLessons = lessonRepository.findLessonsBySectionIdOrderByOrder(sectionId);
-        if (existingLessons.isEmpty()) {
-            return 0;
-        }
-        return existingLessons.get(existingLessons.size() - 1).getOrderIndex() + 1;
+        return orderIndexWriter.nextIndex(OrderedTable.LESSONS, sectionId);
     }
 
     @Override
@@ -722,18 +726,23 @@ public class InstructorLessonServiceImp implements LessonService {
                 return ApiResponseUtil.forbidden("You do not have permission to reorder lessons in this section");
             }
 
-            // 2. Get all current lessons for the section
-            List<Lesson> currentLessons = lessonRepository.findLessonsBySectionIdOrderByOrder(sectionId);
+            // 2. Lock the current order so concurrent reorders queue up
+            OrderIndexWriter.OrderSnapshot currentOrder = orderIndexWriter.lockOrder(OrderedTable.LESSONS,
+                    sectionId);
 
             // 3. Validate the reorder request
-            String validationError = validateLessonOrder(currentLessons, reorderLessonsDto.getLessonOrder());
+            String validationError = validateLessonOrder(currentOrder.ids(), reorderLessonsDto.getLessonOrder());
             if (validationError != null) {
                 log.warn("Invalid lesson order for section {}: {}", sectionId, validationError);
                 return ApiResponseUtil.badRequest(validationError);
             }
 
-            // 4. Reorder lessons based on the new order
-            reorderLessonsWithNewOrder(currentLessons, reorderLessonsDto.getLessonOrder());
+            // 4. Rewrite only the lessons whose position changed
+            int updated = orderIndexWriter.applyOrder(OrderedTable.LESSONS, sectionId, currentOrder,
+                    reorderLessonsDto.getLessonOrder());
+            if (updated > 0) {
+                courseStructureChanged(section.getCourse().getId());
+            }
 
             log.info("Lessons reordered successfully for section {}", sectionId);
             return ApiResponseUtil.success(null, "Lessons reordered successfully");
@@ -748,14 +757,14 @@ public class InstructorLessonServiceImp implements LessonService {
      * Validates that the provided lesson order contains all and only the lessons
      * that belong to the section, with no duplicates.
      */
-    private String validateLessonOrder(List<Lesson> currentLessons, List<String> newOrder) {
+    private String validateLessonOrder(List<String> currentLessonIdsInOrder, List<String> newOrder) {
         if (newOrder == null || newOrder.isEmpty()) {
             return "Lesson order cannot be empty";
         }
 
-        if (currentLessons.size() != newOrder.size()) {
+        if (currentLessonIdsInOrder.size() != newOrder.size()) {
             return String.format("Lesson order must contain exactly %d lessons, but got %d",
-                    currentLessons.size(), newOrder.size());
+                    currentLessonIdsInOrder.size(), newOrder.size());
         }
 
         // Check for duplicates in the new order
@@ -765,10 +774,7 @@ public class InstructorLessonServiceImp implements LessonService {
         }
 
         // Check that all lesson IDs in the new order exist and belong to the section
-        Set<String> currentLessonIds = new HashSet<>();
-        for (Lesson lesson : currentLessons) {
-            currentLessonIds.add(lesson.getId());
-        }
+        Set<String> currentLessonIds = new HashSet<>(currentLessonIdsInOrder);
 
         for (String lessonId : newOrder) {
             if (!currentLessonIds.contains(lessonId)) {
@@ -787,61 +793,18 @@ public class InstructorLessonServiceImp implements LessonService {
     }
 
     /**
-     * Updates the order index of lessons based on the new order list.
-     * Each lesson gets an order index equal to its position in the list (0-based).
-     * Uses a two-phase approach with dynamic offset calculation to avoid unique
-     * constraint violations.
+     * Drop the cached student course structure once the change is committed
      */
-    @Transactional
-    private void reorderLessonsWithNewOrder(List<Lesson> lessons, List<String> newOrder) {
-        log.info("Updating lesson order for {} lessons", newOrder.size());
-
-        try {
-            // Create a Map for O(1) lookup instead of nested loops
-            Map<String, Lesson> lessonMap = lessons.stream()
-                    .collect(Collectors.toMap(Lesson::getId, lesson -> lesson));
-
-            // Build the ordered list of lessons to update
-            List<Lesson> lessonsToUpdate = newOrder.stream()
-                    .map(lessonMap::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            if (lessonsToUpdate.isEmpty()) {
-                log.warn("No valid lessons found to reorder");
-                return;
-            }
-
-            // Calculate dynamic offset to avoid conflicts
-            Integer maxCurrentOrder = lessons.stream()
-                    .mapToInt(Lesson::getOrderIndex)
-                    .max()
-                    .orElse(0);
-            int offset = maxCurrentOrder + 1000;
-
-            log.info("Using offset {} to avoid conflicts (max order: {})", offset, maxCurrentOrder);
-
-            // Phase 1: Set temporary offset values to avoid constraint violations
-            for (int i = 0; i < lessonsToUpdate.size(); i++) {
-                lessonsToUpdate.get(i).setOrderIndex(offset + i);
-            }
-
-            lessonRepository.saveAll(lessonsToUpdate);
-            lessonRepository.flush(); // Force immediate database update
-            log.info("Step 1 complete: Set temporary offset order for {} lessons", lessonsToUpdate.size());
-
-            // Phase 2: Set final order values (0-based indexing)
-            for (int i = 0; i < lessonsToUpdate.size(); i++) {
-                lessonsToUpdate.get(i).setOrderIndex(i);
-            }
-
-            lessonRepository.saveAll(lessonsToUpdate);
-            lessonRepository.flush(); // Force immediate database update
-            log.info("Step 2 complete: Set final order for {} lessons", lessonsToUpdate.size());
-
-        } catch (Exception e) {
-            log.error("Error updating lesson order: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to update lesson order", e);
+    private void courseStructureChanged(String courseId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    coursesCacheService.invalidateCourseStructure(courseId);
+                }
+            });
+        } else {
+            coursesCacheService.invalidateCourseStructure(courseId);
         }
     }
 
@@ -898,6 +861,7 @@ public class InstructorLessonServiceImp implements LessonService {
 
             lessonCompletionRepository.save(completion);
             log.info("Successfully recorded lesson completion for instructor {} on lesson {}", currentUserId, lessonId);
+            courseProgressService.recordLessonCompleted(currentUserId, section.getCourse().getId());
 
             return ApiResponseUtil.success("Lesson completion recorded successfully",
                     "Lesson completion recorded successfully");
@@ -935,7 +899,7 @@ public class InstructorLessonServiceImp implements LessonService {
             }
 
             // Get QUIZ lesson type
-            LessonType quizLessonType = lessonTypeRepository.findByName("QUIZ")
+            LessonType quizLessonType = naturalIdLookup.find(LessonType.class, "QUIZ")
                     .orElseThrow(() -> new RuntimeException("QUIZ lesson type not found"));
 
             // Calculate next order index
@@ -954,6 +918,7 @@ public class InstructorLessonServiceImp implements LessonService {
             // Save lesson
             Lesson savedLesson = lessonRepository.save(lesson);
             log.info("Lesson created with ID: {}", savedLesson.getId());
+            courseProgressService.lessonAdded(section.getCourse().getId());
 
             // Create quiz questions
             List<QuizQuestion> savedQuestions = new ArrayList<>();
@@ -6,9 +6,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -18,31 +18,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import project.ktc.springboot_app.auth.entitiy.User;
 import project.ktc.springboot_app.cache.services.domain.CoursesCacheService;
-import project.ktc.springboot_app.certificate.dto.CertificateResponseDto;
-import project.ktc.springboot_app.certificate.dto.CreateCertificateDto;
-import project.ktc.springboot_app.certificate.interfaces.CertificateService;
-import project.ktc.springboot_app.certificate.services.CertificateAsyncService;
+import project.ktc.springboot_app.certificate.interfaces.CertificateIssuanceService;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.enrollment.entity.Enrollment;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
 import project.ktc.springboot_app.entity.LessonCompletion;
-import project.ktc.springboot_app.entity.QuizQuestion;
-import project.ktc.springboot_app.entity.QuizResult;
 import project.ktc.springboot_app.lesson.entity.Lesson;
 import project.ktc.springboot_app.lesson.interfaces.StudentService;
 import project.ktc.springboot_app.lesson.repositories.InstructorLessonRepository;
 import project.ktc.springboot_app.lesson.repositories.LessonCompletionRepository;
-import project.ktc.springboot_app.notification.utils.NotificationHelper;
+import project.ktc.springboot_app.quiz.dto.QuizLessonContext;
 import project.ktc.springboot_app.quiz.dto.QuizSubmissionResponseDto;
 import project.ktc.springboot_app.quiz.dto.SubmitQuizDto;
-import project.ktc.springboot_app.quiz.repositories.QuizQuestionRepository;
 import project.ktc.springboot_app.quiz.repositories.QuizResultRepository;
+import project.ktc.springboot_app.quiz.services.QuizAnswerKey;
+import project.ktc.springboot_app.quiz.services.QuizAnswerKeyCache;
 import project.ktc.springboot_app.section.entity.Section;
 import project.ktc.springboot_app.section.repositories.InstructorSectionRepository;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 import project.ktc.springboot_app.utils.SecurityUtil;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 @RequiredArgsConstructor
@@ -56,13 +52,12 @@ public class StudentLessonServiceImp implements StudentService {
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final QuizResultRepository quizResultRepository;
-    private final QuizQuestionRepository quizQuestionRepository;
+    private final QuizAnswerKeyCache answerKeyCache;
     private final ObjectMapper objectMapper;
-    private final CertificateService certificateService;
     private final CoursesCacheService coursesCacheService;
-    private final CertificateAsyncService certificateAsyncService;
+    private final CertificateIssuanceService certificateIssuanceService;
+    private final CourseProgressService courseProgressService;
     private final Executor taskExecutor;
-    private final NotificationHelper notificationHelper;
 
     /**
      * Mark a lesson as completed by the current student.
@@ -122,7 +117,8 @@ public class StudentLessonServiceImp implements StudentService {
             User student = userOpt.get();
 
             LessonCompletion completion;
-            if (existingCompletionOpt.isPresent()) {
+            boolean firstCompletion = existingCompletionOpt.isEmpty();
+            if (!firstCompletion) {
                 // Update existing completion time (idempotent operation)
                 completion = existingCompletionOpt.get();
                 completion.setCompletedAt(LocalDateTime.now());
@@ -151,8 +147,14 @@ public class StudentLessonServiceImp implements StudentService {
                 // Don't fail the request if cache invalidation fails
             }
 
-            // Check if all lessons in the course are completed and update enrollment status
-            checkAndUpdateCourseCompletion(currentUserId, courseId);
+            // Only a first completion moves the progress counter; the course is
+            // complete once it reaches the course's lesson count
+            boolean courseCompleted = firstCompletion
+                    ? courseProgressService.recordLessonCompleted(currentUserId, courseId)
+                    : courseProgressService.hasCompletedAllLessons(currentUserId, courseId);
+            if (courseCompleted) {
+                markCourseCompleted(currentUserId, courseId);
+            }
 
             return ApiResponseUtil.success("Lesson completion recorded successfully",
                     "Lesson marked as complete");
@@ -163,83 +165,22 @@ public class StudentLessonServiceImp implements StudentService {
         }
     }
 
-    private void checkAndUpdateCourseCompletion(String userId, String courseId) {
+    private void markCourseCompleted(String userId, String courseId) {
         try {
-            // Count total lessons in the course
-            Long totalLessons = enrollmentRepository.countTotalLessonsByCourse(courseId);
-
-            // Count completed lessons by the user in this course
-            Long completedLessons = enrollmentRepository.countCompletedLessonsByUserAndCourse(userId, courseId);
-
-            log.debug("Course {} - Total lessons: {}, Completed by user {}: {}",
-                    courseId, totalLessons, userId, completedLessons);
-
-            // If all lessons are completed, update enrollment status
-            if (totalLessons > 0 && completedLessons.equals(totalLessons)) {
-                Optional<Enrollment> enrollmentOpt = enrollmentRepository.findByUserIdAndCourseId(userId, courseId);
-                if (enrollmentOpt.isPresent()) {
-                    Enrollment enrollment = enrollmentOpt.get();
-                    if (enrollment.getCompletionStatus() != Enrollment.CompletionStatus.COMPLETED) {
-                        enrollment.setCompletionStatus(Enrollment.CompletionStatus.COMPLETED);
-                        enrollmentRepository.save(enrollment);
-                        log.info("Updated enrollment status to COMPLETED for user {} in course {}", userId, courseId);
-
-                        CreateCertificateDto dto = new CreateCertificateDto();
-                        dto.setUserId(userId);
-                        dto.setCourseId(courseId);
-
-                        ResponseEntity<ApiResponse<CertificateResponseDto>> createdCertificate = certificateService
-                                .createCertificate(dto);
-
-                        try {
-                            String courseName = enrollment.getCourse().getTitle();
-                            String certificateUrl = "/dashboard/certificates";
-
-                            // ✅ Extract variables để tránh multiple calls
-                            ApiResponse<CertificateResponseDto> responseBody = createdCertificate != null
-                                    ? createdCertificate.getBody()
-                                    : null;
-                            CertificateResponseDto certificateData = responseBody != null ? responseBody.getData()
-                                    : null;
-                            String certificateId = certificateData != null ? certificateData.getId() : null;
-
-                            if (certificateId != null) {
-                                notificationHelper.createCertificateNotification(
-                                        userId,
-                                        certificateId,
-                                        courseName,
-                                        certificateUrl)
-                                        .thenAccept(notification -> log.info(
-                                                "✅ Certificate notification created for student {} (course: {}): {}",
-                                                userId, courseId, notification.getId()))
-                                        .exceptionally(ex -> {
-                                            log.error(
-                                                    "❌ Failed to create certificate notification for student {} (course: {}): {}",
-                                                    userId, courseId, ex.getMessage(), ex);
-                                            return null;
-                                        });
-                            } else {
-                                log.error("❌ Certificate creation returned null/invalid response for user {} course {}",
-                                        userId, courseId);
-                            }
-
-                            log.info("🎓 Student {} completed course {} - certificate created and notification sent",
-                                    userId, courseName);
-
-                        } catch (Exception notificationError) {
-                            log.error("❌ Failed to create certificate notification: {}",
-                                    notificationError.getMessage(), notificationError);
-                            // Continue execution even if notification fails
-                        }
-
-                    }
+            Optional<Enrollment> enrollmentOpt = enrollmentRepository.findByUserIdAndCourseId(userId, courseId);
+            if (enrollmentOpt.isPresent()) {
+                Enrollment enrollment = enrollmentOpt.get();
+                if (enrollment.getCompletionStatus() != Enrollment.CompletionStatus.COMPLETED) {
+                    enrollment.setCompletionStatus(Enrollment.CompletionStatus.COMPLETED);
+                    enrollmentRepository.save(enrollment);
+                    log.info("Updated enrollment status to COMPLETED for user {} in course {}", userId, courseId);
+
+                    // Issued, rendered and emailed by the issuance worker
+                    certificateIssuanceService.enqueue(userId, courseId);
                 }
             }
-
-            // certificateAsyncService.processCertificateAsync();
-
         } catch (Exception e) {
-            log.error("Error checking course completion for user {} in course {}: {}",
+            log.error("Error updating course completion for user {} in course {}: {}",
                     userId, courseId, e.getMessage(), e);
         }
     }
@@ -269,107 +210,63 @@ public class StudentLessonServiceImp implements StudentService {
         try {
             String currentUserId = SecurityUtil.getCurrentUserId();
 
-            // 1. Verify section exists
-            Optional<Section> sectionOpt = sectionRepository.findById(sectionId);
-            if (sectionOpt.isEmpty()) {
-                return ApiResponseUtil.notFound("Section not found with id: " + sectionId);
+            // 1. Verify lesson exists and belongs to the section, in one projection
+            Optional<QuizLessonContext> contextOpt = lessonRepository.findQuizLessonContext(lessonId);
+            if (contextOpt.isEmpty()) {
+                return ApiResponseUtil.notFound("Lesson not found with id: " + lessonId);
             }
 
-            Section section = sectionOpt.get();
-            String courseId = section.getCourse().getId();
+            QuizLessonContext context = contextOpt.get();
+            if (!context.sectionId().equals(sectionId)) {
+                return ApiResponseUtil.badRequest("Lesson does not belong to the specified section");
+            }
 
             // 2. Check if student is enrolled in the course
-            if (!enrollmentRepository.existsByUserIdAndCourseId(currentUserId, courseId)) {
+            if (!enrollmentRepository.existsByUserIdAndCourseId(currentUserId, context.courseId())) {
                 return ApiResponseUtil.forbidden("You must be enrolled in the course to submit quizzes");
             }
 
-            // 3. Verify lesson exists and belongs to the section
-            Optional<Lesson> lessonOpt = lessonRepository.findById(lessonId);
-            if (lessonOpt.isEmpty()) {
-                return ApiResponseUtil.notFound("Lesson not found with id: " + lessonId);
-            }
-
-            Lesson lesson = lessonOpt.get();
-            if (!lesson.getSection().getId().equals(sectionId)) {
-                return ApiResponseUtil.badRequest("Lesson does not belong to the specified section");
-            }
-
-            // 4. Verify lesson is of type QUIZ
-            if (!"type-002".equals(lesson.getLessonType().getId())) {
+            // 3. Verify lesson is of type QUIZ
+            if (!"type-002".equals(context.lessonTypeId())) {
                 return ApiResponseUtil.badRequest("This lesson is not a quiz lesson");
             }
 
-            // 5. Get quiz questions for this lesson
-            List<QuizQuestion> quizQuestions = quizQuestionRepository.findByLessonId(lessonId);
-            if (quizQuestions.isEmpty()) {
+            // 4. Get the answer key for the current quiz version
+            QuizAnswerKey answerKey = answerKeyCache.get(lessonId, context.quizVersion());
+            if (answerKey.isEmpty()) {
                 return ApiResponseUtil.notFound("No quiz questions found for this lesson");
             }
 
-            // 6. Validate submitted answers match question IDs
+            // 5. Validate and grade the submitted answers in one pass
             Map<String, String> submittedAnswers = submitQuizDto.getAnswers();
-            for (QuizQuestion question : quizQuestions) {
-                if (!submittedAnswers.containsKey(question.getId())) {
-                    return ApiResponseUtil.badRequest("Missing answer for question: " + question.getId());
-                }
+            QuizAnswerKey.Grade grade = answerKey.grade(submittedAnswers);
+            if (!grade.isComplete()) {
+                return ApiResponseUtil.badRequest("Missing answer for question: " + grade.missingQuestionId());
             }
 
-            // 7. Calculate score
-            int totalQuestions = quizQuestions.size();
-            int correctAnswers = 0;
-
-            for (QuizQuestion question : quizQuestions) {
-                String submittedAnswer = submittedAnswers.get(question.getId());
-                if (question.getCorrectAnswer().equals(submittedAnswer)) {
-                    correctAnswers++;
-                }
-            }
+            int totalQuestions = grade.totalQuestions();
+            int correctAnswers = grade.correctAnswers();
 
             // Calculate score as percentage
             BigDecimal score = BigDecimal.valueOf(correctAnswers)
                     .multiply(BigDecimal.valueOf(100))
                     .divide(BigDecimal.valueOf(totalQuestions), 2, RoundingMode.HALF_UP);
 
-            // 8. Get or create student user entity
-            Optional<User> userOpt = userRepository.findById(currentUserId);
-            if (userOpt.isEmpty()) {
-                return ApiResponseUtil.notFound("User not found with id: " + currentUserId);
-            }
-            User student = userOpt.get();
-
-            // 9. Check if quiz result already exists (for overwrite)
-            Optional<QuizResult> existingResultOpt = quizResultRepository.findByUserIdAndLessonId(currentUserId,
-                    lessonId);
-
-            QuizResult quizResult;
-            if (existingResultOpt.isPresent()) {
-                // Update existing result - allows multiple quiz attempts
-                quizResult = existingResultOpt.get();
-                log.info("Overwriting existing quiz result for student {} on lesson {}", currentUserId, lessonId);
-            } else {
-                // Create new result
-                quizResult = new QuizResult();
-                quizResult.setUser(student);
-                quizResult.setLesson(lesson);
-                log.info("Creating new quiz result for student {} on lesson {}", currentUserId, lessonId);
-            }
-
-            // 10. Save quiz result
-            quizResult.setScore(score);
-            quizResult.setAnswers(convertAnswersToJson(submittedAnswers));
-            quizResult.setCompletedAt(LocalDateTime.now());
-
-            quizResultRepository.save(quizResult);
+            // 6. Insert or overwrite the result - allows multiple quiz attempts
+            LocalDateTime completedAt = LocalDateTime.now();
+            quizResultRepository.upsertResult(UUID.randomUUID().toString(), currentUserId, lessonId, score,
+                    convertAnswersToJson(submittedAnswers), completedAt);
 
-            // 11. Generate feedback
+            // 7. Generate feedback
             String feedback = generateFeedback(correctAnswers, totalQuestions, score);
 
-            // 12. Create response
+            // 8. Create response
             QuizSubmissionResponseDto responseDto = QuizSubmissionResponseDto.builder()
                     .score(score)
                     .totalQuestions(totalQuestions)
                     .correctAnswers(correctAnswers)
                     .feedback(feedback)
-                    .submittedAt(quizResult.getCompletedAt())
+                    .submittedAt(completedAt)
                     .build();
 
             log.info("Successfully processed quiz submission for student {} on lesson {}. Score: {}/{}",
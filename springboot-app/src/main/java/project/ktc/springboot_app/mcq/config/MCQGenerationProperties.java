@@ -0,0 +1,46 @@
+package project.ktc.springboot_app.mcq.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for MCQ generation jobs
+ * Maps properties from application.properties with prefix "app.mcq"
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.mcq")
+public class MCQGenerationProperties {
+
+    /** Base URL of the question generation service */
+    private String baseUrl = "http://localhost:8000";
+
+    /** Path of the multipart generate endpoint on that service */
+    private String generatePath = "/api/mcq/generate";
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /** How long one generation may take before the job fails */
+    private Duration readTimeout = Duration.ofMinutes(5);
+
+    /** Generations running at once; the model is the bottleneck, so keep it small */
+    private int workers = 2;
+
+    /** Jobs waiting for a worker before new ones fail with "queue full" */
+    private int queueCapacity = 20;
+
+    /** Directory the uploaded documents are spooled to until their job runs */
+    private String tempDir = System.getProperty("java.io.tmpdir") + "/ktc-mcq-jobs";
+
+    public String getGenerateUrl() {
+        return baseUrl.replaceAll("/+$", "") + generatePath;
+    }
+
+    public Path getTempDirPath() {
+        return Path.of(tempDir);
+    }
+}
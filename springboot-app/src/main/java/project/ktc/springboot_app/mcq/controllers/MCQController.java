@@ -3,8 +3,11 @@ package project.ktc.springboot_app.mcq.controllers;
 import java.nio.file.Files;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -19,7 +22,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.mcq.dto.MCQJobResponseDto;
 import project.ktc.springboot_app.mcq.dto.MCQResponse;
+import project.ktc.springboot_app.mcq.interfaces.MCQJobService;
 import project.ktc.springboot_app.mcq.services.MCQService;
 
 import org.springframework.http.MediaType;
@@ -43,6 +49,9 @@ public class MCQController {
     @Autowired
     private MCQService mcqService;
 
+    @Autowired
+    private MCQJobService mcqJobService;
+
     private static final String UPLOAD_DIR = "uploads/";
 
     // private final String MCQ_API_URL = "http://localhost:8000";
@@ -95,8 +104,43 @@ public class MCQController {
     // }
     // }
 
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Start an MCQ generation job", description = """
+            Upload a text or DOCX file and get a job back straight away. Poll `GET /api/mcq/jobs/{jobId}`
+            or subscribe to `statusTopic` on the `/api/ws-chat` STOMP endpoint; the questions are included
+            once the job is COMPLETED. A document already generated with the same question count completes
+            immediately from cache.
+            """)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted (or already completed from cache)"),
+            @ApiResponse(responseCode = "400", description = "Invalid file format or parameters. Supported formats: TXT, DOCX", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - INSTRUCTOR role required", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<MCQJobResponseDto>> submitJob(
+            @Parameter(description = "File to upload for MCQ generation. Supported formats: .txt, .docx", required = true, schema = @Schema(type = "string", format = "binary")) @RequestPart("file") MultipartFile file,
+
+            @Parameter(description = "Number of MCQ questions to generate from the file content", required = true, example = "10", schema = @Schema(type = "integer", minimum = "1", maximum = "50")) @RequestParam("num_questions") @Min(value = 1, message = "Number of questions must be at least 1") @Max(value = 50, message = "Number of questions cannot exceed 50") int numQuestions) {
+        MCQJobResponseDto job = mcqJobService.submit(file, numQuestions);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("Location", "/api/mcq/jobs/" + job.getJobId())
+                .body(ApiResponseUtil.success(job, "MCQ generation job accepted").getBody());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get an MCQ generation job", description = "Returns the job status and, once COMPLETED, the generated MCQs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job retrieved"),
+            @ApiResponse(responseCode = "404", description = "Job not found, expired or started by another user")
+    })
+    public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<MCQJobResponseDto>> getJob(
+            @PathVariable String jobId) {
+        return ApiResponseUtil.success(mcqJobService.getJob(jobId), "MCQ generation job retrieved");
+    }
+
+    @Deprecated
     @PostMapping(value = "/generate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Generate MCQs from uploaded file", description = "Upload a text or DOCX file to generate Multiple Choice Questions (MCQs). The system will process the file content and generate the specified number of questions.")
+    @Operation(deprecated = true, summary = "Generate MCQs from uploaded file (blocking)", description = "Upload a text or DOCX file to generate Multiple Choice Questions (MCQs). Holds the request until the model answers; use `POST /api/mcq/jobs` instead.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "MCQs generated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MCQResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid file format or parameters. Supported formats: TXT, DOCX", content = @Content(mediaType = "application/json")),
@@ -142,7 +186,7 @@ public class MCQController {
 
             try {
                 // Gọi FastAPI
-                MCQResponse result = mcqService.generateMCQsFromFile(tempFile, numQuestions);
+                MCQResponse result = mcqService.generateMCQsFromFile(tempFile, filename, numQuestions);
                 return ResponseEntity.ok(result);
 
             } finally {
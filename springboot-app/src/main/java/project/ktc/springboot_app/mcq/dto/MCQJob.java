@@ -0,0 +1,31 @@
+package project.ktc.springboot_app.mcq.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of one MCQ generation job as kept in the cache. The generated
+ * questions are stored once under resultKey and shared by every job for the
+ * same document and question count.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MCQJob {
+
+    private String id;
+    private String ownerId;
+    private MCQJobStatus status;
+    private String fileName;
+    private int numQuestions;
+    private String resultKey;
+    private boolean cached;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
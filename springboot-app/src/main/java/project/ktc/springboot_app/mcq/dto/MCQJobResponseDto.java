@@ -0,0 +1,40 @@
+package project.ktc.springboot_app.mcq.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MCQ generation job as returned by the job endpoints and pushed to the
+ * job's WebSocket topic
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MCQJobResponseDto {
+
+    private String jobId;
+    private MCQJobStatus status;
+    private String fileName;
+    private Integer numQuestions;
+
+    /** True when the result was served from an earlier identical generation */
+    private Boolean cached;
+
+    /** STOMP topic on /api/ws-chat that receives status changes */
+    private String statusTopic;
+
+    private String errorMessage;
+
+    /** Only set once the job is COMPLETED */
+    private MCQResponse result;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
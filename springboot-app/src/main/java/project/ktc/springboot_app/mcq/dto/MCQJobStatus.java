@@ -0,0 +1,8 @@
+package project.ktc.springboot_app.mcq.dto;
+
+public enum MCQJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
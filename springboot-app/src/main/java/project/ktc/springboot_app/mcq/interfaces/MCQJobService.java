@@ -0,0 +1,23 @@
+package project.ktc.springboot_app.mcq.interfaces;
+
+import org.springframework.web.multipart.MultipartFile;
+import project.ktc.springboot_app.mcq.dto.MCQJobResponseDto;
+
+/**
+ * MCQ generation as background jobs. Submitting spools the document and
+ * returns a job at once; a bounded worker pool calls the generation service
+ * and the outcome is polled or pushed over WebSocket. Results are reused for
+ * any later job with the same document content and question count.
+ */
+public interface MCQJobService {
+
+    MCQJobResponseDto submit(MultipartFile file, int numQuestions);
+
+    /**
+     * Job of the current user, with the generated questions once completed
+     *
+     * @throws project.ktc.springboot_app.common.exception.ResourceNotFoundException
+     *         if the job does not exist, expired or belongs to someone else
+     */
+    MCQJobResponseDto getJob(String jobId);
+}
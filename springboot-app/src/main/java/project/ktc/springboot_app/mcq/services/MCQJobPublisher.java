@@ -0,0 +1,29 @@
+package project.ktc.springboot_app.mcq.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.mcq.dto.MCQJobResponseDto;
+
+/**
+ * Publishes MCQ job status changes to /topic/mcq-jobs/{jobId}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MCQJobPublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/mcq-jobs/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void publish(MCQJobResponseDto job) {
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + job.getJobId(), job);
+        } catch (Exception e) {
+            // Push is best effort; polling the job endpoint stays authoritative
+            log.debug("Failed to publish MCQ job status for {}: {}", job.getJobId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package project.ktc.springboot_app.mcq.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import project.ktc.springboot_app.cache.services.domain.MCQCacheService;
+import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
+import project.ktc.springboot_app.mcq.config.MCQGenerationProperties;
+import project.ktc.springboot_app.mcq.dto.MCQJob;
+import project.ktc.springboot_app.mcq.dto.MCQJobResponseDto;
+import project.ktc.springboot_app.mcq.dto.MCQJobStatus;
+import project.ktc.springboot_app.mcq.dto.MCQResponse;
+import project.ktc.springboot_app.mcq.interfaces.MCQJobService;
+import project.ktc.springboot_app.utils.SecurityUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@Slf4j
+public class MCQJobServiceImp implements MCQJobService {
+
+    private static final int MIN_QUESTIONS = 1;
+    private static final int MAX_QUESTIONS = 50;
+
+    private final MCQService mcqService;
+    private final MCQCacheService mcqCacheService;
+    private final MCQJobPublisher jobPublisher;
+    private final MCQGenerationProperties properties;
+    private final Executor mcqExecutor;
+
+    public MCQJobServiceImp(MCQService mcqService, MCQCacheService mcqCacheService, MCQJobPublisher jobPublisher,
+            MCQGenerationProperties properties, @Qualifier("mcqExecutor") Executor mcqExecutor) {
+        this.mcqService = mcqService;
+        this.mcqCacheService = mcqCacheService;
+        this.jobPublisher = jobPublisher;
+        this.properties = properties;
+        this.mcqExecutor = mcqExecutor;
+    }
+
+    @Override
+    public MCQJobResponseDto submit(MultipartFile file, int numQuestions) {
+        String ownerId = requireCurrentUserId();
+        String fileName = validate(file, numQuestions);
+
+        SpooledFile spooledFile = spool(file, fileName);
+        Path spooled = spooledFile.path();
+        String resultKey = mcqCacheService.buildResultKey(spooledFile.sha256(), numQuestions);
+
+        LocalDateTime now = LocalDateTime.now();
+        MCQJob job = MCQJob.builder()
+                .id(UUID.randomUUID().toString())
+                .ownerId(ownerId)
+                .status(MCQJobStatus.QUEUED)
+                .fileName(fileName)
+                .numQuestions(numQuestions)
+                .resultKey(resultKey)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        MCQResponse cached = mcqCacheService.getResult(resultKey);
+        if (cached != null) {
+            deleteQuietly(spooled);
+            job.setStatus(MCQJobStatus.COMPLETED);
+            job.setCached(true);
+            mcqCacheService.storeJob(job);
+            log.info("MCQ job {} served from cache for {} ({} questions)", job.getId(), fileName, numQuestions);
+            return toResponse(job, cached);
+        }
+
+        mcqCacheService.storeJob(job);
+        // Built before handing the job over; the worker mutates it from here on
+        MCQJobResponseDto queued = toResponse(job, null);
+        try {
+            mcqExecutor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            log.warn("MCQ generation queue full, job {} rejected", job.getId());
+            deleteQuietly(spooled);
+            fail(job, "Generation queue is full, retry later");
+            return toResponse(job, null);
+        }
+
+        log.info("MCQ job {} queued for {} ({} questions)", job.getId(), fileName, numQuestions);
+        return queued;
+    }
+
+    @Override
+    public MCQJobResponseDto getJob(String jobId) {
+        MCQJob job = mcqCacheService.getJob(jobId);
+        if (job == null || !job.getOwnerId().equals(requireCurrentUserId())) {
+            throw new ResourceNotFoundException("MCQ job not found: " + jobId);
+        }
+        MCQResponse result = job.getStatus() == MCQJobStatus.COMPLETED
+                ? mcqCacheService.getResult(job.getResultKey())
+                : null;
+        return toResponse(job, result);
+    }
+
+    private void run(MCQJob job, Path spooled) {
+        long started = System.currentTimeMillis();
+        try {
+            // An identical job may have finished while this one was queued
+            MCQResponse result = mcqCacheService.getResult(job.getResultKey());
+            if (result != null) {
+                job.setCached(true);
+            } else {
+                update(job, MCQJobStatus.RUNNING);
+                result = mcqService.generateMCQsFromFile(spooled.toFile(), job.getFileName(), job.getNumQuestions());
+                mcqCacheService.storeResult(job.getResultKey(), result);
+            }
+
+            job.setStatus(MCQJobStatus.COMPLETED);
+            job.setUpdatedAt(LocalDateTime.now());
+            mcqCacheService.storeJob(job);
+            jobPublisher.publish(toResponse(job, result));
+            log.info("MCQ job {} completed in {} ms", job.getId(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("MCQ job {} failed after {} ms: {}", job.getId(), System.currentTimeMillis() - started,
+                    e.getMessage(), e);
+            fail(job, e.getMessage());
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    private void update(MCQJob job, MCQJobStatus status) {
+        job.setStatus(status);
+        job.setUpdatedAt(LocalDateTime.now());
+        mcqCacheService.storeJob(job);
+        jobPublisher.publish(toResponse(job, null));
+    }
+
+    private void fail(MCQJob job, String errorMessage) {
+        job.setErrorMessage(errorMessage);
+        update(job, MCQJobStatus.FAILED);
+    }
+
+    private MCQJobResponseDto toResponse(MCQJob job, MCQResponse result) {
+        return MCQJobResponseDto.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .numQuestions(job.getNumQuestions())
+                .cached(job.isCached())
+                .statusTopic(MCQJobPublisher.TOPIC_PREFIX + job.getId())
+                .errorMessage(job.getErrorMessage())
+                .result(result)
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    private String validate(MultipartFile file, int numQuestions) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        if (numQuestions < MIN_QUESTIONS || numQuestions > MAX_QUESTIONS) {
+            throw new IllegalArgumentException(
+                    "Number of questions must be between " + MIN_QUESTIONS + " and " + MAX_QUESTIONS);
+        }
+        String fileName = file.getOriginalFilename();
+        String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (!lower.endsWith(".txt") && !lower.endsWith(".docx")) {
+            throw new IllegalArgumentException("Only TXT and DOCX files are supported");
+        }
+        // Some browsers send the client-side path
+        return fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+    }
+
+    private record SpooledFile(Path path, String sha256) {
+    }
+
+    /**
+     * Copy the upload to the temp dir, hashing it in the same pass
+     */
+    private SpooledFile spool(MultipartFile file, String fileName) {
+        try {
+            Files.createDirectories(properties.getTempDirPath());
+            String suffix = fileName.substring(fileName.lastIndexOf('.'));
+            Path spooled = Files.createTempFile(properties.getTempDirPath(), "mcq-", suffix);
+            try (DigestInputStream in = new DigestInputStream(file.getInputStream(),
+                    MessageDigest.getInstance("SHA-256"))) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+                return new SpooledFile(spooled, HexFormat.of().formatHex(in.getMessageDigest().digest()));
+            } catch (IOException | RuntimeException e) {
+                deleteQuietly(spooled);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store uploaded file", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete MCQ temp file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private String requireCurrentUserId() {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new IllegalStateException("No authenticated user");
+        }
+        return userId;
+    }
+}
@@ -4,23 +4,50 @@ import java.io.File;
 
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import lombok.extern.slf4j.Slf4j;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
+import project.ktc.springboot_app.mcq.config.MCQGenerationProperties;
 import project.ktc.springboot_app.mcq.dto.MCQResponse;
 
+/**
+ * Client for the question generation service. Calls block for as long as
+ * the model takes, bounded by the configured read timeout, so they should
+ * only be made from the MCQ job workers.
+ */
 @Service
+@Slf4j
 public class MCQService {
 
-    private final String FASTAPI_URL = "http://localhost:8000/api/mcq/generate";
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final MCQGenerationProperties properties;
+    private final RestTemplate restTemplate;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
-    public MCQResponse generateMCQsFromFile(File file, int numQuestions) {
+    public MCQService(MCQGenerationProperties properties, ConcurrencyLimiter concurrencyLimiter) {
+        this.properties = properties;
+        this.concurrencyLimiter = concurrencyLimiter;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    public MCQResponse generateMCQsFromFile(File file, String fileName, int numQuestions) {
         // Chuẩn bị request body
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("file", new FileSystemResource(file));
+        body.add("file", new FileSystemResource(file) {
+            @Override
+            public String getFilename() {
+                // The spooled file has a generated name; send the uploaded one
+                return fileName;
+            }
+        });
         body.add("num_questions", numQuestions);
 
         // Chuẩn bị headers
@@ -31,20 +58,20 @@ public class MCQService {
         HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
 
         try {
-            // Gọi FastAPI
-            ResponseEntity<MCQResponse> response = restTemplate.postForEntity(
-                    FASTAPI_URL,
+            ResponseEntity<MCQResponse> response = concurrencyLimiter.call("mcq", () -> restTemplate.postForEntity(
+                    properties.getGenerateUrl(),
                     requestEntity,
-                    MCQResponse.class);
+                    MCQResponse.class));
 
-            if (response.getStatusCode() == HttpStatus.OK && "success".equals(response.getBody().getStatus())) {
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null
+                    && "success".equals(response.getBody().getStatus())) {
                 return response.getBody();
             } else {
                 throw new RuntimeException("API returned error: " + response.getStatusCode());
             }
 
         } catch (Exception e) {
-            throw new RuntimeException("Error calling FastAPI: " + e.getMessage(), e);
+            throw new RuntimeException("Error calling MCQ generation service: " + e.getMessage(), e);
         }
     }
 }
@@ -6,6 +6,7 @@ import project.ktc.springboot_app.notification.dto.CreateNotificationDto;
 import project.ktc.springboot_app.notification.dto.NotificationDto;
 import project.ktc.springboot_app.notification.dto.NotificationResponseDto;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.springframework.data.domain.Pageable;
@@ -32,6 +33,15 @@ public interface NotificationService {
      */
     NotificationResponseDto createNotificationSync(CreateNotificationDto createNotificationDto);
 
+    /**
+     * Create many notifications in one transaction, inserted in JDBC batches.
+     * Used to fan one event out to many users; recipients are not re-checked.
+     *
+     * @param notifications the notifications to create
+     * @return the number of notifications created
+     */
+    CompletableFuture<Integer> createNotifications(List<CreateNotificationDto> notifications);
+
     ResponseEntity<ApiResponse<PaginatedResponse<NotificationDto>>> getNotificationsByUserId(String userId,
             Pageable pageable);
 
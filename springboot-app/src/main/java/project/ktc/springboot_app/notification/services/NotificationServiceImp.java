@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
 import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
+import project.ktc.springboot_app.common.jpa.BulkWriter;
 import project.ktc.springboot_app.notification.dto.CreateNotificationDto;
 import project.ktc.springboot_app.notification.dto.NotificationDto;
 import project.ktc.springboot_app.notification.dto.NotificationResponseDto;
@@ -22,6 +23,7 @@ import project.ktc.springboot_app.notification.repositories.NotificationReposito
 import project.ktc.springboot_app.user.repositories.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -35,6 +37,7 @@ public class NotificationServiceImp implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final BulkWriter bulkWriter;
 
     @Override
     @Async("taskExecutor")
@@ -63,8 +66,31 @@ public class NotificationServiceImp implements NotificationService {
                             "User not found with ID: " + createNotificationDto.getUser_id());
                 });
 
-        // Create notification entity
-        Notification notification = Notification.builder()
+        // Save notification
+        Notification savedNotification = notificationRepository.save(toEntity(createNotificationDto));
+
+        log.info("Notification created successfully with ID: {} for user: {}",
+                savedNotification.getId(), createNotificationDto.getUser_id());
+
+        // Map to response DTO
+        return mapToResponseDto(savedNotification);
+    }
+
+    @Override
+    @Async("taskExecutor")
+    public CompletableFuture<Integer> createNotifications(List<CreateNotificationDto> notifications) {
+        try {
+            int created = bulkWriter.persistAll(notifications.stream().map(this::toEntity));
+            log.info("Created {} notifications in bulk", created);
+            return CompletableFuture.completedFuture(created);
+        } catch (Exception e) {
+            log.error("Error creating {} notifications in bulk: {}", notifications.size(), e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Notification toEntity(CreateNotificationDto createNotificationDto) {
+        return Notification.builder()
                 .userId(createNotificationDto.getUser_id())
                 .resourceId(createNotificationDto.getResource_id())
                 .entityId(createNotificationDto.getEntity_id())
@@ -74,15 +100,6 @@ public class NotificationServiceImp implements NotificationService {
                 .expiredAt(createNotificationDto.getExpired_at())
                 .isRead(false)
                 .build();
-
-        // Save notification
-        Notification savedNotification = notificationRepository.save(notification);
-
-        log.info("Notification created successfully with ID: {} for user: {}",
-                savedNotification.getId(), createNotificationDto.getUser_id());
-
-        // Map to response DTO
-        return mapToResponseDto(savedNotification);
     }
 
     @Override
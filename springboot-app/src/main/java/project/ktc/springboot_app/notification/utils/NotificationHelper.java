@@ -168,32 +168,28 @@ public class NotificationHelper {
         log.info("Creating notifications for {} users with permission '{}': {}",
                 authorizedUsers.size(), permissionKey, message);
 
-        for (User user : authorizedUsers) {
-            try {
-                CreateNotificationDto notificationDto = CreateNotificationDto.builder()
+        LocalDateTime expiredAt = LocalDateTime.now().plusDays(30);
+        List<CreateNotificationDto> notifications = authorizedUsers.stream()
+                .map(user -> CreateNotificationDto.builder()
                         .user_id(user.getId())
                         .resource_id(resourceId)
                         .entity_id(entityId)
                         .message(message)
                         .action_url(actionUrl)
                         .priority(priority)
-                        .expired_at(LocalDateTime.now().plusDays(30))
-                        .build();
-
-                // Create notification asynchronously
-                notificationService.createNotification(notificationDto)
-                        .thenAccept(result -> log.debug("Notification created for user {} ({}): {}",
-                                user.getId(), permissionKey, result.getId()))
-                        .exceptionally(ex -> {
-                            log.error("Failed to create notification for user {} ({}): {}",
-                                    user.getId(), permissionKey, ex.getMessage(), ex);
-                            return null;
-                        });
-            } catch (Exception e) {
-                log.error("Error creating notification for user {} ({}): {}",
-                        user.getId(), permissionKey, e.getMessage(), e);
-            }
-        }
+                        .expired_at(expiredAt)
+                        .build())
+                .collect(Collectors.toList());
+
+        // Created asynchronously, in one transaction and in JDBC batches
+        notificationService.createNotifications(notifications)
+                .thenAccept(created -> log.debug("Created {} notifications for users with permission '{}'",
+                        created, permissionKey))
+                .exceptionally(ex -> {
+                    log.error("Failed to create notifications for users with permission '{}': {}",
+                            permissionKey, ex.getMessage(), ex);
+                    return null;
+                });
     }
 
     /**
@@ -1,10 +1,12 @@
 package project.ktc.springboot_app.payment.controllers;
 
 import java.util.List;
+import java.time.LocalDate;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,7 +16,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,6 +33,7 @@ import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.export.ExportFormat;
 import project.ktc.springboot_app.payment.dto.AdminPaidOutResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminPaymentResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminPaymentStatisticsResponseDto;
@@ -161,6 +167,51 @@ public class AdminPaymentController {
                 return adminPaymentService.getAllPayments(search, status, fromDate, toDate, paymentMethod);
         }
 
+        /**
+         * Stream all payments matching the filters as a file download
+         * 
+         * @return ResponseEntity whose body writes the payments as they are read
+         */
+        @GetMapping("/export")
+        @PreAuthorize("hasPermission('Payment', 'payment:READ')")
+        @Operation(summary = "Export payments", description = """
+                        Streams every payment matching the filters as a CSV or NDJSON download.
+
+                        **Features:**
+                        - Rows are written as they are read from the database, so exports of any size
+                          use constant memory and start downloading immediately
+                        - Compressed with gzip when the client sends `Accept-Encoding: gzip`
+                        - Same search and filter options as the list endpoints
+
+                        **Admin Only:**
+                        - This endpoint requires ADMIN role
+                        """)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid format or date range"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        public ResponseEntity<StreamingResponseBody> exportPayments(
+                        @Parameter(description = "Search by payment ID, user name, or course title") @RequestParam(required = false) String search,
+
+                        @Parameter(description = "Filter by payment status", example = "COMPLETED") @RequestParam(required = false) project.ktc.springboot_app.payment.entity.Payment.PaymentStatus status,
+
+                        @Parameter(description = "Filter by creation date from (ISO format: yyyy-MM-dd)", example = "2024-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+
+                        @Parameter(description = "Filter by creation date to (ISO format: yyyy-MM-dd)", example = "2024-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+
+                        @Parameter(description = "Filter by payment method", example = "STRIPE") @RequestParam(required = false) String paymentMethod,
+
+                        @Parameter(description = "Output format", example = "csv", schema = @io.swagger.v3.oas.annotations.media.Schema(allowableValues = {
+                                        "csv", "ndjson" })) @RequestParam(defaultValue = "csv") String format,
+
+                        @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+                return adminPaymentService.exportPayments(search, status, fromDate, toDate, paymentMethod,
+                                ExportFormat.fromParam(format), acceptEncoding);
+        }
+
         /**
          * Get payment details by ID
          * 
@@ -0,0 +1,26 @@
+package project.ktc.springboot_app.payment.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import project.ktc.springboot_app.payment.entity.Payment.PaymentStatus;
+
+/**
+ * One payment as read by the streamed admin export; selected as a flat row
+ * so the cursor never triggers association loads
+ */
+public record AdminPaymentExportRow(
+                String id,
+                String userId,
+                String userName,
+                String userEmail,
+                String courseId,
+                String courseTitle,
+                BigDecimal amount,
+                PaymentStatus status,
+                String paymentMethod,
+                String sessionId,
+                LocalDateTime createdAt,
+                LocalDateTime paidAt,
+                LocalDateTime paidOutAt) {
+}
@@ -18,7 +18,9 @@ import java.util.List;
         @Index(name = "idx_pay_user", columnList = "user_id"),
         @Index(name = "idx_pay_course", columnList = "course_id"),
         @Index(name = "idx_pay_status", columnList = "status"),
-        @Index(name = "idx_pay_session_id", columnList = "session_id")
+        @Index(name = "idx_pay_status_paid_at", columnList = "status, paid_at"),
+        @Index(name = "idx_pay_session_id", columnList = "session_id"),
+        @Index(name = "idx_pay_payout_candidates", columnList = "status, paid_out_at, id")
 })
 @Getter
 @Setter
@@ -1,13 +1,16 @@
 package project.ktc.springboot_app.payment.interfaces;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.export.ExportFormat;
 import project.ktc.springboot_app.payment.dto.AdminPaymentResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminPaymentStatisticsResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminPaidOutResponseDto;
@@ -133,4 +136,20 @@ public interface AdminPaymentService {
          * @return ResponseEntity containing payment counts by status
          */
         ResponseEntity<ApiResponse<AdminPaymentStatisticsResponseDto>> getPaymentStatistics();
+
+        /**
+         * Stream payments matching the filters as a CSV or NDJSON download
+         * 
+         * @param acceptEncoding Request Accept-Encoding header; gzip is applied when
+         *                       accepted
+         * @return ResponseEntity whose body writes the rows as they are read
+         */
+        ResponseEntity<StreamingResponseBody> exportPayments(
+                        String search,
+                        project.ktc.springboot_app.payment.entity.Payment.PaymentStatus status,
+                        LocalDate fromDate,
+                        LocalDate toDate,
+                        String paymentMethod,
+                        ExportFormat format,
+                        String acceptEncoding);
 }
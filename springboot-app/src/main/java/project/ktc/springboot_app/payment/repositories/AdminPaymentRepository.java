@@ -1,20 +1,66 @@
 package project.ktc.springboot_app.payment.repositories;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import project.ktc.springboot_app.common.export.StreamingExportWriter;
+import project.ktc.springboot_app.payment.dto.AdminPaymentExportRow;
 import project.ktc.springboot_app.payment.entity.Payment;
 
 @Repository
 public interface AdminPaymentRepository extends JpaRepository<Payment, String> {
 
+        /**
+         * Payout eligibility: completed, not paid out, past the waiting period
+         * cutoff, with an instructor, no pending/completed refund and no earning yet
+         */
+        String PAYOUT_ELIGIBLE = "p.status = 'COMPLETED' AND p.paidOutAt IS NULL " +
+                        "AND p.updatedAt <= :cutoff " +
+                        "AND p.course.instructor IS NOT NULL " +
+                        "AND NOT EXISTS (SELECT 1 FROM Refund r WHERE r.payment = p " +
+                        "AND r.status IN ('PENDING', 'COMPLETED')) " +
+                        "AND NOT EXISTS (SELECT 1 FROM InstructorEarning e WHERE e.payment = p)";
+
+        /**
+         * Next keyset chunk of payment ids eligible for payout, ordered by id
+         */
+        @Query("SELECT p.id FROM Payment p WHERE " + PAYOUT_ELIGIBLE + " AND p.id > :afterId ORDER BY p.id")
+        List<String> findPayoutCandidateIds(@Param("cutoff") LocalDateTime cutoff,
+                        @Param("afterId") String afterId,
+                        Pageable pageable);
+
+        /**
+         * Re-check eligibility for a chunk inside its transaction and load what
+         * the payout needs in one query
+         */
+        @Query("SELECT p FROM Payment p " +
+                        "JOIN FETCH p.user u " +
+                        "JOIN FETCH p.course c " +
+                        "JOIN FETCH c.instructor " +
+                        "WHERE p.id IN :ids AND " + PAYOUT_ELIGIBLE)
+        List<Payment> findPayoutEligibleByIds(@Param("ids") List<String> ids,
+                        @Param("cutoff") LocalDateTime cutoff);
+
+        /**
+         * Claim a payment for payout. Returns 0 if another run already paid it out.
+         */
+        @Modifying
+        @Query("UPDATE Payment p SET p.paidOutAt = :paidOutAt WHERE p.id = :id AND p.paidOutAt IS NULL")
+        int markPaidOut(@Param("id") String id, @Param("paidOutAt") LocalDateTime paidOutAt);
+
         /**
          * Get all payments with pagination support for admin
          * Orders by creation date descending (most recent first)
@@ -199,4 +245,31 @@ public interface AdminPaymentRepository extends JpaRepository<Payment, String> {
                         @Param("fromDate") java.time.LocalDate fromDate,
                         @Param("toDate") java.time.LocalDate toDate);
 
+        /**
+         * Stream payments matching the admin filters for export, newest first.
+         * Read through a forward-only cursor; close the stream when done.
+         */
+        @Query("SELECT new project.ktc.springboot_app.payment.dto.AdminPaymentExportRow(" +
+                        "p.id, u.id, u.name, u.email, c.id, c.title, p.amount, p.status, p.paymentMethod, " +
+                        "p.sessionId, p.createdAt, p.paidAt, p.paidOutAt) " +
+                        "FROM Payment p " +
+                        "LEFT JOIN p.user u " +
+                        "LEFT JOIN p.course c " +
+                        "WHERE (:search IS NULL OR :search = '' OR " +
+                        "       LOWER(p.id) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                        "       LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                        "       LOWER(c.title) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+                        "AND (:status IS NULL OR p.status = :status) " +
+                        "AND (:paymentMethod IS NULL OR :paymentMethod = '' OR " +
+                        "     LOWER(p.paymentMethod) LIKE LOWER(CONCAT('%', :paymentMethod, '%'))) " +
+                        "AND (:fromDate IS NULL OR DATE(p.createdAt) >= :fromDate) " +
+                        "AND (:toDate IS NULL OR DATE(p.createdAt) <= :toDate) " +
+                        "ORDER BY p.createdAt DESC")
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingExportWriter.STREAMING_FETCH_SIZE))
+        Stream<AdminPaymentExportRow> streamPaymentsForExport(
+                        @Param("search") String search,
+                        @Param("status") Payment.PaymentStatus status,
+                        @Param("paymentMethod") String paymentMethod,
+                        @Param("fromDate") java.time.LocalDate fromDate,
+                        @Param("toDate") java.time.LocalDate toDate);
 }
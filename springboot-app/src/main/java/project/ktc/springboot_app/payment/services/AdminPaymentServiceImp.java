@@ -1,6 +1,7 @@
 package project.ktc.springboot_app.payment.services;
 
 import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -11,8 +12,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import com.stripe.model.checkout.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,11 @@ import project.ktc.springboot_app.cache.services.infrastructure.CacheInvalidatio
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.common.export.ExportColumn;
+import project.ktc.springboot_app.common.export.ExportFormat;
+import project.ktc.springboot_app.common.export.StreamingExportWriter;
+import project.ktc.springboot_app.course.entity.Course;
+import project.ktc.springboot_app.email.interfaces.EmailService;
 import project.ktc.springboot_app.earning.entity.InstructorEarning;
 import project.ktc.springboot_app.earning.repositories.InstructorEarningRepository;
 import project.ktc.springboot_app.enrollment.services.EnrollmentServiceImp;
@@ -32,20 +38,22 @@ import project.ktc.springboot_app.payment.dto.AdminPaymentStatisticsResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminPaidOutResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminUpdatePaymentStatusResponseDto;
 import project.ktc.springboot_app.payment.dto.AdminPaymentDetailResponseDto;
+import project.ktc.springboot_app.payment.dto.AdminPaymentExportRow;
 import project.ktc.springboot_app.payment.entity.Payment;
 import project.ktc.springboot_app.payment.entity.Payment.PaymentStatus;
 import project.ktc.springboot_app.payment.interfaces.AdminPaymentService;
 import project.ktc.springboot_app.payment.repositories.AdminPaymentRepository;
 import project.ktc.springboot_app.refund.entity.Refund;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
 import project.ktc.springboot_app.stripe.services.StripePaymentDetailsService;
 import project.ktc.springboot_app.utils.ExtractPaymentDetailFromSessionId;
 import project.ktc.springboot_app.utils.ExtractPaymentDetailFromSessionId.PaymentDetailDto;
 import project.ktc.springboot_app.utils.SecurityUtil;
-import project.ktc.springboot_app.stripe.services.StripeWebhookService;
 import project.ktc.springboot_app.discount.interfaces.AffiliatePayoutService;
 import project.ktc.springboot_app.discount.repositories.DiscountUsageRepository;
 import project.ktc.springboot_app.discount.entity.DiscountUsage;
 import project.ktc.springboot_app.discount.enums.DiscountType;
+import project.ktc.springboot_app.common.datasource.ReadReplica;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -59,16 +67,33 @@ import java.time.Duration;
 @Transactional
 public class AdminPaymentServiceImp implements AdminPaymentService {
 
+    private static final List<ExportColumn<AdminPaymentExportRow>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", AdminPaymentExportRow::id),
+            ExportColumn.of("userId", AdminPaymentExportRow::userId),
+            ExportColumn.of("userName", AdminPaymentExportRow::userName),
+            ExportColumn.of("userEmail", AdminPaymentExportRow::userEmail),
+            ExportColumn.of("courseId", AdminPaymentExportRow::courseId),
+            ExportColumn.of("courseTitle", AdminPaymentExportRow::courseTitle),
+            ExportColumn.of("amount", AdminPaymentExportRow::amount),
+            ExportColumn.of("status", AdminPaymentExportRow::status),
+            ExportColumn.of("paymentMethod", AdminPaymentExportRow::paymentMethod),
+            ExportColumn.of("sessionId", AdminPaymentExportRow::sessionId),
+            ExportColumn.of("createdAt", AdminPaymentExportRow::createdAt),
+            ExportColumn.of("paidAt", AdminPaymentExportRow::paidAt),
+            ExportColumn.of("paidOutAt", AdminPaymentExportRow::paidOutAt));
+
     private final AdminPaymentRepository adminPaymentRepository;
     private final StripePaymentDetailsService stripePaymentDetailsService;
     private final SystemLogHelper systemLogHelper;
     private final EnrollmentServiceImp enrollmentService;
-    private final StripeWebhookService stripeWebhookService;
     private final InstructorEarningRepository instructorEarningRepository;
     private final AffiliatePayoutService affiliatePayoutService;
     private final DiscountUsageRepository discountUsageRepository;
     private final NotificationHelper notificationHelper;
     private final CacheInvalidationService cacheInvalidationService;
+    private final RevenueRollupService revenueRollupService;
+    private final StreamingExportWriter streamingExportWriter;
+    private final EmailService emailService;
 
     @Override
     public ResponseEntity<ApiResponse<PaginatedResponse<AdminPaymentResponseDto>>> getAllPayments(Pageable pageable) {
@@ -344,6 +369,7 @@ public class AdminPaymentServiceImp implements AdminPaymentService {
             payment.setStatus(paymentStatus);
 
             // Set paidAt timestamp if status is COMPLETED
+            boolean enrolled = false;
             if (paymentStatus == PaymentStatus.COMPLETED) {
                 payment.setPaidAt(LocalDateTime.now());
 
@@ -355,11 +381,7 @@ public class AdminPaymentServiceImp implements AdminPaymentService {
                             payment.getSessionId());
                     log.info("Enrollment created successfully for user {} in course {} from payment {}",
                             payment.getUser().getId(), payment.getCourse().getId(), paymentId);
-                    Session session = stripeWebhookService.getSessionById(payment.getSessionId());
-                    log.info("Session retrieved for payment {}: {}", paymentId, session);
-                    stripeWebhookService.sendPaymentConfirmationEmail(session,
-                            payment.getCourse().getId(),
-                            payment.getUser().getId());
+                    enrolled = true;
                 } catch (Exception e) {
                     log.error("Failed to create enrollment for user {} in course {} from payment {}: {}",
                             payment.getUser().getId(), payment.getCourse().getId(), paymentId, e.getMessage());
@@ -369,6 +391,15 @@ public class AdminPaymentServiceImp implements AdminPaymentService {
 
             Payment updatedPayment = adminPaymentRepository.save(payment);
 
+            if (paymentStatus == PaymentStatus.COMPLETED) {
+                revenueRollupService.recordPaymentCompleted(updatedPayment);
+                // Queued in the outbox within this transaction, so the email
+                // only goes out if the status change commits
+                if (enrolled) {
+                    queuePaymentConfirmationEmail(updatedPayment);
+                }
+            }
+
             // Log the status update
             try {
                 User currentUser = SecurityUtil.getCurrentUser();
@@ -441,6 +472,26 @@ public class AdminPaymentServiceImp implements AdminPaymentService {
 
     }
 
+    private void queuePaymentConfirmationEmail(Payment payment) {
+        User user = payment.getUser();
+        Course course = payment.getCourse();
+
+        emailService.queuePaymentConfirmationEmail(
+                user.getEmail(),
+                user.getName(),
+                course.getTitle(),
+                String.format("https://ktc-learning.com/courses/%s", course.getId()),
+                course.getInstructor() != null ? course.getInstructor().getName() : "KTC Learning",
+                course.getLevel() != null ? course.getLevel().toString() : "Beginner",
+                "2-3 hours",
+                "10-15",
+                String.format("$%.2f", payment.getAmount().doubleValue()),
+                payment.getSessionId(),
+                payment.getPaymentMethod() != null ? payment.getPaymentMethod() : "Card",
+                payment.getPaidAt());
+        log.info("Payment confirmation email queued for: {}", user.getEmail());
+    }
+
     @Override
     public ResponseEntity<ApiResponse<Page<AdminPaymentResponseDto>>> getPaymentsByUserId(String userId,
             Pageable pageable) {
@@ -672,6 +723,7 @@ public class AdminPaymentServiceImp implements AdminPaymentService {
     }
 
     @Override
+    @ReadReplica
     public ResponseEntity<ApiResponse<AdminPaymentStatisticsResponseDto>> getPaymentStatistics() {
         try {
             log.info("Admin retrieving payment statistics");
@@ -750,4 +802,28 @@ public class AdminPaymentServiceImp implements AdminPaymentService {
             // Don't fail the payment payout process for affiliate payout errors
         }
     }
+
+    /**
+     * Only validates and builds the response; the rows are read later by the
+     * export writer in its own read-only transaction
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            String search,
+            PaymentStatus status,
+            LocalDate fromDate,
+            LocalDate toDate,
+            String paymentMethod,
+            ExportFormat format,
+            String acceptEncoding) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date cannot be after to date.");
+        }
+
+        log.info("Admin exporting payments as {} - search: {}, status: {}, fromDate: {}, toDate: {}, paymentMethod: {}",
+                format, search, status, fromDate, toDate, paymentMethod);
+        return streamingExportWriter.stream("payments", format, acceptEncoding, EXPORT_COLUMNS,
+                () -> adminPaymentRepository.streamPaymentsForExport(search, status, paymentMethod, fromDate, toDate));
+    }
 }
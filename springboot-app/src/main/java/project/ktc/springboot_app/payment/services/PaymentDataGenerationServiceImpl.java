@@ -12,6 +12,7 @@ import project.ktc.springboot_app.payment.dto.SampleDataGenerationDTO;
 import project.ktc.springboot_app.payment.entity.Payment;
 import project.ktc.springboot_app.payment.interfaces.PaymentDataGenerationService;
 import project.ktc.springboot_app.payment.repositories.PaymentRepository;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 
 import java.math.BigDecimal;
@@ -31,6 +32,7 @@ public class PaymentDataGenerationServiceImpl implements PaymentDataGenerationSe
   private final PaymentRepository paymentRepository;
   private final UserRepository userRepository;
   private final CourseRepository courseRepository;
+  private final RevenueRollupService revenueRollupService;
   private final Random random = new Random();
 
   // Minimum payment count threshold to consider data sufficient
@@ -108,6 +110,10 @@ public class PaymentDataGenerationServiceImpl implements PaymentDataGenerationSe
 
       log.info("Successfully generated {} sample payments", savedPayments.size());
 
+      // Sample payments bypass the completion flow, so refresh the rollups in one pass
+      paymentRepository.flush();
+      revenueRollupService.rebuild();
+
       return SampleDataGenerationDTO.builder()
           .success(true)
           .message("Sample payment data generated successfully")
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import project.ktc.springboot_app.auth.entitiy.User;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.email.interfaces.EmailService;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 import project.ktc.springboot_app.course.entity.Course;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
@@ -23,6 +24,7 @@ import project.ktc.springboot_app.log.mapper.PaymentLogMapper;
 import project.ktc.springboot_app.utils.SecurityUtil;
 import project.ktc.springboot_app.stripe.services.StripePaymentDetailsService;
 import project.ktc.springboot_app.payment.interfaces.PaymentService;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -45,6 +47,8 @@ public class PaymentServiceImp implements PaymentService {
     private final CourseRepository courseRepository;
     private final SystemLogHelper systemLogHelper;
     private final StripePaymentDetailsService stripePaymentDetailsService;
+    private final RevenueRollupService revenueRollupService;
+    private final EmailService emailService;
 
     @Override
     public void updatePaymentStatusFromWebhook(String paymentId, String status, String stripeSessionId) {
@@ -69,6 +73,13 @@ public class PaymentServiceImp implements PaymentService {
 
                 Payment updatedPayment = paymentRepository.save(payment);
 
+                // Keep revenue rollups in step with the status change, and queue the
+                // confirmation email in the outbox within the same transaction
+                if ("COMPLETED".equals(status) && oldStatus != Payment.PaymentStatus.COMPLETED) {
+                    revenueRollupService.recordPaymentCompleted(updatedPayment);
+                    queuePaymentConfirmationEmail(updatedPayment, stripeSessionId);
+                }
+
                 // Capture new values for logging
                 var newPaymentLog = PaymentLogMapper.toLogDto(updatedPayment);
 
@@ -233,6 +244,30 @@ public class PaymentServiceImp implements PaymentService {
         }
     }
 
+    /**
+     * Write the payment confirmation email to the outbox. Failures propagate so
+     * that the status change rolls back and the webhook event is retried.
+     */
+    private void queuePaymentConfirmationEmail(Payment payment, String stripeSessionId) {
+        User user = payment.getUser();
+        Course course = payment.getCourse();
+
+        emailService.queuePaymentConfirmationEmail(
+                user.getEmail(),
+                user.getName(),
+                course.getTitle(),
+                String.format("https://ktc-learning.com/courses/%s", course.getId()),
+                course.getInstructor() != null ? course.getInstructor().getName() : "KTC Learning",
+                course.getLevel() != null ? course.getLevel().toString() : "Beginner",
+                "2-3 hours",
+                "10-15",
+                String.format("$%.2f", payment.getAmount().doubleValue()),
+                stripeSessionId,
+                "Card",
+                payment.getPaidAt());
+        log.info("Payment confirmation email queued for: {}", user.getEmail());
+    }
+
     /**
      * Helper method to get current user for logging purposes
      * Returns a system user if no authenticated user is available (e.g., webhook
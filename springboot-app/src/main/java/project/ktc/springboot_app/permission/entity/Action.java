@@ -1,6 +1,8 @@
 package project.ktc.springboot_app.permission.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import project.ktc.springboot_app.entity.BaseEntity;
 
@@ -15,6 +17,8 @@ import java.time.LocalDateTime;
  * DELETE, etc.)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.action")
 @Table(name = "actions")
 @Data
 @Builder
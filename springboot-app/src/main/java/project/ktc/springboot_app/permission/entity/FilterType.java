@@ -1,6 +1,8 @@
 package project.ktc.springboot_app.permission.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import project.ktc.springboot_app.entity.BaseEntity;
 
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
  * "filter-type-001")
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.filter-type")
 @Table(name = "filter_types")
 @Data
 @Builder
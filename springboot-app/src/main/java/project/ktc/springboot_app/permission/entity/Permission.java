@@ -1,6 +1,8 @@
 package project.ktc.springboot_app.permission.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import project.ktc.springboot_app.entity.BaseEntity;
 
@@ -14,6 +16,8 @@ import java.time.LocalDateTime;
  * Represents a permission as a combination of resource and action
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.permission")
 @Table(name = "permissions", uniqueConstraints = {
         @UniqueConstraint(name = "unique_resource_action", columnNames = { "resource_id", "action_id" })
 })
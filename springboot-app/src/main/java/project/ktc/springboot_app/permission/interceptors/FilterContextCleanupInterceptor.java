@@ -6,18 +6,30 @@ import lombok.extern.slf4j.Slf4j;
 import project.ktc.springboot_app.security.CustomPermissionEvaluator;
 
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
 /**
- * Interceptor to clean up thread-local context after request processing
+ * Interceptor to clean up thread-local context after request processing.
+ * Async requests (streamed exports) release the container thread without
+ * afterCompletion, so the context is also cleared when async handling starts.
  */
 @Component
 @Slf4j
-public class FilterContextCleanupInterceptor implements HandlerInterceptor {
+public class FilterContextCleanupInterceptor implements AsyncHandlerInterceptor {
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
             Object handler, Exception ex) throws Exception {
+        clear(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) throws Exception {
+        clear(request);
+    }
+
+    private void clear(HttpServletRequest request) {
         try {
             // Clean up thread-local context to prevent memory leaks
             CustomPermissionEvaluator.EffectiveFilterContext.clear();
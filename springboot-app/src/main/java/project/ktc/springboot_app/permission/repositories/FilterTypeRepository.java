@@ -1,7 +1,10 @@
 package project.ktc.springboot_app.permission.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import project.ktc.springboot_app.permission.entity.FilterType;
 
@@ -19,6 +22,7 @@ public interface FilterTypeRepository extends JpaRepository<FilterType, String>
      * @param name the filter type name
      * @return optional filter type
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<FilterType> findByName(String name);
 
     /**
@@ -27,6 +31,7 @@ public interface FilterTypeRepository extends JpaRepository<FilterType, String>
      * @param name the filter type name
      * @return optional filter type (case-insensitive)
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<FilterType> findByNameIgnoreCase(String name);
 
     /**
@@ -42,6 +47,7 @@ public interface FilterTypeRepository extends JpaRepository<FilterType, String>
      * 
      * @return the ALL filter type
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT ft FROM FilterType ft WHERE ft.id = 'filter-type-001'")
     Optional<FilterType> getAllFilterType();
 
@@ -50,6 +56,7 @@ public interface FilterTypeRepository extends JpaRepository<FilterType, String>
      * 
      * @return the OWN filter type
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT ft FROM FilterType ft WHERE ft.id = 'filter-type-002'")
     Optional<FilterType> getOwnFilterType();
 }
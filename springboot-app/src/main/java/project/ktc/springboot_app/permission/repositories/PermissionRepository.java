@@ -4,8 +4,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,6 +23,7 @@ public interface PermissionRepository extends JpaRepository<Permission, String>
         /**
          * Find permission by resource name and action name
          */
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         @Query("SELECT p FROM Permission p " +
                         "JOIN p.resource r " +
                         "JOIN p.action a " +
@@ -34,6 +38,7 @@ public interface PermissionRepository extends JpaRepository<Permission, String>
         /**
          * Find permission by permission key
          */
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
         @Query("SELECT p FROM Permission p " +
                         "WHERE p.permissionKey = :permissionKey " +
                         "AND p.isActive = true")
@@ -3,8 +3,11 @@ package project.ktc.springboot_app.permission.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,12 +22,14 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
     /**
      * Find all active resources
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Resource r WHERE r.isActive = true ORDER BY r.name")
     List<Resource> findAllActive();
 
     /**
      * Find all root resources (resources without parent)
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Resource r WHERE r.parentResource IS NULL AND r.isActive = true ORDER BY r.name")
     List<Resource> findAllRootResources();
 
@@ -55,6 +60,7 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
     /**
      * Find all resources with their parent-child relationships for building trees
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Resource r LEFT JOIN FETCH r.parentResource WHERE r.isActive = true ORDER BY r.name")
     List<Resource> findAllWithParents();
 
@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import project.ktc.springboot_app.common.jpa.NaturalIdLookup;
 import project.ktc.springboot_app.entity.UserRole;
 import project.ktc.springboot_app.permission.dto.CreateRoleRequest;
 import project.ktc.springboot_app.permission.dto.RoleWithPermissionsDto;
@@ -31,6 +32,7 @@ import project.ktc.springboot_app.user_role.repositories.UserRoleRepository;
 public class RoleServiceImp implements RoleService {
 
     private final UserRoleRepository userRoleRepository;
+    private final NaturalIdLookup naturalIdLookup;
     private final RolePermissionRepository rolePermissionRepository;
 
     @Override
@@ -86,14 +88,14 @@ public class RoleServiceImp implements RoleService {
     @Override
     public UserRole findByRoleType(String roleType) {
         log.debug("Finding role by type: {}", roleType);
-        return userRoleRepository.findByRole(roleType).orElse(null);
+        return naturalIdLookup.find(UserRole.class, roleType).orElse(null);
     }
 
     @Override
     public boolean existsByRoleName(String roleName) {
         try {
             String roleType = roleName.toUpperCase().trim();
-            boolean exists = userRoleRepository.findByRole(roleType).isPresent();
+            boolean exists = naturalIdLookup.find(UserRole.class, roleType).isPresent();
             log.debug("Role existence check for '{}': {}", roleName, exists);
             return exists;
         } catch (IllegalArgumentException e) {
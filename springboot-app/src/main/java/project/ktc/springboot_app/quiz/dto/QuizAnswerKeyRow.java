@@ -0,0 +1,7 @@
+package project.ktc.springboot_app.quiz.dto;
+
+/**
+ * One question of a lesson's answer key
+ */
+public record QuizAnswerKeyRow(String questionId, String correctAnswer) {
+}
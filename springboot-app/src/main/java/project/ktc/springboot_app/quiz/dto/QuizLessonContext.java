@@ -0,0 +1,12 @@
+package project.ktc.springboot_app.quiz.dto;
+
+/**
+ * Lesson fields a quiz submission is checked against
+ */
+public record QuizLessonContext(
+        String lessonId,
+        String sectionId,
+        String courseId,
+        String lessonTypeId,
+        Integer quizVersion) {
+}
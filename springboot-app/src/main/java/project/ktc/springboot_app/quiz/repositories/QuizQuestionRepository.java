@@ -3,11 +3,13 @@ package project.ktc.springboot_app.quiz.repositories;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import project.ktc.springboot_app.entity.QuizQuestion;
+import project.ktc.springboot_app.quiz.dto.QuizAnswerKeyRow;
 
 import java.util.List;
 
@@ -46,9 +48,13 @@ public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Stri
             @Param("instructorId") String instructorId);
 
     /**
-     * Delete all questions by lesson ID
+     * Delete all questions by lesson ID in one statement
+     *
+     * @return number of questions deleted
      */
-    void deleteByLessonId(String lessonId);
+    @Modifying
+    @Query("DELETE FROM QuizQuestion q WHERE q.lesson.id = :lessonId")
+    int deleteByLessonId(@Param("lessonId") String lessonId);
 
     /**
      * Find all quiz questions for a lesson ordered by creation date
@@ -79,4 +85,13 @@ public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Stri
         @Param("instructorId") String instructorId,
         Pageable pageable);
 
+    /**
+     * Question ids and correct options only, for building the answer key
+     */
+    @Query("SELECT new project.ktc.springboot_app.quiz.dto.QuizAnswerKeyRow(qq.id, qq.correctAnswer) " +
+            "FROM QuizQuestion qq " +
+            "WHERE qq.lesson.id = :lessonId " +
+            "ORDER BY qq.createdAt ASC, qq.id ASC")
+    List<QuizAnswerKeyRow> findAnswerKeyRowsByLessonId(@Param("lessonId") String lessonId);
+
 }
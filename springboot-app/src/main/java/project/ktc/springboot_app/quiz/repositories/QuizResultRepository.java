@@ -1,15 +1,21 @@
 package project.ktc.springboot_app.quiz.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.ktc.springboot_app.entity.QuizResult;
 import project.ktc.springboot_app.lesson.dto.StudentSubmissionDto;
 import project.ktc.springboot_app.lesson.dto.SubmissionSummaryDto;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +28,24 @@ public interface QuizResultRepository extends JpaRepository<QuizResult, String>
         Optional<QuizResult> findByUserIdAndLessonId(@Param("userId") String userId,
                         @Param("lessonId") String lessonId);
 
+        /**
+         * Insert or overwrite the user's result for a lesson in one statement.
+         * The id is only used when no result exists yet.
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "quiz_results"))
+        @Query(value = "INSERT INTO quiz_results (id, user_id, lesson_id, score, answers, completed_at, " +
+                        "created_at, updated_at) " +
+                        "VALUES (:id, :userId, :lessonId, :score, :answers, :completedAt, :completedAt, :completedAt) " +
+                        "ON DUPLICATE KEY UPDATE score = VALUES(score), answers = VALUES(answers), " +
+                        "completed_at = VALUES(completed_at), updated_at = VALUES(updated_at)", nativeQuery = true)
+        int upsertResult(@Param("id") String id,
+                        @Param("userId") String userId,
+                        @Param("lessonId") String lessonId,
+                        @Param("score") BigDecimal score,
+                        @Param("answers") String answers,
+                        @Param("completedAt") LocalDateTime completedAt);
+
         /**
          * Check if user has submitted quiz for a specific lesson
          */
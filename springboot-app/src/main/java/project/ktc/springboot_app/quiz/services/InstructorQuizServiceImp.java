@@ -20,6 +20,7 @@ import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.entity.QuizQuestion;
 import project.ktc.springboot_app.entity.QuizResult;
+import project.ktc.springboot_app.lesson.entity.Lesson;
 import project.ktc.springboot_app.quiz.dto.QuizScoreResponseDto;
 import project.ktc.springboot_app.quiz.dto.QuizScoreDetailResponseDto;
 import project.ktc.springboot_app.quiz.interfaces.InstructorQuizService;
@@ -43,6 +44,7 @@ public class InstructorQuizServiceImp implements InstructorQuizService {
         private final QuizQuestionRepository quizQuestionRepository;
         private final UserRepository userRepository;
         private final ObjectMapper objectMapper;
+        private final QuizAnswerKeyCache answerKeyCache;
 
         @Override
         public ResponseEntity<ApiResponse<PaginatedResponse<QuizScoreResponseDto>>> getStudentQuizScores(
@@ -122,11 +124,11 @@ public class InstructorQuizServiceImp implements InstructorQuizService {
         private QuizScoreDetailResponseDto mapToQuizScoreDetailDto(QuizResult quizResult,
                         List<QuizQuestion> quizQuestions,
                         Map<String, String> studentAnswers) {
-                // Get total questions for this lesson
-                Long totalQuestions = quizResultRepository.countQuestionsByLessonId(quizResult.getLesson().getId());
+                // The questions are already loaded, no need to count them again
+                int totalQuestions = quizQuestions.size();
 
                 // Calculate correct answers based on score percentage
-                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions.intValue());
+                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions);
 
                 // Check if user can review this quiz (for now, always true)
                 Boolean canReview = true;
@@ -151,7 +153,7 @@ public class InstructorQuizServiceImp implements InstructorQuizService {
                                                 .title(quizResult.getLesson().getSection().getCourse().getTitle())
                                                 .build())
                                 .score(quizResult.getScore())
-                                .totalQuestions(totalQuestions.intValue())
+                                .totalQuestions(totalQuestions)
                                 .correctAnswers(correctAnswers)
                                 .completedAt(quizResult.getCompletedAt())
                                 .canReview(canReview)
@@ -215,11 +217,12 @@ public class InstructorQuizServiceImp implements InstructorQuizService {
         }
 
         private QuizScoreResponseDto mapToQuizScoreDto(QuizResult quizResult) {
-                // Get total questions for this lesson
-                Long totalQuestions = quizResultRepository.countQuestionsByLessonId(quizResult.getLesson().getId());
+                // Get total questions from the cached answer key rather than a count per row
+                Lesson lesson = quizResult.getLesson();
+                int totalQuestions = answerKeyCache.get(lesson.getId(), lesson.getQuizVersion()).size();
 
                 // Calculate correct answers based on score percentage
-                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions.intValue());
+                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions);
 
                 // Check if user can review this quiz (for now, always true)
                 Boolean canReview = true;
@@ -239,7 +242,7 @@ public class InstructorQuizServiceImp implements InstructorQuizService {
                                                 .title(quizResult.getLesson().getSection().getCourse().getTitle())
                                                 .build())
                                 .score(quizResult.getScore())
-                                .totalQuestions(totalQuestions.intValue())
+                                .totalQuestions(totalQuestions)
                                 .correctAnswers(correctAnswers)
                                 .completedAt(quizResult.getCompletedAt())
                                 .canReview(canReview)
@@ -0,0 +1,84 @@
+package project.ktc.springboot_app.quiz.services;
+
+import project.ktc.springboot_app.quiz.dto.QuizAnswerKeyRow;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable answer key of one quiz version: question ids and their correct
+ * option keys, held in parallel arrays in question order. Shared by every
+ * submission for the lesson, so it must never be modified after build.
+ */
+public final class QuizAnswerKey {
+
+    private final String lessonId;
+    private final int version;
+    private final String[] questionIds;
+    private final String[] correctAnswers;
+
+    private QuizAnswerKey(String lessonId, int version, String[] questionIds, String[] correctAnswers) {
+        this.lessonId = lessonId;
+        this.version = version;
+        this.questionIds = questionIds;
+        this.correctAnswers = correctAnswers;
+    }
+
+    public static QuizAnswerKey of(String lessonId, int version, List<QuizAnswerKeyRow> rows) {
+        String[] ids = new String[rows.size()];
+        String[] answers = new String[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            QuizAnswerKeyRow row = rows.get(i);
+            ids[i] = row.questionId();
+            answers[i] = row.correctAnswer();
+        }
+        return new QuizAnswerKey(lessonId, version, ids, answers);
+    }
+
+    /**
+     * Outcome of grading one submission
+     *
+     * @param missingQuestionId first question without an answer, or null when
+     *                          every question was answered
+     */
+    public record Grade(int correctAnswers, int totalQuestions, String missingQuestionId) {
+
+        public boolean isComplete() {
+            return missingQuestionId == null;
+        }
+    }
+
+    /**
+     * Grade submitted answers in one pass over the key. Answers for
+     * questions that are not in the key are ignored.
+     */
+    public Grade grade(Map<String, String> submittedAnswers) {
+        int correct = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            String answer = submittedAnswers.get(questionIds[i]);
+            if (answer == null && !submittedAnswers.containsKey(questionIds[i])) {
+                return new Grade(correct, questionIds.length, questionIds[i]);
+            }
+            if (correctAnswers[i].equals(answer)) {
+                correct++;
+            }
+        }
+        return new Grade(correct, questionIds.length, null);
+    }
+
+    public String getLessonId() {
+        return lessonId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public boolean isEmpty() {
+        return questionIds.length == 0;
+    }
+}
@@ -0,0 +1,127 @@
+package project.ktc.springboot_app.quiz.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.ktc.springboot_app.quiz.repositories.QuizQuestionRepository;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache of quiz answer keys, one per lesson.
+ *
+ * Entries are tagged with the lesson's quiz_version and only served for that
+ * version, so a node never grades against an outdated key even when the quiz
+ * was edited through another node. Callers read the version in the same
+ * transaction as they load the key, which keeps the two consistent.
+ *
+ * Concurrent misses for one lesson share a single load, so a whole class
+ * submitting at once costs one query per node per quiz version.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class QuizAnswerKeyCache {
+
+    private static final int MAX_ENTRIES = 5_000;
+
+    private final QuizQuestionRepository quizQuestionRepository;
+
+    private final ConcurrentHashMap<String, QuizAnswerKey> keys = new ConcurrentHashMap<>();
+
+    /** Loads in progress, so concurrent misses for one quiz version share a query */
+    private final ConcurrentHashMap<LoadKey, CompletableFuture<QuizAnswerKey>> loading = new ConcurrentHashMap<>();
+
+    private record LoadKey(String lessonId, int version) {
+    }
+
+    /**
+     * Answer key for the given quiz version, loading it when the cached one
+     * is missing or from another version. Must be called inside the
+     * transaction that read the version.
+     */
+    public QuizAnswerKey get(String lessonId, int version) {
+        QuizAnswerKey cached = keys.get(lessonId);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+
+        // The first miss for this version loads it; concurrent misses wait for
+        // that load instead of holding a map bin lock across the query
+        LoadKey loadKey = new LoadKey(lessonId, version);
+        CompletableFuture<QuizAnswerKey> load = new CompletableFuture<>();
+        CompletableFuture<QuizAnswerKey> inFlight = loading.putIfAbsent(loadKey, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            // A load that finished between the first check and the claim has published already
+            cached = keys.get(lessonId);
+            if (cached != null && cached.getVersion() == version) {
+                load.complete(cached);
+                return cached;
+            }
+
+            QuizAnswerKey loaded = QuizAnswerKey.of(lessonId, version,
+                    quizQuestionRepository.findAnswerKeyRowsByLessonId(lessonId));
+            log.debug("Loaded answer key for lesson {} version {} ({} questions)", lessonId, version, loaded.size());
+            // A reader on an older snapshot must not replace a newer key
+            keys.compute(lessonId, (id, existing) -> existing != null && existing.getVersion() > version
+                    ? existing
+                    : loaded);
+            load.complete(loaded);
+            trim();
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(loadKey, load);
+        }
+    }
+
+    /**
+     * Drop the local key once the surrounding transaction commits. Other
+     * nodes notice the new version on their next read.
+     */
+    public void evictAfterCommit(String lessonId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.remove(lessonId);
+                }
+            });
+        } else {
+            keys.remove(lessonId);
+        }
+    }
+
+    private QuizAnswerKey await(CompletableFuture<QuizAnswerKey> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void trim() {
+        if (keys.size() <= MAX_ENTRIES) {
+            return;
+        }
+        Iterator<String> iterator = keys.keySet().iterator();
+        while (keys.size() > MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class QuizServiceImp implements QuizService {
     private final QuizQuestionRepository quizQuestionRepository;
     private final InstructorLessonRepository lessonRepository;
     private final ObjectMapper objectMapper;
+    private final QuizAnswerKeyCache answerKeyCache;
 
     @Override
     public QuizResponseDto createQuiz(CreateQuizDto createQuizDto, String instructorId) {
@@ -83,6 +84,7 @@ public class QuizServiceImp implements QuizService {
 
         // 5. Save all quiz questions
         List<QuizQuestion> savedQuestions = quizQuestionRepository.saveAll(quizQuestions);
+        quizQuestionsChanged(lesson.getId());
 
         // 6. Convert to response DTOs
         for (QuizQuestion savedQuestion : savedQuestions) {
@@ -130,18 +132,14 @@ public class QuizServiceImp implements QuizService {
             throw new ValidationException("Can only update quiz for lessons of type QUIZ");
         }
 
-        // 4. Get existing quiz questions
-        List<QuizQuestion> existingQuestions = quizQuestionRepository.findByLessonId(lessonId);
-
-        // 5. Statistics tracking
+        // 4. Statistics tracking
         int questionsUpdated = 0;
         int questionsAdded = 0;
-        int questionsRemoved = existingQuestions.size();
 
-        // 6. Delete all existing questions (full replacement)
-        if (!existingQuestions.isEmpty()) {
-            quizQuestionRepository.deleteAll(existingQuestions);
-            log.info("Deleted {} existing questions for lesson: {}", existingQuestions.size(), lessonId);
+        // 5-6. Delete all existing questions in one statement (full replacement)
+        int questionsRemoved = quizQuestionRepository.deleteByLessonId(lessonId);
+        if (questionsRemoved > 0) {
+            log.info("Deleted {} existing questions for lesson: {}", questionsRemoved, lessonId);
         }
 
         // 7. Create new questions from DTO
@@ -168,6 +166,7 @@ public class QuizServiceImp implements QuizService {
 
         // 8. Save all new quiz questions
         List<QuizQuestion> savedQuestions = quizQuestionRepository.saveAll(newQuestions);
+        quizQuestionsChanged(lessonId);
         questionsAdded = savedQuestions.size();
 
         log.info("Quiz update completed for lesson: {}. Added: {}, Removed: {}",
@@ -198,6 +197,14 @@ public class QuizServiceImp implements QuizService {
         return ApiResponseUtil.success(responseDto, "Quiz updated successfully");
     }
 
+    /**
+     * New quiz version, so no node keeps grading against the old answer key
+     */
+    private void quizQuestionsChanged(String lessonId) {
+        lessonRepository.bumpQuizVersion(lessonId);
+        answerKeyCache.evictAfterCommit(lessonId);
+    }
+
     @Override
     public boolean validateLessonOwnership(String lessonId, String instructorId) {
         return lessonRepository.existsByIdAndSectionCourseInstructorId(lessonId, instructorId);
@@ -23,6 +23,7 @@ import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.entity.QuizQuestion;
 import project.ktc.springboot_app.entity.QuizResult;
+import project.ktc.springboot_app.lesson.entity.Lesson;
 import project.ktc.springboot_app.quiz.dto.QuizScoreResponseDto;
 import project.ktc.springboot_app.quiz.dto.StudentQuizStatsDto;
 import project.ktc.springboot_app.quiz.dto.QuizScoreDetailResponseDto;
@@ -46,6 +47,7 @@ public class StudentQuizServiceImp implements StudentQuizService {
         private final QuizQuestionRepository quizQuestionRepository;
         private final UserRepository userRepository;
         private final ObjectMapper objectMapper;
+        private final QuizAnswerKeyCache answerKeyCache;
 
         @Override
         public ResponseEntity<ApiResponse<PaginatedResponse<QuizScoreResponseDto>>> getQuizScores(Pageable pageable) {
@@ -115,11 +117,11 @@ public class StudentQuizServiceImp implements StudentQuizService {
         private QuizScoreDetailResponseDto mapToQuizScoreDetailDto(QuizResult quizResult,
                         List<QuizQuestion> quizQuestions,
                         Map<String, String> studentAnswers) {
-                // Get total questions for this lesson
-                Long totalQuestions = quizResultRepository.countQuestionsByLessonId(quizResult.getLesson().getId());
+                // The questions are already loaded, no need to count them again
+                int totalQuestions = quizQuestions.size();
 
                 // Calculate correct answers based on score percentage
-                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions.intValue());
+                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions);
 
                 // Check if user can review this quiz (for now, always true)
                 Boolean canReview = true;
@@ -144,7 +146,7 @@ public class StudentQuizServiceImp implements StudentQuizService {
                                                 .title(quizResult.getLesson().getSection().getCourse().getTitle())
                                                 .build())
                                 .score(quizResult.getScore())
-                                .totalQuestions(totalQuestions.intValue())
+                                .totalQuestions(totalQuestions)
                                 .correctAnswers(correctAnswers)
                                 .completedAt(quizResult.getCompletedAt())
                                 .canReview(canReview)
@@ -208,11 +210,12 @@ public class StudentQuizServiceImp implements StudentQuizService {
         }
 
         private QuizScoreResponseDto mapToQuizScoreDto(QuizResult quizResult) {
-                // Get total questions for this lesson
-                Long totalQuestions = quizResultRepository.countQuestionsByLessonId(quizResult.getLesson().getId());
+                // Get total questions from the cached answer key rather than a count per row
+                Lesson lesson = quizResult.getLesson();
+                int totalQuestions = answerKeyCache.get(lesson.getId(), lesson.getQuizVersion()).size();
 
                 // Calculate correct answers based on score percentage
-                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions.intValue());
+                Integer correctAnswers = calculateCorrectAnswers(quizResult.getScore(), totalQuestions);
 
                 // Check if user can review this quiz (for now, always true)
                 Boolean canReview = true;
@@ -232,7 +235,7 @@ public class StudentQuizServiceImp implements StudentQuizService {
                                                 .title(quizResult.getLesson().getSection().getCourse().getTitle())
                                                 .build())
                                 .score(quizResult.getScore())
-                                .totalQuestions(totalQuestions.intValue())
+                                .totalQuestions(totalQuestions)
                                 .correctAnswers(correctAnswers)
                                 .completedAt(quizResult.getCompletedAt())
                                 .canReview(canReview)
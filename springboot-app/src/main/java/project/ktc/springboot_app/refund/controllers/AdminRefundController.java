@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.time.LocalDate;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -16,11 +17,15 @@ import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.export.ExportFormat;
 import project.ktc.springboot_app.refund.dto.AdminRefundDetailsResponseDto;
 import project.ktc.springboot_app.refund.dto.AdminRefundResponseDto;
 import project.ktc.springboot_app.refund.dto.AdminRefundStatisticsResponseDto;
@@ -135,6 +140,48 @@ public class AdminRefundController {
                 return adminRefundService.getAllRefunds(search, status, fromDate, toDate);
         }
 
+        /**
+         * Stream all refunds matching the filters as a file download
+         * 
+         * @return ResponseEntity whose body writes the refunds as they are read
+         */
+        @GetMapping("/export")
+        @Operation(summary = "Export refunds", description = """
+                        Streams every refund matching the filters as a CSV or NDJSON download.
+
+                        **Features:**
+                        - Rows are written as they are read from the database, so exports of any size
+                          use constant memory and start downloading immediately
+                        - Compressed with gzip when the client sends `Accept-Encoding: gzip`
+                        - Same search and filter options as the list endpoints
+
+                        **Admin Only:**
+                        - This endpoint requires ADMIN role
+                        """)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid format or date range"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        public ResponseEntity<StreamingResponseBody> exportRefunds(
+                        @Parameter(description = "Search by refund ID, user name, or reason") @RequestParam(required = false) String search,
+
+                        @Parameter(description = "Filter by refund status", example = "COMPLETED") @RequestParam(required = false) project.ktc.springboot_app.refund.entity.Refund.RefundStatus status,
+
+                        @Parameter(description = "Filter by creation date from (ISO format: yyyy-MM-dd)", example = "2024-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+
+                        @Parameter(description = "Filter by creation date to (ISO format: yyyy-MM-dd)", example = "2024-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+
+                        @Parameter(description = "Output format", example = "csv", schema = @io.swagger.v3.oas.annotations.media.Schema(allowableValues = {
+                                        "csv", "ndjson" })) @RequestParam(defaultValue = "csv") String format,
+
+                        @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+                return adminRefundService.exportRefunds(search, status, fromDate, toDate,
+                                ExportFormat.fromParam(format), acceptEncoding);
+        }
+
         /**
          * Get refund details by ID
          * 
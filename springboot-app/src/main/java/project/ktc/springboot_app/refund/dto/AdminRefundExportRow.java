@@ -0,0 +1,25 @@
+package project.ktc.springboot_app.refund.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import project.ktc.springboot_app.refund.entity.Refund.RefundStatus;
+
+/**
+ * One refund as read by the streamed admin export; selected as a flat row
+ * so the cursor never triggers association loads
+ */
+public record AdminRefundExportRow(
+                String id,
+                String paymentId,
+                String userId,
+                String userName,
+                String userEmail,
+                String courseTitle,
+                BigDecimal amount,
+                RefundStatus status,
+                String reason,
+                String rejectedReason,
+                LocalDateTime requestedAt,
+                LocalDateTime processedAt) {
+}
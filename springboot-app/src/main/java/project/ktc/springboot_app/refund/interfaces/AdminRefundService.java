@@ -1,11 +1,14 @@
 package project.ktc.springboot_app.refund.interfaces;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.common.export.ExportFormat;
 import project.ktc.springboot_app.refund.dto.AdminRefundDetailsResponseDto;
 import project.ktc.springboot_app.refund.dto.AdminRefundResponseDto;
 import project.ktc.springboot_app.refund.dto.AdminRefundStatisticsResponseDto;
@@ -75,4 +78,19 @@ public interface AdminRefundService {
      * @return ResponseEntity containing refund counts by status
      */
     ResponseEntity<ApiResponse<AdminRefundStatisticsResponseDto>> getRefundStatistics();
+
+    /**
+     * Stream refunds matching the filters as a CSV or NDJSON download
+     * 
+     * @param acceptEncoding Request Accept-Encoding header; gzip is applied when
+     *                       accepted
+     * @return ResponseEntity whose body writes the rows as they are read
+     */
+    ResponseEntity<StreamingResponseBody> exportRefunds(
+            String search,
+            project.ktc.springboot_app.refund.entity.Refund.RefundStatus status,
+            LocalDate fromDate,
+            LocalDate toDate,
+            ExportFormat format,
+            String acceptEncoding);
 }
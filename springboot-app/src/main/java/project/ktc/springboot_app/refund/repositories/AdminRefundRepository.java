@@ -3,13 +3,19 @@ package project.ktc.springboot_app.refund.repositories;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import project.ktc.springboot_app.common.export.StreamingExportWriter;
+import project.ktc.springboot_app.refund.dto.AdminRefundExportRow;
 import project.ktc.springboot_app.refund.entity.Refund;
 
 @Repository
@@ -124,4 +130,29 @@ public interface AdminRefundRepository extends RefundRepository {
                         @Param("fromDate") LocalDate fromDate,
                         @Param("toDate") LocalDate toDate);
 
+        /**
+         * Stream refunds matching the admin filters for export, newest first.
+         * Read through a forward-only cursor; close the stream when done.
+         */
+        @Query("SELECT new project.ktc.springboot_app.refund.dto.AdminRefundExportRow(" +
+                        "r.id, p.id, u.id, u.name, u.email, c.title, r.amount, r.status, r.reason, " +
+                        "r.rejectedReason, r.requestedAt, r.processedAt) " +
+                        "FROM Refund r " +
+                        "LEFT JOIN r.payment p " +
+                        "LEFT JOIN p.user u " +
+                        "LEFT JOIN p.course c " +
+                        "WHERE (:search IS NULL OR :search = '' OR " +
+                        "LOWER(r.id) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                        "LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                        "LOWER(r.reason) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+                        "AND (:status IS NULL OR r.status = :status) " +
+                        "AND (:fromDate IS NULL OR DATE(r.requestedAt) >= :fromDate) " +
+                        "AND (:toDate IS NULL OR DATE(r.requestedAt) <= :toDate) " +
+                        "ORDER BY r.requestedAt DESC")
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingExportWriter.STREAMING_FETCH_SIZE))
+        Stream<AdminRefundExportRow> streamRefundsForExport(
+                        @Param("search") String search,
+                        @Param("status") Refund.RefundStatus status,
+                        @Param("fromDate") LocalDate fromDate,
+                        @Param("toDate") LocalDate toDate);
 }
@@ -8,6 +8,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
@@ -15,6 +17,9 @@ import java.time.format.DateTimeParseException;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.common.export.ExportColumn;
+import project.ktc.springboot_app.common.export.ExportFormat;
+import project.ktc.springboot_app.common.export.StreamingExportWriter;
 import project.ktc.springboot_app.earning.entity.InstructorEarning;
 import project.ktc.springboot_app.earning.repositories.InstructorEarningRepository;
 import project.ktc.springboot_app.enrollment.entity.Enrollment;
@@ -23,6 +28,7 @@ import project.ktc.springboot_app.payment.entity.Payment;
 import project.ktc.springboot_app.refund.dto.AdminRefundDetailsResponseDto;
 import project.ktc.springboot_app.refund.dto.AdminRefundResponseDto;
 import project.ktc.springboot_app.refund.dto.AdminRefundStatisticsResponseDto;
+import project.ktc.springboot_app.refund.dto.AdminRefundExportRow;
 import project.ktc.springboot_app.refund.dto.RefundStatusUpdateResponseDto;
 import project.ktc.springboot_app.refund.dto.UpdateRefundStatusDto;
 import project.ktc.springboot_app.refund.entity.Refund;
@@ -41,11 +47,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AdminRefundServiceImp implements AdminRefundService {
 
+    private static final List<ExportColumn<AdminRefundExportRow>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", AdminRefundExportRow::id),
+            ExportColumn.of("paymentId", AdminRefundExportRow::paymentId),
+            ExportColumn.of("userId", AdminRefundExportRow::userId),
+            ExportColumn.of("userName", AdminRefundExportRow::userName),
+            ExportColumn.of("userEmail", AdminRefundExportRow::userEmail),
+            ExportColumn.of("courseTitle", AdminRefundExportRow::courseTitle),
+            ExportColumn.of("amount", AdminRefundExportRow::amount),
+            ExportColumn.of("status", AdminRefundExportRow::status),
+            ExportColumn.of("reason", AdminRefundExportRow::reason),
+            ExportColumn.of("rejectedReason", AdminRefundExportRow::rejectedReason),
+            ExportColumn.of("requestedAt", AdminRefundExportRow::requestedAt),
+            ExportColumn.of("processedAt", AdminRefundExportRow::processedAt));
+
     private final AdminRefundRepository adminRefundRepository;
     private final RefundRepository refundRepository;
     private final InstructorEarningRepository instructorEarningRepository;
     private final StripePaymentDetailsService stripePaymentDetailsService;
     private final EnrollmentRepository enrollmentRepository;
+    private final StreamingExportWriter streamingExportWriter;
 
     @Override
     public ResponseEntity<ApiResponse<PaginatedResponse<AdminRefundResponseDto>>> getAllRefunds(Pageable pageable) {
@@ -302,4 +323,27 @@ public class AdminRefundServiceImp implements AdminRefundService {
             return ApiResponseUtil.internalServerError("Failed to retrieve refund statistics. Please try again later.");
         }
     }
+
+    /**
+     * Only validates and builds the response; the rows are read later by the
+     * export writer in its own read-only transaction
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportRefunds(
+            String search,
+            Refund.RefundStatus status,
+            LocalDate fromDate,
+            LocalDate toDate,
+            ExportFormat format,
+            String acceptEncoding) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date cannot be after to date.");
+        }
+
+        log.info("Admin exporting refunds as {} - search: {}, status: {}, fromDate: {}, toDate: {}",
+                format, search, status, fromDate, toDate);
+        return streamingExportWriter.stream("refunds", format, acceptEncoding, EXPORT_COLUMNS,
+                () -> adminRefundRepository.streamRefundsForExport(search, status, fromDate, toDate));
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import project.ktc.springboot_app.cache.services.domain.InstructorStudentsCacheService;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.dto.PaginatedResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
@@ -31,6 +32,7 @@ import project.ktc.springboot_app.refund.entity.Refund;
 import project.ktc.springboot_app.refund.interfaces.InstructorRefundService;
 import project.ktc.springboot_app.refund.repositories.InstructorRefundRepository;
 import project.ktc.springboot_app.refund.repositories.RefundRepository;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
 import project.ktc.springboot_app.stripe.services.StripePaymentDetailsService;
 import project.ktc.springboot_app.utils.SecurityUtil;
 import project.ktc.springboot_app.notification.utils.NotificationHelper;
@@ -45,6 +47,8 @@ public class InstructorRefundServiceImp implements InstructorRefundService {
     private final InstructorEarningRepository instructorEarningRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final NotificationHelper notificationHelper;
+    private final RevenueRollupService revenueRollupService;
+    private final InstructorStudentsCacheService instructorStudentsCacheService;
 
     @Override
     public ResponseEntity<ApiResponse<PaginatedResponse<InstructorRefundResponseDto>>> getAllRefundsByInstructorId(
@@ -211,6 +215,7 @@ public class InstructorRefundServiceImp implements InstructorRefundService {
 
                     if (enrollmentOpt.isPresent()) {
                         enrollmentRepository.delete(enrollmentOpt.get());
+                        instructorStudentsCacheService.invalidateRoster(payment.getCourse().getInstructor().getId());
                         log.info("Removed enrollment for user {} from course {} due to refund completion",
                                 userId, courseId);
                     } else {
@@ -222,6 +227,11 @@ public class InstructorRefundServiceImp implements InstructorRefundService {
                     // Continue with refund processing even if enrollment removal fails
                 }
 
+                // Take the payment out of the revenue rollups before it stops counting
+                if (Payment.PaymentStatus.COMPLETED.equals(payment.getStatus())) {
+                    revenueRollupService.recordPaymentRefunded(payment);
+                }
+
                 // Update payment status to REFUNDED
                 try {
                     payment.setStatus(Payment.PaymentStatus.REFUNDED);
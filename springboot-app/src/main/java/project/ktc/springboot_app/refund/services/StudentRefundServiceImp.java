@@ -13,7 +13,7 @@ import project.ktc.springboot_app.course.entity.Course;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
 import project.ktc.springboot_app.earning.entity.InstructorEarning;
 import project.ktc.springboot_app.earning.repositories.InstructorEarningRepository;
-import project.ktc.springboot_app.enrollment.repositories.EnrollmentRepository;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.payment.entity.Payment;
 import project.ktc.springboot_app.payment.repositories.PaymentRepository;
 import project.ktc.springboot_app.refund.dto.RefundRequestDto;
@@ -41,7 +41,7 @@ public class StudentRefundServiceImp implements StudentRefundService {
     private final UserRepository userRepository;
     private final InstructorEarningRepository instructorEarningRepository;
     private final NotificationHelper notificationHelper;
-    private final EnrollmentRepository enrollmentRepository;
+    private final CourseProgressService courseProgressService;
 
     @Override
     @Transactional
@@ -181,14 +181,7 @@ public class StudentRefundServiceImp implements StudentRefundService {
      */
     private double calculateProgress(String userId, String courseId) {
         try {
-            Long completedLessons = enrollmentRepository.countCompletedLessonsByUserAndCourse(userId, courseId);
-            Long totalLessons = enrollmentRepository.countTotalLessonsByCourse(courseId);
-
-            if (totalLessons == null || totalLessons == 0) {
-                return 0.0;
-            }
-
-            double progress = (double) completedLessons / totalLessons;
+            double progress = courseProgressService.getProgress(userId, courseId);
             return BigDecimal.valueOf(progress)
                     .setScale(4, RoundingMode.HALF_UP)
                     .doubleValue();
@@ -4,6 +4,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,6 +13,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import java.util.List;
+import java.util.Map;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,7 +25,9 @@ import lombok.RequiredArgsConstructor;
 import project.ktc.springboot_app.payment.dto.SampleDataGenerationDTO;
 import project.ktc.springboot_app.payment.interfaces.PaymentDataGenerationService;
 import project.ktc.springboot_app.revenue.dto.*;
+import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.revenue.interfaces.AdminRevenueService;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
 
 @RestController
 @Tag(name = "Admin Revenue Management", description = "APIs for managing and analyzing revenue data - Admin only")
@@ -35,6 +39,7 @@ public class AdminRevenueController {
 
   private final AdminRevenueService adminRevenueService;
   private final PaymentDataGenerationService paymentDataGenerationService;
+  private final RevenueRollupService revenueRollupService;
 
   @GetMapping("/statistics")
   @Operation(summary = "Get revenue statistics overview", description = "Retrieves key revenue metrics including total revenue, growth rates, and user statistics. Revenue is calculated as 30% of completed payments.", security = @SecurityRequirement(name = "bearerAuth"))
@@ -182,4 +187,16 @@ public class AdminRevenueController {
     }
   }
 
+  @PostMapping("/rollups/rebuild")
+  @Operation(summary = "Rebuild revenue rollups", description = "Recomputes the pre-aggregated daily revenue rollups from the payments table. The dashboard endpoints read only from these rollups.", security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Revenue rollups rebuilt"),
+      @ApiResponse(responseCode = "403", description = "Access denied - Admin role required"),
+      @ApiResponse(responseCode = "500", description = "Internal server error during rebuild")
+  })
+  public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<Map<String, Integer>>> rebuildRevenueRollups() {
+    int dailyRows = revenueRollupService.rebuild();
+    return ApiResponseUtil.success(Map.of("dailyRows", dailyRows), "Revenue rollups rebuilt successfully");
+  }
+
 }
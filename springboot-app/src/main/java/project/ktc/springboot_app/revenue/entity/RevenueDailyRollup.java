@@ -0,0 +1,58 @@
+package project.ktc.springboot_app.revenue.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated revenue for one day of one dimension.
+ * Maintained incrementally from payment completion and refunds, and rebuilt
+ * from the payments table by {@link project.ktc.springboot_app.revenue.services.RevenueRollupRebuildJob}.
+ */
+@Entity
+@Table(name = "revenue_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_daily_bucket", columnNames = { "dimension_type", "dimension_id",
+                "bucket_date" })
+}, indexes = {
+        @Index(name = "idx_revenue_daily_date", columnList = "bucket_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueDailyRollup extends BaseEntity {
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension_type", nullable = false, length = 20)
+    private RevenueDimension dimensionType;
+
+    @Column(name = "dimension_id", nullable = false, length = 36)
+    @Builder.Default
+    private String dimensionId = "";
+
+    /**
+     * Platform share of the gross amount
+     */
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 4)
+    @Builder.Default
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "gross_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal grossAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    @Builder.Default
+    private Long transactionCount = 0L;
+
+    @Column(name = "distinct_users", nullable = false)
+    @Builder.Default
+    private Long distinctUsers = 0L;
+}
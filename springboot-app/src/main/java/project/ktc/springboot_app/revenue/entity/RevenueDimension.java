@@ -0,0 +1,13 @@
+package project.ktc.springboot_app.revenue.entity;
+
+/**
+ * Dimension a revenue rollup row is keyed by
+ */
+public enum RevenueDimension {
+    /** Whole platform, dimension id is empty */
+    PLATFORM,
+    /** Course category, dimension id is the category id (empty when uncategorized) */
+    CATEGORY,
+    /** Course instructor, dimension id is the instructor's user id */
+    INSTRUCTOR
+}
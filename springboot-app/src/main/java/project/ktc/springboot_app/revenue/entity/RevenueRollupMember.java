@@ -0,0 +1,61 @@
+package project.ktc.springboot_app.revenue.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-member totals inside a rollup dimension, used to keep distinct user and
+ * course counts exact under incremental updates. A member counts as present
+ * while its transaction count is above zero.
+ */
+@Entity
+@Table(name = "revenue_rollup_members", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_member", columnNames = { "dimension_type", "dimension_id", "period_key",
+                "member_type", "member_id" })
+}, indexes = {
+        @Index(name = "idx_revenue_member_spend", columnList = "dimension_type, period_key, member_type, gross_amount"),
+        @Index(name = "idx_revenue_member_period_id", columnList = "period_key, member_type, member_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueRollupMember extends BaseEntity {
+
+    /** Period key for all-time membership; daily rows use the ISO date */
+    public static final String ALL_TIME = "ALL";
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension_type", nullable = false, length = 20)
+    private RevenueDimension dimensionType;
+
+    @Column(name = "dimension_id", nullable = false, length = 36)
+    @Builder.Default
+    private String dimensionId = "";
+
+    @Column(name = "period_key", nullable = false, length = 10)
+    private String periodKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "member_type", nullable = false, length = 10)
+    private MemberType memberType;
+
+    @Column(name = "member_id", nullable = false, length = 36)
+    private String memberId;
+
+    @Column(name = "gross_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal grossAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    @Builder.Default
+    private Long transactionCount = 0L;
+
+    public enum MemberType {
+        USER, COURSE
+    }
+}
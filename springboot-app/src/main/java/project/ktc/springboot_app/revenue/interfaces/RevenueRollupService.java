@@ -0,0 +1,34 @@
+package project.ktc.springboot_app.revenue.interfaces;
+
+import project.ktc.springboot_app.payment.entity.Payment;
+
+/**
+ * Maintains the pre-aggregated revenue rollups read by the admin revenue
+ * dashboard
+ */
+public interface RevenueRollupService {
+
+  /**
+   * Add a newly completed payment to its paid-at day bucket.
+   * Must run in the transaction that marks the payment COMPLETED.
+   */
+  void recordPaymentCompleted(Payment payment);
+
+  /**
+   * Remove a refunded payment from its original paid-at day bucket.
+   * Must run in the transaction that marks the payment REFUNDED.
+   */
+  void recordPaymentRefunded(Payment payment);
+
+  /**
+   * Recompute every rollup from the payments table
+   *
+   * @return number of daily rollup rows written
+   */
+  int rebuild();
+
+  /**
+   * Whether any rollup rows exist yet
+   */
+  boolean isPopulated();
+}
@@ -1,225 +1,147 @@
 package project.ktc.springboot_app.revenue.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import project.ktc.springboot_app.payment.entity.Payment;
+import project.ktc.springboot_app.revenue.entity.RevenueDailyRollup;
+import project.ktc.springboot_app.revenue.entity.RevenueDimension;
 
+import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * Read side of the admin revenue dashboard.
+ * All queries run against the pre-aggregated rollup tables, never against
+ * payments, so their cost depends on the number of days and members rather
+ * than the number of payments.
+ */
 @Repository
-public interface AdminRevenueRepository extends JpaRepository<Payment, String> {
+public interface AdminRevenueRepository extends JpaRepository<RevenueDailyRollup, String> {
 
         /**
-         * Get seasonal daily revenue data for heatmap
+         * Get daily revenue for a date range [from, to)
          */
-        @Query("SELECT DATE(p.paidAt) as date, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(p) as transactions " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) = :year " +
-                        "GROUP BY DATE(p.paidAt) " +
-                        "ORDER BY DATE(p.paidAt)")
-        List<Object[]> getSeasonalDailyRevenue(@Param("year") Integer year);
+        @Query("SELECT r.bucketDate, r.revenue, r.transactionCount " +
+                        "FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = 'PLATFORM' " +
+                        "AND r.bucketDate >= :from AND r.bucketDate < :to " +
+                        "AND r.transactionCount > 0 " +
+                        "ORDER BY r.bucketDate")
+        List<Object[]> getDailyRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
         /**
-         * Get revenue growth comparison between two periods
+         * Get monthly revenue data for a date range [from, to)
          */
-        @Query("SELECT " +
-                        "COALESCE(SUM(CASE WHEN YEAR(p.paidAt) = :currentYear THEN p.amount * 0.3 END), 0.0) as currentRevenue, "
-                        +
-                        "COALESCE(SUM(CASE WHEN YEAR(p.paidAt) = :previousYear THEN p.amount * 0.3 END), 0.0) as previousRevenue "
-                        +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) IN (:currentYear, :previousYear)")
-        List<Object[]> getYearlyRevenueComparison(@Param("currentYear") Integer currentYear,
-                        @Param("previousYear") Integer previousYear);
+        @Query("SELECT YEAR(r.bucketDate) as year, MONTH(r.bucketDate) as month, " +
+                        "COALESCE(SUM(r.revenue), 0.0) as revenue, " +
+                        "COALESCE(SUM(r.transactionCount), 0) as transactions " +
+                        "FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = 'PLATFORM' " +
+                        "AND r.bucketDate >= :from AND r.bucketDate < :to " +
+                        "GROUP BY YEAR(r.bucketDate), MONTH(r.bucketDate) " +
+                        "HAVING SUM(r.transactionCount) > 0 " +
+                        "ORDER BY YEAR(r.bucketDate), MONTH(r.bucketDate)")
+        List<Object[]> getMonthlyRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
         /**
-         * Get best and worst performing months for a year
+         * Get quarterly revenue data for a date range [from, to)
          */
-        @Query("SELECT MONTH(p.paidAt) as month, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) = :year " +
-                        "GROUP BY MONTH(p.paidAt) " +
-                        "ORDER BY revenue")
-        List<Object[]> getMonthlyPerformanceRanking(@Param("year") Integer year);
+        @Query("SELECT QUARTER(r.bucketDate) as quarter, " +
+                        "COALESCE(SUM(r.revenue), 0.0) as revenue, " +
+                        "COALESCE(SUM(r.transactionCount), 0) as transactions " +
+                        "FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = 'PLATFORM' " +
+                        "AND r.bucketDate >= :from AND r.bucketDate < :to " +
+                        "GROUP BY QUARTER(r.bucketDate) " +
+                        "ORDER BY QUARTER(r.bucketDate)")
+        List<Object[]> getQuarterlyRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
         /**
-         * Get average revenue per user
+         * Get yearly revenue totals
          */
-        @Query("SELECT " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) / COUNT(DISTINCT p.user.id) " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED'")
-        Double getAverageRevenuePerUser();
+        @Query("SELECT YEAR(r.bucketDate) as year, " +
+                        "COALESCE(SUM(r.revenue), 0.0) as revenue " +
+                        "FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = 'PLATFORM' " +
+                        "GROUP BY YEAR(r.bucketDate) " +
+                        "HAVING SUM(r.transactionCount) > 0 " +
+                        "ORDER BY YEAR(r.bucketDate) DESC")
+        List<Object[]> getYearlyRevenueTotals();
 
         /**
-         * Get monthly growth rate for a specific year compared to previous year
+         * Get total revenue (30% of completed payments) for all time
          */
-        @Query("SELECT " +
-                        "MONTH(p.paidAt) as month, " +
-                        "COALESCE(SUM(CASE WHEN YEAR(p.paidAt) = :currentYear THEN p.amount * 0.3 END), 0.0) as currentRevenue, "
-                        +
-                        "COALESCE(SUM(CASE WHEN YEAR(p.paidAt) = :previousYear THEN p.amount * 0.3 END), 0.0) as previousRevenue "
-                        +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) IN (:currentYear, :previousYear) " +
-                        "GROUP BY MONTH(p.paidAt) " +
-                        "ORDER BY MONTH(p.paidAt)")
-        List<Object[]> getMonthlyGrowthComparison(@Param("currentYear") Integer currentYear,
-                        @Param("previousYear") Integer previousYear);
+        @Query("SELECT COALESCE(SUM(r.revenue), 0.0) FROM RevenueDailyRollup r WHERE r.dimensionType = 'PLATFORM'")
+        Double getTotalRevenue();
 
         /**
          * Get total transactions count
          */
-        @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = 'COMPLETED'")
+        @Query("SELECT COALESCE(SUM(r.transactionCount), 0) FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = 'PLATFORM'")
         Long getTotalTransactions();
 
         /**
-         * Get yearly revenue totals
-         */
-        @Query("SELECT YEAR(p.paidAt) as year, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "GROUP BY YEAR(p.paidAt) " +
-                        "ORDER BY YEAR(p.paidAt) DESC")
-        List<Object[]> getYearlyRevenueTotals();
-
-        /**
-         * Get course category revenue with additional metrics for performance analysis
+         * Get revenue per dimension id for category or instructor rollups
          */
-        @Query("SELECT cat.name, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(DISTINCT p.user.id) as studentsCount, " +
-                        "COUNT(DISTINCT p.course.id) as coursesCount, " +
-                        "COUNT(p) as totalTransactions, " +
-                        "AVG(r.rating) as averageRating " +
-                        "FROM Payment p " +
-                        "LEFT JOIN p.course c " +
-                        "LEFT JOIN c.categories cat " +
-                        "LEFT JOIN Review r ON r.course.id = c.id " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "GROUP BY cat.id, cat.name " +
+        @Query("SELECT r.dimensionId, COALESCE(SUM(r.revenue), 0.0) as revenue, " +
+                        "COALESCE(SUM(r.transactionCount), 0) as transactions " +
+                        "FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = :dimension " +
+                        "GROUP BY r.dimensionId " +
+                        "HAVING SUM(r.transactionCount) > 0 " +
                         "ORDER BY revenue DESC")
-        List<Object[]> getDetailedCategoryMetrics();
-
-        /**
-         * Get total revenue (30% of completed payments) for all time
-         */
-        @Query("SELECT COALESCE(SUM(p.amount * 0.3), 0.0) FROM Payment p WHERE p.status = 'COMPLETED'")
-        Double getTotalRevenue();
+        List<Object[]> getRevenueByDimension(
+                        @Param("dimension") RevenueDimension dimension);
 
         /**
-         * Get monthly revenue data for a specific year
-         */
-        @Query("SELECT YEAR(p.paidAt) as year, MONTH(p.paidAt) as month, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(p) as transactions " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) = :year " +
-                        "GROUP BY YEAR(p.paidAt), MONTH(p.paidAt) " +
-                        "ORDER BY MONTH(p.paidAt)")
-        List<Object[]> getMonthlyRevenueForYear(@Param("year") Integer year);
-
-        /**
-         * Get monthly revenue data for a specific year
+         * Get total count of active users (users with at least one completed payment)
          */
-        @Query("SELECT YEAR(p.paidAt) as year, MONTH(p.paidAt) as month, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(p) as transactions " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) = :year AND MONTH(p.paidAt) = :month " +
-                        "GROUP BY YEAR(p.paidAt), MONTH(p.paidAt) " +
-                        "ORDER BY MONTH(p.paidAt)")
-        List<Object[]> getRecentRevenueForYear(@Param("year") Integer year, @Param("month") Integer month);
+        @Query("SELECT COUNT(m) FROM RevenueRollupMember m " +
+                        "WHERE m.dimensionType = 'PLATFORM' AND m.periodKey = 'ALL' " +
+                        "AND m.memberType = 'USER' AND m.transactionCount > 0")
+        Long getTotalActiveUsers();
 
         /**
-         * Get daily revenue data for a specific month and year
+         * Get distinct user and course counts per dimension id
          */
-        @Query("SELECT DATE(p.paidAt) as date, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(p) as transactions " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) = :year " +
-                        "AND MONTH(p.paidAt) = :month " +
-                        "GROUP BY DATE(p.paidAt) " +
-                        "ORDER BY DATE(p.paidAt)")
-        List<Object[]> getDailyRevenueForMonth(@Param("year") Integer year, @Param("month") Integer month);
+        @Query("SELECT m.dimensionId, m.memberType, COUNT(m) FROM RevenueRollupMember m " +
+                        "WHERE m.dimensionType = :dimension AND m.periodKey = 'ALL' AND m.transactionCount > 0 " +
+                        "GROUP BY m.dimensionId, m.memberType")
+        List<Object[]> getMemberCountsByDimension(
+                        @Param("dimension") RevenueDimension dimension);
 
         /**
-         * Get revenue by course category
+         * Get top spending students. One completed payment per enrollment, so the
+         * transaction count is the number of paid courses.
          */
-        @Query("SELECT cat.name, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(DISTINCT p.user.id) as studentsCount, " +
-                        "COUNT(DISTINCT p.course.id) as coursesCount " +
-                        "FROM Payment p " +
-                        "LEFT JOIN p.course c " +
-                        "LEFT JOIN c.categories cat " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "GROUP BY cat.id, cat.name " +
-                        "ORDER BY revenue DESC")
-        List<Object[]> getRevenueByCategory();
+        @Query("SELECT u.id, u.name, u.email, u.thumbnailUrl, m.grossAmount, m.transactionCount " +
+                        "FROM RevenueRollupMember m, User u " +
+                        "WHERE u.id = m.memberId " +
+                        "AND m.dimensionType = 'PLATFORM' AND m.periodKey = 'ALL' " +
+                        "AND m.memberType = 'USER' AND m.transactionCount > 0 " +
+                        "ORDER BY m.grossAmount DESC")
+        List<Object[]> getTopSpendingStudents(Pageable pageable);
 
         /**
-         * Get top spending students
+         * Get category names for the given ids
          */
-        @Query("SELECT p.user.id, p.user.name, p.user.email, p.user.thumbnailUrl, " +
-                        "COALESCE(SUM(p.amount), 0.0) as totalSpent, " +
-                        "COUNT(DISTINCT p.course.id) as coursesEnrolled " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "GROUP BY p.user.id, p.user.name, p.user.email, p.user.thumbnailUrl " +
-                        "ORDER BY totalSpent DESC")
-        List<Object[]> getTopSpendingStudents();
+        @Query("SELECT c.id, c.name FROM Category c WHERE c.id IN :ids")
+        List<Object[]> getCategoryNames(@Param("ids") List<String> ids);
 
         /**
-         * Get instructor performance metrics
+         * Get instructor name and email for the given ids
          */
-        @Query("SELECT c.instructor.id, c.instructor.name, c.instructor.email, " +
-                        "COUNT(DISTINCT c.id) as coursesCount, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as totalRevenue, " +
-                        "COUNT(DISTINCT p.user.id) as totalStudents " +
-                        "FROM Payment p " +
-                        "LEFT JOIN p.course c " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "GROUP BY c.instructor.id, c.instructor.name, c.instructor.email " +
-                        "ORDER BY totalRevenue DESC")
-        List<Object[]> getInstructorPerformanceMetrics();
+        @Query("SELECT u.id, u.name, u.email FROM User u WHERE u.id IN :ids")
+        List<Object[]> getInstructorDetails(@Param("ids") List<String> ids);
 
         /**
          * Get all distinct years with completed payments
          */
-        @Query("SELECT DISTINCT YEAR(p.paidAt) FROM Payment p WHERE p.status = 'COMPLETED' AND p.paidAt IS NOT NULL ORDER BY YEAR(p.paidAt) DESC")
+        @Query("SELECT DISTINCT YEAR(r.bucketDate) FROM RevenueDailyRollup r " +
+                        "WHERE r.dimensionType = 'PLATFORM' AND r.transactionCount > 0 " +
+                        "ORDER BY YEAR(r.bucketDate) DESC")
         List<Integer> getDistinctPaymentYears();
-
-        /**
-         * Get total count of active users (users with at least one completed payment)
-         */
-        @Query("SELECT COUNT(DISTINCT p.user.id) FROM Payment p WHERE p.status = 'COMPLETED'")
-        Long getTotalActiveUsers();
-
-        /**
-         * Get quarterly revenue data for a specific year
-         */
-        @Query("SELECT QUARTER(p.paidAt) as quarter, " +
-                        "COALESCE(SUM(p.amount * 0.3), 0.0) as revenue, " +
-                        "COUNT(p) as transactions " +
-                        "FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' " +
-                        "AND YEAR(p.paidAt) = :year " +
-                        "GROUP BY QUARTER(p.paidAt) " +
-                        "ORDER BY QUARTER(p.paidAt)")
-        List<Object[]> getQuarterlyRevenueForYear(@Param("year") Integer year);
 }
@@ -0,0 +1,189 @@
+package project.ktc.springboot_app.revenue.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.ktc.springboot_app.revenue.entity.RevenueDailyRollup;
+import project.ktc.springboot_app.revenue.entity.RevenueDimension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Write side of the revenue rollups: atomic increments from the payment and
+ * refund flows, and set-based rebuilds from the payments table in date and
+ * member id ranges.
+ */
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueDailyRollup, String> {
+
+        String COMPLETED = "p.status = 'COMPLETED' AND p.paid_at IS NOT NULL";
+
+        /** Payments paid in [:fromDate, :toDate) */
+        String IN_DATE_RANGE = COMPLETED + " AND p.paid_at >= :fromDate AND p.paid_at < :toDate";
+
+        /** Payments of users in (:afterId, :toId]; a null :toId leaves the range open */
+        String IN_USER_RANGE = COMPLETED + " AND p.user_id > :afterId AND (:toId IS NULL OR p.user_id <= :toId)";
+
+        /** Payments for courses in (:afterId, :toId]; a null :toId leaves the range open */
+        String IN_COURSE_RANGE = COMPLETED + " AND p.course_id > :afterId AND (:toId IS NULL OR p.course_id <= :toId)";
+
+        /*
+         * Completed payments fanned out to one row per rollup dimension. Each
+         * rebuild query repeats the payment filter in all three branches.
+         */
+        String PLATFORM_DIMENSION = "(SELECT p.user_id, p.course_id, p.amount, DATE(p.paid_at) AS bucket_date, " +
+                        "'PLATFORM' AS dimension_type, '' AS dimension_id FROM payments p WHERE ";
+        String CATEGORY_DIMENSION = " UNION ALL SELECT p.user_id, p.course_id, p.amount, DATE(p.paid_at), " +
+                        "'CATEGORY', COALESCE(cc.category_id, '') " +
+                        "FROM payments p LEFT JOIN course_categories cc ON cc.course_id = p.course_id WHERE ";
+        String INSTRUCTOR_DIMENSION = " UNION ALL SELECT p.user_id, p.course_id, p.amount, DATE(p.paid_at), " +
+                        "'INSTRUCTOR', c.instructor_id " +
+                        "FROM payments p JOIN courses c ON c.id = p.course_id WHERE c.instructor_id IS NOT NULL AND ";
+
+        String DIMENSIONS_IN_DATE_RANGE = PLATFORM_DIMENSION + IN_DATE_RANGE + CATEGORY_DIMENSION + IN_DATE_RANGE
+                        + INSTRUCTOR_DIMENSION + IN_DATE_RANGE + ") d";
+        String DIMENSIONS_IN_USER_RANGE = PLATFORM_DIMENSION + IN_USER_RANGE + CATEGORY_DIMENSION + IN_USER_RANGE
+                        + INSTRUCTOR_DIMENSION + IN_USER_RANGE + ") d";
+        String DIMENSIONS_IN_COURSE_RANGE = PLATFORM_DIMENSION + IN_COURSE_RANGE + CATEGORY_DIMENSION
+                        + IN_COURSE_RANGE + INSTRUCTOR_DIMENSION + IN_COURSE_RANGE + ") d";
+
+        /** Lets member deletes range-scan idx_revenue_member_spend */
+        String ALL_DIMENSIONS = "dimension_type IN ('PLATFORM', 'CATEGORY', 'INSTRUCTOR')";
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_daily_rollups"))
+        @Query(value = "INSERT INTO revenue_daily_rollups (id, bucket_date, dimension_type, dimension_id, revenue, " +
+                        "gross_amount, transaction_count, distinct_users, created_at, updated_at) " +
+                        "VALUES (UUID(), :bucketDate, :dimensionType, :dimensionId, :revenue, :grossAmount, " +
+                        ":transactions, :users, NOW(), NOW()) " +
+                        "ON DUPLICATE KEY UPDATE revenue = revenue + :revenue, " +
+                        "gross_amount = gross_amount + :grossAmount, " +
+                        "transaction_count = transaction_count + :transactions, " +
+                        "distinct_users = distinct_users + :users, updated_at = NOW()", nativeQuery = true)
+        int incrementDaily(@Param("bucketDate") LocalDate bucketDate,
+                        @Param("dimensionType") String dimensionType,
+                        @Param("dimensionId") String dimensionId,
+                        @Param("revenue") BigDecimal revenue,
+                        @Param("grossAmount") BigDecimal grossAmount,
+                        @Param("transactions") long transactions,
+                        @Param("users") long users);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_rollup_members"))
+        @Query(value = "INSERT INTO revenue_rollup_members (id, dimension_type, dimension_id, period_key, member_type, " +
+                        "member_id, gross_amount, transaction_count, created_at, updated_at) " +
+                        "VALUES (UUID(), :dimensionType, :dimensionId, :periodKey, :memberType, :memberId, " +
+                        ":grossAmount, :transactions, NOW(), NOW()) " +
+                        "ON DUPLICATE KEY UPDATE gross_amount = gross_amount + :grossAmount, " +
+                        "transaction_count = transaction_count + :transactions, updated_at = NOW()", nativeQuery = true)
+        int incrementMember(@Param("dimensionType") String dimensionType,
+                        @Param("dimensionId") String dimensionId,
+                        @Param("periodKey") String periodKey,
+                        @Param("memberType") String memberType,
+                        @Param("memberId") String memberId,
+                        @Param("grossAmount") BigDecimal grossAmount,
+                        @Param("transactions") long transactions);
+
+        /**
+         * Read back a member's count after incrementing it. The upsert holds the
+         * row lock until commit, so the value reflects this transaction's change.
+         */
+        @Query(value = "SELECT transaction_count FROM revenue_rollup_members " +
+                        "WHERE dimension_type = :dimensionType AND dimension_id = :dimensionId " +
+                        "AND period_key = :periodKey AND member_type = :memberType AND member_id = :memberId", nativeQuery = true)
+        Optional<Long> findMemberTransactionCount(@Param("dimensionType") String dimensionType,
+                        @Param("dimensionId") String dimensionId,
+                        @Param("periodKey") String periodKey,
+                        @Param("memberType") String memberType,
+                        @Param("memberId") String memberId);
+
+        /**
+         * Days that have completed payments or existing rollup rows, as ISO dates
+         * in ascending order
+         */
+        @Query(value = "SELECT CAST(DATE(p.paid_at) AS CHAR(10)) AS day FROM payments p WHERE " + COMPLETED + " " +
+                        "UNION SELECT CAST(bucket_date AS CHAR(10)) FROM revenue_daily_rollups " +
+                        "ORDER BY day", nativeQuery = true)
+        List<String> findBucketDays();
+
+        @Query(value = "SELECT DISTINCT p.user_id FROM payments p WHERE " + COMPLETED + " " +
+                        "AND p.user_id > :afterId ORDER BY p.user_id LIMIT :limit", nativeQuery = true)
+        List<String> findPayingUserIdsAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+        @Query(value = "SELECT DISTINCT p.course_id FROM payments p WHERE " + COMPLETED + " " +
+                        "AND p.course_id > :afterId ORDER BY p.course_id LIMIT :limit", nativeQuery = true)
+        List<String> findPaidCourseIdsAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_daily_rollups"))
+        @Query(value = "DELETE FROM revenue_daily_rollups WHERE bucket_date >= :fromDate AND bucket_date < :toDate", nativeQuery = true)
+        int deleteDaily(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+        /**
+         * Delete daily members in [:fromKey, :toKey). ISO dates sort before 'ALL',
+         * so all-time members are never in range.
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_rollup_members"))
+        @Query(value = "DELETE FROM revenue_rollup_members WHERE " + ALL_DIMENSIONS + " " +
+                        "AND period_key >= :fromKey AND period_key < :toKey", nativeQuery = true)
+        int deleteDailyMembers(@Param("fromKey") String fromKey, @Param("toKey") String toKey);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_rollup_members"))
+        @Query(value = "DELETE FROM revenue_rollup_members WHERE period_key = 'ALL' AND member_type = :memberType " +
+                        "AND member_id > :afterId AND (:toId IS NULL OR member_id <= :toId)", nativeQuery = true)
+        int deleteAllTimeMembers(@Param("memberType") String memberType,
+                        @Param("afterId") String afterId,
+                        @Param("toId") String toId);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_daily_rollups"))
+        @Query(value = "INSERT INTO revenue_daily_rollups (id, bucket_date, dimension_type, dimension_id, revenue, " +
+                        "gross_amount, transaction_count, distinct_users, created_at, updated_at) " +
+                        "SELECT UUID(), d.bucket_date, d.dimension_type, d.dimension_id, SUM(d.amount) * 0.3, " +
+                        "SUM(d.amount), COUNT(*), COUNT(DISTINCT d.user_id), NOW(), NOW() " +
+                        "FROM " + DIMENSIONS_IN_DATE_RANGE + " " +
+                        "GROUP BY d.bucket_date, d.dimension_type, d.dimension_id", nativeQuery = true)
+        int rebuildDaily(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_rollup_members"))
+        @Query(value = "INSERT INTO revenue_rollup_members (id, dimension_type, dimension_id, period_key, member_type, " +
+                        "member_id, gross_amount, transaction_count, created_at, updated_at) " +
+                        "SELECT UUID(), d.dimension_type, d.dimension_id, CAST(d.bucket_date AS CHAR(10)), 'USER', " +
+                        "d.user_id, SUM(d.amount), COUNT(*), NOW(), NOW() " +
+                        "FROM " + DIMENSIONS_IN_DATE_RANGE + " " +
+                        "GROUP BY d.dimension_type, d.dimension_id, d.bucket_date, d.user_id", nativeQuery = true)
+        int rebuildDailyUserMembers(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_rollup_members"))
+        @Query(value = "INSERT INTO revenue_rollup_members (id, dimension_type, dimension_id, period_key, member_type, " +
+                        "member_id, gross_amount, transaction_count, created_at, updated_at) " +
+                        "SELECT UUID(), d.dimension_type, d.dimension_id, 'ALL', 'USER', d.user_id, " +
+                        "SUM(d.amount), COUNT(*), NOW(), NOW() " +
+                        "FROM " + DIMENSIONS_IN_USER_RANGE + " " +
+                        "GROUP BY d.dimension_type, d.dimension_id, d.user_id", nativeQuery = true)
+        int rebuildAllTimeUserMembers(@Param("afterId") String afterId, @Param("toId") String toId);
+
+        @Modifying
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revenue_rollup_members"))
+        @Query(value = "INSERT INTO revenue_rollup_members (id, dimension_type, dimension_id, period_key, member_type, " +
+                        "member_id, gross_amount, transaction_count, created_at, updated_at) " +
+                        "SELECT UUID(), d.dimension_type, d.dimension_id, 'ALL', 'COURSE', d.course_id, " +
+                        "SUM(d.amount), COUNT(*), NOW(), NOW() " +
+                        "FROM " + DIMENSIONS_IN_COURSE_RANGE + " " +
+                        "GROUP BY d.dimension_type, d.dimension_id, d.course_id", nativeQuery = true)
+        int rebuildAllTimeCourseMembers(@Param("afterId") String afterId, @Param("toId") String toId);
+
+        boolean existsByDimensionType(RevenueDimension dimensionType);
+}
@@ -2,23 +2,29 @@ package project.ktc.springboot_app.revenue.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import project.ktc.springboot_app.common.datasource.ReadReplica;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.revenue.dto.*;
+import project.ktc.springboot_app.revenue.entity.RevenueDimension;
+import project.ktc.springboot_app.revenue.entity.RevenueRollupMember;
 import project.ktc.springboot_app.revenue.interfaces.AdminRevenueService;
 import project.ktc.springboot_app.revenue.repositories.AdminRevenueRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Year;
+import java.time.YearMonth;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ReadReplica
 public class AdminRevenueServiceImpl implements AdminRevenueService {
 
   private final AdminRevenueRepository adminRevenueRepository;
@@ -35,26 +41,13 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
       int currentYear = LocalDate.now().getYear();
       int previousYear = currentYear - 1;
 
-      Double currentYearRevenue = 0.0;
-      Double previousYearRevenue = 0.0;
-
-      // Check if data exists for both years before making comparison
-      if (hasDataForYear(currentYear) || hasDataForYear(previousYear)) {
-        List<Object[]> yearlyComparisonList = adminRevenueRepository.getYearlyRevenueComparison(currentYear,
-            previousYear);
-
-        if (yearlyComparisonList != null && !yearlyComparisonList.isEmpty()) {
-          Object[] yearlyComparison = yearlyComparisonList.get(0);
-          if (yearlyComparison.length >= 2) {
-            currentYearRevenue = safeGetDouble(yearlyComparison[0]);
-            previousYearRevenue = safeGetDouble(yearlyComparison[1]);
-          }
-        }
-      }
+      Map<Integer, Double> yearlyTotals = getYearlyRevenueTotals();
+      Double currentYearRevenue = yearlyTotals.getOrDefault(currentYear, 0.0);
+      Double previousYearRevenue = yearlyTotals.getOrDefault(previousYear, 0.0);
 
       // Get monthly comparison for monthly growth
       Double monthlyGrowth = 0.0;
-      List<Object[]> monthlyComparison = adminRevenueRepository.getMonthlyGrowthComparison(currentYear, previousYear);
+      List<Object[]> monthlyComparison = getMonthlyRevenueForYear(currentYear);
       if (monthlyComparison != null && !monthlyComparison.isEmpty()) {
         monthlyGrowth = calculateMonthlyGrowthFromComparison(monthlyComparison);
       }
@@ -66,12 +59,11 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
       // Get user and transaction counts
       Long activeUsers = adminRevenueRepository.getTotalActiveUsers();
       Long totalTransactions = adminRevenueRepository.getTotalTransactions();
-      Double avgRevenuePerUser = adminRevenueRepository.getAverageRevenuePerUser();
 
       // Validate and provide safe defaults
       activeUsers = activeUsers != null ? activeUsers : 0L;
       totalTransactions = totalTransactions != null ? totalTransactions : 0L;
-      avgRevenuePerUser = avgRevenuePerUser != null ? avgRevenuePerUser : 0.0;
+      Double avgRevenuePerUser = activeUsers > 0 && totalRevenue != null ? totalRevenue / activeUsers : 0.0;
 
       // Build statistics cards
       List<StatisticsDTO.StatCard> statCards = Arrays.asList(
@@ -128,7 +120,7 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
         return ApiResponseUtil.notFound("No data found for year " + year);
       }
 
-      List<Object[]> monthlyData = adminRevenueRepository.getMonthlyRevenueForYear(year);
+      List<Object[]> monthlyData = getMonthlyRevenueForYear(year);
       List<MonthlyRevenueDTO.MonthlyData> monthlyList = new ArrayList<>();
 
       if (isValidDataList(monthlyData)) {
@@ -168,48 +160,30 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
   @Override
   public ResponseEntity<ApiResponse<MonthlyRevenueDTO.RecentMonthlyData>> getRecentRevenues() {
     try {
-      int currentYear = LocalDate.now().getYear();
-      int currentMonth = LocalDate.now().getMonthValue();
-
-      List<MonthlyRevenueDTO.MonthlyData> recentRevenues = new ArrayList<>();
-
-      // Calculate recent 3 months including current month
-      for (int i = 3; i > 0; i--) {
-        int month = currentMonth - i + 1;
-        int year = currentYear;
-
-        if (month <= 0) {
-          month += 12;
-          year -= 1;
+      YearMonth currentMonth = YearMonth.now();
+      YearMonth firstMonth = currentMonth.minusMonths(2);
+
+      // Recent 3 months including current month, read in one range query
+      List<Object[]> recentRevenueData = adminRevenueRepository.getMonthlyRevenue(firstMonth.atDay(1),
+          currentMonth.plusMonths(1).atDay(1));
+      Map<YearMonth, Object[]> rowsByMonth = new HashMap<>();
+      if (isValidDataList(recentRevenueData)) {
+        for (Object[] row : recentRevenueData) {
+          if (row == null || row.length < 4)
+            continue;
+          rowsByMonth.put(YearMonth.of(safeGetInteger(row[0]), safeGetInteger(row[1])), row);
         }
+      }
 
-        List<Object[]> recentRevenueData = adminRevenueRepository.getRecentRevenueForYear(year, month);
-
-        if (isValidDataList(recentRevenueData)) {
-          for (Object[] row : recentRevenueData) {
-            if (row == null || row.length < 4)
-              continue;
-
-            Integer yearVal = safeGetInteger(row[0]);
-            Integer monthVal = safeGetInteger(row[1]);
-            Double revenue = safeGetDouble(row[2]);
-            Long transactions = safeGetLong(row[3]);
-
-            recentRevenues.add(MonthlyRevenueDTO.MonthlyData.builder()
-                .month(getMonthName(monthVal))
-                .year(yearVal)
-                .revenue(revenue)
-                .transactions(transactions)
-                .build());
-          }
-        } else {
-          recentRevenues.add(MonthlyRevenueDTO.MonthlyData.builder()
-              .month(getMonthName(month))
-              .year(year)
-              .revenue(0.0)
-              .transactions(0L)
-              .build());
-        }
+      List<MonthlyRevenueDTO.MonthlyData> recentRevenues = new ArrayList<>();
+      for (YearMonth ym = firstMonth; !ym.isAfter(currentMonth); ym = ym.plusMonths(1)) {
+        Object[] row = rowsByMonth.get(ym);
+        recentRevenues.add(MonthlyRevenueDTO.MonthlyData.builder()
+            .month(getMonthName(ym.getMonthValue()))
+            .year(ym.getYear())
+            .revenue(row != null ? safeGetDouble(row[2]) : 0.0)
+            .transactions(row != null ? safeGetLong(row[3]) : 0L)
+            .build());
       }
 
       // Calculate growth between the most recent month and the previous month
@@ -248,7 +222,9 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
         return ApiResponseUtil.notFound("No data found for year " + year);
       }
 
-      List<Object[]> dailyData = adminRevenueRepository.getDailyRevenueForMonth(year, month);
+      YearMonth yearMonth = YearMonth.of(year, month);
+      List<Object[]> dailyData = adminRevenueRepository.getDailyRevenue(yearMonth.atDay(1),
+          yearMonth.plusMonths(1).atDay(1));
 
       // Create a map to store revenue data by date
       Map<String, MonthlyRevenueDTO.DailyData> dailyDataMap = new HashMap<>();
@@ -259,7 +235,7 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
           if (row == null || row.length < 3)
             continue;
 
-          Date date = (Date) row[0];
+          LocalDate date = (LocalDate) row[0];
           Double revenue = safeGetDouble(row[1]);
           Long transactions = safeGetLong(row[2]);
 
@@ -274,13 +250,10 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
 
       // Generate complete list for all days in the month
       List<MonthlyRevenueDTO.DailyData> dailyList = new ArrayList<>();
-      Calendar calendar = Calendar.getInstance();
-      calendar.set(year, month - 1, 1); // month is 0-based in Calendar
-      int daysInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+      int daysInMonth = yearMonth.lengthOfMonth();
 
       for (int day = 1; day <= daysInMonth; day++) {
-        calendar.set(Calendar.DAY_OF_MONTH, day);
-        String dateStr = new java.sql.Date(calendar.getTimeInMillis()).toString();
+        String dateStr = yearMonth.atDay(day).toString();
 
         // Check if we have data for this day, otherwise use zero values
         MonthlyRevenueDTO.DailyData dayData = dailyDataMap.get(dateStr);
@@ -309,20 +282,20 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
     log.info("Getting top {} spenders", limit);
 
     try {
-      List<Object[]> topSpendersData = adminRevenueRepository.getTopSpendingStudents();
+      int maxLimit = limit != null ? limit : 5;
+      List<Object[]> topSpendersData = adminRevenueRepository.getTopSpendingStudents(PageRequest.of(0, maxLimit));
       List<TopSpendersDTO.StudentSpendingData> users = new ArrayList<>();
 
       if (!isValidDataList(topSpendersData)) {
         log.warn("No top spenders data found");
         TopSpendersDTO result = TopSpendersDTO.builder()
             .topStudents(users)
-            .limit(limit != null ? limit : 5)
+            .limit(maxLimit)
             .build();
         return ApiResponseUtil.success(result, "No top spenders data found");
       }
 
       int count = 0;
-      int maxLimit = limit != null ? limit : 5;
 
       for (Object[] row : topSpendersData) {
         if (count >= maxLimit)
@@ -371,7 +344,11 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
 
     try {
       // Get category revenue data
-      List<Object[]> categoryData = adminRevenueRepository.getRevenueByCategory();
+      List<Object[]> categoryData = adminRevenueRepository.getRevenueByDimension(RevenueDimension.CATEGORY);
+      Map<String, Map<RevenueRollupMember.MemberType, Long>> categoryCounts = getMemberCounts(
+          RevenueDimension.CATEGORY);
+      Map<String, Object[]> categoryNames = indexById(
+          adminRevenueRepository.getCategoryNames(dimensionIds(categoryData)));
       List<PerformanceMetricsDTO.CategoryRevenue> categories = new ArrayList<>();
 
       if (isValidDataList(categoryData)) {
@@ -381,7 +358,7 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
             .sum();
 
         for (Object[] row : categoryData) {
-          if (row == null || row.length < 4) {
+          if (row == null || row.length < 3) {
             continue;
           }
 
@@ -392,9 +369,12 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
             continue;
           }
 
-          String categoryName = (String) row[0];
-          Long studentsCount = safeGetLong(row[2]);
-          Long coursesCount = safeGetLong(row[3]);
+          String categoryId = (String) row[0];
+          Object[] category = categoryNames.get(categoryId);
+          String categoryName = category != null ? (String) category[1] : null;
+          Map<RevenueRollupMember.MemberType, Long> counts = categoryCounts.getOrDefault(categoryId, Map.of());
+          Long studentsCount = counts.getOrDefault(RevenueRollupMember.MemberType.USER, 0L);
+          Long coursesCount = counts.getOrDefault(RevenueRollupMember.MemberType.COURSE, 0L);
           Double percentage = totalRevenue > 0 ? (Math.round((revenue / totalRevenue) * 100 * 100.0) / 100.0) : 0.0;
 
           categories.add(PerformanceMetricsDTO.CategoryRevenue.builder()
@@ -408,26 +388,32 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
       }
 
       // Get instructor performance data
-      List<Object[]> instructorData = adminRevenueRepository.getInstructorPerformanceMetrics();
+      List<Object[]> instructorData = adminRevenueRepository.getRevenueByDimension(RevenueDimension.INSTRUCTOR);
+      Map<String, Map<RevenueRollupMember.MemberType, Long>> instructorCounts = getMemberCounts(
+          RevenueDimension.INSTRUCTOR);
+      Map<String, Object[]> instructorDetails = indexById(
+          adminRevenueRepository.getInstructorDetails(dimensionIds(instructorData)));
       List<PerformanceMetricsDTO.InstructorPerformance> instructors = new ArrayList<>();
 
       if (isValidDataList(instructorData)) {
         for (Object[] row : instructorData) {
-          if (row == null || row.length < 6) {
+          if (row == null || row.length < 3) {
             continue;
           }
 
           // Skip instructors with no revenue
-          Double revenue = safeGetDouble(row[4]);
+          Double revenue = safeGetDouble(row[1]);
           if (revenue == null || revenue <= 0) {
             continue;
           }
 
           String instructorId = (String) row[0];
-          String instructorName = (String) row[1];
-          String instructorEmail = (String) row[2];
-          Long coursesCount = safeGetLong(row[3]);
-          Long studentsCount = safeGetLong(row[5]);
+          Object[] instructor = instructorDetails.get(instructorId);
+          String instructorName = instructor != null ? (String) instructor[1] : null;
+          String instructorEmail = instructor != null ? (String) instructor[2] : null;
+          Map<RevenueRollupMember.MemberType, Long> counts = instructorCounts.getOrDefault(instructorId, Map.of());
+          Long coursesCount = counts.getOrDefault(RevenueRollupMember.MemberType.COURSE, 0L);
+          Long studentsCount = counts.getOrDefault(RevenueRollupMember.MemberType.USER, 0L);
 
           instructors.add(PerformanceMetricsDTO.InstructorPerformance.builder()
               .id(instructorId != null ? instructorId : "")
@@ -520,7 +506,7 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
         return ApiResponseUtil.notFound("No data found for year " + year);
       }
 
-      List<Object[]> seasonalData = adminRevenueRepository.getSeasonalDailyRevenue(year);
+      List<Object[]> seasonalData = getMonthlyRevenueForYear(year);
       List<SeasonalHeatmapDTO.SeasonalData> seasons = new ArrayList<>();
 
       // Group data by seasons
@@ -532,16 +518,11 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
 
       if (isValidDataList(seasonalData)) {
         for (Object[] row : seasonalData) {
-          if (row == null || row.length < 2)
+          if (row == null || row.length < 3)
             continue;
 
-          Date date = (Date) row[0];
-          Double revenue = safeGetDouble(row[1]);
-
-          if (date != null) {
-            String season = getSeasonForMonth(date.getMonth());
-            seasonRevenue.put(season, seasonRevenue.get(season) + revenue);
-          }
+          String season = getSeasonForMonth(safeGetInteger(row[1]));
+          seasonRevenue.put(season, seasonRevenue.get(season) + safeGetDouble(row[2]));
         }
       }
 
@@ -633,6 +614,67 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
     return availableYears != null && availableYears.contains(year);
   }
 
+  /**
+   * Monthly rollup rows (year, month, revenue, transactions) for a calendar year
+   */
+  private List<Object[]> getMonthlyRevenueForYear(Integer year) {
+    return adminRevenueRepository.getMonthlyRevenue(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+  }
+
+  /**
+   * Revenue per year, keyed by year
+   */
+  private Map<Integer, Double> getYearlyRevenueTotals() {
+    Map<Integer, Double> totals = new HashMap<>();
+    List<Object[]> rows = adminRevenueRepository.getYearlyRevenueTotals();
+    if (isValidDataList(rows)) {
+      for (Object[] row : rows) {
+        if (row != null && row.length >= 2) {
+          totals.put(safeGetInteger(row[0]), safeGetDouble(row[1]));
+        }
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * Distinct user and course counts per dimension id
+   */
+  private Map<String, Map<RevenueRollupMember.MemberType, Long>> getMemberCounts(RevenueDimension dimension) {
+    Map<String, Map<RevenueRollupMember.MemberType, Long>> counts = new HashMap<>();
+    List<Object[]> rows = adminRevenueRepository.getMemberCountsByDimension(dimension);
+    if (isValidDataList(rows)) {
+      for (Object[] row : rows) {
+        if (row == null || row.length < 3)
+          continue;
+        counts.computeIfAbsent((String) row[0], id -> new EnumMap<>(RevenueRollupMember.MemberType.class))
+            .put((RevenueRollupMember.MemberType) row[1], safeGetLong(row[2]));
+      }
+    }
+    return counts;
+  }
+
+  private List<String> dimensionIds(List<Object[]> rows) {
+    if (!isValidDataList(rows))
+      return List.of("");
+    return rows.stream()
+        .filter(row -> row != null && row.length > 0 && row[0] != null)
+        .map(row -> (String) row[0])
+        .toList();
+  }
+
+  private Map<String, Object[]> indexById(List<Object[]> rows) {
+    Map<String, Object[]> byId = new HashMap<>();
+    if (isValidDataList(rows)) {
+      for (Object[] row : rows) {
+        if (row != null && row.length > 0 && row[0] != null) {
+          byId.put((String) row[0], row);
+        }
+      }
+    }
+    return byId;
+  }
+
   /**
    * Validate and extract safe double value from Object
    */
@@ -691,9 +733,9 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
         return Collections.emptyList();
       }
 
-      List<Object[]> currentYearData = currentYearExists ? adminRevenueRepository.getMonthlyRevenueForYear(year)
+      List<Object[]> currentYearData = currentYearExists ? getMonthlyRevenueForYear(year)
           : new ArrayList<>();
-      List<Object[]> previousYearData = previousYearExists ? adminRevenueRepository.getMonthlyRevenueForYear(year - 1)
+      List<Object[]> previousYearData = previousYearExists ? getMonthlyRevenueForYear(year - 1)
           : new ArrayList<>();
 
       Map<Integer, Double> currentYear = new HashMap<>();
@@ -773,9 +815,11 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
         return Collections.emptyList();
       }
 
-      List<Object[]> currentYearData = currentYearExists ? adminRevenueRepository.getQuarterlyRevenueForYear(year)
+      List<Object[]> currentYearData = currentYearExists
+          ? adminRevenueRepository.getQuarterlyRevenue(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1))
           : new ArrayList<>();
-      List<Object[]> previousYearData = previousYearExists ? adminRevenueRepository.getQuarterlyRevenueForYear(year - 1)
+      List<Object[]> previousYearData = previousYearExists
+          ? adminRevenueRepository.getQuarterlyRevenue(LocalDate.of(year - 1, 1, 1), LocalDate.of(year, 1, 1))
           : new ArrayList<>();
 
       Map<Integer, Double> currentYear = new HashMap<>();
@@ -853,27 +897,15 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
         return Collections.emptyList();
       }
 
+      Map<Integer, Double> yearlyTotals = getYearlyRevenueTotals();
+
       int numOfYears = availableYears.size();
       for (int i = numOfYears; i > 0; i--) {
         int currentYear = availableYears.get(i - 1);
         int previousYear = currentYear - 1;
 
-        Double currentYearRevenue = 0.0;
-        Double previousYearRevenue = 0.0;
-
-        // Only query if years have data
-        if (availableYears.contains(currentYear) || availableYears.contains(previousYear)) {
-          List<Object[]> currentYearDataList = adminRevenueRepository.getYearlyRevenueComparison(currentYear,
-              previousYear);
-
-          if (currentYearDataList != null && !currentYearDataList.isEmpty()) {
-            Object[] currentYearData = currentYearDataList.get(0);
-            if (currentYearData.length >= 2) {
-              currentYearRevenue = safeGetDouble(currentYearData[0]);
-              previousYearRevenue = safeGetDouble(currentYearData[1]);
-            }
-          }
-        }
+        Double currentYearRevenue = yearlyTotals.getOrDefault(currentYear, 0.0);
+        Double previousYearRevenue = yearlyTotals.getOrDefault(previousYear, 0.0);
 
         Double growth = calculateGrowthPercentage(currentYearRevenue, previousYearRevenue);
 
@@ -960,11 +992,11 @@ public class AdminRevenueServiceImpl implements AdminRevenueService {
     Double previousMonthRevenue = 0.0;
 
     for (Object[] row : monthlyComparison) {
-      if (row == null || row.length < 2)
+      if (row == null || row.length < 3)
         continue;
 
-      Integer month = safeGetInteger(row[0]);
-      Double currentYearValue = safeGetDouble(row[1]);
+      Integer month = safeGetInteger(row[1]);
+      Double currentYearValue = safeGetDouble(row[2]);
 
       if (month.equals(currentMonth)) {
         currentMonthRevenue = currentYearValue;
@@ -0,0 +1,52 @@
+package project.ktc.springboot_app.revenue.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
+import project.ktc.springboot_app.scheduling.DistributedJobCoordinator;
+
+import java.time.Duration;
+
+/**
+ * Backfills the revenue rollups on first start and rebuilds them nightly to
+ * correct any drift from payments changed outside the tracked flows
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupRebuildJob {
+
+  private static final String JOB_NAME = "revenue-rollup-rebuild";
+  private static final Duration REBUILD_LEASE = Duration.ofMinutes(10);
+
+  private final RevenueRollupService revenueRollupService;
+  private final DistributedJobCoordinator jobCoordinator;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillIfEmpty() {
+    try {
+      // Nodes starting together must not each backfill the same tables
+      jobCoordinator.runExclusive(JOB_NAME, REBUILD_LEASE, lease -> {
+        if (!revenueRollupService.isPopulated()) {
+          log.info("Revenue rollups are empty, backfilling from payments");
+          revenueRollupService.rebuild();
+        }
+      });
+    } catch (Exception e) {
+      log.error("Failed to backfill revenue rollups: {}", e.getMessage(), e);
+    }
+  }
+
+  @Scheduled(cron = "0 30 3 * * *")
+  public void rebuildNightly() {
+    try {
+      jobCoordinator.runExclusive(JOB_NAME, REBUILD_LEASE, lease -> revenueRollupService.rebuild());
+    } catch (Exception e) {
+      log.error("Failed to rebuild revenue rollups: {}", e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package project.ktc.springboot_app.revenue.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.ktc.springboot_app.category.entity.Category;
+import project.ktc.springboot_app.course.entity.Course;
+import project.ktc.springboot_app.payment.entity.Payment;
+import project.ktc.springboot_app.revenue.entity.RevenueDimension;
+import project.ktc.springboot_app.revenue.entity.RevenueRollupMember;
+import project.ktc.springboot_app.revenue.interfaces.RevenueRollupService;
+import project.ktc.springboot_app.revenue.repositories.RevenueRollupRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Slf4j
+public class RevenueRollupServiceImp implements RevenueRollupService {
+
+  /** Platform share of each payment, matches the dashboard's 30% revenue */
+  private static final BigDecimal PLATFORM_SHARE = new BigDecimal("0.3");
+
+  private static final String USER = RevenueRollupMember.MemberType.USER.name();
+  private static final String COURSE = RevenueRollupMember.MemberType.COURSE.name();
+
+  /** Days of payments rebuilt per transaction */
+  private static final int DAYS_PER_CHUNK = 31;
+
+  /** Users or courses whose all-time totals are rebuilt per transaction */
+  private static final int MEMBERS_PER_CHUNK = 500;
+
+  private final RevenueRollupRepository revenueRollupRepository;
+  private final TransactionTemplate rebuildTransaction;
+
+  public RevenueRollupServiceImp(RevenueRollupRepository revenueRollupRepository,
+      PlatformTransactionManager transactionManager) {
+    this.revenueRollupRepository = revenueRollupRepository;
+    this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+  }
+
+  @Override
+  @Transactional
+  public void recordPaymentCompleted(Payment payment) {
+    apply(payment, 1);
+  }
+
+  @Override
+  @Transactional
+  public void recordPaymentRefunded(Payment payment) {
+    apply(payment, -1);
+  }
+
+  /**
+   * Rebuilds in short transactions, one per range of days and one per range of
+   * member ids, so that payment updates and rollup increments only wait for the
+   * chunk they touch and readers never see an emptied table. READ COMMITTED
+   * makes the INSERT ... SELECT read payments without locking them. Inside a
+   * caller's transaction the chunks join it instead.
+   */
+  @Override
+  public int rebuild() {
+    long start = System.currentTimeMillis();
+
+    int dailyRows = 0;
+    int memberRows = 0;
+    List<String> days = revenueRollupRepository.findBucketDays();
+    for (int i = 0; i < days.size(); i += DAYS_PER_CHUNK) {
+      LocalDate fromDate = LocalDate.parse(days.get(i));
+      LocalDate toDate = LocalDate.parse(days.get(Math.min(i + DAYS_PER_CHUNK, days.size()) - 1)).plusDays(1);
+      int[] rows = rebuildTransaction.execute(status -> rebuildDays(fromDate, toDate));
+      dailyRows += rows[0];
+      memberRows += rows[1];
+    }
+
+    memberRows += rebuildAllTimeMembers(USER, revenueRollupRepository::findPayingUserIdsAfter,
+        revenueRollupRepository::rebuildAllTimeUserMembers);
+    memberRows += rebuildAllTimeMembers(COURSE, revenueRollupRepository::findPaidCourseIdsAfter,
+        revenueRollupRepository::rebuildAllTimeCourseMembers);
+
+    log.info("Rebuilt revenue rollups: {} daily rows, {} member rows in {} ms",
+        dailyRows, memberRows, System.currentTimeMillis() - start);
+    return dailyRows;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public boolean isPopulated() {
+    return revenueRollupRepository.existsByDimensionType(RevenueDimension.PLATFORM);
+  }
+
+  /**
+   * Apply a payment to every dimension it belongs to. Dimensions are visited in
+   * a fixed order so concurrent updates lock rows in the same sequence.
+   */
+  private void apply(Payment payment, int sign) {
+    if (payment.getPaidAt() == null || payment.getAmount() == null) {
+      log.warn("Skipping revenue rollup for payment {} without paid date or amount", payment.getId());
+      return;
+    }
+
+    LocalDate bucketDate = payment.getPaidAt().toLocalDate();
+    String dayKey = bucketDate.toString();
+    BigDecimal grossAmount = payment.getAmount().multiply(BigDecimal.valueOf(sign));
+    BigDecimal revenue = grossAmount.multiply(PLATFORM_SHARE);
+    String userId = payment.getUser().getId();
+    String courseId = payment.getCourse().getId();
+
+    for (DimensionKey key : dimensionsOf(payment.getCourse())) {
+      String type = key.type().name();
+
+      revenueRollupRepository.incrementMember(type, key.id(), RevenueRollupMember.ALL_TIME, USER, userId,
+          grossAmount, sign);
+      revenueRollupRepository.incrementMember(type, key.id(), RevenueRollupMember.ALL_TIME, COURSE, courseId,
+          grossAmount, sign);
+
+      // Daily distinct users only change when a user's first payment of the day
+      // is added or their last one is removed
+      revenueRollupRepository.incrementMember(type, key.id(), dayKey, USER, userId, grossAmount, sign);
+      long count = revenueRollupRepository.findMemberTransactionCount(type, key.id(), dayKey, USER, userId)
+          .orElse(0L);
+      long userDelta = (sign > 0 && count == 1) ? 1 : (sign < 0 && count == 0) ? -1 : 0;
+
+      revenueRollupRepository.incrementDaily(bucketDate, type, key.id(), revenue, grossAmount, sign, userDelta);
+    }
+
+    log.debug("Applied payment {} to revenue rollups for {} ({})", payment.getId(), dayKey,
+        sign > 0 ? "completed" : "refunded");
+  }
+
+  private int[] rebuildDays(LocalDate fromDate, LocalDate toDate) {
+    revenueRollupRepository.deleteDaily(fromDate, toDate);
+    revenueRollupRepository.deleteDailyMembers(fromDate.toString(), toDate.toString());
+    return new int[] {
+        revenueRollupRepository.rebuildDaily(fromDate, toDate),
+        revenueRollupRepository.rebuildDailyUserMembers(fromDate, toDate) };
+  }
+
+  /**
+   * Rebuild all-time members in keyset ranges of member ids. The ranges cover
+   * the whole id space, so stale members of ids with no payments left are
+   * deleted too.
+   */
+  private int rebuildAllTimeMembers(String memberType, IdPage nextIds, RangeRebuild rebuildRange) {
+    int rows = 0;
+    String afterId = "";
+    while (true) {
+      List<String> ids = nextIds.after(afterId, MEMBERS_PER_CHUNK);
+      // The last range is open so it also clears members above the highest id
+      String toId = ids.size() < MEMBERS_PER_CHUNK ? null : ids.get(ids.size() - 1);
+      String fromId = afterId;
+      rows += rebuildTransaction.execute(status -> {
+        revenueRollupRepository.deleteAllTimeMembers(memberType, fromId, toId);
+        return rebuildRange.rebuild(fromId, toId);
+      });
+      if (toId == null) {
+        return rows;
+      }
+      afterId = toId;
+    }
+  }
+
+  @FunctionalInterface
+  private interface IdPage {
+    List<String> after(String afterId, int limit);
+  }
+
+  @FunctionalInterface
+  private interface RangeRebuild {
+    int rebuild(String afterId, String toId);
+  }
+
+  private List<DimensionKey> dimensionsOf(Course course) {
+    List<DimensionKey> keys = new ArrayList<>();
+    keys.add(new DimensionKey(RevenueDimension.PLATFORM, ""));
+
+    List<String> categoryIds = course.getCategories() == null ? List.of()
+        : course.getCategories().stream()
+            .map(Category::getId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+    if (categoryIds.isEmpty()) {
+      keys.add(new DimensionKey(RevenueDimension.CATEGORY, ""));
+    } else {
+      categoryIds.forEach(id -> keys.add(new DimensionKey(RevenueDimension.CATEGORY, id)));
+    }
+
+    if (course.getInstructor() != null) {
+      keys.add(new DimensionKey(RevenueDimension.INSTRUCTOR, course.getInstructor().getId()));
+    }
+    return keys;
+  }
+
+  private record DimensionKey(RevenueDimension type, String id) {
+  }
+}
@@ -1,47 +1,89 @@
 package project.ktc.springboot_app.scheduling;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import project.ktc.springboot_app.config.PayoutSchedulingProperties;
-import project.ktc.springboot_app.earning.entity.InstructorEarning;
 import project.ktc.springboot_app.earning.repositories.InstructorEarningRepository;
-import project.ktc.springboot_app.payment.entity.Payment;
-import project.ktc.springboot_app.payment.interfaces.AdminPaymentService;
 import project.ktc.springboot_app.payment.repositories.AdminPaymentRepository;
-import project.ktc.springboot_app.payment.services.AdminPaymentServiceImp;
 import project.ktc.springboot_app.cache.services.infrastructure.CacheInvalidationService;
+import project.ktc.springboot_app.scheduling.DistributedJobCoordinator.JobLease;
+import project.ktc.springboot_app.scheduling.PayoutChunkProcessor.ChunkResult;
+import project.ktc.springboot_app.scheduling.entity.PayoutBatchJob;
+import project.ktc.springboot_app.scheduling.repositories.PayoutBatchJobRepository;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Automated payout processing service
  * Runs scheduled jobs to process eligible payments for instructor payouts
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(value = "app.payout.scheduling.enabled", havingValue = "true", matchIfMissing = true)
 public class AutomaticPayoutService {
 
+    private static final Duration PAYOUT_LEASE = Duration.ofMinutes(5);
+    private static final Duration SUMMARY_LEASE = Duration.ofMinutes(2);
+    private static final Duration MAINTENANCE_LEASE = Duration.ofMinutes(10);
+    private static final Duration RUN_HISTORY_RETENTION = Duration.ofDays(90);
+
     private final PayoutEligibilityService payoutEligibilityService;
     private final AdminPaymentRepository adminPaymentRepository;
     private final InstructorEarningRepository instructorEarningRepository;
     private final CacheInvalidationService cacheInvalidationService;
     private final PayoutSchedulingProperties payoutProperties;
     private final PayoutNotificationService payoutNotificationService;
-    private final AdminPaymentServiceImp adminPaymentService;
+    private final PayoutChunkProcessor payoutChunkProcessor;
+    private final PayoutBatchJobRepository payoutBatchJobRepository;
+    private final Executor payoutExecutor;
+    private final DistributedJobCoordinator jobCoordinator;
+
+    public AutomaticPayoutService(PayoutEligibilityService payoutEligibilityService,
+            AdminPaymentRepository adminPaymentRepository,
+            InstructorEarningRepository instructorEarningRepository,
+            CacheInvalidationService cacheInvalidationService,
+            PayoutSchedulingProperties payoutProperties,
+            PayoutNotificationService payoutNotificationService,
+            PayoutChunkProcessor payoutChunkProcessor,
+            PayoutBatchJobRepository payoutBatchJobRepository,
+            @Qualifier("payoutExecutor") Executor payoutExecutor,
+            DistributedJobCoordinator jobCoordinator) {
+        this.payoutEligibilityService = payoutEligibilityService;
+        this.adminPaymentRepository = adminPaymentRepository;
+        this.instructorEarningRepository = instructorEarningRepository;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.payoutProperties = payoutProperties;
+        this.payoutNotificationService = payoutNotificationService;
+        this.payoutChunkProcessor = payoutChunkProcessor;
+        this.payoutBatchJobRepository = payoutBatchJobRepository;
+        this.payoutExecutor = payoutExecutor;
+        this.jobCoordinator = jobCoordinator;
+    }
+
     /**
      * Main scheduled job for processing automatic payouts
      * Runs every 4 hours during business hours (8 AM to 8 PM)
      * Test mode: runs every 5 minutes for debugging
+     *
+     * Eligible payments are streamed in keyset chunks of app.payout.batch.size.
+     * Each wave of up to app.payout.batch.workers chunks runs in parallel, and
+     * the job record is checkpointed after every wave.
+     *
+     * Only the node holding the cluster lease runs the job. Chunks and
+     * checkpoints are fenced with the lease's token, so a node that lost its
+     * lease cannot write once the next holder has claimed the run.
      */
     // @Scheduled(cron = "0 */5 * * * *") // Every 5 minutes for testing
     @Scheduled(cron = "0 0 8,12,16,20 * * *") // Production: 4 times a day
@@ -51,59 +93,100 @@ public class AutomaticPayoutService {
             return;
         }
 
+        jobCoordinator.runExclusive("automatic-payouts", PAYOUT_LEASE, this::runAutomaticPayouts);
+    }
+
+    private void runAutomaticPayouts(JobLease lease) {
         log.info("🔄 Starting automatic payout processing job");
 
+        PayoutBatchJob job = null;
         try {
-            // Get eligible payments
-            List<Payment> eligiblePayments = payoutEligibilityService.findEligiblePayments();
+            job = startOrResumeJob(lease);
+
+            int chunkSize = Math.max(1, payoutProperties.getBatch().getSize());
+            int workers = Math.max(1, payoutProperties.getBatch().getWorkers());
+            String afterId = job.getLastPaymentId() != null ? job.getLastPaymentId() : "";
+            ChunkResult totals = new ChunkResult(0, 0, BigDecimal.ZERO, Set.of());
+            boolean exhausted = false;
+
+            while (!exhausted) {
+                // Read the next wave of chunks; ids only, the payments are loaded per chunk
+                List<List<String>> wave = new ArrayList<>();
+                while (wave.size() < workers) {
+                    List<String> ids = adminPaymentRepository.findPayoutCandidateIds(
+                            job.getEligibilityCutoff(), afterId, PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        exhausted = true;
+                        break;
+                    }
+                    wave.add(ids);
+                    afterId = ids.get(ids.size() - 1);
+                    if (ids.size() < chunkSize) {
+                        exhausted = true;
+                        break;
+                    }
+                }
 
-            if (eligiblePayments.isEmpty()) {
-                log.info("✅ No payments eligible for automatic payout at this time");
-                return;
-            }
+                if (wave.isEmpty()) {
+                    break;
+                }
 
-            log.info("💰 Processing {} eligible payments for automatic payout", eligiblePayments.size());
-            
-            // Log payment IDs for debugging
-            if (log.isDebugEnabled()) {
-                eligiblePayments.forEach(payment -> 
-                    log.debug("🎯 Eligible payment: {} (Amount: ${}, Status: {}, PaidOutAt: {})", 
-                            payment.getId(), payment.getAmount(), payment.getStatus(), payment.getPaidOutAt()));
+                PayoutBatchJob current = job;
+                List<CompletableFuture<ChunkResult>> futures = wave.stream()
+                        .map(ids -> CompletableFuture.supplyAsync(() -> processChunk(ids, current, lease),
+                                payoutExecutor))
+                        .toList();
+
+                ChunkResult waveResult = futures.stream()
+                        .map(CompletableFuture::join)
+                        .reduce(new ChunkResult(0, 0, BigDecimal.ZERO, Set.of()), ChunkResult::plus);
+                totals = totals.plus(waveResult);
+
+                waveResult.instructorIds().forEach(cacheInvalidationService::invalidateInstructorStatisticsOnPayment);
+
+                // Checkpoint: every chunk up to afterId has committed
+                job.setLastPaymentId(afterId);
+                job.setChunksProcessed(job.getChunksProcessed() + wave.size());
+                job.setSucceededCount(job.getSucceededCount() + waveResult.succeeded());
+                job.setFailedCount(job.getFailedCount() + waveResult.failed());
+                job.setTotalAmount(job.getTotalAmount().add(waveResult.totalAmount()));
+                lease.requireAccepted(payoutBatchJobRepository.checkpoint(job.getId(), lease.getFencingToken(),
+                        job.getLastPaymentId(), job.getChunksProcessed(), job.getSucceededCount(),
+                        job.getFailedCount(), job.getTotalAmount()));
             }
 
-            AtomicInteger successCount = new AtomicInteger(0);
-            AtomicInteger failureCount = new AtomicInteger(0);
-            BigDecimal totalAmount = BigDecimal.ZERO;
+            lease.requireAccepted(payoutBatchJobRepository.finish(job.getId(), lease.getFencingToken(),
+                    PayoutBatchJob.JobStatus.COMPLETED, LocalDateTime.now(), null));
 
-            // Process each eligible payment
-            for (Payment payment : eligiblePayments) {
-                try {
-                    boolean success = processPaymentPayout(payment);
-                    if (success) {
-                        successCount.incrementAndGet();
-                        totalAmount = totalAmount.add(payment.getAmount());
-                    } else {
-                        failureCount.incrementAndGet();
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing payout for payment {}: {}", payment.getId(), e.getMessage(), e);
-                    failureCount.incrementAndGet();
-                }
+            if (job.getChunksProcessed() == 0) {
+                log.info("✅ No payments eligible for automatic payout at this time");
+                return;
             }
 
             // Log summary
-            log.info("🎯 Automatic payout processing completed - Success: {}, Failed: {}, Total Amount: ${}", 
-                    successCount.get(), failureCount.get(), totalAmount);
+            log.info("🎯 Automatic payout processing completed - Chunks: {}, Success: {}, Failed: {}, Total Amount: ${}",
+                    job.getChunksProcessed(), job.getSucceededCount(), job.getFailedCount(), job.getTotalAmount());
 
             // Send notification if enabled
             if (payoutProperties.getNotification().isEnabled()) {
                 payoutNotificationService.sendPayoutProcessingSummary(
-                    successCount.get(), failureCount.get(), totalAmount);
+                    job.getSucceededCount(), job.getFailedCount(), job.getTotalAmount());
             }
 
         } catch (Exception e) {
             log.error("❌ Error during automatic payout processing: {}", e.getMessage(), e);
-            
+
+            // With the lease lost the job belongs to another node, which resumes it;
+            // the fenced write is a no-op once that node has claimed the run
+            if (job != null && lease.isHeld()) {
+                try {
+                    payoutBatchJobRepository.finish(job.getId(), lease.getFencingToken(),
+                            PayoutBatchJob.JobStatus.FAILED, LocalDateTime.now(), e.getMessage());
+                } catch (Exception saveError) {
+                    log.error("Failed to record payout job failure: {}", saveError.getMessage());
+                }
+            }
+
             // Send error notification
             if (payoutProperties.getNotification().isEnabled()) {
                 payoutNotificationService.sendPayoutProcessingError(e);
@@ -112,85 +195,57 @@ public class AutomaticPayoutService {
     }
 
     /**
-     * Process payout for a single payment
-     * Implements the same logic as the manual payout API
-     * 
-     * @param payment The payment to process
-     * @return true if payout was successful, false otherwise
+     * Resume the last run left RUNNING by a crash, or start a new one with a
+     * fresh eligibility cutoff. Either way the run is claimed under this
+     * lease's fencing token.
      */
-    @Transactional
-    public boolean processPaymentPayout(Payment payment) {
-        log.info("💳 Processing automatic payout for payment: {} (Amount: ${})", 
-                payment.getId(), payment.getAmount());
+    private PayoutBatchJob startOrResumeJob(JobLease lease) {
+        Optional<PayoutBatchJob> interrupted = payoutBatchJobRepository
+                .findFirstByStatusOrderByStartedAtDesc(PayoutBatchJob.JobStatus.RUNNING);
+        if (interrupted.isPresent()) {
+            PayoutBatchJob job = interrupted.get();
+            lease.requireAccepted(payoutBatchJobRepository.claim(job.getId(), lease.getFencingToken()));
+            log.info("♻️ Resuming payout job {} from checkpoint {} ({} chunks done)",
+                    job.getId(), job.getLastPaymentId(), job.getChunksProcessed());
+            return job;
+        }
+
+        return payoutBatchJobRepository.save(PayoutBatchJob.builder()
+                .fencingToken(lease.getFencingToken())
+                .eligibilityCutoff(payoutEligibilityService.getEligibilityCutoff())
+                .startedAt(LocalDateTime.now())
+                .build());
+    }
 
+    /**
+     * Process one chunk in its own transaction. If the chunk fails as a whole,
+     * its payments are retried one by one so a single bad payment does not
+     * block the rest. A chunk fenced out by a newer lease is not retried.
+     */
+    private ChunkResult processChunk(List<String> paymentIds, PayoutBatchJob job, JobLease lease) {
+        LocalDateTime cutoff = job.getEligibilityCutoff();
         try {
-            // Refresh payment from database to get latest state with refunds
-            Payment freshPayment = adminPaymentRepository.findPaymentByIdWithRefunds(payment.getId()).orElse(null);
-            if (freshPayment == null) {
-                log.warn("Payment {} not found in database", payment.getId());
-                return false;
-            }
-            
-            // Check if payment was already paid out (by another process/thread)
-            if (freshPayment.getPaidOutAt() != null) {
-                log.warn("Payment {} was already paid out at {} - skipping duplicate processing", 
-                        freshPayment.getId(), freshPayment.getPaidOutAt());
-                return false;
-            }
+            return payoutChunkProcessor.processChunk(paymentIds, cutoff, job.getId(), lease);
+        } catch (LeaseLostException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Payout chunk of {} payments failed, retrying individually: {}",
+                    paymentIds.size(), e.getMessage());
+        }
 
-            // Double-check eligibility with fresh payment data
-            if (!payoutEligibilityService.isPaymentEligibleForPayout(freshPayment)) {
-                log.warn("Payment {} is no longer eligible for payout", freshPayment.getId());
-                return false;
-            }
-            
-            // Check if instructor earning already exists (additional safety check)
-            var existingEarning = instructorEarningRepository.findByPaymentId(freshPayment.getId());
-            if (existingEarning.isPresent()) {
-                log.warn("Instructor earning already exists for payment {} - skipping duplicate processing", 
-                        freshPayment.getId());
-                return false;
+        ChunkResult result = new ChunkResult(0, 0, BigDecimal.ZERO, Set.of());
+        for (String paymentId : paymentIds) {
+            try {
+                result = result.plus(payoutChunkProcessor.processChunk(List.of(paymentId), cutoff, job.getId(),
+                        lease));
+            } catch (LeaseLostException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("❌ Failed to process automatic payout for payment {}: {}", paymentId, e.getMessage(), e);
+                result = result.plus(ChunkResult.failed(1));
             }
-
-            LocalDateTime now = LocalDateTime.now();
-
-            // Calculate instructor earning amount (70% of payment amount)
-            BigDecimal instructorEarningAmount = freshPayment.getAmount()
-                .multiply(payoutProperties.getInstructor().getEarning().getPercentage())
-                .setScale(2, RoundingMode.HALF_UP);
-
-            // Create instructor earning record
-            InstructorEarning instructorEarning = InstructorEarning.builder()
-                .instructor(freshPayment.getCourse().getInstructor())
-                .payment(freshPayment)
-                .course(freshPayment.getCourse())
-                .amount(instructorEarningAmount)
-                .status(InstructorEarning.EarningStatus.AVAILABLE)
-                .paidAt(null) // Will be set when actually paid to instructor
-                .build();
-
-            InstructorEarning savedEarning = instructorEarningRepository.save(instructorEarning);
-
-            // Update payment paid out timestamp using fresh payment
-            freshPayment.setPaidOutAt(now);
-            Payment updatedPayment = adminPaymentRepository.save(freshPayment);
-
-            adminPaymentService.createAffiliatePayoutForReferralDiscount(freshPayment);
-
-            // Invalidate relevant caches
-            cacheInvalidationService.invalidateInstructorStatisticsOnPayment(
-                freshPayment.getCourse().getInstructor().getId());
-
-            log.info("✅ Successfully processed automatic payout for payment: {} -> Earning: {} (${}) for instructor: {} at {}", 
-                    updatedPayment.getId(), savedEarning.getId(), instructorEarningAmount, 
-                    freshPayment.getCourse().getInstructor().getName(), updatedPayment.getPaidOutAt());
-
-            return true;
-
-        } catch (Exception e) {
-            log.error("❌ Failed to process automatic payout for payment {}: {}", payment.getId(), e.getMessage(), e);
-            return false;
         }
+        return result;
     }
 
     /**
@@ -203,6 +258,10 @@ public class AutomaticPayoutService {
             return;
         }
 
+        jobCoordinator.runExclusive("payout-daily-summary", SUMMARY_LEASE, lease -> runDailySummary());
+    }
+
+    private void runDailySummary() {
         log.info("📊 Generating daily payout summary");
 
         try {
@@ -236,6 +295,10 @@ public class AutomaticPayoutService {
             return;
         }
 
+        jobCoordinator.runExclusive("payout-weekly-maintenance", MAINTENANCE_LEASE, lease -> runWeeklyMaintenance());
+    }
+
+    private void runWeeklyMaintenance() {
         log.info("🧹 Performing weekly payout maintenance");
 
         try {
@@ -243,6 +306,9 @@ public class AutomaticPayoutService {
             long totalEarnings = instructorEarningRepository.count();
             log.info("📊 Weekly maintenance - Total instructor earnings: {}", totalEarnings);
 
+            int purgedRuns = jobCoordinator.purgeRunHistory(RUN_HISTORY_RETENTION);
+            log.info("🧹 Weekly maintenance - Purged {} old scheduled job runs", purgedRuns);
+
             // Additional maintenance tasks can be added here
             // e.g., cleanup old logs, update metrics, etc.
 
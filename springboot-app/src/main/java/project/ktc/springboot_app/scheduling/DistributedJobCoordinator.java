@@ -0,0 +1,217 @@
+package project.ktc.springboot_app.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import project.ktc.springboot_app.scheduling.entity.ScheduledJobRun;
+import project.ktc.springboot_app.scheduling.repositories.ScheduledJobLockRepository;
+import project.ktc.springboot_app.scheduling.repositories.ScheduledJobRunRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide coordination for scheduled jobs.
+ *
+ * A job runs only on the node that wins its lease in scheduled_job_locks.
+ * The lease is renewed by a heartbeat while the job runs; if a renewal fails
+ * the lease is marked lost and the job should stop. Every acquisition bumps
+ * a fencing token; jobs pass it into their guarded writes (see
+ * {@link JobLease#requireAccepted(int)}) so the database rejects a stalled
+ * former holder once the current one has written.
+ *
+ * A finished lease is kept for the release hold rather than freed at once.
+ * Nodes fire the same cron slot up to a few seconds apart, and a job that
+ * finishes in milliseconds would otherwise run again on the slower node.
+ */
+@Service
+@Slf4j
+public class DistributedJobCoordinator {
+
+    private final ScheduledJobLockRepository lockRepository;
+    private final ScheduledJobRunRepository runRepository;
+    private final TaskScheduler taskScheduler;
+    private final String nodeId;
+    private final Duration releaseHold;
+
+    public DistributedJobCoordinator(ScheduledJobLockRepository lockRepository,
+            ScheduledJobRunRepository runRepository,
+            TaskScheduler taskScheduler,
+            @Value("${app.scheduling.node-id:}") String nodeId,
+            @Value("${app.scheduling.release-hold:PT2M}") Duration releaseHold) {
+        this.lockRepository = lockRepository;
+        this.runRepository = runRepository;
+        this.taskScheduler = taskScheduler;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : ManagementFactory.getRuntimeMXBean().getName();
+        this.releaseHold = releaseHold;
+    }
+
+    /**
+     * Run the job on this node only if no other node holds its lease.
+     *
+     * @return true if the job ran here, false if another node holds the lease
+     */
+    public boolean runExclusive(String jobName, Duration lease, Consumer<JobLease> job) {
+        Optional<JobLease> acquired = tryAcquire(jobName, lease);
+        if (acquired.isEmpty()) {
+            log.debug("Skipping job {}: lease held by another node", jobName);
+            return false;
+        }
+
+        JobLease jobLease = acquired.get();
+        ScheduledJobRun run;
+        try {
+            run = startRun(jobLease);
+        } catch (RuntimeException e) {
+            // The job never started, so another node may run this slot
+            release(jobLease, Duration.ZERO);
+            throw e;
+        }
+
+        ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(
+                () -> renew(jobLease, lease), lease.dividedBy(3));
+        try {
+            job.accept(jobLease);
+            finishRun(run, jobLease.isHeld() ? ScheduledJobRun.RunStatus.SUCCEEDED
+                    : ScheduledJobRun.RunStatus.LEASE_LOST, null);
+        } catch (RuntimeException e) {
+            finishRun(run, jobLease.isHeld() ? ScheduledJobRun.RunStatus.FAILED
+                    : ScheduledJobRun.RunStatus.LEASE_LOST, e.getMessage());
+            throw e;
+        } finally {
+            heartbeat.cancel(false);
+            release(jobLease, releaseHold);
+        }
+        return true;
+    }
+
+    /**
+     * Most recent runs of all jobs, newest first
+     */
+    public List<ScheduledJobRun> getRecentRuns(int limit) {
+        return runRepository.findAllByOrderByStartedAtDesc(PageRequest.of(0, limit));
+    }
+
+    /**
+     * Delete run history older than the given age
+     */
+    public int purgeRunHistory(Duration olderThan) {
+        return runRepository.deleteStartedBefore(LocalDateTime.now().minus(olderThan));
+    }
+
+    private Optional<JobLease> tryAcquire(String jobName, Duration lease) {
+        String owner = nodeId + ":" + UUID.randomUUID();
+        lockRepository.ensureLockRow(jobName);
+        if (lockRepository.tryAcquire(jobName, owner, lease.toMillis()) == 0) {
+            return Optional.empty();
+        }
+        return lockRepository.findFencingToken(jobName, owner)
+                .map(token -> new JobLease(jobName, owner, token));
+    }
+
+    private void renew(JobLease jobLease, Duration lease) {
+        if (!jobLease.isHeld()) {
+            return;
+        }
+        try {
+            if (lockRepository.renew(jobLease.getJobName(), jobLease.getOwner(),
+                    jobLease.getFencingToken(), lease.toMillis()) == 0) {
+                log.warn("Lost lease for job {} (token {})", jobLease.getJobName(), jobLease.getFencingToken());
+                jobLease.lost.set(true);
+            }
+        } catch (Exception e) {
+            // The lease stays valid until it expires; the next heartbeat retries
+            log.error("Failed to renew lease for job {}: {}", jobLease.getJobName(), e.getMessage());
+        }
+    }
+
+    private void release(JobLease jobLease, Duration hold) {
+        try {
+            lockRepository.release(jobLease.getJobName(), jobLease.getOwner(), jobLease.getFencingToken(),
+                    hold.toMillis());
+        } catch (Exception e) {
+            log.error("Failed to release lease for job {}: {}", jobLease.getJobName(), e.getMessage());
+        }
+    }
+
+    private ScheduledJobRun startRun(JobLease jobLease) {
+        return runRepository.save(ScheduledJobRun.builder()
+                .jobName(jobLease.getJobName())
+                .owner(jobLease.getOwner())
+                .fencingToken(jobLease.getFencingToken())
+                .startedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void finishRun(ScheduledJobRun run, ScheduledJobRun.RunStatus status, String error) {
+        try {
+            LocalDateTime finishedAt = LocalDateTime.now();
+            run.setStatus(status);
+            run.setFinishedAt(finishedAt);
+            run.setDurationMs(Duration.between(run.getStartedAt(), finishedAt).toMillis());
+            run.setErrorMessage(error);
+            runRepository.save(run);
+        } catch (Exception e) {
+            log.error("Failed to record run of job {}: {}", run.getJobName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Lease held by the current node for one job run
+     */
+    public final class JobLease {
+
+        private final String jobName;
+        private final String owner;
+        private final long fencingToken;
+        private final AtomicBoolean lost = new AtomicBoolean(false);
+
+        private JobLease(String jobName, String owner, long fencingToken) {
+            this.jobName = jobName;
+            this.owner = owner;
+            this.fencingToken = fencingToken;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        /**
+         * Whether the heartbeat has kept the lease alive so far
+         */
+        public boolean isHeld() {
+            return !lost.get();
+        }
+
+        /**
+         * Check the row count of a write guarded by "fencing_token &lt;= token"
+         *
+         * @throws LeaseLostException if the write was rejected because a newer
+         *                            lease holder has written since
+         */
+        public void requireAccepted(int updatedRows) {
+            if (updatedRows == 0) {
+                lost.set(true);
+                throw new LeaseLostException(jobName, fencingToken);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package project.ktc.springboot_app.scheduling;
+
+/**
+ * Thrown when a job's lease has expired or a write fenced with its token was
+ * rejected because a newer lease holder has written since
+ */
+public class LeaseLostException extends IllegalStateException {
+
+    public LeaseLostException(String jobName, long fencingToken) {
+        super("Lease lost for job " + jobName + " (token " + fencingToken + ")");
+    }
+}
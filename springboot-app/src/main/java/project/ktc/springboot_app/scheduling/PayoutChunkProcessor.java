@@ -0,0 +1,119 @@
+package project.ktc.springboot_app.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.config.PayoutSchedulingProperties;
+import project.ktc.springboot_app.earning.entity.InstructorEarning;
+import project.ktc.springboot_app.earning.repositories.InstructorEarningRepository;
+import project.ktc.springboot_app.payment.entity.Payment;
+import project.ktc.springboot_app.payment.repositories.AdminPaymentRepository;
+import project.ktc.springboot_app.payment.services.AdminPaymentServiceImp;
+import project.ktc.springboot_app.scheduling.DistributedJobCoordinator.JobLease;
+import project.ktc.springboot_app.scheduling.repositories.PayoutBatchJobRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pays out one chunk of payments in a single transaction
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayoutChunkProcessor {
+
+    private final AdminPaymentRepository adminPaymentRepository;
+    private final InstructorEarningRepository instructorEarningRepository;
+    private final PayoutSchedulingProperties payoutProperties;
+    private final AdminPaymentServiceImp adminPaymentService;
+    private final PayoutBatchJobRepository payoutBatchJobRepository;
+
+    /**
+     * Re-check eligibility for the given payments and create their instructor
+     * earnings. Each payment is claimed with a conditional paid-out update and
+     * earnings are unique per payment, so replaying a chunk after a crash or
+     * from a concurrent run never pays a payment twice.
+     *
+     * The chunk first share-locks its run under the lease's fencing token, so
+     * it commits only while no newer lease holder has claimed the run.
+     *
+     * @param paymentIds candidate payment ids from the keyset scan
+     * @param cutoff     eligibility cutoff of the current run
+     * @param jobId      payout run the chunk belongs to
+     * @param lease      lease the run is executing under
+     * @return outcome of the chunk
+     * @throws LeaseLostException if a newer lease holder has claimed the run
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult processChunk(List<String> paymentIds, LocalDateTime cutoff, String jobId, JobLease lease) {
+        lease.requireAccepted((int) payoutBatchJobRepository.lockIfCurrent(jobId, lease.getFencingToken()));
+
+        List<Payment> payments = adminPaymentRepository.findPayoutEligibleByIds(paymentIds, cutoff);
+        if (payments.size() < paymentIds.size()) {
+            log.debug("{} of {} payments in chunk are no longer eligible for payout",
+                    paymentIds.size() - payments.size(), paymentIds.size());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InstructorEarning> earnings = new ArrayList<>();
+        Set<String> instructorIds = new HashSet<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        for (Payment payment : payments) {
+            if (adminPaymentRepository.markPaidOut(payment.getId(), now) == 0) {
+                log.warn("Payment {} was already paid out - skipping duplicate processing", payment.getId());
+                continue;
+            }
+
+            // Calculate instructor earning amount (70% of payment amount)
+            BigDecimal instructorEarningAmount = payment.getAmount()
+                    .multiply(payoutProperties.getInstructor().getEarning().getPercentage())
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            earnings.add(InstructorEarning.builder()
+                    .instructor(payment.getCourse().getInstructor())
+                    .payment(payment)
+                    .course(payment.getCourse())
+                    .amount(instructorEarningAmount)
+                    .status(InstructorEarning.EarningStatus.AVAILABLE)
+                    .paidAt(null) // Will be set when actually paid to instructor
+                    .build());
+
+            instructorIds.add(payment.getCourse().getInstructor().getId());
+            totalAmount = totalAmount.add(payment.getAmount());
+        }
+
+        instructorEarningRepository.saveAll(earnings);
+
+        for (InstructorEarning earning : earnings) {
+            adminPaymentService.createAffiliatePayoutForReferralDiscount(earning.getPayment());
+        }
+
+        return new ChunkResult(earnings.size(), 0, totalAmount, instructorIds);
+    }
+
+    /**
+     * Outcome of a processed chunk
+     */
+    public record ChunkResult(int succeeded, int failed, BigDecimal totalAmount, Set<String> instructorIds) {
+
+        public static ChunkResult failed(int count) {
+            return new ChunkResult(0, count, BigDecimal.ZERO, Set.of());
+        }
+
+        public ChunkResult plus(ChunkResult other) {
+            Set<String> instructors = new HashSet<>(instructorIds);
+            instructors.addAll(other.instructorIds());
+            return new ChunkResult(succeeded + other.succeeded(), failed + other.failed(),
+                    totalAmount.add(other.totalAmount()), instructors);
+        }
+    }
+}
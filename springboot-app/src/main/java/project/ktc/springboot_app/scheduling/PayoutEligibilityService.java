@@ -17,7 +17,6 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service for checking payout eligibility of payments
@@ -33,7 +32,8 @@ public class PayoutEligibilityService {
     private final PayoutSchedulingProperties payoutProperties;
 
     /**
-     * Find all payments eligible for automatic payout
+     * Find the first chunk of payments eligible for automatic payout.
+     * Eligibility is evaluated in SQL, see {@link AdminPaymentRepository#PAYOUT_ELIGIBLE}.
      * 
      * @return List of payments that meet all payout criteria
      */
@@ -41,32 +41,27 @@ public class PayoutEligibilityService {
     public List<Payment> findEligiblePayments() {
         log.info("Searching for payments eligible for automatic payout");
 
-        // Get all completed payments with refunds loaded to avoid LazyInitializationException
-        List<Payment> completedPayments = adminPaymentRepository.findPaymentsByStatusWithRefunds(
-            Payment.PaymentStatus.COMPLETED, 
-            PageRequest.of(0, payoutProperties.getBatchSize() * 3) // Get more to filter properly
-        ).getContent();
-        
-        // Pre-filter to exclude already paid out payments at query level
-        List<Payment> unpaidPayments = completedPayments.stream()
-            .filter(payment -> payment.getPaidOutAt() == null)
-            .toList();
-            
-        log.debug("Found {} completed payments, {} not yet paid out", 
-                completedPayments.size(), unpaidPayments.size());
+        LocalDateTime cutoff = getEligibilityCutoff();
+        List<String> candidateIds = adminPaymentRepository.findPayoutCandidateIds(
+            cutoff, "", PageRequest.of(0, payoutProperties.getBatch().getSize()));
 
-        // Filter payments based on eligibility criteria using unpaid payments
-        List<Payment> eligiblePayments = unpaidPayments.stream()
-            .filter(this::isPaymentEligibleForPayout)
-            .limit(payoutProperties.getBatchSize())
-            .collect(Collectors.toList());
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
 
-        log.info("Found {} eligible payments out of {} unpaid payments (from {} total completed)", 
-                eligiblePayments.size(), unpaidPayments.size(), completedPayments.size());
+        List<Payment> eligiblePayments = adminPaymentRepository.findPayoutEligibleByIds(candidateIds, cutoff);
+        log.info("Found {} eligible payments", eligiblePayments.size());
 
         return eligiblePayments;
     }
 
+    /**
+     * Payments last updated at or before this instant have passed the waiting period
+     */
+    public LocalDateTime getEligibilityCutoff() {
+        return LocalDateTime.now().minusDays(payoutProperties.getWaiting().getPeriod().getDays());
+    }
+
     /**
      * Check if a specific payment is eligible for payout
      * 
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.config.PayoutSchedulingProperties;
+import project.ktc.springboot_app.scheduling.entity.ScheduledJobRun;
 
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +33,7 @@ public class PayoutSchedulingController {
     private final PayoutNotificationService payoutNotificationService;
     private final project.ktc.springboot_app.config.PayoutEmailConfigProcessor emailConfigProcessor;
     private final project.ktc.springboot_app.earning.repositories.InstructorEarningRepository instructorEarningRepository;
+    private final DistributedJobCoordinator jobCoordinator;
 
     /**
      * Manually trigger automatic payout processing
@@ -86,7 +88,8 @@ public class PayoutSchedulingController {
             config.put("schedulingEnabled", payoutProperties.getScheduling().isEnabled());
             config.put("waitingPeriodDays", payoutProperties.getWaiting().getPeriod().getDays());
             config.put("instructorEarningPercentage", payoutProperties.getInstructor().getEarning().getPercentage());
-            config.put("batchSize", payoutProperties.getBatchSize());
+            config.put("batchSize", payoutProperties.getBatch().getSize());
+            config.put("batchWorkers", payoutProperties.getBatch().getWorkers());
             config.put("maxRetryAttempts", payoutProperties.getRetry().getMax().getAttempts());
             config.put("notificationEnabled", payoutProperties.getNotification().isEnabled());
             config.put("adminEmails", payoutProperties.getNotification().getAdmin().getEmails());
@@ -118,6 +121,23 @@ public class PayoutSchedulingController {
         }
     }
 
+    /**
+     * Recent scheduled job runs across the cluster
+     * Shows which node ran each job, its fencing token and duration
+     */
+    @GetMapping("/job-runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<ScheduledJobRun>>> getRecentJobRuns(
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<ScheduledJobRun> runs = jobCoordinator.getRecentRuns(Math.min(Math.max(limit, 1), 200));
+            return ApiResponseUtil.success(runs, "Scheduled job runs retrieved successfully");
+        } catch (Exception e) {
+            log.error("Error retrieving scheduled job runs: {}", e.getMessage(), e);
+            return ApiResponseUtil.internalServerError("Failed to retrieve scheduled job runs: " + e.getMessage());
+        }
+    }
+
     /**
      * Health check endpoint for the scheduling system
      * Returns the health status of the automatic payout system
@@ -0,0 +1,79 @@
+package project.ktc.springboot_app.scheduling.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpointed record of an automatic payout run.
+ * The eligibility cutoff and the last committed payment id are stored so a
+ * run interrupted by a crash resumes where it stopped.
+ */
+@Entity
+@Table(name = "payout_batch_jobs", indexes = {
+        @Index(name = "idx_payout_job_status", columnList = "status, started_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayoutBatchJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private JobStatus status = JobStatus.RUNNING;
+
+    /**
+     * Highest lease fencing token that has written to this run. Writes carry
+     * their lease's token and are rejected once a newer lease has written.
+     */
+    @Column(name = "fencing_token", nullable = false)
+    @Builder.Default
+    private Long fencingToken = 0L;
+
+    /**
+     * Payments updated after this instant are still in their waiting period
+     */
+    @Column(name = "eligibility_cutoff", nullable = false)
+    private LocalDateTime eligibilityCutoff;
+
+    /**
+     * Keyset checkpoint: every candidate up to this id has been processed
+     */
+    @Column(name = "last_payment_id", length = 36)
+    private String lastPaymentId;
+
+    @Column(name = "chunks_processed", nullable = false)
+    @Builder.Default
+    private Integer chunksProcessed = 0;
+
+    @Column(name = "succeeded_count", nullable = false)
+    @Builder.Default
+    private Integer succeededCount = 0;
+
+    @Column(name = "failed_count", nullable = false)
+    @Builder.Default
+    private Integer failedCount = 0;
+
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    public enum JobStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,39 @@
+package project.ktc.springboot_app.scheduling.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease lock row for a cluster-wide scheduled job.
+ * The fencing token increases on every acquisition so writes made by a
+ * holder whose lease already expired can be told apart and rejected.
+ */
+@Entity
+@Table(name = "scheduled_job_locks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_scheduled_job_lock_name", columnNames = "job_name")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledJobLock extends BaseEntity {
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false, length = 150)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
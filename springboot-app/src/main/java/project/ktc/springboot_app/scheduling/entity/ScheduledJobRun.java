@@ -0,0 +1,52 @@
+package project.ktc.springboot_app.scheduling.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * History of a scheduled job execution on the node that held its lease
+ */
+@Entity
+@Table(name = "scheduled_job_runs", indexes = {
+        @Index(name = "idx_scheduled_job_run_name_started", columnList = "job_name, started_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledJobRun extends BaseEntity {
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false, length = 150)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    public enum RunStatus {
+        RUNNING, SUCCEEDED, FAILED, LEASE_LOST
+    }
+}
@@ -0,0 +1,66 @@
+package project.ktc.springboot_app.scheduling.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.scheduling.entity.PayoutBatchJob;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for automatic payout run checkpoints.
+ * Writes to a run are fenced: they carry the writer's lease token and match
+ * no row once a run has been written under a newer token.
+ */
+@Repository
+public interface PayoutBatchJobRepository extends JpaRepository<PayoutBatchJob, String> {
+
+    Optional<PayoutBatchJob> findFirstByStatusOrderByStartedAtDesc(PayoutBatchJob.JobStatus status);
+
+    /**
+     * Take over a run under the given token, fencing out older holders
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PayoutBatchJob j SET j.fencingToken = :token, j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id AND j.fencingToken <= :token")
+    int claim(@Param("id") String id, @Param("token") long token);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PayoutBatchJob j SET j.fencingToken = :token, j.lastPaymentId = :lastPaymentId, " +
+            "j.chunksProcessed = :chunksProcessed, j.succeededCount = :succeededCount, " +
+            "j.failedCount = :failedCount, j.totalAmount = :totalAmount, j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id AND j.fencingToken <= :token")
+    int checkpoint(@Param("id") String id, @Param("token") long token,
+            @Param("lastPaymentId") String lastPaymentId,
+            @Param("chunksProcessed") int chunksProcessed,
+            @Param("succeededCount") int succeededCount,
+            @Param("failedCount") int failedCount,
+            @Param("totalAmount") BigDecimal totalAmount);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PayoutBatchJob j SET j.fencingToken = :token, j.status = :status, " +
+            "j.finishedAt = :finishedAt, j.lastError = :lastError, j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id AND j.fencingToken <= :token")
+    int finish(@Param("id") String id, @Param("token") long token,
+            @Param("status") PayoutBatchJob.JobStatus status,
+            @Param("finishedAt") LocalDateTime finishedAt,
+            @Param("lastError") String lastError);
+
+    /**
+     * Share-lock the run if the token is still current. Called at the start of
+     * a chunk transaction: the lock is held until the chunk commits, so a
+     * newer holder's claim waits for in-flight chunks, and chunks started
+     * after the claim are rejected.
+     */
+    @Query(value = "SELECT COUNT(*) FROM payout_batch_jobs WHERE id = :id AND fencing_token <= :token FOR SHARE",
+            nativeQuery = true)
+    long lockIfCurrent(@Param("id") String id, @Param("token") long token);
+}
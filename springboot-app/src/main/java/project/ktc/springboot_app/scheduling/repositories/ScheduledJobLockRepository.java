@@ -0,0 +1,74 @@
+package project.ktc.springboot_app.scheduling.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.scheduling.entity.ScheduledJobLock;
+
+import java.util.Optional;
+
+/**
+ * Lease lock operations. All lease times are computed with the database
+ * clock so nodes with skewed clocks agree on expiry.
+ */
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    /**
+     * Create the lock row on first use; a no-op when it already exists
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "scheduled_job_locks"))
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO scheduled_job_locks (id, job_name, owner, fencing_token, lease_until, " +
+            "created_at, updated_at) VALUES (UUID(), :jobName, '', 0, '1970-01-01 00:00:01', NOW(), NOW())", nativeQuery = true)
+    int ensureLockRow(@Param("jobName") String jobName);
+
+    /**
+     * Take the lease if it is free or expired, bumping the fencing token.
+     * Returns 1 when this caller now holds the lease.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "scheduled_job_locks"))
+    @Transactional
+    @Query(value = "UPDATE scheduled_job_locks SET owner = :owner, fencing_token = fencing_token + 1, " +
+            "lease_until = DATE_ADD(NOW(6), INTERVAL :leaseMs * 1000 MICROSECOND), heartbeat_at = NOW(6), " +
+            "updated_at = NOW() " +
+            "WHERE job_name = :jobName AND lease_until < NOW(6)", nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+    /**
+     * Extend a lease still held under the given fencing token
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "scheduled_job_locks"))
+    @Transactional
+    @Query(value = "UPDATE scheduled_job_locks SET lease_until = DATE_ADD(NOW(6), INTERVAL :leaseMs * 1000 MICROSECOND), " +
+            "heartbeat_at = NOW(6), updated_at = NOW() " +
+            "WHERE job_name = :jobName AND owner = :owner AND fencing_token = :token AND lease_until >= NOW(6)", nativeQuery = true)
+    int renew(@Param("jobName") String jobName, @Param("owner") String owner, @Param("token") long token,
+            @Param("leaseMs") long leaseMs);
+
+    /**
+     * Shorten a finished lease to expire holdMs from now, so nodes whose
+     * trigger for the same fire time arrives late still see it taken. A hold
+     * of 0 frees the lease immediately.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "scheduled_job_locks"))
+    @Transactional
+    @Query(value = "UPDATE scheduled_job_locks SET lease_until = DATE_ADD(NOW(6), INTERVAL :holdMs * 1000 MICROSECOND), " +
+            "updated_at = NOW() " +
+            "WHERE job_name = :jobName AND owner = :owner AND fencing_token = :token", nativeQuery = true)
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("token") long token,
+            @Param("holdMs") long holdMs);
+
+    @Query(value = "SELECT fencing_token FROM scheduled_job_locks WHERE job_name = :jobName AND owner = :owner", nativeQuery = true)
+    Optional<Long> findFencingToken(@Param("jobName") String jobName, @Param("owner") String owner);
+}
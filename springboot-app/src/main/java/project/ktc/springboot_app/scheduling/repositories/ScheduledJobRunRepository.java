@@ -0,0 +1,27 @@
+package project.ktc.springboot_app.scheduling.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.scheduling.entity.ScheduledJobRun;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for scheduled job run history
+ */
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, String> {
+
+    List<ScheduledJobRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledJobRun r WHERE r.startedAt < :before")
+    int deleteStartedBefore(@Param("before") LocalDateTime before);
+}
@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -13,16 +12,22 @@ import java.util.stream.Collectors;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import project.ktc.springboot_app.cache.services.domain.CoursesCacheService;
 import project.ktc.springboot_app.common.dto.ApiResponse;
+import project.ktc.springboot_app.common.ordering.OrderIndexWriter;
+import project.ktc.springboot_app.common.ordering.OrderedTable;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
 import project.ktc.springboot_app.course.entity.Course;
 import project.ktc.springboot_app.course.repositories.CourseRepository;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
 import project.ktc.springboot_app.entity.QuizQuestion;
 import project.ktc.springboot_app.entity.VideoContent;
 import project.ktc.springboot_app.lesson.entity.Lesson;
@@ -63,6 +68,9 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
     private final ObjectMapper objectMapper;
     private final SystemLogHelper systemLogHelper;
     private final UserRepository userRepository;
+    private final CourseProgressService courseProgressService;
+    private final OrderIndexWriter orderIndexWriter;
+    private final CoursesCacheService coursesCacheService;
 
     @Override
     public ResponseEntity<ApiResponse<List<SectionWithLessonsDto>>> getCourseSections(
@@ -273,11 +281,7 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
     }
 
     private Integer calculateNextOrderIndex(String courseId) {
-        List<Section> existingSections = sectionRepository.findSectionsByCourseIdOrderByOrder(courseId);
-        if (existingSections.isEmpty()) {
-            return 0;
-        }
-        return existingSections.get(existingSections.size() - 1).getOrderIndex() + 1;
+        return orderIndexWriter.nextIndex(OrderedTable.SECTIONS, courseId);
     }
 
     @Override
@@ -364,6 +368,7 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
     }
 
     @Override
+    @Transactional
     public ResponseEntity<ApiResponse<Void>> deleteSection(
             String courseId,
             String sectionId,
@@ -405,6 +410,11 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
             // Capture section data for logging before deletion
             SectionLogDto sectionLogDto = SectionLogMapper.toLogDto(section);
 
+            // Take the section's lessons out of the progress counters before they go
+            List<String> lessonIds = section.getLessons() == null ? List.of()
+                    : section.getLessons().stream().map(Lesson::getId).toList();
+            courseProgressService.lessonsRemoved(courseId, lessonIds);
+
             // Delete the section (this will cascade delete lessons if configured properly)
             sectionRepository.delete(section);
             log.info("Section {} deleted successfully", sectionId);
@@ -436,26 +446,15 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
     /**
      * Reorders sections after deletion to maintain continuous order values.
      * Sections with order index greater than the deleted section's order
-     * will have their order decreased by 1.
+     * will have their order decreased by 1, in a single statement.
      */
     private void reorderSectionsAfterDeletion(String courseId, Integer deletedOrderIndex) {
         log.info("Reordering sections for course {} after deletion at order {}", courseId, deletedOrderIndex);
 
         try {
-            // Get all sections with order greater than the deleted section
-            List<Section> sectionsToReorder = sectionRepository.findSectionsByCourseIdAndOrderGreaterThan(
-                    courseId, deletedOrderIndex);
-
-            // Decrease order index by 1 for each section
-            for (Section section : sectionsToReorder) {
-                section.setOrderIndex(section.getOrderIndex() - 1);
-            }
-
-            // Batch save all updated sections
-            if (!sectionsToReorder.isEmpty()) {
-                sectionRepository.saveAll(sectionsToReorder);
-                log.info("Reordered {} sections for course {}", sectionsToReorder.size(), courseId);
-            }
+            int shifted = orderIndexWriter.closeGap(OrderedTable.SECTIONS, courseId, deletedOrderIndex);
+            log.info("Reordered {} sections for course {}", shifted, courseId);
+            courseStructureChanged(courseId);
 
         } catch (Exception e) {
             log.error("Error reordering sections for course {}: {}", courseId, e.getMessage(), e);
@@ -487,18 +486,23 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
                 return ApiResponseUtil.forbidden("You are not allowed to reorder sections for this course");
             }
 
-            // Get all current sections for the course
-            List<Section> currentSections = sectionRepository.findSectionsByCourseIdOrderByOrder(courseId);
+            // Lock the current order so concurrent reorders queue up
+            OrderIndexWriter.OrderSnapshot currentOrder = orderIndexWriter.lockOrder(OrderedTable.SECTIONS,
+                    courseId);
 
             // Validate the reorder request
-            String validationError = validateSectionOrder(currentSections, reorderSectionsDto.getSectionOrder());
+            String validationError = validateSectionOrder(currentOrder.ids(), reorderSectionsDto.getSectionOrder());
             if (validationError != null) {
                 log.warn("Invalid section order for course {}: {}", courseId, validationError);
                 return ApiResponseUtil.badRequest(validationError);
             }
 
-            // Reorder sections based on the new order
-            reorderSectionsWithNewOrder(currentSections, reorderSectionsDto.getSectionOrder());
+            // Rewrite only the sections whose position changed
+            int updated = orderIndexWriter.applyOrder(OrderedTable.SECTIONS, courseId, currentOrder,
+                    reorderSectionsDto.getSectionOrder());
+            if (updated > 0) {
+                courseStructureChanged(courseId);
+            }
 
             log.info("Sections reordered successfully for course {}", courseId);
             return ApiResponseUtil.success("Sections reordered successfully");
@@ -513,14 +517,14 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
      * Validates that the provided section order contains all and only the sections
      * that belong to the course, with no duplicates.
      */
-    private String validateSectionOrder(List<Section> currentSections, List<String> newOrder) {
+    private String validateSectionOrder(List<String> currentSectionIdsInOrder, List<String> newOrder) {
         if (newOrder == null || newOrder.isEmpty()) {
             return "Section order cannot be empty";
         }
 
-        if (currentSections.size() != newOrder.size()) {
+        if (currentSectionIdsInOrder.size() != newOrder.size()) {
             return String.format("Section order must contain exactly %d sections, but got %d",
-                    currentSections.size(), newOrder.size());
+                    currentSectionIdsInOrder.size(), newOrder.size());
         }
 
         // Check for duplicates in the new order
@@ -530,10 +534,7 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
         }
 
         // Check that all section IDs in the new order exist and belong to the course
-        Set<String> currentSectionIds = new HashSet<>();
-        for (Section section : currentSections) {
-            currentSectionIds.add(section.getId());
-        }
+        Set<String> currentSectionIds = new HashSet<>(currentSectionIdsInOrder);
 
         for (String sectionId : newOrder) {
             if (!currentSectionIds.contains(sectionId)) {
@@ -552,61 +553,18 @@ public class InstructorSectionServiceImp implements InstructorSectionService {
     }
 
     /**
-     * Updates the order index of sections based on the new order list.
-     * Each section gets an order index equal to its position in the list (0-based).
-     * Uses a two-phase approach with dynamic offset calculation to avoid unique
-     * constraint violations.
+     * Drop the cached student course structure once the change is committed
      */
-    @Transactional
-    private void reorderSectionsWithNewOrder(List<Section> sections, List<String> newOrder) {
-        log.info("Updating section order for {} sections", newOrder.size());
-
-        try {
-            // Create a Map for O(1) lookup instead of nested loops
-            Map<String, Section> sectionMap = sections.stream()
-                    .collect(Collectors.toMap(Section::getId, section -> section));
-
-            // Build the ordered list of sections to update
-            List<Section> sectionsToUpdate = newOrder.stream()
-                    .map(sectionMap::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            if (sectionsToUpdate.isEmpty()) {
-                log.warn("No valid sections found to reorder");
-                return;
-            }
-
-            // Calculate dynamic offset to avoid conflicts
-            Integer maxCurrentOrder = sections.stream()
-                    .mapToInt(Section::getOrderIndex)
-                    .max()
-                    .orElse(0);
-            int offset = maxCurrentOrder + 1000;
-
-            log.info("Using offset {} to avoid conflicts (max order: {})", offset, maxCurrentOrder);
-
-            // Phase 1: Set temporary offset values to avoid constraint violations
-            for (int i = 0; i < sectionsToUpdate.size(); i++) {
-                sectionsToUpdate.get(i).setOrderIndex(offset + i);
-            }
-
-            sectionRepository.saveAll(sectionsToUpdate);
-            sectionRepository.flush(); // Force immediate database update
-            log.info("Step 1 complete: Set temporary offset order for {} sections", sectionsToUpdate.size());
-
-            // Phase 2: Set final order values (0-based indexing)
-            for (int i = 0; i < sectionsToUpdate.size(); i++) {
-                sectionsToUpdate.get(i).setOrderIndex(i);
-            }
-
-            sectionRepository.saveAll(sectionsToUpdate);
-            sectionRepository.flush(); // Force immediate database update
-            log.info("Step 2 complete: Set final order for {} sections", sectionsToUpdate.size());
-
-        } catch (Exception e) {
-            log.error("Error updating section order: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to update section order", e);
+    private void courseStructureChanged(String courseId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    coursesCacheService.invalidateCourseStructure(courseId);
+                }
+            });
+        } else {
+            coursesCacheService.invalidateCourseStructure(courseId);
         }
     }
 }
@@ -293,6 +293,9 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
 
     /**
      * Thread-local context for storing effective filter information
+     * Cleared after each request by FilterContextCleanupInterceptor and after
+     * each pooled task by the async task decorator. On a virtual thread the
+     * values belong to that virtual thread, not to its carrier.
      */
     public static class EffectiveFilterContext {
         private static final ThreadLocal<FilterType.EffectiveFilterType> currentFilter = new ThreadLocal<>();
@@ -0,0 +1,34 @@
+package project.ktc.springboot_app.stripe.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the Stripe webhook event queue
+ * Maps properties from application.properties with prefix
+ * "app.stripe.webhook"
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.stripe.webhook")
+public class StripeWebhookProperties {
+
+    /** Whether this node drains the queue; events are stored either way */
+    private boolean workerEnabled = true;
+
+    /** Events claimed per batch */
+    private int batchSize = 50;
+
+    /** Batches drained per poll before yielding to the next poll */
+    private int maxBatchesPerPoll = 10;
+
+    /** How long a claim is held before another node may take the event over */
+    private int leaseSeconds = 120;
+
+    /** Attempts before an event is moved to the DEAD state */
+    private int maxAttempts = 8;
+
+    /** First retry delay; doubles with each attempt */
+    private int retryDelaySeconds = 15;
+}
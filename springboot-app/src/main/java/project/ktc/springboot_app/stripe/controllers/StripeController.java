@@ -22,6 +22,7 @@ import project.ktc.springboot_app.stripe.dto.CreateCheckoutSessionRequest;
 import project.ktc.springboot_app.stripe.dto.CreateCheckoutSessionResponse;
 import project.ktc.springboot_app.stripe.dto.PaymentStatusResponse;
 import project.ktc.springboot_app.stripe.services.StripeCheckoutService;
+import project.ktc.springboot_app.stripe.services.StripeWebhookQueueService;
 import project.ktc.springboot_app.stripe.services.StripeWebhookService;
 import project.ktc.springboot_app.utils.SecurityUtil;
 import project.ktc.springboot_app.payment.entity.Payment;
@@ -42,6 +43,7 @@ import java.util.Optional;
 public class StripeController {
 
     private final StripeWebhookService stripeWebhookService;
+    private final StripeWebhookQueueService stripeWebhookQueueService;
     private final StripeCheckoutService stripeCheckoutService;
     private final CourseRepository courseRepository;
     private final PaymentService paymentService;
@@ -115,7 +117,9 @@ public class StripeController {
 
     /**
      * Endpoint to receive Stripe webhook events
-     * This endpoint should be registered in your Stripe Dashboard
+     * This endpoint should be registered in your Stripe Dashboard.
+     * Events are verified, stored once per event id and acknowledged right
+     * away; they are handled afterwards by the webhook queue worker.
      */
     @PostMapping("/webhook")
     public ResponseEntity<String> handleWebhook(
@@ -125,27 +129,22 @@ public class StripeController {
         log.info("========== STRIPE WEBHOOK RECEIVED ==========");
         log.info("Payload length: {}", payload != null ? payload.length() : 0);
         log.info("Signature header present: {}", sigHeader != null);
-        log.info("Payload preview: {}",
-                payload != null && payload.length() > 100 ? payload.substring(0, 100) + "..." : payload);
 
         try {
-            boolean processed = stripeWebhookService.processWebhookEvent(payload, sigHeader);
-
-            if (processed) {
-                log.info("✅ Webhook event processed successfully");
-                return ResponseEntity.ok("Webhook processed successfully");
-            } else {
-                log.error("❌ Failed to process webhook event");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body("Failed to process webhook");
-            }
+            boolean accepted = stripeWebhookQueueService.ingest(payload, sigHeader);
+            return ResponseEntity.ok(accepted ? "Webhook received" : "Webhook already received");
 
         } catch (SignatureVerificationException e) {
             log.error("❌ Webhook signature verification failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Invalid signature");
+        } catch (IllegalArgumentException e) {
+            log.error("❌ Invalid webhook payload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid payload");
         } catch (Exception e) {
-            log.error("❌ Error processing webhook: {}", e.getMessage(), e);
+            // Not stored; Stripe will deliver the event again
+            log.error("❌ Error storing webhook: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Webhook processing error");
         }
@@ -234,16 +233,11 @@ public class StripeController {
                     System.currentTimeMillis() / 1000,
                     sessionId);
 
-            // Process the mock webhook (without signature verification)
-            boolean processed = stripeWebhookService.processWebhookEvent(mockPayload, null);
+            // Handle the mock webhook directly (without signature verification or queueing)
+            stripeWebhookService.handleEvent(stripeWebhookService.constructEvent(mockPayload, null));
 
-            if (processed) {
-                return ApiResponseUtil.success("Payment simulation completed successfully",
-                        "Test payment processed for session: " + sessionId);
-            } else {
-                return ApiResponseUtil.error(HttpStatus.INTERNAL_SERVER_ERROR,
-                        "Failed to process test payment");
-            }
+            return ApiResponseUtil.success("Payment simulation completed successfully",
+                    "Test payment processed for session: " + sessionId);
 
         } catch (Exception e) {
             log.error("Error in test payment simulation: {}", e.getMessage(), e);
@@ -0,0 +1,85 @@
+package project.ktc.springboot_app.stripe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Verified Stripe webhook event waiting to be, or already, processed.
+ * At most one row exists per Stripe event id, so redelivered events are
+ * acknowledged without being handled again. createdAt is when the event was
+ * received.
+ */
+@Entity
+@Table(name = "stripe_webhook_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stripe_webhook_events_event_id", columnNames = { "event_id" })
+}, indexes = {
+        @Index(name = "idx_stripe_webhook_events_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_stripe_webhook_events_ordering", columnList = "ordering_key, status, stripe_created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StripeWebhookEvent extends BaseEntity {
+
+    @Column(name = "event_id", nullable = false)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    /**
+     * Id of the Stripe object the event is about (the checkout session for
+     * checkout events). Events sharing a key are processed one at a time in
+     * Stripe's order.
+     */
+    @Column(name = "ordering_key", nullable = false)
+    private String orderingKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(name = "stripe_created_at", nullable = false)
+    private LocalDateTime stripeCreatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private EventStatus status = EventStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * When the event becomes eligible for processing. For PROCESSING events
+     * this is the lease expiry, after which a crashed worker's claim is
+     * picked up again.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** Redeliveries acknowledged without processing */
+    @Column(name = "duplicate_count", nullable = false)
+    @Builder.Default
+    private Integer duplicateCount = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /**
+     * DEAD events ran out of attempts or cannot be processed at all; they
+     * stay in the table for inspection and no longer hold back later events
+     * for the same key
+     */
+    public enum EventStatus {
+        PENDING, PROCESSING, DONE, DEAD
+    }
+}
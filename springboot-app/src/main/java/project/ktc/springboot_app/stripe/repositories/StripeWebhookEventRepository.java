@@ -0,0 +1,77 @@
+package project.ktc.springboot_app.stripe.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.ktc.springboot_app.stripe.entity.StripeWebhookEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for stored Stripe webhook events
+ */
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    /**
+     * Store a verified event; a no-op when the event id was already received
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "stripe_webhook_events"))
+    @Query(value = "INSERT IGNORE INTO stripe_webhook_events (id, event_id, event_type, ordering_key, payload, " +
+            "stripe_created_at, status, attempts, next_attempt_at, duplicate_count, created_at, updated_at) " +
+            "VALUES (UUID(), :eventId, :eventType, :orderingKey, :payload, :stripeCreatedAt, 'PENDING', 0, NOW(), 0, " +
+            "NOW(), NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+            @Param("eventType") String eventType,
+            @Param("orderingKey") String orderingKey,
+            @Param("payload") String payload,
+            @Param("stripeCreatedAt") LocalDateTime stripeCreatedAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "stripe_webhook_events"))
+    @Query(value = "UPDATE stripe_webhook_events SET duplicate_count = duplicate_count + 1, updated_at = NOW() " +
+            "WHERE event_id = :eventId", nativeQuery = true)
+    int recordDuplicate(@Param("eventId") String eventId);
+
+    /**
+     * Lock a batch of due events. An event is only due once every earlier
+     * event with the same ordering key is DONE or DEAD, so each session's
+     * events are handled one at a time in Stripe's order. Rows locked by
+     * another worker are skipped and PROCESSING rows whose lease has expired
+     * are picked up again.
+     */
+    @Query(value = "SELECT e.* FROM stripe_webhook_events e " +
+            "WHERE e.status IN ('PENDING', 'PROCESSING') AND e.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM stripe_webhook_events p " +
+            "    WHERE p.ordering_key = e.ordering_key AND p.status IN ('PENDING', 'PROCESSING') " +
+            "    AND (p.stripe_created_at, p.created_at, p.id) < (e.stripe_created_at, e.created_at, e.id)) " +
+            "ORDER BY e.stripe_created_at ASC, e.created_at ASC " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<StripeWebhookEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.status = project.ktc.springboot_app.stripe.entity.StripeWebhookEvent.EventStatus.DONE, " +
+            "e.attempts = :attempts, e.processedAt = :processedAt, " +
+            "e.lastError = NULL WHERE e.id = :id")
+    int markProcessed(@Param("id") String id,
+            @Param("attempts") int attempts,
+            @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.status = :status, e.attempts = :attempts, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError, e.processedAt = :processedAt " +
+            "WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") String id,
+            @Param("status") StripeWebhookEvent.EventStatus status,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError,
+            @Param("processedAt") LocalDateTime processedAt);
+}
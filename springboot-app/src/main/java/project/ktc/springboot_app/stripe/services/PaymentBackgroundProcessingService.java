@@ -6,7 +6,6 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import project.ktc.springboot_app.email.interfaces.EmailService;
 import project.ktc.springboot_app.notification.utils.NotificationHelper;
 import project.ktc.springboot_app.auth.entitiy.User;
 import project.ktc.springboot_app.course.entity.Course;
@@ -26,7 +25,6 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class PaymentBackgroundProcessingService {
 
-    private final EmailService emailService;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final PaymentRepository paymentRepository;
@@ -65,13 +63,13 @@ public class PaymentBackgroundProcessingService {
                 return CompletableFuture.completedFuture(null);
             }
 
-            // Step 2: Send payment confirmation email (async within async)
-            sendPaymentConfirmationEmailAsync(user, course, payment, sessionId);
+            // The confirmation email was queued in the outbox when the payment
+            // was completed
 
-            // Step 3: Create notifications
+            // Step 2: Create notifications
             createPaymentNotifications(payment, user, course);
 
-            // Step 4: Process affiliate payouts if applicable
+            // Step 3: Process affiliate payouts if applicable
             processAffiliatePayouts(payment, course);
 
             long endTime = System.currentTimeMillis();
@@ -87,45 +85,6 @@ public class PaymentBackgroundProcessingService {
         return CompletableFuture.completedFuture(null);
     }
 
-    /**
-     * Sends payment confirmation email with optimized data fetching
-     */
-    private void sendPaymentConfirmationEmailAsync(User user, Course course, Payment payment, String sessionId) {
-        try {
-            log.info("📧 Sending payment confirmation email for user: {} course: {}", user.getId(), course.getId());
-
-            // Get cached course statistics if available, otherwise use defaults
-            String courseDuration = getCachedCourseDuration(course.getId());
-            String lessonCount = getCachedLessonCount(course.getId());
-
-            // Format amount
-            String formattedAmount = String.format("$%.2f", payment.getAmount().doubleValue());
-
-            // Build course URL
-            String courseUrl = String.format("https://ktc-learning.com/courses/%s", course.getId());
-
-            // Send email with basic course info
-            emailService.sendPaymentConfirmationEmailAsync(
-                    user.getEmail(),
-                    user.getName(),
-                    course.getTitle(),
-                    courseUrl,
-                    course.getInstructor() != null ? course.getInstructor().getName() : "KTC Learning",
-                    course.getLevel() != null ? course.getLevel().toString() : "Beginner",
-                    courseDuration,
-                    lessonCount,
-                    formattedAmount,
-                    sessionId, // Use session ID as payment intent reference
-                    "Card", // Default payment method
-                    java.time.LocalDateTime.now());
-
-            log.info("✅ Payment confirmation email sent successfully to: {}", user.getEmail());
-
-        } catch (Exception e) {
-            log.error("❌ Failed to send payment confirmation email: {}", e.getMessage(), e);
-        }
-    }
-
     /**
      * Creates payment-related notifications
      */
@@ -191,32 +150,4 @@ public class PaymentBackgroundProcessingService {
             log.error("❌ Failed to process affiliate payouts: {}", e.getMessage(), e);
         }
     }
-
-    /**
-     * Gets cached course duration or calculates lightweight version
-     */
-    private String getCachedCourseDuration(String courseId) {
-        try {
-            // Try to get from cache first (implementation depends on your caching strategy)
-            // For now, return a placeholder - this could be enhanced with Redis cache
-            return "2-3 hours"; // Default estimate
-        } catch (Exception e) {
-            log.warn("Could not get cached course duration for course: {}", courseId);
-            return "Not specified";
-        }
-    }
-
-    /**
-     * Gets cached lesson count or returns estimate
-     */
-    private String getCachedLessonCount(String courseId) {
-        try {
-            // Try to get from cache first (implementation depends on your caching strategy)
-            // For now, return a placeholder - this could be enhanced with Redis cache
-            return "10-15"; // Default estimate
-        } catch (Exception e) {
-            log.warn("Could not get cached lesson count for course: {}", courseId);
-            return "Multiple";
-        }
-    }
-}
\ No newline at end of file
+}
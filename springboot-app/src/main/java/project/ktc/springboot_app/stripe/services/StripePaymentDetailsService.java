@@ -8,6 +8,7 @@ import com.stripe.model.checkout.Session;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
 import project.ktc.springboot_app.payment.dto.PaymentDetailResponseDto.StripePaymentData;
 
 /**
@@ -18,6 +19,8 @@ import project.ktc.springboot_app.payment.dto.PaymentDetailResponseDto.StripePay
 @RequiredArgsConstructor
 public class StripePaymentDetailsService {
 
+    private final ConcurrencyLimiter concurrencyLimiter;
+
     /**
      * Fetches detailed payment information from Stripe using the session ID
      *
@@ -36,7 +39,7 @@ public class StripePaymentDetailsService {
             // Retrieve the checkout session
             Session session;
             try {
-                session = Session.retrieve(sessionId);
+                session = concurrencyLimiter.call("stripe", () -> Session.retrieve(sessionId));
             } catch (InvalidRequestException e) {
                 // Handle case where session doesn't exist (expired, deleted, or invalid)
                 if (e.getMessage() != null && e.getMessage().contains("No such checkout.session")) {
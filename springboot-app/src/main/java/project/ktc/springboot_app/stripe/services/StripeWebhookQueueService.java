@@ -0,0 +1,186 @@
+package project.ktc.springboot_app.stripe.services;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.stripe.config.StripeWebhookProperties;
+import project.ktc.springboot_app.stripe.entity.StripeWebhookEvent;
+import project.ktc.springboot_app.stripe.entity.StripeWebhookEvent.EventStatus;
+import project.ktc.springboot_app.stripe.repositories.StripeWebhookEventRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Table-backed queue for Stripe webhook events.
+ * The webhook endpoint only verifies and stores each event, once per Stripe
+ * event id, and acknowledges it; {@link StripeWebhookWorker} handles the
+ * stored events with retries and a dead-letter state.
+ *
+ * Metrics: stripe.webhook.events.received (tagged result=accepted|duplicate)
+ * gives the duplicate rate, and stripe.webhook.events.lag (tagged
+ * outcome=processed|dead) the time from receipt to the final outcome.
+ */
+@Service
+@Slf4j
+public class StripeWebhookQueueService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final String RECEIVED_METRIC = "stripe.webhook.events.received";
+    private static final String LAG_METRIC = "stripe.webhook.events.lag";
+    private static final String FAILED_METRIC = "stripe.webhook.events.failed";
+
+    private final StripeWebhookEventRepository eventRepository;
+    private final StripeWebhookService stripeWebhookService;
+    private final StripeWebhookProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter acceptedCounter;
+    private final Counter duplicateCounter;
+
+    public StripeWebhookQueueService(StripeWebhookEventRepository eventRepository,
+            StripeWebhookService stripeWebhookService,
+            StripeWebhookProperties properties,
+            MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.stripeWebhookService = stripeWebhookService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.acceptedCounter = Counter.builder(RECEIVED_METRIC)
+                .description("Stripe webhook deliveries stored or recognised as duplicates")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder(RECEIVED_METRIC)
+                .description("Stripe webhook deliveries stored or recognised as duplicates")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verify and store an incoming event
+     *
+     * @return false when the event id was already received
+     * @throws SignatureVerificationException if signature verification fails
+     * @throws IllegalArgumentException       if the payload is not a Stripe event
+     */
+    @Transactional
+    public boolean ingest(String payload, String sigHeader) throws SignatureVerificationException {
+        Event event = stripeWebhookService.constructEvent(payload, sigHeader);
+
+        int inserted = eventRepository.insertIfAbsent(event.getId(), event.getType(),
+                orderingKey(payload, event), payload, stripeCreatedAt(event));
+        if (inserted == 0) {
+            eventRepository.recordDuplicate(event.getId());
+            duplicateCounter.increment();
+            log.info("Stripe event {} ({}) already received, acknowledging duplicate", event.getId(),
+                    event.getType());
+            return false;
+        }
+
+        acceptedCounter.increment();
+        log.info("Stripe event {} ({}) queued", event.getId(), event.getType());
+        return true;
+    }
+
+    /**
+     * Claim a batch of due events under a lease
+     */
+    @Transactional
+    public List<StripeWebhookEvent> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StripeWebhookEvent> events = eventRepository.lockDueEvents(now, limit);
+        LocalDateTime leaseExpiry = now.plusSeconds(properties.getLeaseSeconds());
+        for (StripeWebhookEvent event : events) {
+            event.setStatus(EventStatus.PROCESSING);
+            event.setNextAttemptAt(leaseExpiry);
+        }
+        return eventRepository.saveAll(events);
+    }
+
+    @Transactional
+    public void markProcessed(StripeWebhookEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        eventRepository.markProcessed(event.getId(), event.getAttempts() + 1, now);
+        recordLag(event, "processed", now);
+    }
+
+    @Transactional
+    public void recordFailure(StripeWebhookEvent event, Exception error) {
+        int attempts = event.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        // A payload that cannot be parsed will not parse on retry either
+        boolean permanent = error instanceof JsonParseException;
+
+        if (permanent || attempts >= properties.getMaxAttempts()) {
+            log.error("Stripe event {} ({}) moved to dead letter after {} attempts: {}",
+                    event.getEventId(), event.getEventType(), attempts, error.getMessage());
+            eventRepository.markAttemptFailed(event.getId(), EventStatus.DEAD, attempts, now,
+                    truncate(error.getMessage()), now);
+            meterRegistry.counter(FAILED_METRIC, "outcome", "dead").increment();
+            recordLag(event, "dead", now);
+        } else {
+            long delay = (long) properties.getRetryDelaySeconds() << Math.min(attempts - 1, 10);
+            LocalDateTime nextAttemptAt = now.plusSeconds(delay);
+            log.warn("Stripe event {} ({}) failed (attempt {}/{}), retrying at {}: {}",
+                    event.getEventId(), event.getEventType(), attempts, properties.getMaxAttempts(),
+                    nextAttemptAt, error.getMessage());
+            eventRepository.markAttemptFailed(event.getId(), EventStatus.PENDING, attempts, nextAttemptAt,
+                    truncate(error.getMessage()), null);
+            meterRegistry.counter(FAILED_METRIC, "outcome", "retry").increment();
+        }
+    }
+
+    private void recordLag(StripeWebhookEvent event, String outcome, LocalDateTime now) {
+        if (event.getCreatedAt() == null) {
+            return;
+        }
+        Timer.builder(LAG_METRIC)
+                .description("Time from receiving a Stripe webhook event to its final outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.between(event.getCreatedAt(), now));
+    }
+
+    /**
+     * Id of the object the event is about, so that events for one checkout
+     * session are handled in order; the event id when there is none
+     */
+    private String orderingKey(String payload, Event event) {
+        try {
+            JsonObject data = JsonParser.parseString(payload).getAsJsonObject().getAsJsonObject("data");
+            JsonObject object = data != null ? data.getAsJsonObject("object") : null;
+            JsonElement id = object != null ? object.get("id") : null;
+            if (id != null && !id.isJsonNull()) {
+                return id.getAsString();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not read the data object id of Stripe event {}: {}", event.getId(), e.getMessage());
+        }
+        return event.getId();
+    }
+
+    private LocalDateTime stripeCreatedAt(Event event) {
+        if (event.getCreated() == null) {
+            return LocalDateTime.now();
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(event.getCreated()), ZoneId.systemDefault());
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -11,9 +11,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
 import project.ktc.springboot_app.email.interfaces.EmailService;
 import project.ktc.springboot_app.enrollment.services.EnrollmentServiceImp;
 import project.ktc.springboot_app.notification.utils.NotificationHelper;
+import project.ktc.springboot_app.payment.entity.Payment;
 import project.ktc.springboot_app.payment.services.PaymentServiceImp;
 import project.ktc.springboot_app.stripe.config.StripeConfig;
 import project.ktc.springboot_app.auth.entitiy.User;
@@ -48,104 +50,96 @@ public class StripeWebhookService {
     private final DiscountUsageRepository discountUsageRepository;
     private final NotificationHelper notificationHelper;
     private final PaymentBackgroundProcessingService paymentBackgroundProcessingService;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
     /**
-     * Processes incoming webhook events from Stripe
+     * Verifies the webhook signature and parses the event. Events are stored
+     * and processed later by {@link StripeWebhookQueueService}.
      *
      * @param payload   The raw webhook payload
      * @param sigHeader The Stripe signature header
-     * @return true if event was processed successfully
+     * @return the parsed event
      * @throws SignatureVerificationException if signature verification fails
+     * @throws IllegalArgumentException       if the payload is not a Stripe event
      */
-    public boolean processWebhookEvent(String payload, String sigHeader) throws SignatureVerificationException {
+    public Event constructEvent(String payload, String sigHeader) throws SignatureVerificationException {
         Event event;
 
-        log.info("🔄 Processing Stripe webhook event...");
-        log.info("📝 Payload length: {}", payload != null ? payload.length() : 0);
-        log.info("🔐 Signature header: {}", sigHeader != null ? "Present" : "Missing");
-
         try {
             // Verify webhook signature if webhook secret is configured
             if (stripeConfig.getWebhookSecret() != null && !stripeConfig.getWebhookSecret().isEmpty()
                     && sigHeader != null) {
                 event = Webhook.constructEvent(payload, sigHeader, stripeConfig.getWebhookSecret());
-                log.info("✅ Webhook signature verified successfully");
+                log.debug("✅ Webhook signature verified successfully");
             } else {
                 // In development, parse without verification
                 event = Event.GSON.fromJson(payload, Event.class);
                 log.warn("⚠️ Webhook processed without signature verification - development mode");
             }
-
-            // Debug logging for the event
-            log.info("📧 Parsed event - Type: {}, ID: {}, Created: {}", event.getType(), event.getId(),
-                    event.getCreated());
-            log.debug("📊 Event has data: {}", event.getData() != null);
-            log.debug("🔍 Event dataObjectDeserializer: {}", event.getDataObjectDeserializer() != null);
-
         } catch (SignatureVerificationException e) {
             log.error("❌ Webhook signature verification failed: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
             log.error("❌ Error parsing webhook payload: {}", e.getMessage());
-            return false;
+            throw new IllegalArgumentException("Invalid webhook payload", e);
+        }
+
+        if (event == null || event.getId() == null || event.getType() == null) {
+            throw new IllegalArgumentException("Webhook payload is not a Stripe event");
         }
 
-        // Handle the event
-        return handleEvent(event);
+        log.debug("Parsed event - Type: {}, ID: {}, Created: {}", event.getType(), event.getId(),
+                event.getCreated());
+        return event;
     }
 
     /**
-     * Routes events to appropriate handlers based on event type
+     * Routes events to appropriate handlers based on event type.
+     * Failures propagate so the queue can retry the event; handlers must be
+     * safe to run again for the same event.
      */
-    private boolean handleEvent(Event event) {
-        log.info("🎯 Processing webhook event: {} with ID: {}", event.getType(), event.getId());
-
-        try {
-            switch (event.getType()) {
-                case "checkout.session.completed":
-                    log.info("💳 Handling checkout session completed event: {}", event.getId());
-                    handleCheckoutSessionCompleted(event);
-                    break;
-                case "checkout.session.expired":
-                    log.info("⏰ Handling checkout session expired event: {}", event.getId());
-                    handleCheckoutSessionExpired(event);
-                    break;
-                case "payment_intent.succeeded":
-                    log.info("✅ Handling payment intent succeeded event: {}", event.getId());
-                    handlePaymentIntentSucceeded(event);
-                    break;
-                case "payment_intent.payment_failed":
-                    log.info("❌ Handling payment intent failed event: {}", event.getId());
-                    handlePaymentIntentFailed(event);
-                    break;
-                case "invoice.payment_succeeded":
-                    log.info("🧾 Handling invoice payment succeeded event: {}", event.getId());
-                    handleInvoicePaymentSucceeded(event);
-                    break;
-                case "customer.subscription.created":
-                    log.info("📅 Handling customer subscription created event: {}", event.getId());
-                    handleSubscriptionCreated(event);
-                    break;
-                case "customer.subscription.updated":
-                    log.info("🔄 Handling customer subscription updated event: {}", event.getId());
-                    handleSubscriptionUpdated(event);
-                    break;
-                case "customer.subscription.deleted":
-                    log.info("🗑️ Handling customer subscription deleted event: {}", event.getId());
-                    handleSubscriptionDeleted(event);
-                    break;
-                default:
-                    log.info("❓ Unhandled event type: {}", event.getType());
-                    return true; // Still return success for unhandled events
-            }
-
-            log.info("✅ Successfully processed webhook event: {}", event.getType());
-            return true;
-
-        } catch (Exception e) {
-            log.error("❌ Error processing webhook event {}: {}", event.getType(), e.getMessage(), e);
-            return false;
+    public void handleEvent(Event event) {
+        log.debug("Processing webhook event: {} with ID: {}", event.getType(), event.getId());
+
+        switch (event.getType()) {
+            case "checkout.session.completed":
+                log.debug("Handling checkout session completed event: {}", event.getId());
+                handleCheckoutSessionCompleted(event);
+                break;
+            case "checkout.session.expired":
+                log.debug("Handling checkout session expired event: {}", event.getId());
+                handleCheckoutSessionExpired(event);
+                break;
+            case "payment_intent.succeeded":
+                log.debug("Handling payment intent succeeded event: {}", event.getId());
+                handlePaymentIntentSucceeded(event);
+                break;
+            case "payment_intent.payment_failed":
+                log.debug("Handling payment intent failed event: {}", event.getId());
+                handlePaymentIntentFailed(event);
+                break;
+            case "invoice.payment_succeeded":
+                log.debug("Handling invoice payment succeeded event: {}", event.getId());
+                handleInvoicePaymentSucceeded(event);
+                break;
+            case "customer.subscription.created":
+                log.debug("Handling customer subscription created event: {}", event.getId());
+                handleSubscriptionCreated(event);
+                break;
+            case "customer.subscription.updated":
+                log.debug("Handling customer subscription updated event: {}", event.getId());
+                handleSubscriptionUpdated(event);
+                break;
+            case "customer.subscription.deleted":
+                log.debug("Handling customer subscription deleted event: {}", event.getId());
+                handleSubscriptionDeleted(event);
+                break;
+            default:
+                log.info("❓ Unhandled event type: {}", event.getType());
+                return;
         }
+
+        log.info("✅ Successfully processed webhook event: {}", event.getType());
     }
 
     /**
@@ -154,7 +148,7 @@ public class StripeWebhookService {
      */
     private void handleCheckoutSessionCompleted(Event event) {
         long startTime = System.currentTimeMillis();
-        log.info("🚀 Handling checkout session completed event: {} (OPTIMIZED VERSION)", event.getId());
+        log.debug("Handling checkout session completed event: {}", event.getId());
 
         Session session = null;
 
@@ -164,7 +158,7 @@ public class StripeWebhookService {
                 Object eventObject = event.getDataObjectDeserializer().getObject().get();
                 if (eventObject instanceof Session) {
                     session = (Session) eventObject;
-                    log.info("Successfully deserialized session from event data: {}", session.getId());
+                    log.debug("Successfully deserialized session from event data: {}", session.getId());
                 } else {
                     log.warn("Event data object is not a Session instance. Got: {}", eventObject.getClass().getName());
                 }
@@ -180,25 +174,24 @@ public class StripeWebhookService {
             try {
                 String sessionId = extractSessionIdFromEventData(event);
                 if (sessionId != null) {
-                    session = Session.retrieve(sessionId);
-                    log.info("Successfully retrieved session {} using fallback method", sessionId);
-                } else {
-                    log.error("Could not extract session ID from event data");
-                    return;
+                    session = concurrencyLimiter.call("stripe", () -> Session.retrieve(sessionId));
+                    log.debug("Successfully retrieved session {} using fallback method", sessionId);
                 }
             } catch (Exception fallbackException) {
                 log.error("Fallback session retrieval failed: {}", fallbackException.getMessage(), fallbackException);
-                return;
+                throw new RuntimeException("Could not retrieve checkout session for event " + event.getId(),
+                        fallbackException);
             }
         }
 
         if (session == null) {
-            log.error("Could not retrieve session from checkout.session.completed event");
-            return;
+            // Retried by the queue; Stripe may have been unreachable
+            throw new RuntimeException("Could not retrieve session from checkout.session.completed event "
+                    + event.getId());
         }
 
-        log.info("🎯 Processing completed checkout session: {}", session.getId());
-        log.info("📧 Customer email: {}, 💰 Amount total: {} cents", session.getCustomerEmail(),
+        log.debug("Processing completed checkout session: {}", session.getId());
+        log.debug("Customer email: {}, Amount total: {} cents", session.getCustomerEmail(),
                 session.getAmountTotal());
 
         try {
@@ -209,7 +202,7 @@ public class StripeWebhookService {
             String discountAmountStr = session.getMetadata() != null ? session.getMetadata().get("discountAmount")
                     : null;
 
-            log.info("📊 Session metadata - CourseId: {}, UserId: {}, DiscountCode: {}", courseId, userId,
+            log.debug("Session metadata - CourseId: {}, UserId: {}, DiscountCode: {}", courseId, userId,
                     discountCode);
 
             if (courseId == null || userId == null) {
@@ -222,7 +215,7 @@ public class StripeWebhookService {
             // Verify payment amount matches what was recorded in database
             // session.getAmountTotal() is in cents, convert to dollars for comparison
             double stripeAmountInDollars = session.getAmountTotal() / 100.0;
-            log.info("💵 Converting Stripe amount: {} cents = ${}", session.getAmountTotal(), stripeAmountInDollars);
+            log.debug("Converting Stripe amount: {} cents = ${}", session.getAmountTotal(), stripeAmountInDollars);
 
             var paymentOpt = paymentService.findPaymentBySessionIdAndVerifyAmount(session.getId(),
                     stripeAmountInDollars);
@@ -234,19 +227,26 @@ public class StripeWebhookService {
             }
 
             var payment = paymentOpt.get();
-            log.info("✅ Payment amount verified successfully. Database: ${}, Stripe: ${}",
+            log.debug("Payment amount verified successfully. Database: ${}, Stripe: ${}",
                     payment.getAmount(), stripeAmountInDollars);
 
-            // Update payment status to COMPLETED
-            paymentService.updatePaymentStatusFromWebhook(payment.getId(), "COMPLETED", session.getId());
-            log.info("✅ Payment {} marked as COMPLETED", payment.getId());
+            // A retried event finds the payment already completed; only the
+            // idempotent steps run again
+            boolean alreadyCompleted = payment.getStatus() == Payment.PaymentStatus.COMPLETED;
 
             // Create enrollment for the user
             enrollmentService.createEnrollmentFromWebhook(userId, courseId, session.getId());
             log.info("✅ Enrollment created for user {} in course {}", userId, courseId);
 
+            if (alreadyCompleted) {
+                log.info("Payment {} was already completed, skipping discount and background tasks",
+                        payment.getId());
+                return;
+            }
+
             // Record discount usage if discount was applied
-            if (discountCode != null && !discountCode.trim().isEmpty() && discountAmountStr != null) {
+            if (discountCode != null && !discountCode.trim().isEmpty() && discountAmountStr != null
+                    && discountUsageRepository.findByUserIdAndCourseId(userId, courseId).isEmpty()) {
                 try {
                     BigDecimal discountAmount = new BigDecimal(discountAmountStr);
                     discountPriceService.recordDiscountUsage(discountCode, userId, courseId, discountAmount,
@@ -264,21 +264,15 @@ public class StripeWebhookService {
                 }
             }
 
-            // 🚀 PERFORMANCE OPTIMIZATION: Move heavy email processing to background
-            // This keeps webhook response time under 5 seconds to prevent Stripe timeouts
+            // Completing the payment last marks the event's work as done
+            paymentService.updatePaymentStatusFromWebhook(payment.getId(), "COMPLETED", session.getId());
+            log.info("✅ Payment {} marked as COMPLETED", payment.getId());
+
             paymentBackgroundProcessingService.processPaymentBackgroundTasks(
                     session.getId(), courseId, userId, payment.getId());
 
-            // Log performance improvement
-            long endTime = System.currentTimeMillis();
-            long duration = endTime - startTime;
-            log.info("✅ OPTIMIZED: Checkout session completed in {}ms (target: <5000ms)", duration);
-
-            if (duration > 5000) {
-                log.warn("⚠️ Webhook processing took {}ms - still over 5 second target!", duration);
-            } else {
-                log.info("🎯 SUCCESS: Webhook processed in {}ms - under 5 second target!", duration);
-            }
+            log.info("✅ Checkout session {} completed in {}ms", session.getId(),
+                    System.currentTimeMillis() - startTime);
 
         } catch (Exception e) {
             long endTime = System.currentTimeMillis();
@@ -293,7 +287,7 @@ public class StripeWebhookService {
      */
     public void sendPaymentConfirmationEmail(Session session, String courseId, String userId) {
         try {
-            log.info("📧 Sending payment confirmation email for session: {}", session.getId());
+            log.debug("Sending payment confirmation email for session: {}", session.getId());
 
             // Get user details
             User user = userRepository.findById(userId).orElse(null);
@@ -431,7 +425,7 @@ public class StripeWebhookService {
      * Handles expired checkout sessions
      */
     private void handleCheckoutSessionExpired(Event event) {
-        log.info("⏰ Processing expired checkout session event");
+        log.debug("Processing expired checkout session event");
         Session session = null;
 
         try {
@@ -443,8 +437,8 @@ public class StripeWebhookService {
                 log.warn("⚠️ Session deserialization failed, attempting to retrieve session manually");
                 String sessionId = extractSessionIdFromEventData(event);
                 if (sessionId != null) {
-                    session = Session.retrieve(sessionId);
-                    log.info("✅ Successfully retrieved session {} using fallback method", sessionId);
+                    session = concurrencyLimiter.call("stripe", () -> Session.retrieve(sessionId));
+                    log.debug("Successfully retrieved session {} using fallback method", sessionId);
                 }
             }
 
@@ -453,7 +447,7 @@ public class StripeWebhookService {
                 return;
             }
 
-            log.info("🕒 Processing expired checkout session: {}", session.getId());
+            log.debug("Processing expired checkout session: {}", session.getId());
 
             // Find payment by session ID and update status to FAILED
             var paymentOpt = paymentService.findPaymentBySessionIdAndVerifyAmount(session.getId(), 0.0);
@@ -541,7 +535,7 @@ public class StripeWebhookService {
 
                 if (dataObject.has("id")) {
                     String sessionId = dataObject.get("id").getAsString();
-                    log.info("Extracted session ID from event JSON: {}", sessionId);
+                    log.debug("Extracted session ID from event JSON: {}", sessionId);
                     return sessionId;
                 } else {
                     log.warn("No 'id' field found in event data object. Available keys: {}", dataObject.keySet());
@@ -567,17 +561,17 @@ public class StripeWebhookService {
      */
     public Session getSessionById(String sessionId) {
         try {
-            log.info("🔍 Retrieving Stripe session with ID: {}", sessionId);
+            log.debug("Retrieving Stripe session with ID: {}", sessionId);
 
             if (sessionId == null || sessionId.trim().isEmpty()) {
                 log.error("❌ Session ID cannot be null or empty");
                 return null;
             }
 
-            Session session = Session.retrieve(sessionId);
+            Session session = concurrencyLimiter.call("stripe", () -> Session.retrieve(sessionId));
 
             if (session != null) {
-                log.info("✅ Successfully retrieved session: {}", sessionId);
+                log.debug("Successfully retrieved session: {}", sessionId);
                 log.debug("📋 Session details - Status: {}, Payment Status: {}, Amount: {} cents",
                         session.getStatus(), session.getPaymentStatus(), session.getAmountTotal());
             } else {
@@ -597,7 +591,7 @@ public class StripeWebhookService {
      */
     private void createAffiliatePayoutAsync(String discountCode, String userId, String courseId,
             BigDecimal finalPrice) {
-        log.info("💰 Checking for affiliate payout eligibility - discount: {}", discountCode);
+        log.debug("Checking for affiliate payout eligibility - discount: {}", discountCode);
 
         try {
             // Find the discount usage record that was just created
@@ -0,0 +1,77 @@
+package project.ktc.springboot_app.stripe.services;
+
+import com.stripe.model.Event;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.stripe.config.StripeWebhookProperties;
+import project.ktc.springboot_app.stripe.entity.StripeWebhookEvent;
+
+import java.util.List;
+
+/**
+ * Drains the Stripe webhook event queue.
+ * Each poll claims batches with SKIP LOCKED (so several nodes can run it)
+ * and handles the events one by one. The claim query only returns the
+ * oldest open event per checkout session, so a session's events never run
+ * concurrently or out of order.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.stripe.webhook", name = "worker-enabled", havingValue = "true", matchIfMissing = true)
+public class StripeWebhookWorker {
+
+    private final StripeWebhookQueueService queueService;
+    private final StripeWebhookService stripeWebhookService;
+    private final StripeWebhookProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.stripe.webhook.poll-interval-ms:1000}", initialDelay = 10000)
+    public void drain() {
+        try {
+            for (int batch = 0; batch < properties.getMaxBatchesPerPoll(); batch++) {
+                List<StripeWebhookEvent> events = queueService.claimBatch(properties.getBatchSize());
+                if (events.isEmpty()) {
+                    return;
+                }
+
+                log.debug("Handling {} queued Stripe events", events.size());
+                events.forEach(this::process);
+
+                if (events.size() < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Stripe webhook drain failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void process(StripeWebhookEvent stored) {
+        try {
+            Event event = Event.GSON.fromJson(stored.getPayload(), Event.class);
+            stripeWebhookService.handleEvent(event);
+        } catch (Exception e) {
+            recordFailure(stored, e);
+            return;
+        }
+
+        try {
+            queueService.markProcessed(stored);
+        } catch (Exception e) {
+            // Lease expiry hands the event out again; handlers tolerate the rerun
+            log.error("Failed to mark Stripe event {} processed: {}", stored.getEventId(), e.getMessage(), e);
+        }
+    }
+
+    private void recordFailure(StripeWebhookEvent stored, Exception error) {
+        try {
+            queueService.recordFailure(stored, error);
+        } catch (Exception e) {
+            // Lease expiry will make the event due again
+            log.error("Failed to record failure of Stripe event {}: {}", stored.getEventId(), e.getMessage(), e);
+        }
+    }
+}
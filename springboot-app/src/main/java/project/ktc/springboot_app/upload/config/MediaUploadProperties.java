@@ -0,0 +1,90 @@
+package project.ktc.springboot_app.upload.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the media ingestion pipeline
+ * Maps properties from application.properties with prefix "app.media"
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.media")
+public class MediaUploadProperties {
+
+    /**
+     * Upload spooling and resumable session configuration
+     */
+    private Upload upload = new Upload();
+
+    /**
+     * Storage backend configuration
+     */
+    private Storage storage = new Storage();
+
+    @Data
+    public static class Upload {
+        /**
+         * Directory for spooled request bodies and resumable session files.
+         * Must be shared between nodes when sessions are not sticky.
+         */
+        private String tempDir = System.getProperty("java.io.tmpdir") + "/ktc-media-uploads";
+
+        /**
+         * Chunk size for uploads to the storage provider
+         */
+        private DataSize chunkSize = DataSize.ofMegabytes(6);
+
+        /**
+         * Maximum size of a resumable upload
+         */
+        private DataSize maxSize = DataSize.ofGigabytes(5);
+
+        /**
+         * How long an unfinished session can be resumed
+         */
+        private Duration sessionTtl = Duration.ofHours(24);
+
+        /**
+         * Concurrent transfers to the storage backend
+         */
+        private int workers = 4;
+
+        /**
+         * Completed sessions waiting for a worker
+         */
+        private int queueCapacity = 20;
+
+        public Path getTempDirPath() {
+            return Path.of(tempDir);
+        }
+    }
+
+    @Data
+    public static class Storage {
+        /**
+         * Storage backend: cloudinary or local
+         */
+        private String backend = "cloudinary";
+
+        private Local local = new Local();
+    }
+
+    @Data
+    public static class Local {
+        /**
+         * Root directory of the local filesystem backend
+         */
+        private String root = "./media-storage";
+
+        /**
+         * URL prefix the stored files are served under
+         */
+        private String publicBaseUrl = "/media";
+    }
+}
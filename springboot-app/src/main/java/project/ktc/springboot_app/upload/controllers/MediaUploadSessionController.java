@@ -0,0 +1,124 @@
+package project.ktc.springboot_app.upload.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.upload.dto.UploadSessionCreateRequestDto;
+import project.ktc.springboot_app.upload.dto.UploadSessionResponseDto;
+import project.ktc.springboot_app.upload.exception.UploadOffsetConflictException;
+import project.ktc.springboot_app.upload.interfaces.MediaUploadSessionService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resumable media uploads, modelled on the tus protocol: create a session with
+ * the total length, PATCH raw bytes at the current Upload-Offset, and after a
+ * dropped connection HEAD the session to find where to resume. Progress is
+ * published over WebSocket to the session's progress topic.
+ */
+@RestController
+@RequestMapping("/api/upload/sessions")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Resumable Upload API", description = "Chunked, resumable uploads for large media files")
+public class MediaUploadSessionController {
+
+        private static final String UPLOAD_OFFSET = "Upload-Offset";
+        private static final String UPLOAD_LENGTH = "Upload-Length";
+        private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+        private final MediaUploadSessionService mediaUploadSessionService;
+
+        @PostMapping
+        @Operation(summary = "Create a resumable upload session", description = """
+                        Open a session for a file of the given length. Bytes are then sent with
+                        PATCH requests starting at `uploadOffset`.
+
+                        **Progress:** subscribe to `progressTopic` on the `/api/ws-chat` STOMP endpoint.
+                        """)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Upload session created"),
+                        @ApiResponse(responseCode = "400", description = "Unsupported content type or file too large")
+        })
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<UploadSessionResponseDto>> createSession(
+                        @Valid @RequestBody UploadSessionCreateRequestDto request) {
+                UploadSessionResponseDto session = mediaUploadSessionService.createSession(request);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                                .header("Location", "/api/upload/sessions/" + session.getSessionId())
+                                .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                                .header(UPLOAD_LENGTH, String.valueOf(session.getUploadLength()))
+                                .body(ApiResponseUtil.created(session, "Upload session created").getBody());
+        }
+
+        @RequestMapping(value = "/{sessionId}", method = RequestMethod.HEAD)
+        @Operation(summary = "Get the resume offset of an upload session")
+        public ResponseEntity<Void> getOffset(@PathVariable String sessionId) {
+                UploadSessionResponseDto session = mediaUploadSessionService.getSession(sessionId);
+                return ResponseEntity.ok()
+                                .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                                .header(UPLOAD_LENGTH, String.valueOf(session.getUploadLength()))
+                                .header("Cache-Control", "no-store")
+                                .build();
+        }
+
+        @GetMapping("/{sessionId}")
+        @Operation(summary = "Get upload session status", description = "Returns the offset, status and, once stored, the media URL")
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<UploadSessionResponseDto>> getSession(
+                        @PathVariable String sessionId) {
+                return ApiResponseUtil.success(mediaUploadSessionService.getSession(sessionId),
+                                "Upload session retrieved successfully");
+        }
+
+        @PatchMapping(value = "/{sessionId}", consumes = OFFSET_OCTET_STREAM)
+        @Operation(summary = "Append a chunk to an upload session", description = """
+                        Send raw bytes with `Content-Type: application/offset+octet-stream` and the
+                        `Upload-Offset` header set to the session's current offset. The body is streamed
+                        to disk; if the connection drops, the bytes received so far are kept.
+                        """)
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Chunk accepted"),
+                        @ApiResponse(responseCode = "404", description = "Upload session not found"),
+                        @ApiResponse(responseCode = "409", description = "Upload-Offset does not match the session offset")
+        })
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<UploadSessionResponseDto>> appendChunk(
+                        @PathVariable String sessionId,
+                        @Parameter(description = "Offset the chunk starts at", required = true) @RequestHeader(UPLOAD_OFFSET) long offset,
+                        HttpServletRequest request) throws IOException {
+                try (InputStream body = request.getInputStream()) {
+                        UploadSessionResponseDto session = mediaUploadSessionService.appendChunk(sessionId, offset, body);
+                        return ResponseEntity.ok()
+                                        .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                                        .body(ApiResponseUtil.success(session, "Chunk received").getBody());
+                } catch (UploadOffsetConflictException e) {
+                        log.warn("Upload offset conflict for session {}: {}", sessionId, e.getMessage());
+                        return ApiResponseUtil.conflict(e.getMessage());
+                }
+        }
+
+        @PostMapping("/{sessionId}/retry")
+        @Operation(summary = "Retry storing a failed upload", description = "Re-queues a fully received session whose transfer to storage failed")
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<UploadSessionResponseDto>> retrySession(
+                        @PathVariable String sessionId) {
+                return ApiResponseUtil.success(mediaUploadSessionService.retryStoring(sessionId),
+                                "Upload session re-queued");
+        }
+
+        @DeleteMapping("/{sessionId}")
+        @Operation(summary = "Abort an upload session")
+        public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<Void>> abortSession(
+                        @PathVariable String sessionId) {
+                mediaUploadSessionService.abortSession(sessionId);
+                return ApiResponseUtil.success("Upload session aborted");
+        }
+}
@@ -10,13 +10,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.upload.dto.SectionVideoMetadataDto;
 import project.ktc.springboot_app.upload.dto.VideoMetadataResponseDto;
-import project.ktc.springboot_app.upload.services.CloudinaryServiceImp;
+import project.ktc.springboot_app.upload.interfaces.VideoMetadataService;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * REST Controller for video metadata operations
@@ -29,7 +32,7 @@ import java.io.IOException;
 @Slf4j
 public class VideoMetadataController {
 
-    private final CloudinaryServiceImp cloudinaryService;
+    private final VideoMetadataService videoMetadataService;
 
     /**
      * Retrieve video metadata by Cloudinary URL or public ID
@@ -38,10 +41,12 @@ public class VideoMetadataController {
      * @return VideoMetadataResponseDto containing video metadata
      */
     @GetMapping("/metadata")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
     @Operation(summary = "Get video metadata", description = "Retrieves comprehensive metadata for a video from Cloudinary including title, format, duration, thumbnail, dimensions, and file size")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Video metadata retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid video URL or public ID format"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor or admin role required"),
             @ApiResponse(responseCode = "404", description = "Video not found on Cloudinary"),
             @ApiResponse(responseCode = "500", description = "Internal server error while retrieving metadata")
     })
@@ -51,7 +56,7 @@ public class VideoMetadataController {
         log.info("Received request to get video metadata for: {}", videoUrlOrPublicId);
 
         try {
-            VideoMetadataResponseDto metadata = cloudinaryService.getVideoMetadata(videoUrlOrPublicId);
+            VideoMetadataResponseDto metadata = videoMetadataService.getMetadata(videoUrlOrPublicId);
 
             log.info("Successfully retrieved metadata for video: {}", metadata.getPublicId());
 
@@ -94,9 +99,11 @@ public class VideoMetadataController {
      * @return VideoMetadataResponseDto containing video metadata
      */
     @GetMapping("/metadata/{publicId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
     @Operation(summary = "Get video metadata by public ID", description = "Retrieves comprehensive metadata for a video using its Cloudinary public ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Video metadata retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor or admin role required"),
             @ApiResponse(responseCode = "404", description = "Video not found on Cloudinary"),
             @ApiResponse(responseCode = "500", description = "Internal server error while retrieving metadata")
     })
@@ -106,7 +113,7 @@ public class VideoMetadataController {
         log.info("Received request to get video metadata by public ID: {}", publicId);
 
         try {
-            VideoMetadataResponseDto metadata = cloudinaryService.getVideoMetadata(publicId);
+            VideoMetadataResponseDto metadata = videoMetadataService.getMetadata(publicId);
 
             log.info("Successfully retrieved metadata for video with public ID: {}", publicId);
 
@@ -135,4 +142,26 @@ public class VideoMetadataController {
                     "Unexpected error occurred while retrieving video metadata");
         }
     }
+
+    /**
+     * Retrieve metadata of every video lesson in a section
+     * 
+     * @param sectionId section ID
+     * @return metadata per lesson, in lesson order
+     */
+    @GetMapping("/sections/{sectionId}/metadata")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    @Operation(summary = "Get video metadata for a section", description = "Retrieves metadata for all video lessons in a section owned by the current instructor in one call")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Video metadata retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Section not found or not owned by the instructor")
+    })
+    public ResponseEntity<project.ktc.springboot_app.common.dto.ApiResponse<List<SectionVideoMetadataDto>>> getSectionVideoMetadata(
+            @Parameter(description = "Section ID", required = true) @PathVariable String sectionId) {
+
+        log.info("Received request to get video metadata for section: {}", sectionId);
+
+        List<SectionVideoMetadataDto> metadata = videoMetadataService.getSectionMetadata(sectionId);
+        return ApiResponseUtil.success(metadata, "Video metadata retrieved successfully");
+    }
 }
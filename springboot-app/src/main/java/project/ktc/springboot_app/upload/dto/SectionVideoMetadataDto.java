@@ -0,0 +1,25 @@
+package project.ktc.springboot_app.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Video metadata of one lesson in a section
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionVideoMetadataDto {
+
+    private String lessonId;
+
+    private String lessonTitle;
+
+    /**
+     * Null if the lesson's video could not be described
+     */
+    private VideoMetadataResponseDto metadata;
+}
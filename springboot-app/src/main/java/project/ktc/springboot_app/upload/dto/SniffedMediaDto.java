@@ -0,0 +1,43 @@
+package project.ktc.springboot_app.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Format and basic metadata detected from a file's leading bytes and
+ * container headers
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SniffedMediaDto {
+
+    /**
+     * MIME type detected from magic numbers, or null if not recognised
+     */
+    private String mimeType;
+
+    private Integer width;
+
+    private Integer height;
+
+    /**
+     * Duration in seconds for video and audio containers, when present in the
+     * headers
+     */
+    private Double durationSeconds;
+
+    /**
+     * Codec identifier from the container: the MP4 sample entry type (avc1,
+     * hvc1, av01, mp4a) or the Matroska codec id without its prefix (vp9, av1,
+     * opus). Video codec when the file has a video track.
+     */
+    private String codec;
+
+    public boolean isRecognised() {
+        return mimeType != null;
+    }
+}
@@ -0,0 +1,33 @@
+package project.ktc.springboot_app.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of storing a file through a media storage backend
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredMediaDto {
+
+    private String publicId;
+
+    private String url;
+
+    private String format;
+
+    private Long sizeInBytes;
+
+    /**
+     * Duration in seconds for video and audio, when the backend reports it
+     */
+    private Double duration;
+
+    private Integer width;
+
+    private Integer height;
+}
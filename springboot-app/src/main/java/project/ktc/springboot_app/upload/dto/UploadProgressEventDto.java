@@ -0,0 +1,37 @@
+package project.ktc.springboot_app.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import project.ktc.springboot_app.upload.entity.UploadSession;
+
+/**
+ * Progress event published to /topic/uploads/{sessionId}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadProgressEventDto {
+
+    public enum Phase {
+        RECEIVING, STORING, DONE
+    }
+
+    private String sessionId;
+
+    private Phase phase;
+
+    private UploadSession.UploadSessionStatus status;
+
+    private long bytesTransferred;
+
+    private long totalBytes;
+
+    private int percent;
+
+    private String url;
+
+    private String errorMessage;
+}
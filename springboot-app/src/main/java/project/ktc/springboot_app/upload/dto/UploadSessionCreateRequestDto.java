@@ -0,0 +1,36 @@
+package project.ktc.springboot_app.upload.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import project.ktc.springboot_app.upload.entity.MediaKind;
+
+/**
+ * Request to open a resumable upload session
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionCreateRequestDto {
+
+    @NotBlank(message = "Filename is required")
+    private String filename;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @NotNull(message = "Media kind is required")
+    private MediaKind mediaKind;
+
+    /**
+     * Total size of the file in bytes
+     */
+    @NotNull(message = "Upload length is required")
+    @Positive(message = "Upload length must be positive")
+    private Long uploadLength;
+}
@@ -0,0 +1,50 @@
+package project.ktc.springboot_app.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import project.ktc.springboot_app.upload.entity.MediaKind;
+import project.ktc.springboot_app.upload.entity.UploadSession;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a resumable upload session
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponseDto {
+
+    private String sessionId;
+
+    private String originalFilename;
+
+    private MediaKind mediaKind;
+
+    private UploadSession.UploadSessionStatus status;
+
+    /**
+     * Bytes received so far; the next chunk must start at this offset
+     */
+    private Long uploadOffset;
+
+    private Long uploadLength;
+
+    private String url;
+
+    private String publicId;
+
+    private Double duration;
+
+    private String errorMessage;
+
+    /**
+     * WebSocket topic that receives progress events for this session
+     */
+    private String progressTopic;
+
+    private LocalDateTime expiresAt;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import project.ktc.springboot_app.upload.entity.VideoMetadata;
 
 import java.time.LocalDateTime;
 
@@ -31,6 +32,11 @@ public class VideoMetadataResponseDto {
      */
     private Double duration;
 
+    /**
+     * Video codec (e.g. avc1, hvc1, vp9), when known
+     */
+    private String codec;
+
     /**
      * Thumbnail URL generated by Cloudinary
      */
@@ -61,6 +67,11 @@ public class VideoMetadataResponseDto {
      */
     private String publicId;
 
+    /**
+     * Where the metadata was read from
+     */
+    private VideoMetadata.MetadataSource source;
+
     /**
      * Timestamp when metadata was retrieved
      */
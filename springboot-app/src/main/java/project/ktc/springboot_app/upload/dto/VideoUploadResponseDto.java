@@ -56,6 +56,11 @@ public class VideoUploadResponseDto {
      */
     private String format;
 
+    /**
+     * Video codec (e.g. avc1, hvc1, vp9), when known
+     */
+    private String codec;
+
     /**
      * Upload timestamp
      */
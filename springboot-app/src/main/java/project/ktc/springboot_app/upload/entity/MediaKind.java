@@ -0,0 +1,21 @@
+package project.ktc.springboot_app.upload.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kind of uploaded media, with the storage folder and provider resource type
+ * used for it
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MediaKind {
+    IMAGE("course-management", "image"),
+    VIDEO("course-videos", "video"),
+    // Audio is uploaded as video resource type in Cloudinary
+    AUDIO("course-audio", "video"),
+    DOCUMENT("instructor-documents", "raw");
+
+    private final String folder;
+    private final String resourceType;
+}
@@ -0,0 +1,78 @@
+package project.ktc.springboot_app.upload.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumable upload session. The client appends bytes at received_bytes until
+ * total_bytes is reached, then the spooled file is handed to the storage
+ * backend on the media upload executor.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_session_status_expires", columnList = "status, expires_at"),
+        @Index(name = "idx_upload_session_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @Column(name = "original_filename", nullable = false)
+    private String originalFilename;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_kind", nullable = false, length = 20)
+    private MediaKind mediaKind;
+
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes;
+
+    @Column(name = "received_bytes", nullable = false)
+    @Builder.Default
+    private Long receivedBytes = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private UploadSessionStatus status = UploadSessionStatus.UPLOADING;
+
+    @Column(name = "temp_path", nullable = false, length = 500)
+    private String tempPath;
+
+    @Column(name = "public_id")
+    private String publicId;
+
+    @Column(name = "url", columnDefinition = "TEXT")
+    private String url;
+
+    @Column(name = "format", length = 20)
+    private String format;
+
+    @Column(name = "duration_seconds")
+    private Double durationSeconds;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum UploadSessionStatus {
+        UPLOADING, STORING, COMPLETED, FAILED, EXPIRED
+    }
+}
@@ -0,0 +1,68 @@
+package project.ktc.springboot_app.upload.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import project.ktc.springboot_app.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Technical metadata of an uploaded video, keyed by its storage public id.
+ * Written once when the video is uploaded (or first looked up) and never
+ * refreshed, since a public id always points at the same file.
+ */
+@Entity
+@Table(name = "video_metadata", uniqueConstraints = @UniqueConstraint(name = "uk_video_metadata_public_id", columnNames = "public_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoMetadata extends BaseEntity {
+
+    @Column(name = "public_id", nullable = false)
+    private String publicId;
+
+    @Column(name = "url", columnDefinition = "TEXT")
+    private String url;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "format", length = 20)
+    private String format;
+
+    @Column(name = "codec", length = 30)
+    private String codec;
+
+    @Column(name = "duration_seconds")
+    private Double durationSeconds;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "thumbnail_url", columnDefinition = "TEXT")
+    private String thumbnailUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 20)
+    private MetadataSource source;
+
+    @Column(name = "probed_at", nullable = false)
+    private LocalDateTime probedAt;
+
+    public enum MetadataSource {
+        /** Read from the uploaded file's headers before it was stored */
+        UPLOAD,
+        /** Read from the stored file's headers with HTTP range requests */
+        LOCAL_PROBE,
+        /** Fetched from the storage provider's admin API */
+        REMOTE_API
+    }
+}
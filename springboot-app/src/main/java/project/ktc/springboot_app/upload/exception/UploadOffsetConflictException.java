@@ -0,0 +1,12 @@
+package project.ktc.springboot_app.upload.exception;
+
+/**
+ * Exception thrown when a resumable upload chunk does not start at the
+ * session's current offset, or the session is being written concurrently
+ */
+public class UploadOffsetConflictException extends RuntimeException {
+
+    public UploadOffsetConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package project.ktc.springboot_app.upload.interfaces;
+
+import project.ktc.springboot_app.upload.dto.StoredMediaDto;
+import project.ktc.springboot_app.upload.entity.MediaKind;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Pluggable storage for uploaded media. Implementations read the source file
+ * from disk in bounded chunks so heap use does not grow with file size.
+ * Selected with app.media.storage.backend.
+ */
+public interface MediaStorageBackend {
+
+    /**
+     * Store a file that has been fully spooled to disk
+     *
+     * @param source           spooled file
+     * @param originalFilename client filename, used to derive the public ID
+     * @param kind             kind of media being stored
+     * @param listener         receives bytes sent so far and the total
+     * @return stored media location and metadata
+     * @throws IOException if the transfer fails
+     */
+    StoredMediaDto store(Path source, String originalFilename, MediaKind kind, ProgressListener listener)
+            throws IOException;
+
+    /**
+     * Delete a stored file
+     *
+     * @return true if the file existed and was deleted
+     */
+    boolean delete(String publicId, MediaKind kind) throws IOException;
+
+    @FunctionalInterface
+    interface ProgressListener {
+        void onProgress(long bytesTransferred, long totalBytes);
+    }
+}
@@ -0,0 +1,41 @@
+package project.ktc.springboot_app.upload.interfaces;
+
+import project.ktc.springboot_app.upload.dto.UploadSessionCreateRequestDto;
+import project.ktc.springboot_app.upload.dto.UploadSessionResponseDto;
+
+import java.io.InputStream;
+
+/**
+ * Resumable, chunked media uploads. A session is created with the total
+ * length, the client appends bytes at the current offset (resuming after a
+ * dropped connection from whatever offset the server reports), and the
+ * completed file is stored in the background.
+ */
+public interface MediaUploadSessionService {
+
+    UploadSessionResponseDto createSession(UploadSessionCreateRequestDto request);
+
+    UploadSessionResponseDto getSession(String sessionId);
+
+    /**
+     * Append bytes to the session starting at the given offset
+     *
+     * @throws project.ktc.springboot_app.upload.exception.UploadOffsetConflictException
+     *         if the offset is not the session's current offset
+     */
+    UploadSessionResponseDto appendChunk(String sessionId, long offset, InputStream body);
+
+    /**
+     * Retry storing a fully received session whose transfer failed
+     */
+    UploadSessionResponseDto retryStoring(String sessionId);
+
+    void abortSession(String sessionId);
+
+    /**
+     * Expire unfinished sessions past their TTL and remove their spooled files
+     *
+     * @return number of sessions expired
+     */
+    int expireStaleSessions();
+}
@@ -0,0 +1,40 @@
+package project.ktc.springboot_app.upload.interfaces;
+
+import project.ktc.springboot_app.upload.dto.SectionVideoMetadataDto;
+import project.ktc.springboot_app.upload.dto.VideoMetadataResponseDto;
+import project.ktc.springboot_app.upload.dto.VideoUploadResponseDto;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Video metadata lookups. Reads go cache, then the video_metadata table,
+ * then the stored file's own container headers, and only then the storage
+ * provider's admin API. Whatever is found is persisted, so each video is
+ * probed once.
+ */
+public interface VideoMetadataService {
+
+    /**
+     * @throws IllegalArgumentException if the URL is not a storage URL
+     * @throws IOException              if neither the probe nor the admin API
+     *                                  could describe the video
+     */
+    VideoMetadataResponseDto getMetadata(String videoUrlOrPublicId) throws IOException;
+
+    /**
+     * Metadata of every video lesson in a section owned by the current
+     * instructor, in lesson order
+     */
+    List<SectionVideoMetadataDto> getSectionMetadata(String sectionId);
+
+    /**
+     * Persist the metadata known at upload time
+     */
+    void recordUpload(VideoUploadResponseDto upload);
+
+    /**
+     * Forget a deleted video
+     */
+    void evict(String publicId);
+}
@@ -0,0 +1,53 @@
+package project.ktc.springboot_app.upload.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.upload.entity.UploadSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for resumable upload sessions
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    Optional<UploadSession> findByIdAndUserId(String id, String userId);
+
+    /**
+     * Committed offset of a session still accepting chunks. A scalar query, so
+     * it reads the database rather than an entity already loaded in the
+     * request's persistence context.
+     */
+    @Query("SELECT s.receivedBytes FROM UploadSession s WHERE s.id = :id AND s.status = 'UPLOADING'")
+    Optional<Long> findUploadingOffset(@Param("id") String id);
+
+    /**
+     * Move the offset forward only if nobody else has since the chunk started
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :newOffset, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.id = :id AND s.receivedBytes = :expectedOffset AND s.status = 'UPLOADING'")
+    int advanceOffset(@Param("id") String id,
+            @Param("expectedOffset") long expectedOffset,
+            @Param("newOffset") long newOffset);
+
+    /**
+     * Claim a fully received session for transfer to the storage backend
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.status = 'STORING', s.errorMessage = NULL, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.id = :id AND s.status IN ('UPLOADING', 'FAILED') AND s.receivedBytes = s.totalBytes")
+    int claimForStoring(@Param("id") String id);
+
+    @Query("SELECT s FROM UploadSession s WHERE s.status IN ('UPLOADING', 'FAILED') AND s.expiresAt < :now")
+    List<UploadSession> findExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,29 @@
+package project.ktc.springboot_app.upload.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.ktc.springboot_app.upload.entity.VideoMetadata;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for persisted video metadata
+ */
+@Repository
+public interface VideoMetadataRepository extends JpaRepository<VideoMetadata, String> {
+
+    Optional<VideoMetadata> findByPublicId(String publicId);
+
+    List<VideoMetadata> findByPublicIdIn(Collection<String> publicIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VideoMetadata m WHERE m.publicId = :publicId")
+    int deleteByPublicId(@Param("publicId") String publicId);
+}
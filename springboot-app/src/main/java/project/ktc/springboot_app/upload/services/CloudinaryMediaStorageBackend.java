@@ -0,0 +1,89 @@
+package project.ktc.springboot_app.upload.services;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
+import project.ktc.springboot_app.upload.config.MediaUploadProperties;
+import project.ktc.springboot_app.upload.dto.StoredMediaDto;
+import project.ktc.springboot_app.upload.entity.MediaKind;
+import project.ktc.springboot_app.upload.interfaces.MediaStorageBackend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores media in Cloudinary using chunked uploads of
+ * app.media.upload.chunk-size, so only one chunk is held in memory at a time
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.media.storage", name = "backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryMediaStorageBackend implements MediaStorageBackend {
+
+    private final Cloudinary cloudinary;
+    private final MediaUploadProperties mediaUploadProperties;
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public StoredMediaDto store(Path source, String originalFilename, MediaKind kind, ProgressListener listener)
+            throws IOException {
+        long size = Files.size(source);
+        Map<String, Object> options = ObjectUtils.asMap(
+                "public_id", generatePublicId(originalFilename),
+                "folder", kind.getFolder(),
+                "resource_type", kind.getResourceType());
+        if (kind == MediaKind.VIDEO) {
+            options.put("format", "mp4");
+        } else if (kind == MediaKind.AUDIO) {
+            options.put("format", "mp3");
+        }
+
+        log.info("Uploading {} ({} bytes) to Cloudinary in chunks", originalFilename, size);
+        // Runs on a media upload worker, so it queues for a chunked upload slot
+        // instead of failing when every slot is busy
+        Map<String, Object> result = concurrencyLimiter.callWhenFree("cloudinary-upload",
+                () -> cloudinary.uploader().uploadLarge(source.toFile(), options,
+                        (int) mediaUploadProperties.getUpload().getChunkSize().toBytes(),
+                        listener::onProgress));
+
+        return StoredMediaDto.builder()
+                .publicId((String) result.get("public_id"))
+                .url((String) result.get("secure_url"))
+                .format((String) result.get("format"))
+                .sizeInBytes(result.get("bytes") != null ? ((Number) result.get("bytes")).longValue() : size)
+                .duration(result.get("duration") != null
+                        ? Double.parseDouble(result.get("duration").toString())
+                        : null)
+                .width((Integer) result.get("width"))
+                .height((Integer) result.get("height"))
+                .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean delete(String publicId, MediaKind kind) throws IOException {
+        Map<String, Object> result = concurrencyLimiter.call("cloudinary",
+                () -> cloudinary.uploader().destroy(publicId,
+                        ObjectUtils.asMap("resource_type", kind.getResourceType())));
+        return "ok".equals(result.get("result"));
+    }
+
+    private String generatePublicId(String originalFilename) {
+        String filename = originalFilename != null ? originalFilename.replaceAll("[^a-zA-Z0-9.-]", "_") : "media";
+        int lastDotIndex = filename.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            filename = filename.substring(0, lastDotIndex);
+        }
+        return String.format("%s_%d_%s", filename, System.currentTimeMillis(),
+                UUID.randomUUID().toString().substring(0, 8));
+    }
+}
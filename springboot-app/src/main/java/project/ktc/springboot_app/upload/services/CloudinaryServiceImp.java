@@ -7,9 +7,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
+import project.ktc.springboot_app.upload.config.MediaUploadProperties;
 import project.ktc.springboot_app.upload.dto.AudioUploadResponseDto;
 import project.ktc.springboot_app.upload.dto.DocumentUploadResponseDto;
 import project.ktc.springboot_app.upload.dto.ImageUploadResponseDto;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
 import project.ktc.springboot_app.upload.dto.VideoMetadataResponseDto;
 import project.ktc.springboot_app.upload.dto.VideoUploadResponseDto;
 import project.ktc.springboot_app.upload.exception.ImageUploadException;
@@ -18,6 +21,8 @@ import project.ktc.springboot_app.upload.exception.VideoUploadException;
 import project.ktc.springboot_app.upload.interfaces.CloudinaryService;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
@@ -30,7 +35,13 @@ import java.util.UUID;
 @Slf4j
 public class CloudinaryServiceImp implements CloudinaryService {
 
+    private static final String CLOUDINARY = "cloudinary";
+    private static final String CLOUDINARY_CHUNKED_UPLOAD = "cloudinary-upload";
+
     private final Cloudinary cloudinary;
+    private final MediaUploadProperties mediaUploadProperties;
+    private final MediaContentSniffer mediaContentSniffer;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
     /**
      * Upload image file to Cloudinary
@@ -50,8 +61,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
             // Upload to Cloudinary
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
+            Map<String, Object> uploadResult = uploadSpooled(file, false,
                     ObjectUtils.asMap(
                             "public_id", publicId,
                             "folder", "course-management", // Organize uploads in folder
@@ -95,7 +105,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
             // Upload to Cloudinary
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
+            Map<String, Object> uploadResult = concurrencyLimiter.call(CLOUDINARY, () -> cloudinary.uploader().upload(
                     imageData,
                     ObjectUtils.asMap(
                             "public_id", publicId,
@@ -103,7 +113,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
                             "resource_type", "image",
                             "quality", "auto:good", // Optimize image quality
                             "fetch_format", "auto" // Auto-optimize format
-                    ));
+                    )));
 
             // Extract response data
             ImageUploadResponseDto response = buildResponseDto(uploadResult, filename);
@@ -134,7 +144,8 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
         try {
             @SuppressWarnings("unchecked")
-            Map<String, Object> result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            Map<String, Object> result = concurrencyLimiter.call(CLOUDINARY,
+                    () -> cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap()));
             String resultStatus = (String) result.get("result");
 
             boolean success = "ok".equals(resultStatus);
@@ -153,8 +164,45 @@ public class CloudinaryServiceImp implements CloudinaryService {
     }
 
     /**
-     * Validate uploaded file
-     * /**
+     * Upload from a temp file instead of the heap. Tomcat has already spooled
+     * the multipart part to disk, so transferTo usually just moves it. Video
+     * and audio go up in chunks of app.media.upload.chunk-size.
+     */
+    private Map<String, Object> uploadSpooled(MultipartFile file, boolean chunked, Map<String, Object> options)
+            throws IOException {
+        return uploadSpooled(file, chunked, options, tempFile -> {
+        });
+    }
+
+    /**
+     * Same as above, letting the caller inspect the spooled file before it
+     * is uploaded
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> uploadSpooled(MultipartFile file, boolean chunked, Map<String, Object> options,
+            SpooledFileInspector inspector) throws IOException {
+        Path tempDir = Files.createDirectories(mediaUploadProperties.getUpload().getTempDirPath());
+        Path tempFile = Files.createTempFile(tempDir, "multipart-", ".part");
+        try {
+            file.transferTo(tempFile);
+            inspector.inspect(tempFile);
+            if (chunked) {
+                return concurrencyLimiter.call(CLOUDINARY_CHUNKED_UPLOAD,
+                        () -> cloudinary.uploader().uploadLarge(tempFile.toFile(), options,
+                                (int) mediaUploadProperties.getUpload().getChunkSize().toBytes()));
+            }
+            return concurrencyLimiter.call(CLOUDINARY, () -> cloudinary.uploader().upload(tempFile.toFile(), options));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SpooledFileInspector {
+        void inspect(Path file) throws IOException;
+    }
+
+    /**
      * Generate unique public ID for the uploaded file
      */
     private String generatePublicId(String originalFilename) {
@@ -202,22 +250,26 @@ public class CloudinaryServiceImp implements CloudinaryService {
             // Generate unique public ID for video
             String publicId = generatePublicId(file.getOriginalFilename());
 
+            // Container headers are read while the file is on local disk
+            SniffedMediaDto[] probed = { new SniffedMediaDto() };
+
             // Upload to Cloudinary with video-specific options
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
+            Map<String, Object> uploadResult = uploadSpooled(file, true,
                     ObjectUtils.asMap(
                             "public_id", publicId,
                             "folder", "course-videos", // Organize video uploads in separate folder
                             "resource_type", "video", // Specify that this is a video
                             "quality", "auto", // Auto quality optimization
                             "format", "mp4" // Convert to MP4 for compatibility
-                    ));
+                    ), tempFile -> probed[0] = probeQuietly(tempFile));
 
             log.info("Video upload successful. Public ID: {}, Secure URL: {}",
                     uploadResult.get("public_id"), uploadResult.get("secure_url"));
 
-            return buildVideoResponseDto(uploadResult, file);
+            VideoUploadResponseDto response = buildVideoResponseDto(uploadResult, file);
+            applyProbe(response, probed[0]);
+            return response;
 
         } catch (IOException e) {
             log.error("Failed to upload video: {}", file.getOriginalFilename(), e);
@@ -237,8 +289,8 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
         try {
             @SuppressWarnings("unchecked")
-            Map<String, Object> result = cloudinary.uploader().destroy(publicId,
-                    ObjectUtils.asMap("resource_type", "video"));
+            Map<String, Object> result = concurrencyLimiter.call(CLOUDINARY, () -> cloudinary.uploader().destroy(publicId,
+                    ObjectUtils.asMap("resource_type", "video")));
 
             String resultStatus = (String) result.get("result");
             boolean success = "ok".equals(resultStatus);
@@ -296,8 +348,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
             // Upload to Cloudinary
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
+            Map<String, Object> uploadResult = uploadSpooled(file, true,
                     ObjectUtils.asMap(
                             "public_id", publicId,
                             "folder", "course-audio",
@@ -329,8 +380,8 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
         try {
             @SuppressWarnings("unchecked")
-            Map<String, Object> result = cloudinary.uploader().destroy(publicId,
-                    ObjectUtils.asMap("resource_type", "video")); // Audio is stored as video resource type
+            Map<String, Object> result = concurrencyLimiter.call(CLOUDINARY, () -> cloudinary.uploader().destroy(publicId,
+                    ObjectUtils.asMap("resource_type", "video"))); // Audio is stored as video resource type
 
             String resultStatus = (String) result.get("result");
             boolean success = "ok".equals(resultStatus);
@@ -412,8 +463,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
             // Upload to Cloudinary as raw file
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
+            Map<String, Object> uploadResult = uploadSpooled(file, false,
                     ObjectUtils.asMap(
                             "public_id", publicId,
                             "resource_type", "raw" // Use raw for documents
@@ -442,8 +492,8 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
         try {
             @SuppressWarnings("unchecked")
-            Map<String, Object> result = cloudinary.uploader().destroy(publicId,
-                    ObjectUtils.asMap("resource_type", "raw"));
+            Map<String, Object> result = concurrencyLimiter.call(CLOUDINARY, () -> cloudinary.uploader().destroy(publicId,
+                    ObjectUtils.asMap("resource_type", "raw")));
 
             String resultStatus = (String) result.get("result");
             boolean success = "ok".equals(resultStatus);
@@ -471,6 +521,40 @@ public class CloudinaryServiceImp implements CloudinaryService {
                 .build();
     }
 
+    private SniffedMediaDto probeQuietly(Path file) {
+        try {
+            return mediaContentSniffer.probe(file);
+        } catch (IOException e) {
+            log.warn("Failed to probe video headers: {}", e.getMessage());
+            return new SniffedMediaDto();
+        }
+    }
+
+    /**
+     * Prefer values read from the file's own headers over Cloudinary's
+     */
+    private void applyProbe(VideoUploadResponseDto response, SniffedMediaDto probed) {
+        if (probed.getDurationSeconds() != null) {
+            response.setDuration(probed.getDurationSeconds());
+        }
+        if (probed.getWidth() != null && probed.getHeight() != null) {
+            response.setWidth(probed.getWidth());
+            response.setHeight(probed.getHeight());
+        }
+        if (probed.getCodec() != null) {
+            response.setCodec(probed.getCodec());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractVideoCodec(Map<String, Object> details) {
+        Object video = details.get("video");
+        if (video instanceof Map<?, ?> videoDetails && videoDetails.get("codec") != null) {
+            return videoDetails.get("codec").toString();
+        }
+        return null;
+    }
+
     /**
      * Build video response DTO from Cloudinary upload result
      */
@@ -486,6 +570,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
                 .width((Integer) uploadResult.get("width"))
                 .height((Integer) uploadResult.get("height"))
                 .format((String) uploadResult.get("format"))
+                .codec(extractVideoCodec(uploadResult))
                 .resourceType((String) uploadResult.get("resource_type"))
                 .uploadedAt(LocalDateTime.now())
                 .build();
@@ -529,10 +614,15 @@ public class CloudinaryServiceImp implements CloudinaryService {
                     : null;
 
             String videoUrl = (String) resourceDetails.get("secure_url");
+            Double duration = resourceDetails.get("duration") != null
+                    ? Double.parseDouble(resourceDetails.get("duration").toString())
+                    : null;
 
             return VideoMetadataResponseDto.builder()
                     .title(title)
                     .format(format)
+                    .duration(duration)
+                    .codec(extractVideoCodec(resourceDetails))
                     .thumbnail(thumbnailUrl)
                     .width(width)
                     .height(height)
@@ -554,7 +644,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
      * @param videoUrlOrPublicId Cloudinary URL or public ID
      * @return extracted public ID
      */
-    private String extractPublicIdFromUrl(String videoUrlOrPublicId) {
+    public String extractPublicIdFromUrl(String videoUrlOrPublicId) {
         if (videoUrlOrPublicId == null || videoUrlOrPublicId.trim().isEmpty()) {
             throw new IllegalArgumentException("Video URL or public ID cannot be null or empty");
         }
@@ -632,7 +722,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
      * @param publicId video public ID
      * @return thumbnail URL
      */
-    private String generateThumbnailUrl(String publicId) {
+    public String generateThumbnailUrl(String publicId) {
         // Generate thumbnail URL with Cloudinary transformations
         // This creates a thumbnail from the middle of the video (50% position)
         @SuppressWarnings("rawtypes")
@@ -650,6 +740,20 @@ public class CloudinaryServiceImp implements CloudinaryService {
                 .generate(publicId);
     }
 
+    /**
+     * Delivery URL of an uploaded video, in the MP4 format it was stored as
+     *
+     * @param publicId video public ID
+     * @return secure video URL
+     */
+    public String generateVideoUrl(String publicId) {
+        return cloudinary.url()
+                .secure(true)
+                .resourceType("video")
+                .format("mp4")
+                .generate(publicId);
+    }
+
     /**
      * Generate download URL for certificate PDF with attachment flag
      * This forces browsers to download the file instead of displaying it inline
@@ -703,7 +807,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
 
             // Upload PDF to Cloudinary
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
+            Map<String, Object> uploadResult = concurrencyLimiter.call(CLOUDINARY, () -> cloudinary.uploader().upload(
                     pdfData,
                     ObjectUtils.asMap(
                             "public_id", publicId,
@@ -711,7 +815,7 @@ public class CloudinaryServiceImp implements CloudinaryService {
                             "folder", "certificates",
                             "use_filename", true,
                             "unique_filename", true,
-                            "overwrite", false));
+                            "overwrite", false)));
 
             log.info("Certificate PDF upload successful. Public ID: {}, URL: {}",
                     uploadResult.get("public_id"), uploadResult.get("secure_url"));
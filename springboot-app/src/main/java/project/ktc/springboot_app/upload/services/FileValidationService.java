@@ -1,18 +1,26 @@
 package project.ktc.springboot_app.upload.services;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
+import project.ktc.springboot_app.upload.entity.MediaKind;
 import project.ktc.springboot_app.upload.exception.InvalidDocumentFormatException;
 import project.ktc.springboot_app.upload.exception.InvalidImageFormatException;
 import project.ktc.springboot_app.upload.exception.InvalidVideoFormatException;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Function;
 
 /**
- * Service for validating uploaded files
+ * Service for validating uploaded files.
+ * Besides the declared MIME type and size, the real format is sniffed from
+ * the file's leading bytes, so a renamed or mislabelled file is rejected.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class FileValidationService {
 
@@ -45,6 +53,12 @@ public class FileValidationService {
             "image/png" // PNG for scanned documents
     );
 
+    // Formats that can hold an audio track uploaded as audio
+    private static final List<String> ALLOWED_AUDIO_CONTAINER_TYPES = List.of(
+            "video/webm",
+            "video/mp4",
+            "video/ogg");
+
     // Maximum file size for images (10MB)
     private static final long MAX_IMAGE_SIZE = 10 * 1024 * 1024;
 
@@ -54,38 +68,90 @@ public class FileValidationService {
     // Maximum file size for documents (15MB)
     private static final long MAX_DOCUMENT_SIZE = 15 * 1024 * 1024;
 
+    private final MediaContentSniffer mediaContentSniffer;
+
     /**
      * Validate uploaded image file
      * 
      * @param file MultipartFile to validate
+     * @return format and dimensions detected from the file header
      * @throws InvalidImageFormatException if validation fails
      */
-    public void validateImageFile(MultipartFile file) {
+    public SniffedMediaDto validateImageFile(MultipartFile file) {
         log.debug("Starting validation for image file: {}", file.getOriginalFilename());
 
         validateFileNotEmpty(file);
         validateImageFileSize(file);
         validateImageMimeType(file);
+        SniffedMediaDto sniffed = validateContent(file, ALLOWED_IMAGE_MIME_TYPES, InvalidImageFormatException::new);
 
         log.debug("Image file validation passed for: {} ({})",
-                file.getOriginalFilename(), file.getContentType());
+                file.getOriginalFilename(), sniffed.getMimeType());
+        return sniffed;
     }
 
     /**
      * Validate uploaded video file
      * 
      * @param file MultipartFile to validate
+     * @return format, dimensions and duration detected from the file header
      * @throws InvalidVideoFormatException if validation fails
      */
-    public void validateVideoFile(MultipartFile file) {
+    public SniffedMediaDto validateVideoFile(MultipartFile file) {
         log.debug("Starting validation for video file: {}", file.getOriginalFilename());
 
         validateFileNotEmpty(file);
         validateVideoFileSize(file);
         validateVideoMimeType(file);
+        SniffedMediaDto sniffed = validateContent(file, ALLOWED_VIDEO_MIME_TYPES, InvalidVideoFormatException::new);
 
         log.debug("Video file validation passed for: {} ({})",
-                file.getOriginalFilename(), file.getContentType());
+                file.getOriginalFilename(), sniffed.getMimeType());
+        return sniffed;
+    }
+
+    /**
+     * Check that content sniffed from a stream or spooled file is an allowed
+     * format for the kind of media
+     *
+     * @throws IllegalArgumentException if the format is not allowed
+     */
+    public void validateSniffedType(MediaKind kind, SniffedMediaDto sniffed) {
+        String detected = sniffed.getMimeType();
+        boolean allowed = detected != null && switch (kind) {
+            case IMAGE -> ALLOWED_IMAGE_MIME_TYPES.contains(detected);
+            case VIDEO -> ALLOWED_VIDEO_MIME_TYPES.contains(detected);
+            case DOCUMENT -> ALLOWED_DOCUMENT_MIME_TYPES.contains(detected);
+            case AUDIO -> detected.startsWith("audio/") || ALLOWED_AUDIO_CONTAINER_TYPES.contains(detected);
+        };
+        if (!allowed) {
+            throw new IllegalArgumentException(String.format("File content (%s) is not a supported %s format",
+                    detected != null ? detected : "unrecognised", kind.name().toLowerCase()));
+        }
+    }
+
+    /**
+     * Sniff the file's leading bytes and check the real format is allowed
+     */
+    private SniffedMediaDto validateContent(MultipartFile file, List<String> allowedTypes,
+            Function<String, RuntimeException> invalid) {
+        SniffedMediaDto sniffed;
+        try {
+            sniffed = mediaContentSniffer.sniff(file);
+        } catch (IOException e) {
+            throw invalid.apply("File content could not be read");
+        }
+
+        if (!sniffed.isRecognised() || !allowedTypes.contains(sniffed.getMimeType())) {
+            throw invalid.apply(String.format("File content (%s) does not match a supported format. Allowed formats: %s",
+                    sniffed.isRecognised() ? sniffed.getMimeType() : "unrecognised",
+                    String.join(", ", allowedTypes)));
+        }
+        if (!sniffed.getMimeType().equalsIgnoreCase(file.getContentType())) {
+            log.debug("Declared type {} differs from sniffed type {} for {}", file.getContentType(),
+                    sniffed.getMimeType(), file.getOriginalFilename());
+        }
+        return sniffed;
     }
 
     /**
@@ -166,9 +232,10 @@ public class FileValidationService {
      * Validate uploaded document file for instructor applications
      * 
      * @param file MultipartFile to validate
+     * @return format detected from the file header
      * @throws InvalidDocumentFormatException if validation fails
      */
-    public void validateDocumentFile(MultipartFile file) {
+    public SniffedMediaDto validateDocumentFile(MultipartFile file) {
         log.debug("Starting validation for document file: {}", file.getOriginalFilename());
 
         // Check if file is empty
@@ -193,7 +260,11 @@ public class FileValidationService {
                             String.join(", ", ALLOWED_DOCUMENT_MIME_TYPES)));
         }
 
+        SniffedMediaDto sniffed = validateContent(file, ALLOWED_DOCUMENT_MIME_TYPES,
+                InvalidDocumentFormatException::new);
+
         log.debug("Document file validation passed for: {}", file.getOriginalFilename());
+        return sniffed;
     }
 
     /**
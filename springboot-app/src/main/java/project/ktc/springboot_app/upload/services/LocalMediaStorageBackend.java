@@ -0,0 +1,106 @@
+package project.ktc.springboot_app.upload.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import project.ktc.springboot_app.upload.config.MediaUploadProperties;
+import project.ktc.springboot_app.upload.dto.StoredMediaDto;
+import project.ktc.springboot_app.upload.entity.MediaKind;
+import project.ktc.springboot_app.upload.interfaces.MediaStorageBackend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Stores media on the local filesystem under app.media.storage.local.root and
+ * serves it under app.media.storage.local.public-base-url. Meant for tests
+ * and offline environments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.media.storage", name = "backend", havingValue = "local")
+public class LocalMediaStorageBackend implements MediaStorageBackend, WebMvcConfigurer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MediaUploadProperties mediaUploadProperties;
+
+    @Override
+    public StoredMediaDto store(Path source, String originalFilename, MediaKind kind, ProgressListener listener)
+            throws IOException {
+        String publicId = kind.getFolder() + "/" + generateFilename(originalFilename);
+        Path target = resolve(publicId);
+        Files.createDirectories(target.getParent());
+
+        long total = Files.size(source);
+        long copied = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(source);
+                OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                copied += read;
+                listener.onProgress(copied, total);
+            }
+        }
+
+        log.info("Stored {} locally at {}", originalFilename, target);
+        return StoredMediaDto.builder()
+                .publicId(publicId)
+                .url(mediaUploadProperties.getStorage().getLocal().getPublicBaseUrl() + "/" + publicId)
+                .format(extensionOf(publicId))
+                .sizeInBytes(copied)
+                .build();
+    }
+
+    @Override
+    public boolean delete(String publicId, MediaKind kind) throws IOException {
+        return Files.deleteIfExists(resolve(publicId));
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        MediaUploadProperties.Local local = mediaUploadProperties.getStorage().getLocal();
+        registry.addResourceHandler(local.getPublicBaseUrl() + "/**")
+                .addResourceLocations(rootPath().toUri().toString());
+    }
+
+    private Path rootPath() {
+        return Path.of(mediaUploadProperties.getStorage().getLocal().getRoot()).toAbsolutePath().normalize();
+    }
+
+    private Path resolve(String publicId) {
+        Path root = rootPath();
+        Path path = root.resolve(publicId).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid media public ID: " + publicId);
+        }
+        return path;
+    }
+
+    private String generateFilename(String originalFilename) {
+        String filename = originalFilename != null ? originalFilename.replaceAll("[^a-zA-Z0-9.-]", "_") : "media";
+        String extension = "";
+        int lastDotIndex = filename.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            extension = filename.substring(lastDotIndex);
+            filename = filename.substring(0, lastDotIndex);
+        }
+        return String.format("%s_%d_%s%s", filename, System.currentTimeMillis(),
+                UUID.randomUUID().toString().substring(0, 8), extension);
+    }
+
+    private String extensionOf(String filename) {
+        int lastDotIndex = filename.lastIndexOf('.');
+        return lastDotIndex > 0 ? filename.substring(lastDotIndex + 1) : null;
+    }
+}
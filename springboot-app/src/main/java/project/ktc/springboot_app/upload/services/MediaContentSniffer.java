@@ -0,0 +1,692 @@
+package project.ktc.springboot_app.upload.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Detects the real format of an upload from its magic numbers and reads
+ * dimensions and duration from container headers, without decoding or
+ * reading the whole file.
+ *
+ * Streams are sniffed through a {@link PushbackInputStream} so the caller
+ * keeps consuming the same stream; files on disk and remote URLs are probed
+ * through positioned reads of box and element headers only.
+ */
+@Component
+@Slf4j
+public class MediaContentSniffer {
+
+    /**
+     * Leading bytes inspected for magic numbers and in-header metadata
+     */
+    public static final int HEAD_BYTES = 64 * 1024;
+
+    // EBML (WebM/Matroska) element IDs
+    private static final long EBML_HEADER = 0x1A45DFA3L;
+    private static final long EBML_DOC_TYPE = 0x4282L;
+    private static final long EBML_SEGMENT = 0x18538067L;
+    private static final long EBML_INFO = 0x1549A966L;
+    private static final long EBML_TIMECODE_SCALE = 0x2AD7B1L;
+    private static final long EBML_DURATION = 0x4489L;
+    private static final long EBML_TRACKS = 0x1654AE6BL;
+    private static final long EBML_TRACK_ENTRY = 0xAEL;
+    private static final long EBML_CODEC_ID = 0x86L;
+    private static final long EBML_VIDEO = 0xE0L;
+    private static final long EBML_PIXEL_WIDTH = 0xB0L;
+    private static final long EBML_PIXEL_HEIGHT = 0xBAL;
+    private static final long EBML_CLUSTER = 0x1F43B675L;
+
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(HTTP_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    /**
+     * Stream whose head has been sniffed; read it from the start as usual
+     */
+    public record SniffedStream(SniffedMediaDto media, InputStream stream) {
+    }
+
+    /**
+     * Sniff the head of a multipart file. Only the first {@link #HEAD_BYTES}
+     * are read.
+     */
+    public SniffedMediaDto sniff(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            byte[] head = new byte[HEAD_BYTES];
+            int length = readFully(in, head);
+            return sniffHead(head, length);
+        }
+    }
+
+    /**
+     * Sniff the head of a stream and hand back a stream that replays it, so
+     * sniffing adds no extra pass over the data
+     */
+    public SniffedStream sniff(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, HEAD_BYTES);
+        byte[] head = new byte[HEAD_BYTES];
+        int length = readFully(pushback, head);
+        if (length > 0) {
+            pushback.unread(head, 0, length);
+        }
+        return new SniffedStream(sniffHead(head, length), pushback);
+    }
+
+    /**
+     * Probe a file on disk. MP4/QuickTime files are walked box by box, so
+     * the moov box is found even when it sits at the end of the file.
+     */
+    public SniffedMediaDto probe(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return probe(new RangeSource() {
+                @Override
+                public long size() throws IOException {
+                    return channel.size();
+                }
+
+                @Override
+                public int read(ByteBuffer target, long position) throws IOException {
+                    return channel.read(target, position);
+                }
+            });
+        }
+    }
+
+    /**
+     * Probe a remote file with HTTP range requests: the head, then one small
+     * request per top-level box until moov is reached. The body is never
+     * downloaded.
+     *
+     * @throws IOException if the server does not honour range requests
+     */
+    public SniffedMediaDto probe(URI url) throws IOException {
+        return probe(new HttpRangeSource(url));
+    }
+
+    private SniffedMediaDto probe(RangeSource source) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(HEAD_BYTES);
+        while (head.hasRemaining() && source.read(head, head.position()) > 0) {
+            // keep reading until the head is full or EOF
+        }
+        SniffedMediaDto media = sniffHead(head.array(), head.position());
+
+        if (isIsoBmff(media.getMimeType()) && media.getDurationSeconds() == null) {
+            probeIsoBmff(source, head, media);
+        }
+        return media;
+    }
+
+    /**
+     * Detect the format from the leading bytes and read what metadata the
+     * head contains
+     */
+    SniffedMediaDto sniffHead(byte[] b, int len) {
+        SniffedMediaDto media = new SniffedMediaDto();
+
+        if (startsWith(b, len, 0, 0xFF, 0xD8, 0xFF)) {
+            media.setMimeType("image/jpeg");
+            readJpegDimensions(b, len, media);
+        } else if (startsWith(b, len, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            media.setMimeType("image/png");
+            if (len >= 24) {
+                media.setWidth(u32be(b, 16));
+                media.setHeight(u32be(b, 20));
+            }
+        } else if (ascii(b, len, 0, "GIF87a") || ascii(b, len, 0, "GIF89a")) {
+            media.setMimeType("image/gif");
+            if (len >= 10) {
+                media.setWidth(u16le(b, 6));
+                media.setHeight(u16le(b, 8));
+            }
+        } else if (ascii(b, len, 0, "BM") && len >= 26) {
+            media.setMimeType("image/bmp");
+            media.setWidth(Math.abs(s32le(b, 18)));
+            media.setHeight(Math.abs(s32le(b, 22)));
+        } else if (ascii(b, len, 0, "RIFF") && ascii(b, len, 8, "WEBP")) {
+            media.setMimeType("image/webp");
+            readWebpDimensions(b, len, media);
+        } else if (ascii(b, len, 0, "RIFF") && ascii(b, len, 8, "AVI ")) {
+            media.setMimeType("video/x-msvideo");
+        } else if (ascii(b, len, 0, "RIFF") && ascii(b, len, 8, "WAVE")) {
+            media.setMimeType("audio/wav");
+        } else if (ascii(b, len, 4, "ftyp")) {
+            media.setMimeType(isoBmffMimeType(b, len));
+            probeIsoBmff(ByteBuffer.wrap(b, 0, len), media);
+        } else if (startsWith(b, len, 0, 0x1A, 0x45, 0xDF, 0xA3)) {
+            readEbml(b, len, media);
+        } else if (startsWith(b, len, 0, 0x00, 0x00, 0x01, 0xBA) || startsWith(b, len, 0, 0x00, 0x00, 0x01, 0xB3)) {
+            media.setMimeType("video/mpeg");
+        } else if (startsWith(b, len, 0, 0x30, 0x26, 0xB2, 0x75, 0x8E, 0x66, 0xCF, 0x11)) {
+            media.setMimeType("video/x-ms-wmv");
+        } else if (ascii(b, len, 0, "OggS")) {
+            media.setMimeType(indexOf(b, len, "theora") >= 0 ? "video/ogg" : "audio/ogg");
+        } else if (ascii(b, len, 0, "fLaC")) {
+            media.setMimeType("audio/flac");
+        } else if (ascii(b, len, 0, "ID3") || (len >= 2 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xE0) == 0xE0)) {
+            media.setMimeType("audio/mpeg");
+        } else if (ascii(b, len, 0, "%PDF-")) {
+            media.setMimeType("application/pdf");
+        } else if (startsWith(b, len, 0, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) {
+            media.setMimeType("application/msword");
+        } else if (startsWith(b, len, 0, 'P', 'K', 0x03, 0x04)) {
+            // OOXML packages list their parts first; Word documents have a word/ part
+            media.setMimeType(indexOf(b, len, "word/") >= 0
+                    ? "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
+                    : "application/zip");
+        }
+        return media;
+    }
+
+    // ---- JPEG / WebP ----
+
+    private void readJpegDimensions(byte[] b, int len, SniffedMediaDto media) {
+        int i = 2;
+        while (i + 9 < len) {
+            if ((b[i] & 0xFF) != 0xFF) {
+                return;
+            }
+            int marker = b[i + 1] & 0xFF;
+            if (marker == 0xFF) {
+                i++;
+                continue;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                i += 2;
+                continue;
+            }
+            // SOF0-SOF15 except DHT, JPG and DAC carry the frame size
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                media.setHeight(u16be(b, i + 5));
+                media.setWidth(u16be(b, i + 7));
+                return;
+            }
+            if (marker == 0xDA) {
+                return;
+            }
+            i += 2 + u16be(b, i + 2);
+        }
+    }
+
+    private void readWebpDimensions(byte[] b, int len, SniffedMediaDto media) {
+        if (ascii(b, len, 12, "VP8 ") && len >= 30) {
+            media.setWidth(u16le(b, 26) & 0x3FFF);
+            media.setHeight(u16le(b, 28) & 0x3FFF);
+        } else if (ascii(b, len, 12, "VP8L") && len >= 25) {
+            int bits = s32le(b, 21);
+            media.setWidth((bits & 0x3FFF) + 1);
+            media.setHeight(((bits >> 14) & 0x3FFF) + 1);
+        } else if (ascii(b, len, 12, "VP8X") && len >= 30) {
+            media.setWidth(u24le(b, 24) + 1);
+            media.setHeight(u24le(b, 27) + 1);
+        }
+    }
+
+    // ---- MP4 / QuickTime (ISO base media file format) ----
+
+    private String isoBmffMimeType(byte[] b, int len) {
+        if (len < 12) {
+            return "video/mp4";
+        }
+        String brand = new String(b, 8, 4, StandardCharsets.US_ASCII);
+        return switch (brand) {
+            case "qt  " -> "video/quicktime";
+            case "M4A ", "M4B " -> "audio/mp4";
+            case "3gp4", "3gp5", "3gp6", "3g2a" -> "video/3gpp";
+            default -> "video/mp4";
+        };
+    }
+
+    private boolean isIsoBmff(String mimeType) {
+        return "video/mp4".equals(mimeType) || "video/quicktime".equals(mimeType)
+                || "audio/mp4".equals(mimeType) || "video/3gpp".equals(mimeType);
+    }
+
+    /**
+     * Walk the top-level boxes of a file, reading only their headers, and
+     * parse moov when it is reached. Headers inside the already-read head are
+     * taken from it.
+     */
+    private void probeIsoBmff(RangeSource source, ByteBuffer head, SniffedMediaDto media) throws IOException {
+        long size = source.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(16);
+        while (position + 8 <= size) {
+            header.clear();
+            if (position + 16 <= head.position()) {
+                header.put(head.array(), (int) position, 16);
+            } else {
+                source.read(header, position);
+            }
+            header.flip();
+            if (header.remaining() < 8) {
+                return;
+            }
+            long boxSize = header.getInt(0) & 0xFFFFFFFFL;
+            String type = boxType(header, 4);
+            int headerLength = 8;
+            if (boxSize == 1 && header.remaining() >= 16) {
+                boxSize = header.getLong(8);
+                headerLength = 16;
+            } else if (boxSize == 0) {
+                boxSize = size - position;
+            }
+            if (boxSize < headerLength) {
+                return;
+            }
+
+            if ("moov".equals(type)) {
+                // moov holds the sample tables too; only its first part is needed
+                int toRead = (int) Math.min(boxSize - headerLength, HEAD_BYTES);
+                ByteBuffer moov = ByteBuffer.allocate(toRead);
+                while (moov.hasRemaining()
+                        && source.read(moov, position + headerLength + moov.position()) > 0) {
+                    // a range response may arrive short
+                }
+                moov.flip();
+                parseMoov(moov, media);
+                return;
+            }
+            position += boxSize;
+        }
+    }
+
+    /**
+     * Same walk over an in-memory head, for files whose moov comes first
+     */
+    private void probeIsoBmff(ByteBuffer buffer, SniffedMediaDto media) {
+        long position = buffer.position();
+        int limit = buffer.limit();
+        while (position + 8 <= limit) {
+            long boxSize = buffer.getInt((int) position) & 0xFFFFFFFFL;
+            String type = boxType(buffer, (int) position + 4);
+            if (boxSize < 8) {
+                return;
+            }
+            if ("moov".equals(type)) {
+                ByteBuffer moov = buffer.duplicate();
+                moov.position((int) position + 8);
+                moov.limit((int) Math.min(limit, position + boxSize));
+                parseMoov(moov.slice(), media);
+                return;
+            }
+            position += boxSize;
+        }
+    }
+
+    private void parseMoov(ByteBuffer moov, SniffedMediaDto media) {
+        int position = 0;
+        while (position + 8 <= moov.limit()) {
+            long boxSize = moov.getInt(position) & 0xFFFFFFFFL;
+            String type = boxType(moov, position + 4);
+            if (boxSize < 8) {
+                return;
+            }
+            int payload = position + 8;
+            if ("mvhd".equals(type) && payload + 32 <= moov.limit()) {
+                int version = moov.get(payload) & 0xFF;
+                long timescale;
+                long duration;
+                if (version == 1) {
+                    timescale = moov.getInt(payload + 20) & 0xFFFFFFFFL;
+                    duration = moov.getLong(payload + 24);
+                } else {
+                    timescale = moov.getInt(payload + 12) & 0xFFFFFFFFL;
+                    duration = moov.getInt(payload + 16) & 0xFFFFFFFFL;
+                }
+                if (timescale > 0) {
+                    media.setDurationSeconds((double) duration / timescale);
+                }
+            } else if ("trak".equals(type)) {
+                readTrack(moov, payload, (int) Math.min(moov.limit(), position + boxSize), media);
+            }
+            position += (int) Math.min(boxSize, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Read a track's frame size from tkhd and its codec from the first
+     * sample entry in mdia/minf/stbl/stsd. The video track wins; an
+     * audio-only file reports its audio codec.
+     */
+    private void readTrack(ByteBuffer moov, int start, int end, SniffedMediaDto media) {
+        Integer width = null;
+        Integer height = null;
+        int[] tkhd = findBox(moov, start, end, "tkhd");
+        if (tkhd != null) {
+            int version = moov.get(tkhd[0]) & 0xFF;
+            int widthOffset = tkhd[0] + (version == 1 ? 88 : 76);
+            if (widthOffset + 8 <= tkhd[1]) {
+                // 16.16 fixed point; audio tracks report zero
+                int w = moov.getInt(widthOffset) >>> 16;
+                int h = moov.getInt(widthOffset + 4) >>> 16;
+                if (w > 0 && h > 0) {
+                    width = w;
+                    height = h;
+                }
+            }
+        }
+
+        String codec = null;
+        int[] box = { start, end };
+        for (String type : new String[] { "mdia", "minf", "stbl", "stsd" }) {
+            box = findBox(moov, box[0], box[1], type);
+            if (box == null) {
+                break;
+            }
+        }
+        // stsd: version/flags, entry count, then the first entry's size and type
+        if (box != null && box[0] + 16 <= box[1]) {
+            codec = boxType(moov, box[0] + 12).trim();
+        }
+
+        if (width != null && media.getWidth() == null) {
+            media.setWidth(width);
+            media.setHeight(height);
+            if (codec != null) {
+                media.setCodec(codec);
+            }
+        } else if (media.getCodec() == null) {
+            media.setCodec(codec);
+        }
+    }
+
+    /**
+     * Find a child box by type within [start, end)
+     *
+     * @return payload start and box end, or null if absent
+     */
+    private int[] findBox(ByteBuffer buffer, int start, int end, String type) {
+        long position = start;
+        while (position + 8 <= end) {
+            long boxSize = buffer.getInt((int) position) & 0xFFFFFFFFL;
+            if (boxSize < 8) {
+                return null;
+            }
+            if (type.equals(boxType(buffer, (int) position + 4))) {
+                return new int[] { (int) position + 8, (int) Math.min(end, position + boxSize) };
+            }
+            position += boxSize;
+        }
+        return null;
+    }
+
+    private String boxType(ByteBuffer buffer, int offset) {
+        byte[] type = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            type[i] = buffer.get(offset + i);
+        }
+        return new String(type, StandardCharsets.US_ASCII);
+    }
+
+    // ---- WebM / Matroska (EBML) ----
+
+    private void readEbml(byte[] b, int len, SniffedMediaDto media) {
+        EbmlState state = new EbmlState();
+        walkEbml(b, 0, len, state);
+        media.setMimeType("webm".equals(state.docType) ? "video/webm" : "video/x-matroska");
+        if (state.duration != null) {
+            media.setDurationSeconds(state.duration * state.timecodeScale / 1_000_000_000d);
+        }
+        media.setWidth(state.width);
+        media.setHeight(state.height);
+        media.setCodec(state.videoCodec != null ? state.videoCodec : state.firstCodec);
+    }
+
+    private static final class EbmlState {
+        String docType;
+        long timecodeScale = 1_000_000L;
+        Double duration;
+        Integer width;
+        Integer height;
+        String videoCodec;
+        String firstCodec;
+        boolean done;
+    }
+
+    /**
+     * Walk EBML elements within [start, end), descending into the master
+     * elements that hold the metadata and stopping at the first cluster
+     */
+    private void walkEbml(byte[] b, int start, int end, EbmlState state) {
+        int i = start;
+        while (i < end && !state.done) {
+            int idLength = vintLength(b, i, end);
+            if (idLength == 0 || i + idLength > end) {
+                return;
+            }
+            long id = readUnsigned(b, i, idLength);
+            i += idLength;
+
+            int sizeLength = vintLength(b, i, end);
+            if (sizeLength == 0 || i + sizeLength > end) {
+                return;
+            }
+            long size = readUnsigned(b, i, sizeLength) & ((1L << (7 * sizeLength)) - 1);
+            boolean unknownSize = size == (1L << (7 * sizeLength)) - 1;
+            i += sizeLength;
+            int dataEnd = unknownSize || i + size > end ? end : (int) (i + size);
+
+            if (id == EBML_CLUSTER) {
+                state.done = true;
+                return;
+            } else if (id == EBML_HEADER || id == EBML_SEGMENT || id == EBML_INFO || id == EBML_TRACKS
+                    || id == EBML_TRACK_ENTRY || id == EBML_VIDEO) {
+                walkEbml(b, i, dataEnd, state);
+            } else if (id == EBML_DOC_TYPE) {
+                state.docType = new String(b, i, dataEnd - i, StandardCharsets.US_ASCII).trim();
+            } else if (id == EBML_TIMECODE_SCALE) {
+                state.timecodeScale = readUnsigned(b, i, dataEnd - i);
+            } else if (id == EBML_DURATION) {
+                ByteBuffer value = ByteBuffer.wrap(b, i, dataEnd - i);
+                state.duration = dataEnd - i == 4 ? (double) value.getFloat() : dataEnd - i == 8 ? value.getDouble() : null;
+            } else if (id == EBML_CODEC_ID) {
+                // V_VP9, V_AV1, A_OPUS, ...
+                String codecId = new String(b, i, dataEnd - i, StandardCharsets.US_ASCII).trim();
+                String codec = codecId.length() > 2 ? codecId.substring(2).toLowerCase() : codecId;
+                if (codecId.startsWith("V_") && state.videoCodec == null) {
+                    state.videoCodec = codec;
+                }
+                if (state.firstCodec == null) {
+                    state.firstCodec = codec;
+                }
+            } else if (id == EBML_PIXEL_WIDTH && state.width == null) {
+                state.width = (int) readUnsigned(b, i, dataEnd - i);
+            } else if (id == EBML_PIXEL_HEIGHT && state.height == null) {
+                state.height = (int) readUnsigned(b, i, dataEnd - i);
+            }
+            i = dataEnd;
+        }
+    }
+
+    /**
+     * Length of an EBML variable-length integer from its leading zero bits
+     */
+    private int vintLength(byte[] b, int i, int end) {
+        if (i >= end) {
+            return 0;
+        }
+        int first = b[i] & 0xFF;
+        for (int length = 1; length <= 8; length++) {
+            if ((first & (0x80 >> (length - 1))) != 0) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private long readUnsigned(byte[] b, int offset, int length) {
+        long value = 0;
+        for (int i = 0; i < length && i < 8; i++) {
+            value = (value << 8) | (b[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    // ---- positioned reads ----
+
+    private interface RangeSource {
+
+        long size() throws IOException;
+
+        int read(ByteBuffer target, long position) throws IOException;
+    }
+
+    /**
+     * Positioned reads over HTTP Range requests. The total size comes from
+     * the Content-Range header of the first response.
+     */
+    private final class HttpRangeSource implements RangeSource {
+
+        private final URI url;
+        private long size = -1;
+
+        private HttpRangeSource(URI url) {
+            this.url = url;
+        }
+
+        @Override
+        public long size() throws IOException {
+            if (size < 0) {
+                read(ByteBuffer.allocate(1), 0);
+            }
+            return size;
+        }
+
+        @Override
+        public int read(ByteBuffer target, long position) throws IOException {
+            if (size >= 0 && position >= size) {
+                return -1;
+            }
+            int length = target.remaining();
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(HTTP_TIMEOUT)
+                    .header("Range", "bytes=" + position + "-" + (position + length - 1))
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while probing " + url, e);
+            }
+
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (status == 416) {
+                    return -1;
+                }
+                if (status == 206) {
+                    size = response.headers().firstValue("Content-Range")
+                            .map(range -> range.substring(range.lastIndexOf('/') + 1))
+                            .filter(total -> !"*".equals(total))
+                            .map(Long::parseLong)
+                            .orElse(size);
+                } else if (status == 200 && position == 0) {
+                    // Range ignored: take the head and drop the connection
+                    OptionalLong contentLength = response.headers().firstValueAsLong("Content-Length");
+                    size = contentLength.orElse(size);
+                } else {
+                    throw new IOException("Range request to " + url + " returned HTTP " + status);
+                }
+                int total = 0;
+                int read;
+                byte[] chunk = new byte[Math.min(length, 8192)];
+                while (total < length
+                        && (read = body.read(chunk, 0, Math.min(chunk.length, length - total))) != -1) {
+                    target.put(chunk, 0, read);
+                    total += read;
+                }
+                return total == 0 ? -1 : total;
+            }
+        }
+    }
+
+    // ---- byte helpers ----
+
+    private int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        int read;
+        while (total < buffer.length && (read = in.read(buffer, total, buffer.length - total)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    private boolean startsWith(byte[] b, int len, int offset, int... expected) {
+        if (offset + expected.length > len) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((b[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean ascii(byte[] b, int len, int offset, String expected) {
+        if (offset + expected.length() > len) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (b[offset + i] != (byte) expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(byte[] b, int len, String needle) {
+        byte[] n = needle.getBytes(StandardCharsets.US_ASCII);
+        outer: for (int i = 0; i + n.length <= len; i++) {
+            for (int j = 0; j < n.length; j++) {
+                if (b[i + j] != n[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private int u16be(byte[] b, int i) {
+        return ((b[i] & 0xFF) << 8) | (b[i + 1] & 0xFF);
+    }
+
+    private int u16le(byte[] b, int i) {
+        return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8);
+    }
+
+    private int u24le(byte[] b, int i) {
+        return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | ((b[i + 2] & 0xFF) << 16);
+    }
+
+    private int u32be(byte[] b, int i) {
+        return ((b[i] & 0xFF) << 24) | ((b[i + 1] & 0xFF) << 16) | ((b[i + 2] & 0xFF) << 8) | (b[i + 3] & 0xFF);
+    }
+
+    private int s32le(byte[] b, int i) {
+        return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | ((b[i + 2] & 0xFF) << 16) | ((b[i + 3] & 0xFF) << 24);
+    }
+}
@@ -0,0 +1,452 @@
+package project.ktc.springboot_app.upload.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
+import project.ktc.springboot_app.upload.config.MediaUploadProperties;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
+import project.ktc.springboot_app.upload.dto.StoredMediaDto;
+import project.ktc.springboot_app.upload.dto.UploadProgressEventDto;
+import project.ktc.springboot_app.upload.dto.UploadSessionCreateRequestDto;
+import project.ktc.springboot_app.upload.dto.UploadSessionResponseDto;
+import project.ktc.springboot_app.upload.dto.VideoUploadResponseDto;
+import project.ktc.springboot_app.upload.entity.MediaKind;
+import project.ktc.springboot_app.upload.entity.UploadSession;
+import project.ktc.springboot_app.upload.entity.UploadSession.UploadSessionStatus;
+import project.ktc.springboot_app.upload.exception.UploadOffsetConflictException;
+import project.ktc.springboot_app.upload.interfaces.MediaStorageBackend;
+import project.ktc.springboot_app.upload.interfaces.MediaUploadSessionService;
+import project.ktc.springboot_app.upload.interfaces.VideoMetadataService;
+import project.ktc.springboot_app.upload.repositories.UploadSessionRepository;
+import project.ktc.springboot_app.utils.SecurityUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable upload sessions backed by a spooled file per session.
+ * Request bodies are copied to disk through a fixed-size buffer and the
+ * finished file is streamed to the storage backend in chunks, so heap use per
+ * upload is constant regardless of file size.
+ */
+@Service
+@Slf4j
+public class MediaUploadSessionServiceImp implements MediaUploadSessionService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MediaStorageBackend mediaStorageBackend;
+    private final MediaUploadProperties mediaUploadProperties;
+    private final FileValidationService fileValidationService;
+    private final UploadProgressPublisher progressPublisher;
+    private final MediaContentSniffer mediaContentSniffer;
+    private final VideoMetadataService videoMetadataService;
+    private final Executor mediaUploadExecutor;
+
+    /**
+     * Guards against two requests writing the same session file on this node.
+     * An entry is removed only when no request holds a reference to it, so two
+     * requests for one session always contend on the same lock.
+     */
+    private final Map<String, SessionLock> writeLocks = new ConcurrentHashMap<>();
+
+    private static final class SessionLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int references;
+    }
+
+    public MediaUploadSessionServiceImp(UploadSessionRepository uploadSessionRepository,
+            MediaStorageBackend mediaStorageBackend,
+            MediaUploadProperties mediaUploadProperties,
+            FileValidationService fileValidationService,
+            UploadProgressPublisher progressPublisher,
+            MediaContentSniffer mediaContentSniffer,
+            VideoMetadataService videoMetadataService,
+            @Qualifier("mediaUploadExecutor") Executor mediaUploadExecutor) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.mediaStorageBackend = mediaStorageBackend;
+        this.mediaUploadProperties = mediaUploadProperties;
+        this.fileValidationService = fileValidationService;
+        this.progressPublisher = progressPublisher;
+        this.mediaContentSniffer = mediaContentSniffer;
+        this.videoMetadataService = videoMetadataService;
+        this.mediaUploadExecutor = mediaUploadExecutor;
+    }
+
+    @Override
+    public UploadSessionResponseDto createSession(UploadSessionCreateRequestDto request) {
+        String userId = requireCurrentUserId();
+        validateContentType(request.getMediaKind(), request.getContentType());
+
+        long maxSize = mediaUploadProperties.getUpload().getMaxSize().toBytes();
+        if (request.getUploadLength() > maxSize) {
+            throw new IllegalArgumentException(String.format("Upload length %d exceeds the maximum of %d MB",
+                    request.getUploadLength(), maxSize / (1024 * 1024)));
+        }
+
+        try {
+            Path tempDir = Files.createDirectories(mediaUploadProperties.getUpload().getTempDirPath());
+            Path tempFile = Files.createTempFile(tempDir, "session-", ".part");
+
+            UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                    .userId(userId)
+                    .originalFilename(request.getFilename())
+                    .contentType(request.getContentType())
+                    .mediaKind(request.getMediaKind())
+                    .totalBytes(request.getUploadLength())
+                    .tempPath(tempFile.toString())
+                    .expiresAt(LocalDateTime.now().plus(mediaUploadProperties.getUpload().getSessionTtl()))
+                    .build());
+
+            log.info("Created upload session {} for {} ({} bytes)", session.getId(), request.getFilename(),
+                    request.getUploadLength());
+            return toResponse(session);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create upload session file", e);
+        }
+    }
+
+    @Override
+    public UploadSessionResponseDto getSession(String sessionId) {
+        return toResponse(findOwnedSession(sessionId));
+    }
+
+    @Override
+    public UploadSessionResponseDto appendChunk(String sessionId, long offset, InputStream body) {
+        UploadSession session = findOwnedSession(sessionId);
+        if (session.getStatus() != UploadSessionStatus.UPLOADING) {
+            throw new IllegalStateException("Upload session is " + session.getStatus());
+        }
+        if (offset != session.getReceivedBytes()) {
+            throw new UploadOffsetConflictException(String.format(
+                    "Upload-Offset %d does not match the current offset %d", offset, session.getReceivedBytes()));
+        }
+
+        SessionLock sessionLock = retainLock(sessionId);
+        try {
+            if (!sessionLock.lock.tryLock()) {
+                throw new UploadOffsetConflictException("Another chunk is being written to this session");
+            }
+            try {
+                return writeChunk(session, offset, body);
+            } finally {
+                sessionLock.lock.unlock();
+            }
+        } finally {
+            releaseLock(sessionId);
+        }
+    }
+
+    /**
+     * Write a chunk while holding the session's lock. The offset is checked
+     * again against the database first: a request that passed the earlier
+     * check may only get the lock after another chunk at the same offset has
+     * committed, and must not truncate that chunk's bytes.
+     */
+    private UploadSessionResponseDto writeChunk(UploadSession session, long offset, InputStream body) {
+        String sessionId = session.getId();
+        long committed = uploadSessionRepository.findUploadingOffset(sessionId)
+                .orElseThrow(() -> new IllegalStateException("Upload session is no longer accepting chunks"));
+        if (offset != committed) {
+            throw new UploadOffsetConflictException(String.format(
+                    "Upload-Offset %d does not match the current offset %d", offset, committed));
+        }
+
+        if (offset == 0) {
+            // Check the real format before the first byte is written
+            body = sniffFirstChunk(session, body);
+        }
+        long written = writeAt(Path.of(session.getTempPath()), offset,
+                session.getTotalBytes() - offset, body, sessionId, session.getTotalBytes());
+        long newOffset = offset + written;
+
+        if (uploadSessionRepository.advanceOffset(sessionId, offset, newOffset) == 0) {
+            throw new UploadOffsetConflictException("Upload session offset changed during the write");
+        }
+        session.setReceivedBytes(newOffset);
+
+        if (newOffset == session.getTotalBytes()) {
+            log.info("Upload session {} received all {} bytes", sessionId, newOffset);
+            startStoring(session);
+        }
+        return toResponse(session);
+    }
+
+    private SessionLock retainLock(String sessionId) {
+        return writeLocks.compute(sessionId, (id, existing) -> {
+            SessionLock sessionLock = existing != null ? existing : new SessionLock();
+            sessionLock.references++;
+            return sessionLock;
+        });
+    }
+
+    private void releaseLock(String sessionId) {
+        writeLocks.computeIfPresent(sessionId, (id, sessionLock) -> --sessionLock.references == 0 ? null : sessionLock);
+    }
+
+    @Override
+    public UploadSessionResponseDto retryStoring(String sessionId) {
+        UploadSession session = findOwnedSession(sessionId);
+        if (session.getStatus() != UploadSessionStatus.FAILED
+                || !session.getReceivedBytes().equals(session.getTotalBytes())) {
+            throw new IllegalStateException("Only fully received sessions that failed can be retried");
+        }
+        startStoring(session);
+        return toResponse(session);
+    }
+
+    @Override
+    public void abortSession(String sessionId) {
+        UploadSession session = findOwnedSession(sessionId);
+        if (session.getStatus() == UploadSessionStatus.STORING) {
+            throw new IllegalStateException("Upload session is already being stored");
+        }
+        deleteTempFile(session);
+        uploadSessionRepository.delete(session);
+        log.info("Aborted upload session {}", sessionId);
+    }
+
+    @Override
+    public int expireStaleSessions() {
+        List<UploadSession> expired = uploadSessionRepository.findExpired(LocalDateTime.now());
+        for (UploadSession session : expired) {
+            deleteTempFile(session);
+            session.setStatus(UploadSessionStatus.EXPIRED);
+        }
+        uploadSessionRepository.saveAll(expired);
+        return expired.size();
+    }
+
+    private InputStream sniffFirstChunk(UploadSession session, InputStream body) {
+        try {
+            MediaContentSniffer.SniffedStream sniffed = mediaContentSniffer.sniff(body);
+            fileValidationService.validateSniffedType(session.getMediaKind(), sniffed.media());
+            return sniffed.stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload chunk", e);
+        }
+    }
+
+    /**
+     * Copy the request body into the session file at the given offset.
+     * Whatever arrived before a dropped connection is kept so the client can
+     * resume from it.
+     */
+    private long writeAt(Path file, long offset, long remaining, InputStream body, String sessionId,
+            long totalBytes) {
+        long written = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int lastPercent = -1;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Drop bytes from an earlier interrupted write past the committed offset
+            channel.truncate(offset);
+            channel.position(offset);
+
+            int read;
+            while ((read = readQuietly(body, buffer)) != -1) {
+                if (written + read > remaining) {
+                    channel.truncate(offset);
+                    throw new IllegalArgumentException("Chunk exceeds the declared upload length");
+                }
+                channel.write(ByteBuffer.wrap(buffer, 0, read));
+                written += read;
+
+                int percent = UploadProgressPublisher.percent(offset + written, totalBytes);
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    progressPublisher.publish(UploadProgressEventDto.builder()
+                            .sessionId(sessionId)
+                            .phase(UploadProgressEventDto.Phase.RECEIVING)
+                            .status(UploadSessionStatus.UPLOADING)
+                            .bytesTransferred(offset + written)
+                            .totalBytes(totalBytes)
+                            .percent(percent)
+                            .build());
+                }
+            }
+            channel.force(false);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write upload chunk", e);
+        }
+    }
+
+    /**
+     * Treat a broken client connection as the end of the chunk
+     */
+    private int readQuietly(InputStream body, byte[] buffer) {
+        try {
+            return body.read(buffer);
+        } catch (IOException e) {
+            log.info("Upload chunk interrupted, keeping received bytes: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private void startStoring(UploadSession session) {
+        if (uploadSessionRepository.claimForStoring(session.getId()) == 0) {
+            return;
+        }
+        session.setStatus(UploadSessionStatus.STORING);
+        try {
+            mediaUploadExecutor.execute(() -> store(session.getId()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Media upload queue full, session {} can be retried", session.getId());
+            session.setStatus(UploadSessionStatus.FAILED);
+            session.setErrorMessage("Upload queue is full, retry later");
+            markFailed(session.getId(), session.getErrorMessage());
+        }
+    }
+
+    private void store(String sessionId) {
+        UploadSession session = uploadSessionRepository.findById(sessionId).orElse(null);
+        if (session == null) {
+            return;
+        }
+
+        int[] lastPercent = { -1 };
+        try {
+            // Container headers only; preferred over what the backend reports
+            SniffedMediaDto probed = mediaContentSniffer.probe(Path.of(session.getTempPath()));
+
+            StoredMediaDto stored = mediaStorageBackend.store(Path.of(session.getTempPath()),
+                    session.getOriginalFilename(), session.getMediaKind(), (transferred, total) -> {
+                        int percent = UploadProgressPublisher.percent(transferred, total);
+                        if (percent != lastPercent[0]) {
+                            lastPercent[0] = percent;
+                            progressPublisher.publish(UploadProgressEventDto.builder()
+                                    .sessionId(sessionId)
+                                    .phase(UploadProgressEventDto.Phase.STORING)
+                                    .status(UploadSessionStatus.STORING)
+                                    .bytesTransferred(transferred)
+                                    .totalBytes(total)
+                                    .percent(percent)
+                                    .build());
+                        }
+                    });
+
+            session.setStatus(UploadSessionStatus.COMPLETED);
+            session.setPublicId(stored.getPublicId());
+            session.setUrl(stored.getUrl());
+            session.setFormat(stored.getFormat());
+            session.setDurationSeconds(probed.getDurationSeconds() != null ? probed.getDurationSeconds()
+                    : stored.getDuration());
+            session.setCompletedAt(LocalDateTime.now());
+            uploadSessionRepository.save(session);
+            deleteTempFile(session);
+
+            if (session.getMediaKind() == MediaKind.VIDEO) {
+                videoMetadataService.recordUpload(VideoUploadResponseDto.builder()
+                        .publicId(stored.getPublicId())
+                        .secureUrl(stored.getUrl())
+                        .originalFilename(session.getOriginalFilename())
+                        .sizeInBytes(session.getTotalBytes())
+                        .format(stored.getFormat())
+                        .codec(probed.getCodec())
+                        .duration(session.getDurationSeconds())
+                        .width(probed.getWidth() != null ? probed.getWidth() : stored.getWidth())
+                        .height(probed.getHeight() != null ? probed.getHeight() : stored.getHeight())
+                        .build());
+            }
+
+            log.info("Upload session {} stored at {}", sessionId, stored.getUrl());
+            progressPublisher.publish(UploadProgressEventDto.builder()
+                    .sessionId(sessionId)
+                    .phase(UploadProgressEventDto.Phase.DONE)
+                    .status(UploadSessionStatus.COMPLETED)
+                    .bytesTransferred(session.getTotalBytes())
+                    .totalBytes(session.getTotalBytes())
+                    .percent(100)
+                    .url(stored.getUrl())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to store upload session {}: {}", sessionId, e.getMessage(), e);
+            markFailed(sessionId, e.getMessage());
+        }
+    }
+
+    private void markFailed(String sessionId, String error) {
+        uploadSessionRepository.findById(sessionId).ifPresent(session -> {
+            session.setStatus(UploadSessionStatus.FAILED);
+            session.setErrorMessage(error);
+            uploadSessionRepository.save(session);
+
+            progressPublisher.publish(UploadProgressEventDto.builder()
+                    .sessionId(sessionId)
+                    .phase(UploadProgressEventDto.Phase.DONE)
+                    .status(UploadSessionStatus.FAILED)
+                    .bytesTransferred(session.getReceivedBytes())
+                    .totalBytes(session.getTotalBytes())
+                    .percent(UploadProgressPublisher.percent(session.getReceivedBytes(), session.getTotalBytes()))
+                    .errorMessage(error)
+                    .build());
+        });
+    }
+
+    private void validateContentType(MediaKind kind, String contentType) {
+        String type = contentType.toLowerCase();
+        boolean allowed = switch (kind) {
+            case IMAGE -> fileValidationService.getAllowedImageMimeTypes().contains(type);
+            case VIDEO -> fileValidationService.getAllowedVideoMimeTypes().contains(type);
+            case DOCUMENT -> fileValidationService.getAllowedDocumentMimeTypes().contains(type);
+            case AUDIO -> type.startsWith("audio/");
+        };
+        if (!allowed) {
+            throw new IllegalArgumentException("Unsupported content type for " + kind + ": " + contentType);
+        }
+    }
+
+    private UploadSession findOwnedSession(String sessionId) {
+        return uploadSessionRepository.findByIdAndUserId(sessionId, requireCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + sessionId));
+    }
+
+    private String requireCurrentUserId() {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new IllegalStateException("No authenticated user");
+        }
+        return userId;
+    }
+
+    private void deleteTempFile(UploadSession session) {
+        try {
+            Files.deleteIfExists(Path.of(session.getTempPath()));
+        } catch (IOException e) {
+            log.warn("Failed to delete upload temp file {}: {}", session.getTempPath(), e.getMessage());
+        }
+    }
+
+    private UploadSessionResponseDto toResponse(UploadSession session) {
+        return UploadSessionResponseDto.builder()
+                .sessionId(session.getId())
+                .originalFilename(session.getOriginalFilename())
+                .mediaKind(session.getMediaKind())
+                .status(session.getStatus())
+                .uploadOffset(session.getReceivedBytes())
+                .uploadLength(session.getTotalBytes())
+                .url(session.getUrl())
+                .publicId(session.getPublicId())
+                .duration(session.getDurationSeconds())
+                .errorMessage(session.getErrorMessage())
+                .progressTopic(UploadProgressPublisher.TOPIC_PREFIX + session.getId())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package project.ktc.springboot_app.upload.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.upload.dto.UploadProgressEventDto;
+
+/**
+ * Publishes upload progress to /topic/uploads/{sessionId}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadProgressPublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/uploads/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void publish(UploadProgressEventDto event) {
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + event.getSessionId(), event);
+        } catch (Exception e) {
+            // Progress is best effort; the session endpoint stays authoritative
+            log.debug("Failed to publish upload progress for {}: {}", event.getSessionId(), e.getMessage());
+        }
+    }
+
+    public static int percent(long transferred, long total) {
+        return total > 0 ? (int) Math.min(100, transferred * 100 / total) : 100;
+    }
+}
@@ -0,0 +1,36 @@
+package project.ktc.springboot_app.upload.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.ktc.springboot_app.scheduling.DistributedJobCoordinator;
+import project.ktc.springboot_app.upload.interfaces.MediaUploadSessionService;
+
+import java.time.Duration;
+
+/**
+ * Expires abandoned resumable upload sessions and removes their spooled files
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionCleanupJob {
+
+    private final MediaUploadSessionService mediaUploadSessionService;
+    private final DistributedJobCoordinator jobCoordinator;
+
+    @Scheduled(cron = "0 15 * * * *")
+    public void expireStaleSessions() {
+        try {
+            jobCoordinator.runExclusive("upload-session-cleanup", Duration.ofMinutes(5), lease -> {
+                int expired = mediaUploadSessionService.expireStaleSessions();
+                if (expired > 0) {
+                    log.info("Expired {} abandoned upload sessions", expired);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Upload session cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+}
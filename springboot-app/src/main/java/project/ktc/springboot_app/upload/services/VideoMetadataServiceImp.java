@@ -0,0 +1,290 @@
+package project.ktc.springboot_app.upload.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import project.ktc.springboot_app.cache.services.domain.VideoMetadataCacheService;
+import project.ktc.springboot_app.common.exception.ResourceNotFoundException;
+import project.ktc.springboot_app.lesson.repositories.InstructorLessonRepository;
+import project.ktc.springboot_app.upload.dto.SectionVideoMetadataDto;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
+import project.ktc.springboot_app.upload.dto.VideoMetadataResponseDto;
+import project.ktc.springboot_app.upload.dto.VideoUploadResponseDto;
+import project.ktc.springboot_app.upload.entity.VideoMetadata;
+import project.ktc.springboot_app.upload.entity.VideoMetadata.MetadataSource;
+import project.ktc.springboot_app.upload.interfaces.VideoMetadataService;
+import project.ktc.springboot_app.upload.repositories.VideoMetadataRepository;
+import project.ktc.springboot_app.utils.SecurityUtil;
+import project.ktc.springboot_app.video.repositories.VideoContentRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Video metadata backed by the video_metadata table and a two-level cache.
+ * Section lookups resolve all lessons with one cache pass, one IN query and
+ * parallel probes for whatever is left.
+ */
+@Service
+@Slf4j
+public class VideoMetadataServiceImp implements VideoMetadataService {
+
+    private final VideoMetadataRepository videoMetadataRepository;
+    private final VideoMetadataCacheService videoMetadataCacheService;
+    private final VideoContentRepository videoContentRepository;
+    private final InstructorLessonRepository lessonRepository;
+    private final MediaContentSniffer mediaContentSniffer;
+    private final CloudinaryServiceImp cloudinaryService;
+    private final Executor taskExecutor;
+
+    public VideoMetadataServiceImp(VideoMetadataRepository videoMetadataRepository,
+            VideoMetadataCacheService videoMetadataCacheService,
+            VideoContentRepository videoContentRepository,
+            InstructorLessonRepository lessonRepository,
+            MediaContentSniffer mediaContentSniffer,
+            CloudinaryServiceImp cloudinaryService,
+            @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.videoMetadataRepository = videoMetadataRepository;
+        this.videoMetadataCacheService = videoMetadataCacheService;
+        this.videoContentRepository = videoContentRepository;
+        this.lessonRepository = lessonRepository;
+        this.mediaContentSniffer = mediaContentSniffer;
+        this.cloudinaryService = cloudinaryService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public VideoMetadataResponseDto getMetadata(String videoUrlOrPublicId) throws IOException {
+        String publicId = cloudinaryService.extractPublicIdFromUrl(videoUrlOrPublicId);
+
+        VideoMetadataResponseDto cached = videoMetadataCacheService.getMetadata(publicId);
+        if (cached != null) {
+            return cached;
+        }
+
+        VideoMetadata metadata = videoMetadataRepository.findByPublicId(publicId).orElse(null);
+        if (metadata == null) {
+            metadata = probe(publicId);
+        }
+
+        VideoMetadataResponseDto response = toResponse(metadata);
+        videoMetadataCacheService.storeMetadata(response);
+        return response;
+    }
+
+    @Override
+    public List<SectionVideoMetadataDto> getSectionMetadata(String sectionId) {
+        if (!lessonRepository.existsBySectionIdAndInstructorId(sectionId, SecurityUtil.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Section not found or you don't have permission to access it");
+        }
+
+        // lesson id -> public id
+        List<Object[]> lessons = videoContentRepository.findLessonVideosBySectionId(sectionId);
+        Map<String, String> publicIdsByLesson = new LinkedHashMap<>();
+        Set<String> publicIds = new LinkedHashSet<>();
+        for (Object[] row : lessons) {
+            String url = (String) row[2];
+            try {
+                String publicId = cloudinaryService.extractPublicIdFromUrl(url);
+                publicIdsByLesson.put((String) row[0], publicId);
+                publicIds.add(publicId);
+            } catch (IllegalArgumentException e) {
+                log.warn("Lesson {} has a video URL that is not a storage URL: {}", row[0], url);
+            }
+        }
+
+        // Cache first, then one query for all the misses
+        Map<String, VideoMetadataResponseDto> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String publicId : publicIds) {
+            VideoMetadataResponseDto cached = videoMetadataCacheService.getMetadata(publicId);
+            if (cached != null) {
+                found.put(publicId, cached);
+            } else {
+                misses.add(publicId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (VideoMetadata metadata : videoMetadataRepository.findByPublicIdIn(misses)) {
+                VideoMetadataResponseDto response = toResponse(metadata);
+                videoMetadataCacheService.storeMetadata(response);
+                found.put(metadata.getPublicId(), response);
+            }
+        }
+
+        // Videos never described before are probed in parallel
+        Map<String, CompletableFuture<VideoMetadataResponseDto>> probes = new HashMap<>();
+        for (String publicId : misses) {
+            if (!found.containsKey(publicId)) {
+                probes.put(publicId, CompletableFuture.supplyAsync(
+                        () -> probeQuietly(publicId), taskExecutor));
+            }
+        }
+        probes.forEach((publicId, probe) -> {
+            VideoMetadataResponseDto response = probe.join();
+            if (response != null) {
+                found.put(publicId, response);
+            }
+        });
+
+        List<SectionVideoMetadataDto> result = new ArrayList<>(lessons.size());
+        for (Object[] row : lessons) {
+            String publicId = publicIdsByLesson.get((String) row[0]);
+            result.add(SectionVideoMetadataDto.builder()
+                    .lessonId((String) row[0])
+                    .lessonTitle((String) row[1])
+                    .metadata(publicId != null ? found.get(publicId) : null)
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public void recordUpload(VideoUploadResponseDto upload) {
+        if (upload == null || upload.getPublicId() == null) {
+            return;
+        }
+        try {
+            VideoMetadata metadata = save(VideoMetadata.builder()
+                    .publicId(upload.getPublicId())
+                    .url(upload.getSecureUrl())
+                    .title(upload.getOriginalFilename())
+                    .format(upload.getFormat())
+                    .codec(upload.getCodec())
+                    .durationSeconds(upload.getDuration())
+                    .width(upload.getWidth())
+                    .height(upload.getHeight())
+                    .sizeBytes(upload.getSizeInBytes())
+                    .thumbnailUrl(cloudinaryService.generateThumbnailUrl(upload.getPublicId()))
+                    .source(MetadataSource.UPLOAD)
+                    .probedAt(LocalDateTime.now())
+                    .build());
+            videoMetadataCacheService.storeMetadata(toResponse(metadata));
+        } catch (Exception e) {
+            // The first lookup will probe the stored file instead
+            log.warn("Failed to record metadata for video {}: {}", upload.getPublicId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String publicId) {
+        videoMetadataRepository.deleteByPublicId(publicId);
+        videoMetadataCacheService.invalidateMetadata(publicId);
+    }
+
+    /**
+     * Read the stored file's container headers over HTTP ranges, falling back
+     * to the admin API when the format is not one the probe understands.
+     * The probe URL is always built from the public id, never taken from the
+     * caller, so only the storage provider is ever fetched.
+     */
+    private VideoMetadata probe(String publicId) throws IOException {
+        String url = cloudinaryService.generateVideoUrl(publicId);
+        SniffedMediaDto probed;
+        try {
+            probed = mediaContentSniffer.probe(URI.create(url));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Header probe failed for video {}: {}", publicId, e.getMessage());
+            probed = new SniffedMediaDto();
+        }
+
+        if (probed.getDurationSeconds() != null) {
+            return save(VideoMetadata.builder()
+                    .publicId(publicId)
+                    .url(url)
+                    .title(titleOf(publicId))
+                    .format(formatOf(probed.getMimeType()))
+                    .codec(probed.getCodec())
+                    .durationSeconds(probed.getDurationSeconds())
+                    .width(probed.getWidth())
+                    .height(probed.getHeight())
+                    .thumbnailUrl(cloudinaryService.generateThumbnailUrl(publicId))
+                    .source(MetadataSource.LOCAL_PROBE)
+                    .probedAt(LocalDateTime.now())
+                    .build());
+        }
+
+        log.info("Falling back to the admin API for video metadata: {}", publicId);
+        VideoMetadataResponseDto remote = cloudinaryService.getVideoMetadata(publicId);
+        return save(VideoMetadata.builder()
+                .publicId(publicId)
+                .url(remote.getVideoUrl())
+                .title(remote.getTitle())
+                .format(remote.getFormat())
+                .codec(remote.getCodec() != null ? remote.getCodec() : probed.getCodec())
+                .durationSeconds(remote.getDuration())
+                .width(remote.getWidth() != null ? remote.getWidth() : probed.getWidth())
+                .height(remote.getHeight() != null ? remote.getHeight() : probed.getHeight())
+                .sizeBytes(remote.getSizeBytes())
+                .thumbnailUrl(remote.getThumbnail())
+                .source(MetadataSource.REMOTE_API)
+                .probedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private VideoMetadataResponseDto probeQuietly(String publicId) {
+        try {
+            VideoMetadataResponseDto response = toResponse(probe(publicId));
+            videoMetadataCacheService.storeMetadata(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to describe video {}: {}", publicId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Insert once; if another request stored the same video first, keep its row
+     */
+    private VideoMetadata save(VideoMetadata metadata) {
+        try {
+            return videoMetadataRepository.saveAndFlush(metadata);
+        } catch (DataIntegrityViolationException e) {
+            return videoMetadataRepository.findByPublicId(metadata.getPublicId()).orElseThrow(() -> e);
+        }
+    }
+
+    private String titleOf(String publicId) {
+        return publicId.substring(publicId.lastIndexOf('/') + 1);
+    }
+
+    private String formatOf(String mimeType) {
+        if (mimeType == null) {
+            return null;
+        }
+        return switch (mimeType) {
+            case "video/quicktime" -> "mov";
+            case "video/x-matroska" -> "mkv";
+            case "video/3gpp" -> "3gp";
+            default -> mimeType.substring(mimeType.indexOf('/') + 1);
+        };
+    }
+
+    private VideoMetadataResponseDto toResponse(VideoMetadata metadata) {
+        return VideoMetadataResponseDto.builder()
+                .title(metadata.getTitle())
+                .format(metadata.getFormat())
+                .duration(metadata.getDurationSeconds())
+                .codec(metadata.getCodec())
+                .thumbnail(metadata.getThumbnailUrl())
+                .width(metadata.getWidth())
+                .height(metadata.getHeight())
+                .sizeBytes(metadata.getSizeBytes())
+                .videoUrl(metadata.getUrl())
+                .publicId(metadata.getPublicId())
+                .source(metadata.getSource())
+                .retrievedAt(metadata.getProbedAt())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package project.ktc.springboot_app.user.controllers;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 // import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,8 +28,11 @@ import project.ktc.springboot_app.user.dto.UpdateUserDto;
 import project.ktc.springboot_app.user.dto.UpdateUserRoleDto;
 import project.ktc.springboot_app.user.dto.UpdateUserStatusDto;
 import project.ktc.springboot_app.user.services.UserServiceImp;
+import project.ktc.springboot_app.common.export.ExportFormat;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin/users")
@@ -63,6 +67,31 @@ public class AdminUserController {
                 return userService.getUsersWithPagination(search, role, isActive, page, size, sort);
         }
 
+        @GetMapping("/export")
+        @PreAuthorize("hasPermission('User', 'user:READ')")
+        @Operation(summary = "Export users", description = "Stream every user matching the filters as a CSV or NDJSON download, gzipped when the client accepts it")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                        @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - user:read permission required"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error")
+        })
+        public ResponseEntity<StreamingResponseBody> exportUsers(
+                        @Parameter(description = "Search by name or email", example = "john") @RequestParam(required = false) String search,
+
+                        @Parameter(description = "Filter by role", example = "STUDENT", schema = @io.swagger.v3.oas.annotations.media.Schema(allowableValues = {
+                                        "STUDENT", "INSTRUCTOR",
+                                        "ADMIN" })) @RequestParam(required = false) String role,
+
+                        @Parameter(description = "Filter by active status", example = "true") @RequestParam(required = false) Boolean isActive,
+
+                        @Parameter(description = "Output format", example = "csv", schema = @io.swagger.v3.oas.annotations.media.Schema(allowableValues = {
+                                        "csv", "ndjson" })) @RequestParam(defaultValue = "csv") String format,
+
+                        @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+                return userService.exportUsers(search, role, isActive, ExportFormat.fromParam(format), acceptEncoding);
+        }
+
         @GetMapping("/{id}")
         @PreAuthorize("hasPermission('User', 'user:READ')")
         @Operation(summary = "Get user by ID with admin details", description = "Retrieve a user by their ID with enrolled courses, total payments, and study time")
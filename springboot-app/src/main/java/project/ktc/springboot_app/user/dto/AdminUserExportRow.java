@@ -0,0 +1,17 @@
+package project.ktc.springboot_app.user.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One user as read by the streamed admin export; selected as a flat row so
+ * the cursor never triggers the eager role load
+ */
+public record AdminUserExportRow(
+                String id,
+                String name,
+                String email,
+                String role,
+                Boolean isActive,
+                LocalDateTime createdAt,
+                LocalDateTime updatedAt) {
+}
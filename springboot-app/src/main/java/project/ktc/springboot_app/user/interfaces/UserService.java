@@ -4,7 +4,9 @@ import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.ktc.springboot_app.common.dto.ApiResponse;
+import project.ktc.springboot_app.common.export.ExportFormat;
 import project.ktc.springboot_app.user.dto.AdminUserPageResponseDto;
 import project.ktc.springboot_app.user.dto.CreateUserDto;
 import project.ktc.springboot_app.user.dto.UpdateUserDto;
@@ -39,4 +41,7 @@ public interface UserService {
     ResponseEntity<ApiResponse<UserResponseDto>> createAdminUser(AdminCreateUserDto createUserDto);
 
     ResponseEntity<ApiResponse<List<String>>> getAvailableRoles();
+
+    ResponseEntity<StreamingResponseBody> exportUsers(String search, String role, Boolean isActive,
+            ExportFormat format, String acceptEncoding);
 }
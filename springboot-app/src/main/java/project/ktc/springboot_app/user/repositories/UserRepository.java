@@ -3,15 +3,21 @@ package project.ktc.springboot_app.user.repositories;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import project.ktc.springboot_app.auth.entitiy.User;
+import project.ktc.springboot_app.common.export.StreamingExportWriter;
+import project.ktc.springboot_app.user.dto.AdminUserExportRow;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
@@ -76,4 +82,20 @@ public interface UserRepository extends JpaRepository<User, String> {
                         "WHERE lc.user.id = :userId AND vc.duration IS NOT NULL")
         Long getTotalStudyTimeByUserId(@Param("userId") String userId);
 
+        /**
+         * Stream users matching the admin filters for export, newest first.
+         * Read through a forward-only cursor; close the stream when done.
+         */
+        @Query("SELECT new project.ktc.springboot_app.user.dto.AdminUserExportRow(" +
+                        "u.id, u.name, u.email, r.role, u.isActive, u.createdAt, u.updatedAt) " +
+                        "FROM User u LEFT JOIN u.role r WHERE " +
+                        "(:search IS NULL OR :search = '' OR LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))) AND "
+                        +
+                        "(:role IS NULL OR :role = '' OR r.role = :role) AND " +
+                        "(:isActive IS NULL OR u.isActive = :isActive) " +
+                        "ORDER BY u.createdAt DESC")
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingExportWriter.STREAMING_FETCH_SIZE))
+        Stream<AdminUserExportRow> streamUsersForExport(@Param("search") String search,
+                        @Param("role") String role,
+                        @Param("isActive") Boolean isActive);
 }
@@ -9,6 +9,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import project.ktc.springboot_app.auth.dto.UserResponseDto;
 import project.ktc.springboot_app.auth.entitiy.User;
@@ -16,7 +17,11 @@ import project.ktc.springboot_app.auth.enums.UserRoleEnum;
 import project.ktc.springboot_app.cache.services.domain.UserCacheService;
 import project.ktc.springboot_app.common.dto.ApiResponse;
 import project.ktc.springboot_app.common.utils.ApiResponseUtil;
+import project.ktc.springboot_app.common.export.ExportColumn;
+import project.ktc.springboot_app.common.export.ExportFormat;
+import project.ktc.springboot_app.common.export.StreamingExportWriter;
 import project.ktc.springboot_app.entity.UserRole;
+import project.ktc.springboot_app.common.jpa.NaturalIdLookup;
 import project.ktc.springboot_app.upload.dto.ImageUploadResponseDto;
 import project.ktc.springboot_app.upload.services.CloudinaryServiceImp;
 import project.ktc.springboot_app.upload.services.FileValidationService;
@@ -26,6 +31,7 @@ import project.ktc.springboot_app.user.dto.UpdateUserDto;
 import project.ktc.springboot_app.user.dto.UpdateUserRoleDto;
 import project.ktc.springboot_app.user.dto.UpdateUserStatusDto;
 import project.ktc.springboot_app.user.dto.AdminUserPageResponseDto;
+import project.ktc.springboot_app.user.dto.AdminUserExportRow;
 import project.ktc.springboot_app.user.interfaces.UserService;
 import project.ktc.springboot_app.user.repositories.UserRepository;
 import project.ktc.springboot_app.user_role.repositories.UserRoleRepository;
@@ -44,12 +50,23 @@ import org.springframework.data.domain.Sort;
 @RequiredArgsConstructor
 public class UserServiceImp implements UserService {
 
+    private static final List<ExportColumn<AdminUserExportRow>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", AdminUserExportRow::id),
+            ExportColumn.of("name", AdminUserExportRow::name),
+            ExportColumn.of("email", AdminUserExportRow::email),
+            ExportColumn.of("role", AdminUserExportRow::role),
+            ExportColumn.of("isActive", AdminUserExportRow::isActive),
+            ExportColumn.of("createdAt", AdminUserExportRow::createdAt),
+            ExportColumn.of("updatedAt", AdminUserExportRow::updatedAt));
+
     private final UserRepository userRepository;
     private final CloudinaryServiceImp cloudinaryService;
     private final FileValidationService fileValidationService;
     private final UserRoleRepository userRoleRepository;
+    private final NaturalIdLookup naturalIdLookup;
     private final PasswordEncoder passwordEncoder;
     private final UserCacheService userCacheService;
+    private final StreamingExportWriter streamingExportWriter;
 
     @Override
     public ResponseEntity<ApiResponse<UserResponseDto>> getProfile() {
@@ -365,7 +382,7 @@ public class UserServiceImp implements UserService {
             String normalizedRoleName = role.getRole().toUpperCase().trim();
             log.info("Looking for role: {}", normalizedRoleName);
 
-            Optional<UserRole> newRoleOpt = userRoleRepository.findByRole(normalizedRoleName);
+            Optional<UserRole> newRoleOpt = naturalIdLookup.find(UserRole.class, normalizedRoleName);
             UserRole newRole = null;
 
             if (newRoleOpt.isPresent()) {
@@ -444,7 +461,7 @@ public class UserServiceImp implements UserService {
             UserRoleEnum roleEnum = createUserDto.getRole() != null ? createUserDto.getRole() : UserRoleEnum.STUDENT;
 
             // Find the role entity
-            UserRole userRole = userRoleRepository.findByRole(roleEnum.name())
+            UserRole userRole = naturalIdLookup.find(UserRole.class, roleEnum.name())
                     .orElseThrow(() -> new RuntimeException("Role not found: " + roleEnum.name()));
 
             // Create new user
@@ -638,7 +655,7 @@ public class UserServiceImp implements UserService {
             // Validate role existence
             UserRole userRole;
             try {
-                userRole = userRoleRepository.findByRole(createUserDto.getRole())
+                userRole = naturalIdLookup.find(UserRole.class, createUserDto.getRole())
                         .orElseThrow(() -> new RuntimeException("Role not found: " + createUserDto.getRole()));
             } catch (Exception e) {
                 log.warn("Invalid role provided: {}", createUserDto.getRole());
@@ -728,4 +745,11 @@ public class UserServiceImp implements UserService {
         }
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportUsers(String search, String role, Boolean isActive,
+            ExportFormat format, String acceptEncoding) {
+        log.info("Admin exporting users as {} - search: {}, role: {}, isActive: {}", format, search, role, isActive);
+        return streamingExportWriter.stream("users", format, acceptEncoding, EXPORT_COLUMNS,
+                () -> userRepository.streamUsersForExport(search, role, isActive));
+    }
 }
@@ -1,9 +1,12 @@
 package project.ktc.springboot_app.video.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.ktc.springboot_app.entity.VideoContent;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +16,12 @@ public interface VideoContentRepository extends JpaRepository<VideoContent, Stri
      * Find VideoContent by uploader
      */
     Optional<VideoContent> findByUploadedById(String uploadedById);
+
+    /**
+     * Lesson id, lesson title and video URL of each video lesson in a section,
+     * in lesson order
+     */
+    @Query("SELECT l.id, l.title, vc.url FROM Lesson l JOIN l.content vc " +
+            "WHERE l.section.id = :sectionId ORDER BY l.orderIndex")
+    List<Object[]> findLessonVideosBySectionId(@Param("sectionId") String sectionId);
 }
@@ -0,0 +1,90 @@
+package project.ktc.springboot_app.cache;
+
+import project.ktc.springboot_app.cache.interfaces.CacheService;
+import project.ktc.springboot_app.cache.services.CacheStats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Map-backed {@link CacheService} for tests that exercise cache-aware
+ * services without Redis. Entries never expire.
+ */
+public class InMemoryCacheService implements CacheService {
+
+    private final Map<String, Object> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(String key, Object value) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public void store(String key, Object value, Duration timeout) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public Object get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz) {
+        Object value = entries.get(key);
+        return clazz.isInstance(value) ? clazz.cast(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(String key, Class<T> elementClass) {
+        Object value = entries.get(key);
+        return value instanceof List<?> list ? (List<T>) list : null;
+    }
+
+    @Override
+    public boolean remove(String key) {
+        return entries.remove(key) != null;
+    }
+
+    @Override
+    public long remove(Set<String> keys) {
+        return keys.stream().filter(this::remove).count();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public Set<String> getKeys(String pattern) {
+        Pattern regex = Pattern.compile(Pattern.quote(pattern).replace("*", "\\E.*\\Q"));
+        return entries.keySet().stream().filter(key -> regex.matcher(key).matches()).collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean expire(String key, Duration timeout) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public long getTtl(String key) {
+        return entries.containsKey(key) ? -1 : -2;
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return CacheStats.builder().keyCount(entries.size()).build();
+    }
+}
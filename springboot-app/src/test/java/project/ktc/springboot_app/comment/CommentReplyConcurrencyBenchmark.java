@@ -0,0 +1,272 @@
+package project.ktc.springboot_app.comment;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.ktc.springboot_app.auth.entitiy.User;
+import project.ktc.springboot_app.comment.dto.CreateCommentRequest;
+import project.ktc.springboot_app.comment.entity.Comment;
+import project.ktc.springboot_app.comment.services.CommentServiceImp;
+import project.ktc.springboot_app.course.entity.Course;
+import project.ktc.springboot_app.entity.LessonType;
+import project.ktc.springboot_app.entity.UserRole;
+import project.ktc.springboot_app.lesson.entity.Lesson;
+import project.ktc.springboot_app.section.entity.Section;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reply throughput on a 50,000-comment lesson. Run against an empty MySQL
+ * schema, which Liquibase builds, since the tree counters use MySQL-only
+ * statements:
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=CommentReplyConcurrencyBenchmark \
+ *     -Dbenchmark.mysql.url=jdbc:mysql://localhost:3306/ktc_bench \
+ *     -Dbenchmark.mysql.username=root -Dbenchmark.mysql.password=secret
+ * </pre>
+ *
+ * Replies spread over the lesson's threads should scale with writers; replies
+ * to one hot thread queue on that thread's root row only.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.mysql.url", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${benchmark.mysql.url}",
+        "spring.datasource.username=${benchmark.mysql.username:root}",
+        "spring.datasource.password=${benchmark.mysql.password:}",
+        "spring.datasource.hikari.maximum-pool-size=40",
+        "spring.liquibase.enabled=true",
+        "spring.liquibase.change-log=classpath:/db/changelog/db.changelog-master.xml",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CommentServiceImp.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentReplyConcurrencyBenchmark {
+
+    private static final int ROOTS = 5_000;
+    private static final int REPLIES_PER_ROOT = 9;
+    private static final int AUTHORS = 32;
+    private static final long RUN_MILLIS = 10_000;
+
+    @Autowired
+    private CommentServiceImp commentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String lessonId;
+    private List<String> authorIds;
+    private List<String> rootIds;
+
+    @BeforeEach
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seedLesson());
+        seedComments();
+    }
+
+    @Test
+    void repliesAcrossThreads() throws Exception {
+        for (int writers : new int[] { 1, 8, 32 }) {
+            Result result = run(writers, () -> rootIds.get(ThreadLocalRandom.current().nextInt(rootIds.size())));
+            result.print("spread over " + ROOTS + " threads", writers);
+            assertThat(result.failures).isZero();
+        }
+        assertThat(liveCommentCount()).isEqualTo(countComments());
+    }
+
+    @Test
+    void repliesToOneHotThread() throws Exception {
+        String hotRoot = rootIds.get(0);
+        long replies = 0;
+        for (int writers : new int[] { 1, 8, 32 }) {
+            Result result = run(writers, () -> hotRoot);
+            result.print("one hot thread", writers);
+            assertThat(result.failures).isZero();
+            replies += result.replies;
+        }
+
+        Integer descendants = jdbcTemplate.queryForObject(
+                "SELECT descendant_count FROM comments WHERE id = ?", Integer.class, hotRoot);
+        assertThat(descendants).isEqualTo(REPLIES_PER_ROOT + replies);
+        assertThat(liveCommentCount()).isEqualTo(countComments());
+    }
+
+    private interface ParentChooser {
+        String next();
+    }
+
+    private record Result(long replies, long failures, long elapsedNanos, long[] latenciesNanos) {
+
+        void print(String scenario, int writers) {
+            Arrays.sort(latenciesNanos);
+            System.out.printf("%-22s %2d writers: %,8.0f replies/s, p50 %6.1f ms, p99 %6.1f ms, %d failed%n",
+                    scenario, writers, replies / (elapsedNanos / 1e9), percentile(0.50), percentile(0.99),
+                    failures);
+        }
+
+        private double percentile(double p) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            return latenciesNanos[(int) Math.min(latenciesNanos.length - 1, p * latenciesNanos.length)] / 1e6;
+        }
+    }
+
+    private Result run(int writers, ParentChooser parents) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            long started = System.nanoTime();
+            List<Future<long[]>> workers = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                String authorId = authorIds.get(w % authorIds.size());
+                workers.add(executor.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    long failures = 0;
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        try {
+                            commentService.createComment(lessonId, CreateCommentRequest.builder()
+                                    .content("Benchmark reply")
+                                    .parentId(parents.next())
+                                    .build(), authorId);
+                            latencies.add(System.nanoTime() - begin);
+                        } catch (RuntimeException e) {
+                            failures++;
+                        }
+                    }
+                    long[] result = new long[latencies.size() + 1];
+                    result[0] = failures;
+                    for (int i = 0; i < latencies.size(); i++) {
+                        result[i + 1] = latencies.get(i);
+                    }
+                    return result;
+                }));
+            }
+
+            long failures = 0;
+            List<long[]> perWorker = new ArrayList<>();
+            for (Future<long[]> worker : workers) {
+                long[] result = worker.get();
+                failures += result[0];
+                perWorker.add(Arrays.copyOfRange(result, 1, result.length));
+            }
+            long elapsed = System.nanoTime() - started;
+            long[] latencies = perWorker.stream().flatMapToLong(Arrays::stream).toArray();
+            return new Result(latencies.length, failures, elapsed, latencies);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seedLesson() {
+        UserRole role = entityManager.createQuery("SELECT r FROM UserRole r", UserRole.class)
+                .setMaxResults(1).getSingleResult();
+        LessonType lessonType = entityManager.createQuery("SELECT t FROM LessonType t", LessonType.class)
+                .setMaxResults(1).getSingleResult();
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        authorIds = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = User.builder()
+                    .name("Benchmark author " + i)
+                    .email("bench-" + run + "-" + i + "@example.com")
+                    .password("unused")
+                    .role(role)
+                    .build();
+            entityManager.persist(author);
+            authorIds.add(author.getId());
+        }
+
+        Course course = new Course();
+        course.setTitle("Comment benchmark " + run);
+        course.setSlug("comment-benchmark-" + run);
+        course.setInstructor(entityManager.find(User.class, authorIds.get(0)));
+        entityManager.persist(course);
+
+        Section section = new Section();
+        section.setCourse(course);
+        section.setTitle("Section");
+        entityManager.persist(section);
+
+        Lesson lesson = new Lesson();
+        lesson.setSection(section);
+        lesson.setTitle("Busy discussion");
+        lesson.setLessonType(lessonType);
+        entityManager.persist(lesson);
+        lessonId = lesson.getId();
+    }
+
+    /**
+     * 5,000 threads of a root and nine replies, written directly with the
+     * counters the service would have left
+     */
+    private void seedComments() {
+        rootIds = new ArrayList<>(ROOTS);
+        List<Object[]> rows = new ArrayList<>();
+        for (int r = 1; r <= ROOTS; r++) {
+            String rootId = UUID.randomUUID().toString();
+            String rootPath = Comment.childPath(null, r);
+            rootIds.add(rootId);
+            rows.add(new Object[] { rootId, lessonId, authorIds.get(r % AUTHORS), null, "Root " + r, rootPath,
+                    REPLIES_PER_ROOT, REPLIES_PER_ROOT, REPLIES_PER_ROOT, 0 });
+            for (int c = 1; c <= REPLIES_PER_ROOT; c++) {
+                rows.add(new Object[] { UUID.randomUUID().toString(), lessonId, authorIds.get(c % AUTHORS), rootId,
+                        "Reply " + c, Comment.childPath(rootPath, c), 0, 0, 0, 1 });
+            }
+            if (rows.size() >= 1_000) {
+                insertComments(rows);
+                rows.clear();
+            }
+        }
+        insertComments(rows);
+
+        jdbcTemplate.update("INSERT INTO lesson_comment_stats (lesson_id, root_seq, comment_count) VALUES (?, ?, ?)",
+                lessonId, ROOTS, ROOTS * (1 + REPLIES_PER_ROOT));
+    }
+
+    private void insertComments(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, lesson_id, user_id, parent_id, content, path, "
+                + "child_seq, reply_count, descendant_count, depth, is_deleted, is_edited, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, false, 0)", rows);
+    }
+
+    private long liveCommentCount() {
+        return commentService.getCommentCount(lessonId);
+    }
+
+    private long countComments() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM comments WHERE lesson_id = ? AND is_deleted = false", Long.class, lessonId);
+        return count == null ? 0 : count;
+    }
+}
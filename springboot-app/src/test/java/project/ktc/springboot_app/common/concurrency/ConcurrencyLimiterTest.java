@@ -0,0 +1,77 @@
+package project.ktc.springboot_app.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Timed callers are rejected while a long call holds every permit; pool
+ * workers using callWhenFree wait for it instead
+ */
+class ConcurrencyLimiterTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch holding = new CountDownLatch(1);
+    private final CountDownLatch finish = new CountDownLatch(1);
+
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setAcquireTimeout(Duration.ofMillis(200));
+        properties.getLimits().put("upload", 1);
+        limiter = new ConcurrencyLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        finish.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void timedCallIsRejectedWhileLongCallHoldsThePermit() throws Exception {
+        holdPermit();
+
+        assertThatThrownBy(() -> limiter.call("upload", () -> "short"))
+                .isInstanceOf(ConcurrencyLimitExceededException.class);
+    }
+
+    @Test
+    void callWhenFreeWaitsPastTheAcquireTimeout() throws Exception {
+        holdPermit();
+
+        Future<String> waiting = executor.submit(() -> limiter.callWhenFree("upload", () -> "queued"));
+        Thread.sleep(500);
+        assertThat(waiting).isNotDone();
+
+        finish.countDown();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    void unconfiguredNamesRunUnthrottled() {
+        assertThat(limiter.call("other", () -> "free")).isEqualTo("free");
+        assertThat(limiter.callWhenFree("other", () -> "free")).isEqualTo("free");
+    }
+
+    private void holdPermit() throws InterruptedException {
+        executor.submit(() -> limiter.callWhenFree("upload", () -> {
+            holding.countDown();
+            return finish.await(30, TimeUnit.SECONDS);
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
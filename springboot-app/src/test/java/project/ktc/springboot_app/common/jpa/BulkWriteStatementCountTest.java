@@ -0,0 +1,105 @@
+package project.ktc.springboot_app.common.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import project.ktc.springboot_app.notification.entity.Notification;
+import project.ktc.springboot_app.notification.repositories.NotificationRepository;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements bulk inserts cost on H2 with the configured JDBC
+ * batch size of 50, against unbatched inserts and the old one-merge-per-row
+ * path. Within one flush every batch reuses the same prepared insert, so a
+ * batched flush prepares one statement however many rows it writes.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BulkWriter.class)
+class BulkWriteStatementCountTest {
+
+    private static final int ROWS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BulkWriter bulkWriter;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void bulkWriterInsertsInJdbcBatches() {
+        int written = bulkWriter.persistAll(notifications(ROWS));
+
+        assertThat(written).isEqualTo(ROWS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // One flush per batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(ROWS / BATCH_SIZE);
+        assertThat(notificationRepository.count()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void saveAllPersistsNewEntitiesWithoutSelectingThem() {
+        notificationRepository.saveAll(notifications(ROWS).toList());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isOne();
+    }
+
+    @Test
+    void persistingUnbatchedCostsOneStatementPerRow() {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+
+        notifications(ROWS).forEach(entityManager::persist);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void mergingUnbatchedCostsTwoStatementsPerRow() {
+        // The write path before batching: a merge selects each client-assigned id, then inserts it alone
+        entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+
+        notifications(ROWS).forEach(entityManager::merge);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L * ROWS);
+    }
+
+    private static Stream<Notification> notifications(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Notification.builder()
+                .userId(UUID.randomUUID().toString())
+                .resourceId(UUID.randomUUID().toString())
+                .entityId(UUID.randomUUID().toString())
+                .message("Notification " + i)
+                .actionUrl("/notifications/" + i)
+                .build());
+    }
+}
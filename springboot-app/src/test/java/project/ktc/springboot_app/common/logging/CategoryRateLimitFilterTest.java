@@ -0,0 +1,108 @@
+package project.ktc.springboot_app.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryRateLimitFilterTest {
+
+    private LoggerContext context;
+    private CategoryRateLimitFilter filter;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        filter = new CategoryRateLimitFilter();
+        filter.setContext(context);
+        filter.setMaxEventsPerSecond(100);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void capsInfoPerCategoryAndReportsDrops() throws InterruptedException {
+        Logger hot = context.getLogger("hot.path");
+        Logger quiet = context.getLogger("quiet.path");
+
+        awaitNextSecond();
+        for (int i = 0; i < 1_000; i++) {
+            hot.info("Request {}", i);
+        }
+        quiet.info("Still logged");
+
+        assertThat(messagesFrom("hot.path")).isEqualTo(100);
+        assertThat(messagesFrom("quiet.path")).isEqualTo(1);
+
+        awaitNextSecond();
+        hot.info("Next second");
+
+        assertThat(appender.list).anySatisfy(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(event.getFormattedMessage())
+                    .isEqualTo("Dropped 900 log events from hot.path (over 100 per second)");
+        });
+        assertThat(appender.list.get(appender.list.size() - 1).getFormattedMessage()).isEqualTo("Next second");
+    }
+
+    @Test
+    void neverDropsErrors() throws InterruptedException {
+        Logger hot = context.getLogger("hot.path");
+
+        awaitNextSecond();
+        for (int i = 0; i < 500; i++) {
+            hot.error("Failure {}", i);
+        }
+
+        assertThat(messagesFrom("hot.path")).isEqualTo(500);
+    }
+
+    @Test
+    void samplesDebugOneInN() {
+        filter.setDebugSampleRate(10);
+        Logger hot = context.getLogger("hot.path");
+
+        for (int i = 0; i < 1_000; i++) {
+            hot.debug("Cache lookup {}", i);
+        }
+
+        assertThat(messagesFrom("hot.path")).isEqualTo(100);
+    }
+
+    @Test
+    void ignoresDisabledLevels() {
+        Logger hot = context.getLogger("hot.path");
+        hot.setLevel(Level.WARN);
+
+        for (int i = 0; i < 1_000; i++) {
+            hot.info("Disabled {}", i);
+        }
+        hot.warn("Enabled");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly("Enabled");
+    }
+
+    private long messagesFrom(String loggerName) {
+        return appender.list.stream().filter(event -> event.getLoggerName().equals(loggerName)).count();
+    }
+
+    /**
+     * Start just after a second boundary so a burst stays in one window
+     */
+    private static void awaitNextSecond() throws InterruptedException {
+        Thread.sleep(1_000 - System.currentTimeMillis() % 1_000 + 5);
+    }
+}
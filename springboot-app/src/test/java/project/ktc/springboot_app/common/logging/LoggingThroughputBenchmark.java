@@ -0,0 +1,200 @@
+package project.ktc.springboot_app.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.status.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Request throughput with logging off, with the old synchronous DEBUG
+ * logging, and with the async, rate-limited pipeline from
+ * logback-spring.xml. Run with {@code mvn test -Pbenchmark}.
+ *
+ * The pipeline is assembled in code with the same appenders and settings,
+ * since logback-spring.xml needs Spring's property and profile support.
+ * Log lines go to a file, as stdout does when it is collected. Each setup
+ * reports its best of three rounds.
+ */
+@Tag("benchmark")
+class LoggingThroughputBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%X{requestId:-}] - %msg%n";
+    private static final int THREADS = 8;
+    private static final int LINES_PER_REQUEST = 7;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long RUN_MILLIS = 3_000;
+    private static final int ROUNDS = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private enum Setup {
+        OFF, SYNC_DEBUG, ASYNC_DEBUG, ASYNC_RATE_LIMITED_INFO
+    }
+
+    @Test
+    void requestThroughputWithLoggingOnAndOff() throws Exception {
+        // Warm every setup up first, so the JIT favours none of them
+        for (Setup setup : Setup.values()) {
+            measure(setup, WARMUP_MILLIS);
+        }
+        Map<Setup, Measurement> best = new EnumMap<>(Setup.class);
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Setup setup : Setup.values()) {
+                Measurement result = measure(setup, RUN_MILLIS);
+                assertThat(result.requests()).isPositive();
+                if (setup == Setup.SYNC_DEBUG) {
+                    // Synchronous logging writes every line
+                    assertThat(result.lines()).isEqualTo(result.requests() * LINES_PER_REQUEST);
+                }
+                best.merge(setup, result, (a, b) -> a.requests() >= b.requests() ? a : b);
+            }
+        }
+
+        best.forEach((setup, result) -> System.out.printf("%-24s %,10.0f requests/s %,12d log lines%n", setup,
+                result.requests() / (RUN_MILLIS / 1000.0), result.lines()));
+    }
+
+    private record Measurement(long requests, long lines) {
+    }
+
+    private Measurement measure(Setup setup, long millis) throws Exception {
+        Path logFile = Files.createTempFile(tempDir, setup.name().toLowerCase(), ".log");
+        LoggerContext context = configure(setup, logFile);
+        long requests;
+        try {
+            requests = run(context.getLogger("project.ktc.springboot_app.course.services.CourseServiceImp"), millis);
+        } finally {
+            // Drains the async queue and closes the file
+            context.stop();
+        }
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+                .noneMatch(status -> status.getLevel() == Status.ERROR);
+        try (var lines = Files.lines(logFile)) {
+            return new Measurement(requests, lines.count());
+        }
+    }
+
+    /**
+     * A request handler doing a little real work, logging the way the course
+     * and webhook services did before their hot-path lines became debug
+     * events: several INFO lines and a few DEBUG lines per request
+     */
+    private void handleRequest(Logger log, int request) throws Exception {
+        Map<String, Object> course = Map.of("id", request, "title", "Course " + request, "price", 49.99,
+                "tags", List.of("java", "spring"));
+        log.info("📚 Fetching course {}", request);
+        log.debug("Cache lookup for course {}", request);
+        String json = objectMapper.writeValueAsString(course);
+        log.debug("Serialized course {} to {} bytes", request, json.length());
+        log.info("✅ Course {} found: {}", request, course.get("title"));
+        log.info("💰 Price for course {}: {}", request, course.get("price"));
+        log.debug("Response for course {} ready", request);
+        log.info("🚀 Returning course {}", request);
+    }
+
+    private long run(Logger log, long millis) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    long handled = 0;
+                    while (System.nanoTime() < deadline) {
+                        MDC.put(RequestCorrelationFilter.REQUEST_ID_MDC_KEY, UUID.randomUUID().toString());
+                        try {
+                            handleRequest(log, (int) handled);
+                        } finally {
+                            MDC.remove(RequestCorrelationFilter.REQUEST_ID_MDC_KEY);
+                        }
+                        handled++;
+                    }
+                    return handled;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LoggerContext configure(Setup setup, Path logFile) {
+        LoggerContext context = new LoggerContext();
+        // Share the MDC that MDC.put writes to, so %X{requestId} resolves
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("CONSOLE");
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (setup == Setup.ASYNC_DEBUG || setup == Setup.ASYNC_RATE_LIMITED_INFO) {
+            // Same settings as ASYNC_CONSOLE in logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_CONSOLE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        if (setup == Setup.ASYNC_RATE_LIMITED_INFO) {
+            CategoryRateLimitFilter filter = new CategoryRateLimitFilter();
+            filter.setContext(context);
+            filter.setMaxEventsPerSecond(200);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        root.addAppender(appender);
+        root.setLevel(switch (setup) {
+            case OFF -> Level.OFF;
+            case SYNC_DEBUG, ASYNC_DEBUG -> Level.DEBUG;
+            case ASYNC_RATE_LIMITED_INFO -> Level.INFO;
+        });
+        return context;
+    }
+}
@@ -0,0 +1,179 @@
+package project.ktc.springboot_app.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load comparison of Tomcat request handling on platform and virtual
+ * threads. Run with {@code mvn test -Pbenchmark}.
+ *
+ * Each request blocks for 200 ms, standing in for a Cloudinary, Stripe or
+ * MCQ call. Virtual mode installs the same executor Spring Boot uses for
+ * spring.threads.virtual.enabled. The pinned case sleeps inside a
+ * synchronized block, which holds the carrier thread for the whole call.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int IO_MILLIS = 200;
+    private static final int PLATFORM_MAX_THREADS = 200;
+    private static final int WARMUP_REQUESTS = 50;
+
+    /** Pinned requests run one per carrier, about five a second per CPU */
+    private static final int PINNED_REQUESTS = 50;
+
+    @TempDir
+    Path baseDir;
+
+    private enum Mode {
+        PLATFORM, VIRTUAL, VIRTUAL_PINNED
+    }
+
+    @Test
+    void compareThreadModels() throws Exception {
+        System.out.printf("cpus=%d, %d ms blocking call per request%n",
+                Runtime.getRuntime().availableProcessors(), IO_MILLIS);
+
+        // First, while the virtual thread scheduler has only its default
+        // carriers; after the heavy runs it may still hold extra ones, which
+        // would hide the pinning
+        Result pinned = run(Mode.VIRTUAL_PINNED, PINNED_REQUESTS, PINNED_REQUESTS);
+        pinned.print(Mode.VIRTUAL_PINNED, PINNED_REQUESTS);
+        assertThat(pinned.errors()).isZero();
+
+        for (int concurrency : new int[] { 200, 1000 }) {
+            for (Mode mode : new Mode[] { Mode.PLATFORM, Mode.VIRTUAL }) {
+                Result result = run(mode, concurrency, concurrency * 10);
+                result.print(mode, concurrency);
+                assertThat(result.errors()).isZero();
+            }
+        }
+    }
+
+    private record Result(int requests, int errors, double seconds, List<Long> latenciesMillis) {
+
+        void print(Mode mode, int concurrency) {
+            System.out.printf("%-15s conc=%4d requests=%5d %7.0f req/s  p50=%5d ms  p99=%5d ms  errors=%d%n",
+                    mode, concurrency, requests, latenciesMillis.size() / seconds, percentile(0.50),
+                    percentile(0.99), errors);
+        }
+
+        private long percentile(double p) {
+            return latenciesMillis.get((int) Math.min(latenciesMillis.size() - 1, p * latenciesMillis.size()));
+        }
+    }
+
+    private static final class BlockingServlet extends HttpServlet {
+
+        private final boolean pinned;
+
+        private BlockingServlet(boolean pinned) {
+            this.pinned = pinned;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                if (pinned) {
+                    Object monitor = new Object();
+                    synchronized (monitor) {
+                        Thread.sleep(IO_MILLIS);
+                    }
+                } else {
+                    Thread.sleep(IO_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.getWriter().write("ok");
+        }
+    }
+
+    private Result run(Mode mode, int concurrency, int requests) throws Exception {
+        Tomcat tomcat = start(mode);
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+                ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            URI uri = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/io");
+            HttpRequest request = HttpRequest.newBuilder(uri).build();
+            for (int i = 0; i < (mode == Mode.VIRTUAL_PINNED ? 2 : WARMUP_REQUESTS); i++) {
+                client.send(request, HttpResponse.BodyHandlers.ofString());
+            }
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            Semaphore inFlight = new Semaphore(concurrency);
+            CountDownLatch done = new CountDownLatch(requests);
+            long started = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                users.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() == 200) {
+                            latencies.add((System.nanoTime() - sent) / 1_000_000);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        // counted as an error below
+                    } finally {
+                        inFlight.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            List<Long> sorted = latencies.stream().sorted().toList();
+            return new Result(requests, requests - sorted.size(), seconds, sorted);
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    private Tomcat start(Mode mode) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.resolve(mode.name().toLowerCase()).toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        if (mode == Mode.PLATFORM) {
+            connector.setProperty("maxThreads", String.valueOf(PLATFORM_MAX_THREADS));
+        } else {
+            connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+        }
+        connector.setProperty("acceptCount", "2000");
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "io", new BlockingServlet(mode == Mode.VIRTUAL_PINNED));
+        context.addServletMappingDecoded("/io", "io");
+        tomcat.start();
+        return tomcat;
+    }
+}
@@ -0,0 +1,122 @@
+package project.ktc.springboot_app.email.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.dto.EmailSendResult;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage.OutboxStatus;
+import project.ktc.springboot_app.email.repositories.EmailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A dispatcher whose claim expired and was retaken by another node must not
+ * overwrite the outcome the new claim records
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class EmailOutboxClaimTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private EmailOutboxServiceImp emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxService = new EmailOutboxServiceImp(emailOutboxRepository, new EmailConfig(), new ObjectMapper());
+    }
+
+    @Test
+    void lateFailureFromExpiredClaimDoesNotReopenSentMessage() {
+        EmailOutboxMessage message = claimed(UUID.randomUUID().toString());
+        EmailOutboxMessage firstClaim = copyOf(message);
+
+        // The lease expires and another dispatcher retakes and sends the message
+        String secondToken = UUID.randomUUID().toString();
+        message.setClaimToken(secondToken);
+        emailOutboxRepository.saveAndFlush(message);
+        emailOutboxService.recordResult(copyOf(message), EmailSendResult.success("sg-1", "sendgrid"));
+
+        // The first dispatcher's send finally times out
+        emailOutboxService.recordResult(firstClaim, EmailSendResult.failure("read timed out", "smtp"));
+
+        EmailOutboxMessage stored = reload(message.getId());
+        assertThat(stored.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(stored.getProvider()).isEqualTo("sendgrid");
+        assertThat(stored.getAttempts()).isZero();
+        assertThat(stored.getLastError()).isNull();
+    }
+
+    @Test
+    void lateSuccessFromExpiredClaimLeavesNewClaimInCharge() {
+        EmailOutboxMessage message = claimed(UUID.randomUUID().toString());
+        EmailOutboxMessage firstClaim = copyOf(message);
+
+        message.setClaimToken(UUID.randomUUID().toString());
+        emailOutboxRepository.saveAndFlush(message);
+
+        emailOutboxService.recordResult(firstClaim, EmailSendResult.success("sg-1", "sendgrid"));
+
+        EmailOutboxMessage stored = reload(message.getId());
+        assertThat(stored.getStatus()).isEqualTo(OutboxStatus.SENDING);
+        assertThat(stored.getSentAt()).isNull();
+    }
+
+    @Test
+    void currentClaimRecordsFailureForRetry() {
+        EmailOutboxMessage message = claimed(UUID.randomUUID().toString());
+
+        emailOutboxService.recordResult(copyOf(message), EmailSendResult.failure("connection refused", "smtp"));
+
+        EmailOutboxMessage stored = reload(message.getId());
+        assertThat(stored.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(stored.getAttempts()).isEqualTo(1);
+        assertThat(stored.getLastError()).isEqualTo("connection refused");
+    }
+
+    private EmailOutboxMessage claimed(String claimToken) {
+        return emailOutboxRepository.saveAndFlush(EmailOutboxMessage.builder()
+                .recipient("student@example.com")
+                .subject("Payment confirmed")
+                .payload("{}")
+                .status(OutboxStatus.SENDING)
+                .claimToken(claimToken)
+                .nextAttemptAt(LocalDateTime.now().plusMinutes(2))
+                .build());
+    }
+
+    /**
+     * The detached copy a dispatcher holds while it sends
+     */
+    private EmailOutboxMessage copyOf(EmailOutboxMessage message) {
+        EmailOutboxMessage copy = EmailOutboxMessage.builder()
+                .recipient(message.getRecipient())
+                .subject(message.getSubject())
+                .payload(message.getPayload())
+                .status(message.getStatus())
+                .claimToken(message.getClaimToken())
+                .attempts(message.getAttempts())
+                .nextAttemptAt(message.getNextAttemptAt())
+                .build();
+        copy.setId(message.getId());
+        return copy;
+    }
+
+    private EmailOutboxMessage reload(String id) {
+        entityManager.clear();
+        return emailOutboxRepository.findById(id).orElseThrow();
+    }
+}
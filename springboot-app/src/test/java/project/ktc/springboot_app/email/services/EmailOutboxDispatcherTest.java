@@ -0,0 +1,117 @@
+package project.ktc.springboot_app.email.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.dto.EmailRequest;
+import project.ktc.springboot_app.email.dto.EmailSendResult;
+import project.ktc.springboot_app.email.entity.EmailOutboxMessage;
+import project.ktc.springboot_app.email.interfaces.EmailOutboxService;
+import project.ktc.springboot_app.scheduling.DistributedJobCoordinator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The dispatcher sends a claimed batch concurrently and sizes the claim's
+ * lease from the batch
+ */
+class EmailOutboxDispatcherTest {
+
+    private static final long SEND_MILLIS = 200;
+
+    private final EmailOutboxService emailOutboxService = mock(EmailOutboxService.class);
+    private final EmailProviderRouter emailProviderRouter = mock(EmailProviderRouter.class);
+    private final EmailConfig emailConfig = new EmailConfig();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<EmailOutboxMessage> recorded = Collections.synchronizedList(new ArrayList<>());
+
+    private ExecutorService executor;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        EmailConfig.Outbox outbox = emailConfig.getOutbox();
+        outbox.setBatchSize(16);
+        outbox.setMaxBatchesPerPoll(1);
+        outbox.setMaxSendsPerSecond(100);
+        outbox.setSenders(8);
+
+        executor = Executors.newFixedThreadPool(outbox.getSenders());
+        dispatcher = new EmailOutboxDispatcher(emailOutboxService, emailProviderRouter, emailConfig,
+                mock(DistributedJobCoordinator.class), executor);
+
+        when(emailProviderRouter.hasHealthyProvider()).thenReturn(true);
+        when(emailOutboxService.toEmailRequest(any())).thenReturn(new EmailRequest());
+        when(emailProviderRouter.send(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SEND_MILLIS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return EmailSendResult.success("id", "sendgrid");
+        });
+        doAnswer(invocation -> recorded.add(invocation.getArgument(0)))
+                .when(emailOutboxService).recordResult(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sendsClaimedBatchConcurrently() {
+        when(emailOutboxService.claimBatch(anyInt(), anyLong())).thenReturn(messages(16));
+
+        long started = System.nanoTime();
+        dispatcher.dispatch();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(recorded).hasSize(16);
+        assertThat(maxInFlight.get()).isEqualTo(8);
+        // Two rounds of eight, not sixteen sends back to back
+        assertThat(elapsedMillis).isLessThan(16 * SEND_MILLIS / 2);
+    }
+
+    @Test
+    void sizesLeaseFromBatchSendBudget() {
+        emailConfig.getOutbox().setSendTimeoutSeconds(30);
+        emailConfig.getOutbox().setLeaseSeconds(60);
+        when(emailOutboxService.claimBatch(anyInt(), anyLong())).thenReturn(List.of());
+
+        dispatcher.dispatch();
+
+        // 16 messages over 8 senders is two rounds, plus one spare send timeout
+        verify(emailOutboxService).claimBatch(16, 90);
+    }
+
+    private List<EmailOutboxMessage> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmailOutboxMessage.builder()
+                        .recipient("student" + i + "@example.com")
+                        .subject("Payment confirmed")
+                        .payload("{}")
+                        .status(EmailOutboxMessage.OutboxStatus.SENDING)
+                        .claimToken("claim")
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package project.ktc.springboot_app.email.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import project.ktc.springboot_app.email.config.EmailConfig;
+import project.ktc.springboot_app.email.config.EmailServiceConfig;
+
+import java.time.Year;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every email template takes its branding footer from the pre-rendered
+ * layout fragment instead of carrying its own copy
+ */
+class EmailTemplateLayoutTest {
+
+    private EmailTemplateServiceImp templateService;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(EmailServiceConfig.EMAIL_TEMPLATE_PREFIX);
+        resolver.setSuffix(EmailServiceConfig.EMAIL_TEMPLATE_SUFFIX);
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateService = new EmailTemplateServiceImp(templateEngine, new EmailConfig(), new SimpleMeterRegistry());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "password-reset-template",
+            "payment-confirmation-template",
+            "certificate-notification-template",
+            "course-enrollment-template",
+            "discount-code-template",
+            "welcome-template"
+    })
+    void rendersSharedFooter(String templateName) {
+        String html = render(templateName);
+
+        assertThat(html).containsOnlyOnce("All rights")
+                .contains("© <span>" + Year.now().getValue() + "</span>")
+                .contains("mailto:support@ktc-learning.com")
+                .doesNotContain("© 2025 KTC");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "password-reset-template",
+            "payment-confirmation-template",
+            "course-enrollment-template",
+            "welcome-template"
+    })
+    void rendersSharedHeader(String templateName) {
+        String html = render(templateName);
+
+        assertThat(html).containsOnlyOnce("class=\"logo\"");
+    }
+
+    private String render(String templateName) {
+        return templateService.processTemplate(templateName, Map.of());
+    }
+}
@@ -0,0 +1,164 @@
+package project.ktc.springboot_app.instructor_student;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import project.ktc.springboot_app.auth.entitiy.User;
+import project.ktc.springboot_app.cache.InMemoryCacheService;
+import project.ktc.springboot_app.cache.keys.CacheKeyBuilder;
+import project.ktc.springboot_app.cache.services.domain.InstructorStudentsCacheService;
+import project.ktc.springboot_app.common.dto.PaginatedResponse;
+import project.ktc.springboot_app.course.entity.Course;
+import project.ktc.springboot_app.course.repositories.CourseRepository;
+import project.ktc.springboot_app.enrollment.entity.Enrollment;
+import project.ktc.springboot_app.enrollment.interfaces.CourseProgressService;
+import project.ktc.springboot_app.entity.UserRole;
+import project.ktc.springboot_app.instructor_student.dto.InstructorStudentDto;
+import project.ktc.springboot_app.instructor_student.repositories.InstructorStudentRepository;
+import project.ktc.springboot_app.instructor_student.services.InstructorStudentServiceImp;
+import project.ktc.springboot_app.user.repositories.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Counts the statements one roster page costs on H2. The page, its total and
+ * the courses of its students are three queries, whatever the roster size.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class InstructorStudentRosterQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private InstructorStudentRepository instructorStudentRepository;
+
+    private Statistics statistics;
+    private InstructorStudentsCacheService cacheService;
+    private InstructorStudentServiceImp rosterService;
+    private UserRole studentRole;
+    private User instructor;
+    private List<Course> courses;
+    private int studentCount;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        cacheService = new InstructorStudentsCacheService(new InMemoryCacheService(), new CacheKeyBuilder());
+        rosterService = new InstructorStudentServiceImp(instructorStudentRepository, mock(UserRepository.class),
+                mock(CourseRepository.class), mock(CourseProgressService.class), cacheService);
+
+        UserRole instructorRole = UserRole.builder().role("INSTRUCTOR").build();
+        studentRole = UserRole.builder().role("STUDENT").build();
+        entityManager.persist(instructorRole);
+        entityManager.persist(studentRole);
+
+        instructor = user("instructor", instructorRole);
+        courses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Course course = new Course();
+            course.setTitle("Course " + i);
+            course.setSlug("course-" + i);
+            course.setInstructor(instructor);
+            entityManager.persist(course);
+            courses.add(course);
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(instructor, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rosterPageCostsSameStatementsAsRosterGrows() {
+        // More than a page, so the count query runs in both cases
+        addStudents(PAGE_SIZE + 5);
+        long smallRoster = statementsForPage(PageRequest.of(0, PAGE_SIZE));
+
+        addStudents(500 - PAGE_SIZE - 5);
+        cacheService.invalidateRoster(instructor.getId());
+        long largeRoster = statementsForPage(PageRequest.of(0, PAGE_SIZE));
+        long lastPage = statementsForPage(PageRequest.of(24, PAGE_SIZE));
+
+        assertThat(smallRoster).isEqualTo(3);
+        assertThat(largeRoster).isEqualTo(smallRoster);
+        assertThat(lastPage).isEqualTo(smallRoster);
+    }
+
+    @Test
+    void pageHoldsEveryCourseOfItsStudents() {
+        addStudents(50);
+
+        PaginatedResponse<InstructorStudentDto> page = roster(PageRequest.of(1, PAGE_SIZE));
+
+        assertThat(page.getPage().getTotalElements()).isEqualTo(50);
+        assertThat(page.getContent()).hasSize(PAGE_SIZE)
+                .allSatisfy(student -> assertThat(student.getEnrolledCourses()).hasSize(courses.size()));
+    }
+
+    @Test
+    void cachedPageCostsNoStatements() {
+        addStudents(30);
+        statementsForPage(PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(statementsForPage(PageRequest.of(0, PAGE_SIZE))).isZero();
+    }
+
+    private long statementsForPage(Pageable pageable) {
+        statistics.clear();
+        roster(pageable);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private PaginatedResponse<InstructorStudentDto> roster(Pageable pageable) {
+        return rosterService.getEnrolledStudents(null, pageable).getBody().getData();
+    }
+
+    private void addStudents(int count) {
+        for (int i = 0; i < count; i++) {
+            User student = user("student" + studentCount++, studentRole);
+            for (Course course : courses) {
+                Enrollment enrollment = new Enrollment();
+                enrollment.setUser(student);
+                enrollment.setCourse(course);
+                entityManager.persist(enrollment);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private User user(String name, UserRole role) {
+        User user = User.builder()
+                .name(name)
+                .email(name + "@example.com")
+                .password("secret")
+                .role(role)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
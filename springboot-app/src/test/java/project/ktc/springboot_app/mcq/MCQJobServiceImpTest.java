@@ -0,0 +1,166 @@
+package project.ktc.springboot_app.mcq;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import project.ktc.springboot_app.auth.entitiy.User;
+import project.ktc.springboot_app.cache.InMemoryCacheService;
+import project.ktc.springboot_app.cache.keys.CacheKeyBuilder;
+import project.ktc.springboot_app.cache.services.domain.MCQCacheService;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimitProperties;
+import project.ktc.springboot_app.common.concurrency.ConcurrencyLimiter;
+import project.ktc.springboot_app.mcq.config.MCQGenerationProperties;
+import project.ktc.springboot_app.mcq.dto.MCQJobResponseDto;
+import project.ktc.springboot_app.mcq.dto.MCQJobStatus;
+import project.ktc.springboot_app.mcq.services.MCQJobPublisher;
+import project.ktc.springboot_app.mcq.services.MCQJobServiceImp;
+import project.ktc.springboot_app.mcq.services.MCQService;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs MCQ jobs end to end against {@link StubMcqServer}, so generation,
+ * result caching and failure handling are covered without the real model.
+ */
+class MCQJobServiceImpTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StubMcqServer stub;
+    private ExecutorService executor;
+    private MCQJobServiceImp jobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubMcqServer();
+        executor = Executors.newFixedThreadPool(2);
+
+        MCQGenerationProperties properties = new MCQGenerationProperties();
+        properties.setBaseUrl(stub.baseUrl());
+        properties.setReadTimeout(Duration.ofSeconds(1));
+        properties.setTempDir(tempDir.toString());
+
+        ConcurrencyLimitProperties limits = new ConcurrencyLimitProperties();
+        limits.getLimits().put("mcq", 2);
+        MCQService mcqService = new MCQService(properties,
+                new ConcurrencyLimiter(limits, new SimpleMeterRegistry()));
+
+        MCQCacheService mcqCacheService = new MCQCacheService(new InMemoryCacheService(), new CacheKeyBuilder());
+        jobService = new MCQJobServiceImp(mcqService, mcqCacheService, mock(MCQJobPublisher.class), properties,
+                executor);
+
+        User user = User.builder().email("instructor@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        executor.shutdownNow();
+        stub.close();
+    }
+
+    @Test
+    void completesJobWithGeneratedQuestions() throws Exception {
+        MCQJobResponseDto queued = jobService.submit(document("lesson.txt", "Photosynthesis"), 3);
+        assertThat(queued.getStatus()).isEqualTo(MCQJobStatus.QUEUED);
+
+        MCQJobResponseDto done = awaitFinished(queued.getJobId());
+
+        assertThat(done.getStatus()).isEqualTo(MCQJobStatus.COMPLETED);
+        assertThat(done.getCached()).isFalse();
+        assertThat(done.getResult().getFile()).isEqualTo("lesson.txt");
+        assertThat(done.getResult().getMcqs()).hasSize(3);
+        assertThat(stub.requestCount()).isEqualTo(1);
+        // The spooled upload is removed after the job publishes its result
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        try (var spooled = Files.list(tempDir)) {
+            assertThat(spooled).isEmpty();
+        }
+    }
+
+    @Test
+    void servesSameDocumentAndCountFromCache() throws Exception {
+        awaitFinished(jobService.submit(document("lesson.txt", "Photosynthesis"), 3).getJobId());
+
+        MCQJobResponseDto again = jobService.submit(document("copy.txt", "Photosynthesis"), 3);
+
+        assertThat(again.getStatus()).isEqualTo(MCQJobStatus.COMPLETED);
+        assertThat(again.getCached()).isTrue();
+        assertThat(again.getResult().getMcqs()).hasSize(3);
+        assertThat(stub.requestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void regeneratesForDifferentQuestionCount() throws Exception {
+        awaitFinished(jobService.submit(document("lesson.txt", "Photosynthesis"), 3).getJobId());
+
+        MCQJobResponseDto other = awaitFinished(
+                jobService.submit(document("lesson.txt", "Photosynthesis"), 5).getJobId());
+
+        assertThat(other.getCached()).isFalse();
+        assertThat(other.getResult().getMcqs()).hasSize(5);
+        assertThat(stub.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failsJobWhenServiceReturnsError() throws Exception {
+        stub.setFailureStatus(500);
+
+        MCQJobResponseDto done = awaitFinished(jobService.submit(document("lesson.txt", "Osmosis"), 3).getJobId());
+
+        assertThat(done.getStatus()).isEqualTo(MCQJobStatus.FAILED);
+        assertThat(done.getErrorMessage()).contains("500");
+        assertThat(done.getResult()).isNull();
+
+        // Failures are not cached, so the next attempt goes back to the service
+        stub.setFailureStatus(0);
+        MCQJobResponseDto retried = awaitFinished(jobService.submit(document("lesson.txt", "Osmosis"), 3).getJobId());
+        assertThat(retried.getStatus()).isEqualTo(MCQJobStatus.COMPLETED);
+        assertThat(stub.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failsJobWhenServiceExceedsReadTimeout() throws Exception {
+        stub.setDelay(Duration.ofSeconds(3));
+
+        MCQJobResponseDto done = awaitFinished(jobService.submit(document("lesson.txt", "Diffusion"), 3).getJobId());
+
+        assertThat(done.getStatus()).isEqualTo(MCQJobStatus.FAILED);
+        assertThat(done.getErrorMessage()).containsIgnoringCase("timed out");
+    }
+
+    private static MockMultipartFile document(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MCQJobResponseDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            MCQJobResponseDto job = jobService.getJob(jobId);
+            if (job.getStatus() == MCQJobStatus.COMPLETED || job.getStatus() == MCQJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("MCQ job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,114 @@
+package project.ktc.springboot_app.mcq;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the question generation service. Serves the multipart
+ * generate endpoint on an ephemeral port and answers with as many
+ * placeholder questions as were requested, after an optional delay, or with
+ * an error status.
+ */
+public class StubMcqServer implements AutoCloseable {
+
+    public static final String GENERATE_PATH = "/api/mcq/generate";
+
+    private static final Pattern NUM_QUESTIONS = Pattern.compile(
+            "name=\"num_questions\"\\r\\n(?:[^\\r\\n]+\\r\\n)*\\r\\n(\\d+)");
+    private static final Pattern FILE_NAME = Pattern.compile("name=\"file\"; filename=\"([^\"]*)\"");
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Duration delay = Duration.ZERO;
+    private volatile int failureStatus;
+
+    public StubMcqServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(GENERATE_PATH, this::generate);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Generate requests received so far */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    /** Wait this long before answering, to simulate the model's latency */
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    /** Answer every request with this status; 0 answers normally */
+    public void setFailureStatus(int failureStatus) {
+        this.failureStatus = failureStatus;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void generate(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"detail\":\"Method not allowed\"}");
+                return;
+            }
+
+            Thread.sleep(delay.toMillis());
+            if (failureStatus != 0) {
+                respond(exchange, failureStatus, "{\"detail\":\"Stub failure\"}");
+                return;
+            }
+
+            Matcher count = NUM_QUESTIONS.matcher(body);
+            Matcher file = FILE_NAME.matcher(body);
+            if (!count.find() || !file.find()) {
+                respond(exchange, 422, "{\"detail\":\"file and num_questions are required\"}");
+                return;
+            }
+            respond(exchange, 200, response(file.group(1), Integer.parseInt(count.group(1))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String response(String fileName, int numQuestions) {
+        StringBuilder mcqs = new StringBuilder();
+        for (int i = 1; i <= numQuestions; i++) {
+            if (i > 1) {
+                mcqs.append(',');
+            }
+            mcqs.append(String.format("{\"question\":\"Question %d?\",\"answer\":\"B\","
+                    + "\"options\":[\"A\",\"B\",\"C\",\"D\"],\"correct_index\":1}", i));
+        }
+        return String.format("{\"status\":\"success\",\"file\":\"%s\",\"total_questions\":%d,\"mcqs\":[%s]}",
+                fileName, numQuestions, mcqs);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package project.ktc.springboot_app.quiz.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.ktc.springboot_app.quiz.dto.QuizAnswerKeyRow;
+import project.ktc.springboot_app.quiz.repositories.QuizQuestionRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A whole class submitting one quiz at once: 2,000 concurrent submitters
+ * grade against the cache, which must load each quiz version only once.
+ */
+class QuizAnswerKeyCacheLoadTest {
+
+    private static final int SUBMITTERS = 2_000;
+    private static final int QUESTIONS = 20;
+    private static final String LESSON_ID = "lesson-1";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private QuizAnswerKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        QuizQuestionRepository repository = mock(QuizQuestionRepository.class);
+        when(repository.findAnswerKeyRowsByLessonId(anyString())).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            // Slow enough that every submitter misses while the first load runs
+            Thread.sleep(100);
+            return answerKeyRows();
+        });
+        cache = new QuizAnswerKeyCache(repository);
+    }
+
+    @Test
+    void concurrentSubmittersShareOneLoad() throws Exception {
+        List<QuizAnswerKey.Grade> grades = submitConcurrently(i -> 1);
+
+        assertThat(loads).hasValue(1);
+        assertThat(grades).hasSize(SUBMITTERS).allSatisfy(grade -> {
+            assertThat(grade.isComplete()).isTrue();
+            assertThat(grade.correctAnswers()).isEqualTo(QUESTIONS / 2);
+        });
+    }
+
+    @Test
+    void editedQuizLoadsNewVersionOnce() throws Exception {
+        submitConcurrently(i -> 1);
+
+        // The instructor's edit committed; every submitter now reads version 2
+        List<QuizAnswerKey.Grade> grades = submitConcurrently(i -> 2);
+
+        assertThat(loads).hasValue(2);
+        assertThat(grades).hasSize(SUBMITTERS);
+        assertThat(cache.get(LESSON_ID, 2).getVersion()).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void cachedKeyIsServedWithoutLoading() throws Exception {
+        cache.get(LESSON_ID, 1);
+
+        submitConcurrently(i -> 1);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private interface VersionOf {
+        int versionFor(int submitter);
+    }
+
+    private List<QuizAnswerKey.Grade> submitConcurrently(VersionOf versionOf) throws Exception {
+        Map<String, String> answers = halfCorrectAnswers();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<QuizAnswerKey.Grade>> submissions = IntStream.range(0, SUBMITTERS)
+                .<Callable<QuizAnswerKey.Grade>>mapToObj(i -> () -> {
+                    start.await();
+                    return cache.get(LESSON_ID, versionOf.versionFor(i)).grade(answers);
+                })
+                .toList();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<QuizAnswerKey.Grade>> futures = new ArrayList<>();
+            for (Callable<QuizAnswerKey.Grade> submission : submissions) {
+                futures.add(executor.submit(submission));
+            }
+            start.countDown();
+
+            List<QuizAnswerKey.Grade> grades = new ArrayList<>();
+            for (Future<QuizAnswerKey.Grade> future : futures) {
+                grades.add(future.get());
+            }
+            return grades;
+        }
+    }
+
+    private static List<QuizAnswerKeyRow> answerKeyRows() {
+        return IntStream.range(0, QUESTIONS)
+                .mapToObj(i -> new QuizAnswerKeyRow("q" + i, "A"))
+                .toList();
+    }
+
+    private static Map<String, String> halfCorrectAnswers() {
+        Map<String, String> answers = new HashMap<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            answers.put("q" + i, i % 2 == 0 ? "A" : "B");
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,164 @@
+package project.ktc.springboot_app.upload.services;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of upload sniffing. Run with {@code mvn test -Pbenchmark}.
+ *
+ * Measures head sniffs per second by format, the cost sniffing adds to
+ * streaming an upload through, and probe time for MP4s whose moov sits
+ * behind a large payload.
+ */
+@Tag("benchmark")
+class MediaContentSnifferBenchmark {
+
+    private static final int UPLOAD_BYTES = 64 * 1024 * 1024;
+    private static final int STREAM_ROUNDS = 20;
+
+    private final MediaContentSniffer sniffer = new MediaContentSniffer();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void headSniffsPerSecond() {
+        Map<String, byte[]> samples = new LinkedHashMap<>();
+        samples.put("image/jpeg", MediaSamples.jpeg(4032, 3024));
+        samples.put("image/png", MediaSamples.png(1920, 1080));
+        samples.put("image/webp", MediaSamples.webp(1600, 900));
+        samples.put("video/webm", MediaSamples.webm(1280, 720, 600));
+        samples.put("video/mp4", MediaSamples.concat(MediaSamples.moov(1920, 1080, 600), new byte[1024]));
+        samples.put("application/pdf", MediaSamples.pdf());
+
+        for (Map.Entry<String, byte[]> sample : samples.entrySet()) {
+            // A moov-first MP4 head starts with moov here; prefix the ftyp the sniffer keys on
+            byte[] head = sample.getKey().equals("video/mp4")
+                    ? MediaSamples.concat(ftyp(), sample.getValue())
+                    : sample.getValue();
+            assertThat(sniffer.sniffHead(head, head.length).getMimeType()).isEqualTo(sample.getKey());
+
+            int iterations = 2_000_000;
+            for (int i = 0; i < iterations / 10; i++) {
+                sniffer.sniffHead(head, head.length);
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sniffer.sniffHead(head, head.length);
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("sniffHead %-16s %,12.0f sniffs/s%n", sample.getKey(), iterations / seconds);
+        }
+    }
+
+    @Test
+    void sniffingAddsNoPassOverTheUpload() throws IOException {
+        byte[] upload = MediaSamples.mp4(1920, 1080, 600, UPLOAD_BYTES);
+
+        // Warm up both paths
+        copy(new ByteArrayInputStream(upload));
+        copy(sniffer.sniff(new ByteArrayInputStream(upload)).stream());
+
+        long plain = 0;
+        long sniffed = 0;
+        for (int round = 0; round < STREAM_ROUNDS; round++) {
+            // Alternate which path goes first so neither always runs on a warm cache
+            if (round % 2 == 0) {
+                plain += timePlainCopy(upload);
+                sniffed += timeSniffedCopy(upload);
+            } else {
+                sniffed += timeSniffedCopy(upload);
+                plain += timePlainCopy(upload);
+            }
+        }
+
+        double megabytes = (double) upload.length * STREAM_ROUNDS / (1024 * 1024);
+        System.out.printf("stream copy           %,10.0f MB/s%n", megabytes / (plain / 1e9));
+        System.out.printf("sniff + stream copy   %,10.0f MB/s%n", megabytes / (sniffed / 1e9));
+    }
+
+    @Test
+    void probeTimeIsIndependentOfPayloadSize() throws IOException {
+        for (long payload : new long[] { 1L << 20, 1L << 30, 8L << 30 }) {
+            Path file = sparseMp4(payload);
+
+            SniffedMediaDto media = sniffer.probe(file);
+            assertThat(media.getDurationSeconds()).isEqualTo(600.0);
+            assertThat(media.getWidth()).isEqualTo(1920);
+
+            int iterations = 2_000;
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sniffer.probe(file);
+            }
+            double micros = (System.nanoTime() - started) / 1e3 / iterations;
+            System.out.printf("probe moov-last mp4, %,6d MB payload: %,8.1f us/probe%n", payload >> 20, micros);
+        }
+    }
+
+    private long timePlainCopy(byte[] upload) throws IOException {
+        long started = System.nanoTime();
+        assertThat(copy(new ByteArrayInputStream(upload))).isEqualTo(upload.length);
+        return System.nanoTime() - started;
+    }
+
+    private long timeSniffedCopy(byte[] upload) throws IOException {
+        long started = System.nanoTime();
+        MediaContentSniffer.SniffedStream stream = sniffer.sniff(new ByteArrayInputStream(upload));
+        assertThat(copy(stream.stream())).isEqualTo(upload.length);
+        long elapsed = System.nanoTime() - started;
+        assertThat(stream.media().getMimeType()).isEqualTo("video/mp4");
+        return elapsed;
+    }
+
+    /**
+     * ftyp, a sparse mdat of the given size and the moov after it, the
+     * layout of an upload that was not remuxed for fast start
+     */
+    private Path sparseMp4(long payload) throws IOException {
+        Path file = tempDir.resolve("sparse-" + payload + ".mp4");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(ftyp()));
+            // 64-bit mdat header: size 1, type, largesize
+            long mdatSize = 16 + payload;
+            channel.write(ByteBuffer.allocate(16).putInt(1).put("mdat".getBytes()).putLong(mdatSize).flip());
+            channel.write(ByteBuffer.wrap(MediaSamples.moov(1920, 1080, 600)), ftyp().length + mdatSize);
+        }
+        return file;
+    }
+
+    private static byte[] ftyp() {
+        return ByteBuffer.allocate(20).putInt(20).put("ftypisom".getBytes()).putInt(512).put("isom".getBytes())
+                .array();
+    }
+
+    /**
+     * Read the stream through a buffer the way the upload writer does. Not
+     * transferTo, which some streams shortcut without copying anything.
+     */
+    private static long copy(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        try (in) {
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+}
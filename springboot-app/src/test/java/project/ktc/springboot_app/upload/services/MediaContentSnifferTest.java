@@ -0,0 +1,122 @@
+package project.ktc.springboot_app.upload.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import project.ktc.springboot_app.upload.dto.SniffedMediaDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaContentSnifferTest {
+
+    private final MediaContentSniffer sniffer = new MediaContentSniffer();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsImageDimensionsFromHeaders() {
+        assertMedia(sniff(MediaSamples.png(1920, 1080)), "image/png", 1920, 1080);
+        assertMedia(sniff(MediaSamples.jpeg(640, 480)), "image/jpeg", 640, 480);
+        assertMedia(sniff(MediaSamples.webp(4000, 3000)), "image/webp", 4000, 3000);
+    }
+
+    @Test
+    void readsWebmMetadataAheadOfFirstCluster() {
+        SniffedMediaDto media = sniff(MediaSamples.webm(1280, 720, 95));
+
+        assertMedia(media, "video/webm", 1280, 720);
+        assertThat(media.getDurationSeconds()).isEqualTo(95.0);
+        assertThat(media.getCodec()).isEqualTo("vp9");
+    }
+
+    @Test
+    void probesMp4WithMoovAfterPayload() throws IOException {
+        Path file = Files.write(tempDir.resolve("lecture.mp4"),
+                MediaSamples.mp4(1920, 1080, 600, 2 * MediaContentSniffer.HEAD_BYTES));
+
+        SniffedMediaDto media = sniffer.probe(file);
+
+        assertMedia(media, "video/mp4", 1920, 1080);
+        assertThat(media.getDurationSeconds()).isEqualTo(600.0);
+        assertThat(media.getCodec()).isEqualTo("avc1");
+    }
+
+    @Test
+    void headOnlyMp4SniffReportsFormatWithoutDuration() {
+        SniffedMediaDto media = sniff(MediaSamples.mp4(1920, 1080, 600, 2 * MediaContentSniffer.HEAD_BYTES));
+
+        assertThat(media.getMimeType()).isEqualTo("video/mp4");
+        assertThat(media.getDurationSeconds()).isNull();
+    }
+
+    @Test
+    void detectsDocumentsAndRejectsUnknownBytes() {
+        assertThat(sniff(MediaSamples.pdf()).getMimeType()).isEqualTo("application/pdf");
+        assertThat(sniff("just some text".getBytes()).getMimeType()).isNull();
+    }
+
+    @Test
+    void sniffedStreamReplaysEveryByteAndReadsOnlyTheHead() throws IOException {
+        byte[] video = MediaSamples.mp4(1280, 720, 30, 4 * MediaContentSniffer.HEAD_BYTES);
+        CountingInputStream source = new CountingInputStream(new ByteArrayInputStream(video));
+
+        MediaContentSniffer.SniffedStream sniffed = sniffer.sniff(source);
+
+        assertThat(source.count).isEqualTo(MediaContentSniffer.HEAD_BYTES);
+        assertThat(sniffed.media().getMimeType()).isEqualTo("video/mp4");
+        assertThat(sniffed.stream().readAllBytes()).isEqualTo(video);
+    }
+
+    @Test
+    void sniffsMultipartFileFromItsHead() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/jpeg",
+                MediaSamples.png(800, 600));
+
+        assertMedia(sniffer.sniff(file), "image/png", 800, 600);
+    }
+
+    private SniffedMediaDto sniff(byte[] bytes) {
+        return sniffer.sniffHead(bytes, Math.min(bytes.length, MediaContentSniffer.HEAD_BYTES));
+    }
+
+    private static void assertMedia(SniffedMediaDto media, String mimeType, int width, int height) {
+        assertThat(media.getMimeType()).isEqualTo(mimeType);
+        assertThat(media.getWidth()).isEqualTo(width);
+        assertThat(media.getHeight()).isEqualTo(height);
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package project.ktc.springboot_app.upload.services;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal but well-formed media headers for sniffer tests. Payloads are
+ * zero-filled; only the bytes the sniffer reads are meaningful.
+ */
+final class MediaSamples {
+
+    private MediaSamples() {
+    }
+
+    static byte[] png(int width, int height) {
+        return ByteBuffer.allocate(33)
+                .put(new byte[] { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A })
+                .putInt(13).put(ascii("IHDR")).putInt(width).putInt(height)
+                .array();
+    }
+
+    static byte[] jpeg(int width, int height) {
+        ByteBuffer b = ByteBuffer.allocate(2 + 18 + 19);
+        b.put((byte) 0xFF).put((byte) 0xD8);
+        // APP0 (JFIF) ahead of the frame header
+        b.put((byte) 0xFF).put((byte) 0xE0).putShort((short) 16).put(ascii("JFIF")).put(new byte[10]);
+        // SOF0: length, precision, height, width, components
+        b.put((byte) 0xFF).put((byte) 0xC0).putShort((short) 17).put((byte) 8)
+                .putShort((short) height).putShort((short) width).put(new byte[10]);
+        return b.array();
+    }
+
+    static byte[] webp(int width, int height) {
+        ByteBuffer b = ByteBuffer.allocate(30).order(ByteOrder.LITTLE_ENDIAN);
+        b.put(ascii("RIFF")).putInt(22).put(ascii("WEBP")).put(ascii("VP8X")).putInt(10).putInt(0);
+        putU24le(b, width - 1);
+        putU24le(b, height - 1);
+        return b.array();
+    }
+
+    static byte[] pdf() {
+        return ascii("%PDF-1.7\n%âã\n");
+    }
+
+    /**
+     * MP4 laid out as ftyp, mdat, moov, the way non-faststart encoders write
+     * it, so the metadata sits behind the whole payload
+     */
+    static byte[] mp4(int width, int height, int durationSeconds, int mdatBytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(mdatBytes + 512);
+        out.writeBytes(box("ftyp", ByteBuffer.allocate(12).put(ascii("isom")).putInt(512).put(ascii("isom")).array()));
+        out.writeBytes(box("mdat", new byte[mdatBytes]));
+        out.writeBytes(moov(width, height, durationSeconds));
+        return out.toByteArray();
+    }
+
+    static byte[] moov(int width, int height, int durationSeconds) {
+        int timescale = 1000;
+        byte[] mvhd = ByteBuffer.allocate(100).putInt(0).putInt(0).putInt(0)
+                .putInt(timescale).putInt(durationSeconds * timescale).array();
+        byte[] tkhd = ByteBuffer.allocate(84).position(76).putInt(width << 16).putInt(height << 16).array();
+        byte[] stsd = ByteBuffer.allocate(16).putInt(0).putInt(1).putInt(86).put(ascii("avc1")).array();
+        byte[] mdia = box("mdia", box("minf", box("stbl", box("stsd", stsd))));
+        return box("moov", concat(box("mvhd", mvhd), box("trak", concat(box("tkhd", tkhd), mdia))));
+    }
+
+    /**
+     * WebM with its metadata ahead of the first cluster. TimecodeScale is
+     * 1 ms, so the duration is in milliseconds.
+     */
+    static byte[] webm(int width, int height, int durationSeconds) {
+        byte[] header = ebml(0x1A45DFA3, ebml(0x4282, ascii("webm")));
+        byte[] info = ebml(0x1549A966, concat(
+                ebml(0x2AD7B1, new byte[] { 0x0F, 0x42, 0x40 }),
+                ebml(0x4489, ByteBuffer.allocate(4).putFloat(durationSeconds * 1000f).array())));
+        byte[] video = ebml(0xE0, concat(
+                ebml(0xB0, ByteBuffer.allocate(2).putShort((short) width).array()),
+                ebml(0xBA, ByteBuffer.allocate(2).putShort((short) height).array())));
+        byte[] tracks = ebml(0x1654AE6B, ebml(0xAE, concat(ebml(0x86, ascii("V_VP9")), video)));
+        byte[] cluster = ebml(0x1F43B675, new byte[16]);
+        // Live-style segment of unknown size
+        byte[] segment = concat(idBytes(0x18538067), new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF }, info, tracks, cluster);
+        return concat(header, segment);
+    }
+
+    static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] box(String type, byte[] payload) {
+        return ByteBuffer.allocate(8 + payload.length).putInt(8 + payload.length).put(ascii(type)).put(payload)
+                .array();
+    }
+
+    private static byte[] ebml(long id, byte[] data) {
+        // One-byte size vint, enough for every element built here
+        return concat(idBytes(id), new byte[] { (byte) (0x80 | data.length) }, data);
+    }
+
+    private static byte[] idBytes(long id) {
+        int length = id > 0xFFFFFF ? 4 : id > 0xFFFF ? 3 : id > 0xFF ? 2 : 1;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (id >>> (8 * (length - 1 - i)));
+        }
+        return bytes;
+    }
+
+    private static void putU24le(ByteBuffer b, int value) {
+        b.put((byte) value).put((byte) (value >>> 8)).put((byte) (value >>> 16));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}